@@ -38,6 +38,7 @@ public abstract class AbstractBeanProcessor extends AsyncProcessorSupport {
     private Boolean cache;
     private String method;
     private boolean shorthandMethod;
+    private boolean useMethodHandle;
 
     public AbstractBeanProcessor(Object pojo, BeanInfo beanInfo) {
         this(new ConstantBeanHolder(pojo, beanInfo));
@@ -126,7 +127,7 @@ public abstract class AbstractBeanProcessor extends AsyncProcessorSupport {
 
         MethodInvocation invocation;
         try {
-            invocation = beanInfo.createInvocation(bean, exchange);
+            invocation = beanInfo.createInvocation(bean, exchange, useMethodHandle);
         } catch (Throwable e) {
             exchange.setException(e);
             callback.done(true);
@@ -196,6 +197,20 @@ public abstract class AbstractBeanProcessor extends AsyncProcessorSupport {
         this.shorthandMethod = shorthandMethod;
     }
 
+    public boolean isUseMethodHandle() {
+        return useMethodHandle;
+    }
+
+    /**
+     * Sets whether to invoke the bean method using a method handle with precomputed parameter bindings
+     * instead of reflection.
+     * <p/>
+     * Is by default turned off.
+     */
+    public void setUseMethodHandle(boolean useMethodHandle) {
+        this.useMethodHandle = useMethodHandle;
+    }
+
     // Implementation methods
     //-------------------------------------------------------------------------
     @Override
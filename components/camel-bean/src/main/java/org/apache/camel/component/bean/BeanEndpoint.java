@@ -43,6 +43,10 @@ public class BeanEndpoint extends DefaultEndpoint {
     @UriParam(label = "common", description = "If enabled, Camel will cache the result of the first Registry look-up."
             + " Cache can be enabled if the bean in the Registry is defined as a singleton scope.")
     private Boolean cache;
+    @UriParam(label = "advanced", description = "If enabled, Camel will invoke the bean method using a method handle with precomputed"
+            + " parameter bindings for the message body, headers and exchange, instead of using reflection."
+            + " This gives faster invocations when the bean is invoked frequently.")
+    private boolean useMethodHandle;
     @UriParam(prefix = "bean.", label = "common", description = "Used for configuring additional properties on the bean", multiValue = true)
     private Map<String, Object> parameters;
 
@@ -94,6 +98,7 @@ public class BeanEndpoint extends DefaultEndpoint {
                 processor.setMethod(method);
             }
             processor.setCache(cache);
+            processor.setUseMethodHandle(useMethodHandle);
             if (parameters != null) {
                 setProperties(processor, parameters);
             }
@@ -136,6 +141,19 @@ public class BeanEndpoint extends DefaultEndpoint {
         this.cache = cache;
     }
 
+    public boolean isUseMethodHandle() {
+        return useMethodHandle;
+    }
+
+    /**
+     * If enabled, Camel will invoke the bean method using a method handle with precomputed
+     * parameter bindings for the message body, headers and exchange, instead of using reflection.
+     * This gives faster invocations when the bean is invoked frequently.
+     */
+    public void setUseMethodHandle(boolean useMethodHandle) {
+        this.useMethodHandle = useMethodHandle;
+    }
+
     public String getMethod() {
         return method;
     }
@@ -183,10 +183,19 @@ public class BeanInfo {
 
     public MethodInvocation createInvocation(Object pojo, Exchange exchange)
         throws AmbiguousMethodCallException, MethodNotFoundException {
-        return createInvocation(pojo, exchange, null);
+        return createInvocation(pojo, exchange, null, false);
     }
 
-    private MethodInvocation createInvocation(Object pojo, Exchange exchange, Method explicitMethod)
+    /**
+     * Creates the method invocation, optionally invoking the method using a method handle with precomputed
+     * parameter bindings instead of reflection.
+     */
+    public MethodInvocation createInvocation(Object pojo, Exchange exchange, boolean methodHandle)
+        throws AmbiguousMethodCallException, MethodNotFoundException {
+        return createInvocation(pojo, exchange, null, methodHandle);
+    }
+
+    private MethodInvocation createInvocation(Object pojo, Exchange exchange, Method explicitMethod, boolean methodHandle)
         throws AmbiguousMethodCallException, MethodNotFoundException {
         MethodInfo methodInfo = null;
         
@@ -195,7 +204,7 @@ public class BeanInfo {
             for (List<MethodInfo> infos : operations.values()) {
                 for (MethodInfo info : infos) {
                     if (explicitMethod.equals(info.getMethod())) {
-                        return info.createMethodInvocation(pojo, info.hasParameters(), exchange);
+                        return info.createMethodInvocation(pojo, info.hasParameters(), methodHandle, exchange);
                     }
                 }
             }
@@ -290,7 +299,7 @@ public class BeanInfo {
         }
         if (methodInfo != null) {
             LOG.trace("Chosen method to invoke: {} on bean: {}", methodInfo, pojo);
-            return methodInfo.createMethodInvocation(pojo, methodInfo.hasParameters(), exchange);
+            return methodInfo.createMethodInvocation(pojo, methodInfo.hasParameters(), methodHandle, exchange);
         }
 
         LOG.debug("Cannot find suitable method to invoke on bean: {}", pojo);
@@ -96,6 +96,14 @@ public class BeanProcessor extends ServiceSupport implements AsyncProcessor {
         delegate.setShorthandMethod(shorthandMethod);
     }
 
+    public boolean isUseMethodHandle() {
+        return delegate.isUseMethodHandle();
+    }
+
+    public void setUseMethodHandle(boolean useMethodHandle) {
+        delegate.setUseMethodHandle(useMethodHandle);
+    }
+
     @Override
     protected void doStart() throws Exception {
         delegate.doStart();
@@ -17,6 +17,9 @@
 package org.apache.camel.component.bean;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.InvocationTargetException;
@@ -39,6 +42,7 @@ import org.apache.camel.ExchangePattern;
 import org.apache.camel.Expression;
 import org.apache.camel.ExpressionEvaluationException;
 import org.apache.camel.ExtendedCamelContext;
+import org.apache.camel.Header;
 import org.apache.camel.Message;
 import org.apache.camel.NoTypeConversionAvailableException;
 import org.apache.camel.Pattern;
@@ -48,6 +52,7 @@ import org.apache.camel.StreamCache;
 import org.apache.camel.support.DefaultMessage;
 import org.apache.camel.support.ExchangeHelper;
 import org.apache.camel.support.ExpressionAdapter;
+import org.apache.camel.support.LanguageSupport;
 import org.apache.camel.support.MessageHelper;
 import org.apache.camel.support.ObjectHelper;
 import org.apache.camel.support.service.ServiceHelper;
@@ -77,6 +82,7 @@ public class MethodInfo {
     private AsyncProcessor recipientList;
     private AsyncProcessor routingSlip;
     private AsyncProcessor dynamicRouter;
+    private volatile MethodHandleInvoker methodHandleInvoker;
 
     /**
      * Adapter to invoke the method which has been annotated with the @DynamicRouter
@@ -190,9 +196,27 @@ public class MethodInfo {
     }
 
     public MethodInvocation createMethodInvocation(final Object pojo, boolean hasParameters, final Exchange exchange) {
+        return createMethodInvocation(pojo, hasParameters, false, exchange);
+    }
+
+    /**
+     * Creates the method invocation.
+     *
+     * @param pojo          the bean to invoke the method on
+     * @param hasParameters whether the method has parameters to bind
+     * @param methodHandle  whether to invoke the method using a {@link MethodHandle} with precomputed parameter bindings
+     *                      instead of reflection
+     * @param exchange      the exchange
+     */
+    public MethodInvocation createMethodInvocation(final Object pojo, boolean hasParameters, boolean methodHandle, final Exchange exchange) {
+        final MethodHandleInvoker invoker = methodHandle ? getMethodHandleInvoker() : null;
         final Object[] arguments;
         if (hasParameters) {
-            arguments = parametersExpression.evaluate(exchange, Object[].class);
+            if (invoker != null) {
+                arguments = invoker.evaluateParameters(exchange);
+            } else {
+                arguments = parametersExpression.evaluate(exchange, Object[].class);
+            }
         } else {
             arguments = null;
         }
@@ -222,7 +246,7 @@ public class MethodInfo {
                 }
             }
 
-            private boolean doProceed(AsyncCallback callback) throws Exception {
+            private boolean doProceed(AsyncCallback callback) throws Throwable {
                 // dynamic router should be invoked beforehand
                 if (dynamicRouter != null) {
                     if (!ServiceHelper.isStarted(dynamicRouter)) {
@@ -239,7 +263,7 @@ public class MethodInfo {
                 if (LOG.isTraceEnabled()) {
                     LOG.trace(">>>> invoking: {} on bean: {} with arguments: {} for exchange: {}", method, pojo, asString(arguments), exchange);
                 }
-                Object result = invoke(method, pojo, arguments, exchange);
+                Object result = invoker != null ? invoker.invoke(pojo, arguments, exchange) : invoke(method, pojo, arguments, exchange);
 
                 // the method may be a closure or chained method returning a callable which should be called
                 if (result instanceof Callable) {
@@ -426,6 +450,16 @@ public class MethodInfo {
         }
     }
 
+    private MethodHandleInvoker getMethodHandleInvoker() {
+        MethodHandleInvoker answer = methodHandleInvoker;
+        if (answer == null) {
+            // racy but harmless as the invoker is immutable and would be computed the same
+            answer = new MethodHandleInvoker();
+            methodHandleInvoker = answer;
+        }
+        return answer;
+    }
+
     protected Expression[] createParameterExpressions() {
         final int size = parameters.size();
         LOG.trace("Creating parameters expression for {} parameters", size);
@@ -742,39 +776,176 @@ public class MethodInfo {
          * Evaluate using classic parameter binding using the pre compute expression
          */
         private Object evaluateParameterBinding(Exchange exchange, Expression expression, int index, Class<?> parameterType) {
-            Object answer = null;
-
             // use object first to avoid type conversion so we know if there is a value or not
             Object result = expression.evaluate(exchange, Object.class);
-            if (result != null) {
-                try {
-                    if (parameterType.isInstance(result)) {
-                        // optimize if the value is already the same type
-                        answer = result;
-                    } else {
-                        // we got a value now try to convert it to the expected type
-                        answer = exchange.getContext().getTypeConverter().mandatoryConvertTo(parameterType, result);
-                    }
-                    if (LOG.isTraceEnabled()) {
-                        LOG.trace("Parameter #{} evaluated as: {} type: {}", index, answer, org.apache.camel.util.ObjectHelper.type(answer));
-                    }
-                } catch (NoTypeConversionAvailableException e) {
-                    if (LOG.isDebugEnabled()) {
-                        LOG.debug("Cannot convert from type: {} to type: {} for parameter #{}", org.apache.camel.util.ObjectHelper.type(result), parameterType, index);
+            return bindParameterValue(exchange, result, index, parameterType);
+        }
+
+        @Override
+        public String toString() {
+            return "ParametersExpression: " + Arrays.asList(expressions);
+        }
+
+    }
+
+    /**
+     * Binds the evaluated value to the parameter, converting it to the expected type of the parameter if needed
+     */
+    private Object bindParameterValue(Exchange exchange, Object result, int index, Class<?> parameterType) {
+        Object answer = null;
+        if (result != null) {
+            try {
+                if (parameterType.isInstance(result)) {
+                    // optimize if the value is already the same type
+                    answer = result;
+                } else {
+                    // we got a value now try to convert it to the expected type
+                    answer = exchange.getContext().getTypeConverter().mandatoryConvertTo(parameterType, result);
+                }
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("Parameter #{} evaluated as: {} type: {}", index, answer, org.apache.camel.util.ObjectHelper.type(answer));
+                }
+            } catch (NoTypeConversionAvailableException e) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Cannot convert from type: {} to type: {} for parameter #{}", org.apache.camel.util.ObjectHelper.type(result), parameterType, index);
+                }
+                throw new ParameterBindingException(e, method, index, parameterType, result);
+            }
+        } else {
+            LOG.trace("Parameter #{} evaluated as null", index);
+        }
+
+        return answer;
+    }
+
+    /**
+     * Binding of a single parameter value which has been precomputed for the method handle invocation.
+     */
+    private interface ParameterBinding {
+
+        Object evaluate(Exchange exchange);
+    }
+
+    /**
+     * Invokes the method using a {@link MethodHandle} with precomputed parameter bindings for the common kinds of
+     * parameters (body, header and exchange), which avoids the reflection and the parsing of the parameter values
+     * in the method name on each invocation.
+     */
+    private final class MethodHandleInvoker {
+        private final MethodHandle handle;
+        private final ParameterBinding[] bindings;
+        private final Class<?>[] types;
+        private final boolean[] primitives;
+
+        MethodHandleInvoker() {
+            this.handle = createMethodHandle();
+            int size = parameters.size();
+            this.bindings = new ParameterBinding[size];
+            this.types = new Class<?>[size];
+            this.primitives = new boolean[size];
+            for (int i = 0; i < size; i++) {
+                ParameterInfo info = parameters.get(i);
+                bindings[i] = createParameterBinding(info);
+                types[i] = info.getType();
+                primitives[i] = info.getType().isPrimitive();
+            }
+        }
+
+        private MethodHandle createMethodHandle() {
+            try {
+                method.setAccessible(true);
+                MethodHandle mh = MethodHandles.lookup().unreflect(method).asFixedArity();
+                mh = mh.asType(mh.type().generic()).asSpreader(Object[].class, method.getParameterCount());
+                if (isStaticMethod()) {
+                    mh = MethodHandles.dropArguments(mh, 0, Object.class);
+                }
+                return mh.asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+            } catch (Exception e) {
+                LOG.debug("Cannot create method handle for method: {} due to: {}. Will use reflection instead.", method, e.getMessage());
+                return null;
+            }
+        }
+
+        private ParameterBinding createParameterBinding(ParameterInfo info) {
+            final Expression expression = info.getExpression();
+            if (expression == null) {
+                return null;
+            }
+            final Class<?> parameterType = info.getType();
+            if (!bodyParameters.isEmpty() && bodyParameters.get(0) == info) {
+                if (Exchange.class.isAssignableFrom(parameterType)) {
+                    return exchange -> exchange;
+                }
+                // the body is often already of the expected type, then we can skip the expression
+                return exchange -> {
+                    Object body = exchange.getIn().getBody();
+                    if (body == null || parameterType.isInstance(body)) {
+                        return body;
                     }
-                    throw new ParameterBindingException(e, method, index, parameterType, result);
+                    return expression.evaluate(exchange, Object.class);
+                };
+            }
+            Annotation[] annotations = info.getAnnotations();
+            if (annotations != null && annotations.length == 1 && annotations[0] instanceof Header) {
+                final String name = ((Header) annotations[0]).value();
+                if (!LanguageSupport.hasSimpleFunction(name)) {
+                    return exchange -> {
+                        Object header = exchange.getIn().getHeader(name);
+                        if (header == null) {
+                            // fall back on a property
+                            header = exchange.getProperty(name);
+                        }
+                        return header;
+                    };
                 }
-            } else {
-                LOG.trace("Parameter #{} evaluated as null", index);
+            }
+            return exchange -> expression.evaluate(exchange, Object.class);
+        }
+
+        Object[] evaluateParameters(Exchange exchange) {
+            Message in = exchange.getIn();
+            String methodName = in.getHeader(Exchange.BEAN_METHOD_NAME, String.class);
+            if (methodName != null) {
+                if (methodName.indexOf('(') != -1) {
+                    // parameter values in the method name must be parsed and evaluated
+                    return parametersExpression.evaluate(exchange, Object[].class);
+                }
+                // remove header as it should not be propagated
+                in.removeHeader(Exchange.BEAN_METHOD_NAME);
             }
 
+            Object body = in.getBody();
+            Object[] answer = new Object[bindings.length];
+            for (int i = 0; i < bindings.length; i++) {
+                if (body instanceof StreamCache) {
+                    // need to reset stream cache for each expression as you may access the message body in multiple parameters
+                    ((StreamCache) body).reset();
+                }
+                ParameterBinding binding = bindings[i];
+                if (binding != null) {
+                    answer[i] = bindParameterValue(exchange, binding.evaluate(exchange), i, types[i]);
+                }
+            }
             return answer;
         }
 
-        @Override
-        public String toString() {
-            return "ParametersExpression: " + Arrays.asList(expressions);
+        Object invoke(Object pojo, Object[] arguments, Exchange exchange) throws Throwable {
+            if (handle == null || !isAssignable(arguments)) {
+                return MethodInfo.this.invoke(method, pojo, arguments, exchange);
+            }
+            return handle.invokeExact(pojo, arguments);
         }
 
+        private boolean isAssignable(Object[] arguments) {
+            if (arguments != null) {
+                for (int i = 0; i < primitives.length; i++) {
+                    if (primitives[i] && arguments[i] == null) {
+                        // let reflection report the invalid argument as usual
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
     }
 }
@@ -0,0 +1,354 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded cache of files which are kept open for appending, which is shared by the {@link FileProducer}s of the
+ * {@link FileEndpoint} when the <tt>appendKeepOpen</tt> option is enabled.
+ * <p/>
+ * The writes are buffered and flushed to the file when the buffer is full, and periodically by a background task
+ * which also syncs the files according to the {@link FileAppendSync} policy, and closes the files which have been idle
+ * for too long. The least recently used file which is not in use is closed if the cache is full.
+ * <p/>
+ * A file is written to by a single writer, as several writers would each buffer their writes and interleave the
+ * content in the file. Therefore a writer is never closed while in use, and the cache can temporary hold more files
+ * than its limit when they are all in use.
+ */
+public class FileAppendWriterCache extends ServiceSupport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileAppendWriterCache.class);
+
+    private final FileEndpoint endpoint;
+    private final Map<String, AppendWriter> writers;
+    private ScheduledExecutorService executor;
+
+    public FileAppendWriterCache(FileEndpoint endpoint) {
+        this.endpoint = endpoint;
+        // in access order so the least recently used writers are first
+        this.writers = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Acquires the writer for appending to the given file, which must be released after use.
+     */
+    public AppendWriter acquire(File file) throws IOException {
+        // use the canonical path so the same file is always appended to by the same writer
+        String key = file.getCanonicalPath();
+        synchronized (writers) {
+            AppendWriter writer = writers.get(key);
+            if (writer == null) {
+                writer = new AppendWriter(file);
+                writers.put(key, writer);
+            }
+            writer.inUse++;
+            if (writers.size() > endpoint.getAppendMaxOpenFiles()) {
+                closeLeastRecentlyUsed();
+            }
+            return writer;
+        }
+    }
+
+    /**
+     * Releases the writer after use.
+     */
+    public void release(AppendWriter writer) {
+        synchronized (writers) {
+            writer.inUse--;
+            writer.lastUsed = System.currentTimeMillis();
+            if (writer.inUse == 0 && writer.evicted) {
+                writer.close();
+            }
+        }
+    }
+
+    private void closeLeastRecentlyUsed() {
+        for (Iterator<AppendWriter> it = writers.values().iterator(); it.hasNext() && writers.size() > endpoint.getAppendMaxOpenFiles();) {
+            AppendWriter writer = it.next();
+            // the file is closed before it can be opened again by a new writer, as its removed while holding the lock
+            if (writer.inUse == 0) {
+                LOG.debug("Closing least recently used file: {}", writer.file);
+                it.remove();
+                writer.close();
+            }
+        }
+    }
+
+    /**
+     * Flushes and syncs the files according to the sync policy, and closes the idle files.
+     */
+    protected void flush() {
+        long idleTimeout = endpoint.getAppendIdleTimeout();
+        long now = System.currentTimeMillis();
+
+        List<AppendWriter> list;
+        synchronized (writers) {
+            for (Iterator<AppendWriter> it = writers.values().iterator(); it.hasNext();) {
+                AppendWriter writer = it.next();
+                if (idleTimeout > 0 && writer.inUse == 0 && now - writer.lastUsed >= idleTimeout) {
+                    LOG.debug("Closing idle file: {}", writer.file);
+                    it.remove();
+                    writer.close();
+                }
+            }
+            list = new ArrayList<>(writers.values());
+        }
+
+        boolean sync = endpoint.getAppendSync() == FileAppendSync.Interval;
+        for (AppendWriter writer : list) {
+            try {
+                writer.flush(sync);
+            } catch (IOException e) {
+                LOG.warn("Error flushing file: {} due: {}. This exception is ignored.", writer.file, e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        // the background task is required to flush the buffered writes and close the idle files
+        long interval = endpoint.getAppendSyncInterval();
+        if (interval <= 0) {
+            throw new IllegalArgumentException("AppendSyncInterval must be a positive value, was " + interval);
+        }
+        executor = endpoint.getCamelContext().getExecutorServiceManager().newSingleThreadScheduledExecutor(this, "FileAppendWriters");
+        executor.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (executor != null) {
+            endpoint.getCamelContext().getExecutorServiceManager().shutdown(executor);
+            executor = null;
+        }
+        synchronized (writers) {
+            for (AppendWriter writer : writers.values()) {
+                // a writer in use is closed when released
+                writer.evicted = true;
+                if (writer.inUse == 0) {
+                    writer.close();
+                }
+            }
+            writers.clear();
+        }
+    }
+
+    /**
+     * A buffered writer which keeps the file open for appending.
+     * <p/>
+     * The content of a message must be written while synchronized on the writer, from {@link #begin()} to
+     * {@link #end(boolean)}, so the content of concurrent messages is not interleaved.
+     */
+    public final class AppendWriter {
+
+        private final File file;
+        private final OutputStream stream = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                AppendWriter.this.write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                AppendWriter.this.write(b, off, len);
+            }
+
+            @Override
+            public void close() {
+                // noop as the file is kept open
+            }
+        };
+        private FileChannel channel;
+        private ByteBuffer buffer;
+        private long size;
+        private long opened;
+        private boolean exists;
+        private boolean dirty;
+        private volatile long lastUsed;
+        // guarded by the writers of the cache
+        private int inUse;
+        private boolean evicted;
+
+        AppendWriter(File file) {
+            this.file = file;
+        }
+
+        /**
+         * Prepares for writing the content of a new message, and rolls the file if needed.
+         *
+         * @return <tt>true</tt> if the file existed (or had been written to) before this message
+         */
+        public synchronized boolean begin() throws IOException {
+            if (channel != null && isRollNeeded()) {
+                roll();
+            }
+            if (channel == null) {
+                open();
+            }
+            return exists;
+        }
+
+        /**
+         * Done writing the content of a message.
+         *
+         * @param batchComplete whether the message completed a batch
+         */
+        public synchronized void end(boolean batchComplete) throws IOException {
+            exists = true;
+            lastUsed = System.currentTimeMillis();
+            if (batchComplete && endpoint.getAppendSync() == FileAppendSync.Batch) {
+                flush(true);
+            }
+        }
+
+        /**
+         * The output stream to write the content of the message to, which should not be closed.
+         */
+        public OutputStream getOutputStream() {
+            return stream;
+        }
+
+        synchronized void write(byte[] b, int off, int len) throws IOException {
+            if (channel == null) {
+                open();
+            }
+            if (len > buffer.remaining()) {
+                flushBuffer();
+            }
+            if (len >= buffer.capacity()) {
+                // too big to buffer so write directly
+                ByteBuffer bb = ByteBuffer.wrap(b, off, len);
+                while (bb.hasRemaining()) {
+                    channel.write(bb);
+                }
+            } else {
+                buffer.put(b, off, len);
+            }
+            size += len;
+            dirty = true;
+        }
+
+        synchronized void flush(boolean sync) throws IOException {
+            if (channel == null || !dirty) {
+                return;
+            }
+            flushBuffer();
+            if (sync) {
+                channel.force(false);
+            }
+            dirty = false;
+        }
+
+        private boolean isRollNeeded() {
+            long rollSize = endpoint.getAppendRollSize();
+            if (rollSize > 0 && size >= rollSize) {
+                return true;
+            }
+            long rollInterval = endpoint.getAppendRollInterval();
+            return rollInterval > 0 && System.currentTimeMillis() - opened >= rollInterval;
+        }
+
+        private void open() throws IOException {
+            exists = file.exists();
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            if (buffer == null) {
+                buffer = ByteBuffer.allocate(endpoint.getBufferSize());
+            }
+            size = channel.size();
+            opened = System.currentTimeMillis();
+            lastUsed = opened;
+            LOG.debug("Opened file: {} for appending", file);
+
+            // set permissions if the chmod option was set
+            if (!exists && ObjectHelper.isNotEmpty(endpoint.getChmod())) {
+                Set<PosixFilePermission> permissions = endpoint.getPermissions();
+                if (!permissions.isEmpty()) {
+                    Files.setPosixFilePermissions(file.toPath(), permissions);
+                }
+            }
+        }
+
+        private void roll() throws IOException {
+            closeChannel();
+
+            // rename the file using a timestamp suffix
+            String timestamp = new SimpleDateFormat("yyyyMMddHHmmssSSS").format(new Date());
+            File target = new File(file.getPath() + "." + timestamp);
+            for (int i = 1; target.exists(); i++) {
+                target = new File(file.getPath() + "." + timestamp + "-" + i);
+            }
+            LOG.debug("Rolling file: {} to: {}", file, target);
+            if (!FileUtil.renameFile(file, target, endpoint.isCopyAndDeleteOnRenameFail())) {
+                throw new IOException("Cannot roll file: " + file + " to: " + target);
+            }
+        }
+
+        private void flushBuffer() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        private void closeChannel() throws IOException {
+            try {
+                flush(endpoint.getAppendSync() != FileAppendSync.Never);
+            } finally {
+                channel.close();
+                channel = null;
+                buffer.clear();
+                dirty = false;
+            }
+        }
+
+        synchronized void close() {
+            if (channel != null) {
+                try {
+                    closeChannel();
+                    LOG.debug("Closed file: {}", file);
+                } catch (IOException e) {
+                    LOG.warn("Error closing file: {} due: {}. This exception is ignored.", file, e.getMessage(), e);
+                }
+            }
+        }
+    }
+}
@@ -20,17 +20,27 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
 import org.apache.camel.Processor;
+import org.apache.camel.support.SynchronizationAdapter;
 import org.apache.camel.util.FileUtil;
 import org.apache.camel.util.ObjectHelper;
 
@@ -41,6 +51,8 @@ public class FileConsumer extends GenericFileConsumer<File> {
 
     private String endpointPath;
     private Set<String> extendedAttributes;
+    private FileIndex index;
+    private ForkJoinPool walkPool;
 
     public FileConsumer(FileEndpoint endpoint, Processor processor, GenericFileOperations<File> operations, GenericFileProcessStrategy<File> processStrategy) {
         super(endpoint, processor, operations, processStrategy);
@@ -54,37 +66,19 @@ public class FileConsumer extends GenericFileConsumer<File> {
 
     @Override
     protected boolean pollDirectory(String fileName, List<GenericFile<File>> fileList, int depth) {
+        if (walkPool != null) {
+            return parallelPollDirectory(fileName, fileList, depth);
+        }
+
         log.trace("pollDirectory from fileName: {}", fileName);
 
         depth++;
 
-        File directory = new File(fileName);
-        if (!directory.exists() || !directory.isDirectory()) {
-            log.debug("Cannot poll as directory does not exists or its not a directory: {}", directory);
-            if (getEndpoint().isDirectoryMustExist()) {
-                throw new GenericFileOperationFailedException("Directory does not exist: " + directory);
-            }
+        File[] dirFiles = listDirectory(fileName, depth);
+        if (dirFiles == null) {
             return true;
         }
-
-        log.trace("Polling directory: {}", directory.getPath());
-        File[] dirFiles = directory.listFiles();
-        if (dirFiles == null || dirFiles.length == 0) {
-            // no files in this directory to poll
-            if (log.isTraceEnabled()) {
-                log.trace("No files found in directory: {}", directory.getPath());
-            }
-            return true;
-        } else {
-            // we found some files
-            if (log.isTraceEnabled()) {
-                log.trace("Found {} in directory: {}", dirFiles.length, directory.getPath());
-            }
-        }
         List<File> files = Arrays.asList(dirFiles);
-        if (getEndpoint().isPreSort()) {
-            files.sort(Comparator.comparing(File::getAbsoluteFile));
-        }
 
         for (File file : dirFiles) {
             // check if we can continue polling in files
@@ -102,7 +96,7 @@ public class FileConsumer extends GenericFileConsumer<File> {
             GenericFile<File> gf = asGenericFile(endpointPath, file, getEndpoint().getCharset(), getEndpoint().isProbeContentType());
 
             if (file.isDirectory()) {
-                if (endpoint.isRecursive() && depth < endpoint.getMaxDepth() && isValidFile(gf, true, files)) {
+                if (isValidDirectory(gf, files, depth)) {
                     // recursive scan and add the sub files and folders
                     String subDirectory = fileName + File.separator + file.getName();
                     boolean canPollMore = pollDirectory(subDirectory, fileList, depth);
@@ -110,56 +104,157 @@ public class FileConsumer extends GenericFileConsumer<File> {
                         return false;
                     }
                 }
-            } else {
-                // Windows can report false to a file on a share so regard it always as a file (if its not a directory)
-                if (depth >= endpoint.minDepth && isValidFile(gf, false, files)) {
-                    log.trace("Adding valid file: {}", file);
-                    // matched file so add
-                    if (extendedAttributes != null) {
-                        Path path = file.toPath();
-                        Map<String, Object> allAttributes = new HashMap<>();
-                        for (String attribute : extendedAttributes) {
-                            try {
-                                String prefix = null;
-                                if (attribute.endsWith(":*")) {
-                                    prefix = attribute.substring(0, attribute.length() - 1);
-                                } else if (attribute.equals("*")) {
-                                    prefix = "basic:";
-                                }
-
-                                if (ObjectHelper.isNotEmpty(prefix)) {
-                                    Map<String, Object> attributes = Files.readAttributes(path, attribute);
-                                    if (attributes != null) {
-                                        for (Map.Entry<String, Object> entry : attributes.entrySet()) {
-                                            allAttributes.put(prefix + entry.getKey(), entry.getValue());
-                                        }
-                                    }
-                                } else if (!attribute.contains(":")) {
-                                    allAttributes.put("basic:" + attribute, Files.getAttribute(path, attribute));
-                                } else {
-                                    allAttributes.put(attribute, Files.getAttribute(path, attribute));
-                                }
-                            } catch (IOException e) {
-                                if (log.isDebugEnabled()) {
-                                    log.debug("Unable to read attribute {} on file {}", attribute, file, e);
-                                }
-                            }
-                        }
+            } else if (acceptFile(gf, files, depth)) {
+                fileList.add(gf);
+            }
+        }
 
-                        gf.setExtendedAttributes(allAttributes);
-                    }
+        return true;
+    }
 
-                    fileList.add(gf);
-                }
+    /**
+     * Polls the directory by walking the sub directories concurrently using the fork-join pool.
+     * The files are gathered in the same order as when walking the directories one by one.
+     */
+    protected boolean parallelPollDirectory(String fileName, List<GenericFile<File>> fileList, int depth) {
+        int limit = eagerLimitMaxMessagesPerPoll && maxMessagesPerPoll > 0 ? maxMessagesPerPoll : 0;
+        DirectoryWalk walk = new DirectoryWalk(limit);
 
+        List<GenericFile<File>> files;
+        try {
+            files = walkPool.invoke(new DirectoryWalkTask(walk, fileName, depth));
+        } catch (RuntimeException e) {
+            // the files gathered by the other sub directories must be drained from the in progress repository
+            removeExcessiveInProgressFiles(new ArrayList<>(walk.accepted));
+            throw e;
+        }
+
+        if (limit > 0 && files.size() > limit) {
+            // the sub directories may have gathered a few more files concurrently, before they noticed the limit was hit
+            removeExcessiveInProgressFiles(new ArrayList<>(files.subList(limit, files.size())));
+            files = files.subList(0, limit);
+        }
+        fileList.addAll(files);
+
+        return walk.canPollMoreFiles();
+    }
+
+    /**
+     * Lists the files in the directory.
+     *
+     * @return the files, or <tt>null</tt> if there are no files in the directory to poll
+     */
+    private File[] listDirectory(String fileName, int depth) {
+        File directory = new File(fileName);
+        if (!directory.exists() || !directory.isDirectory()) {
+            log.debug("Cannot poll as directory does not exists or its not a directory: {}", directory);
+            if (getEndpoint().isDirectoryMustExist()) {
+                throw new GenericFileOperationFailedException("Directory does not exist: " + directory);
+            }
+            return null;
+        }
+
+        log.trace("Polling directory: {}", directory.getPath());
+        File[] dirFiles;
+        if (index != null) {
+            if (depth == 1) {
+                index.processEvents();
+            }
+            // only new or changed files (and the sub directories)
+            dirFiles = index.poll(directory);
+        } else {
+            dirFiles = directory.listFiles();
+        }
+        if (dirFiles == null || dirFiles.length == 0) {
+            // no files in this directory to poll
+            if (log.isTraceEnabled()) {
+                log.trace("No files found in directory: {}", directory.getPath());
+            }
+            return null;
+        } else {
+            // we found some files
+            if (log.isTraceEnabled()) {
+                log.trace("Found {} in directory: {}", dirFiles.length, directory.getPath());
             }
         }
+        if (getEndpoint().isPreSort()) {
+            Arrays.sort(dirFiles, Comparator.comparing(File::getAbsoluteFile));
+        }
+        return dirFiles;
+    }
+
+    /**
+     * Whether the sub directory should be walked
+     */
+    private boolean isValidDirectory(GenericFile<File> gf, List<File> files, int depth) {
+        return endpoint.isRecursive() && depth < endpoint.getMaxDepth() && isValidFile(gf, true, files);
+    }
+
+    /**
+     * Whether the file is valid and should be added to the files to process
+     */
+    private boolean acceptFile(GenericFile<File> gf, List<File> files, int depth) {
+        File file = gf.getFile();
+
+        // Windows can report false to a file on a share so regard it always as a file (if its not a directory)
+        boolean valid = depth >= endpoint.minDepth && isValidFile(gf, false, files);
+        if (index != null && (valid || endpoint.getDoneFileName() == null)) {
+            // the file is handled, so the index should not return it again until its changed,
+            // but keep it pending if it may become valid when its done file is written
+            index.done(file);
+        }
+        if (!valid) {
+            return false;
+        }
 
+        log.trace("Adding valid file: {}", file);
+        // matched file so add
+        if (extendedAttributes != null) {
+            Path path = file.toPath();
+            Map<String, Object> allAttributes = new HashMap<>();
+            for (String attribute : extendedAttributes) {
+                try {
+                    String prefix = null;
+                    if (attribute.endsWith(":*")) {
+                        prefix = attribute.substring(0, attribute.length() - 1);
+                    } else if (attribute.equals("*")) {
+                        prefix = "basic:";
+                    }
+
+                    if (ObjectHelper.isNotEmpty(prefix)) {
+                        Map<String, Object> attributes = Files.readAttributes(path, attribute);
+                        if (attributes != null) {
+                            for (Map.Entry<String, Object> entry : attributes.entrySet()) {
+                                allAttributes.put(prefix + entry.getKey(), entry.getValue());
+                            }
+                        }
+                    } else if (!attribute.contains(":")) {
+                        allAttributes.put("basic:" + attribute, Files.getAttribute(path, attribute));
+                    } else {
+                        allAttributes.put(attribute, Files.getAttribute(path, attribute));
+                    }
+                } catch (IOException e) {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Unable to read attribute {} on file {}", attribute, file, e);
+                    }
+                }
+            }
+
+            gf.setExtendedAttributes(allAttributes);
+        }
         return true;
     }
 
     @Override
     protected boolean isMatched(GenericFile<File> file, String doneFileName, List<File> files) {
+        if (index != null) {
+            // the files only contain the new or changed files so check the file system
+            if (new File(doneFileName).exists()) {
+                return true;
+            }
+            log.trace("Done file: {} does not exist", doneFileName);
+            return false;
+        }
         String onlyName = FileUtil.stripPath(doneFileName);
         // the done file name must be among the files
         for (File f : files) {
@@ -240,13 +335,189 @@ public class FileConsumer extends GenericFileConsumer<File> {
         }
     }
 
+    @Override
+    protected boolean processExchange(Exchange exchange) {
+        if (index == null) {
+            return super.processExchange(exchange);
+        }
+
+        final File file = getExchangeFile(exchange);
+        // a failed file is kept so it should be picked up again on the next poll
+        exchange.addOnCompletion(new SynchronizationAdapter() {
+            @Override
+            public void onFailure(Exchange exchange) {
+                index.pending(file);
+            }
+        });
+        boolean started = super.processExchange(exchange);
+        if (!started) {
+            index.pending(file);
+        }
+        return started;
+    }
+
+    @Override
+    protected void removeExcessiveInProgressFiles(Deque<Exchange> exchanges, int limit) {
+        if (index != null) {
+            // the files was not processed in this poll, so they should be picked up again
+            exchanges.stream().skip(limit).forEach(e -> index.pending(getExchangeFile(e)));
+        }
+        super.removeExcessiveInProgressFiles(exchanges, limit);
+    }
+
+    @Override
+    protected void removeExcessiveInProgressFiles(List<GenericFile<File>> files) {
+        if (index != null) {
+            files.forEach(f -> index.pending(f.getFile()));
+        }
+        super.removeExcessiveInProgressFiles(files);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (getEndpoint().isIncremental()) {
+            index = new FileIndex(getEndpoint().getIncrementalReconcileInterval());
+            index.start();
+        }
+        if (getEndpoint().isRecursive() && getEndpoint().getRecursiveParallelism() > 1) {
+            final String threadName = getEndpoint().getCamelContext().getExecutorServiceManager().resolveThreadName("FileConsumerDirectoryWalk");
+            walkPool = new ForkJoinPool(getEndpoint().getRecursiveParallelism(), pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName(threadName + "-" + thread.getPoolIndex());
+                return thread;
+            }, null, false);
+        }
+        super.doStart();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        if (walkPool != null) {
+            walkPool.shutdownNow();
+            walkPool = null;
+        }
+        if (index != null) {
+            index.close();
+            index = null;
+        }
+    }
+
     @Override
     public FileEndpoint getEndpoint() {
         return (FileEndpoint) super.getEndpoint();
     }
 
+    private static File getExchangeFile(Exchange exchange) {
+        GenericFile<?> file = exchange.getProperty(FileComponent.FILE_EXCHANGE_FILE, GenericFile.class);
+        return (File) file.getFile();
+    }
+
     private boolean fileHasMoved(GenericFile<File> file) {
         // GenericFile's absolute path is always up to date whereas the underlying file is not
         return !file.getFile().getAbsolutePath().equals(file.getAbsoluteFilePath());
     }
+
+    /**
+     * The state of a parallel directory walk which is shared by the tasks walking the sub directories.
+     */
+    private static final class DirectoryWalk {
+        private final int limit;
+        private final AtomicInteger count = new AtomicInteger();
+        private final Queue<GenericFile<File>> accepted = new ConcurrentLinkedQueue<>();
+
+        DirectoryWalk(int limit) {
+            this.limit = limit;
+        }
+
+        boolean canPollMoreFiles() {
+            return limit == 0 || count.get() < limit;
+        }
+
+        void accept(GenericFile<File> file) {
+            accepted.add(file);
+            count.incrementAndGet();
+        }
+    }
+
+    /**
+     * Task which walks a directory and forks a new task for each of its sub directories.
+     */
+    private final class DirectoryWalkTask extends RecursiveTask<List<GenericFile<File>>> {
+        private final DirectoryWalk walk;
+        private final String fileName;
+        private final int depth;
+
+        DirectoryWalkTask(DirectoryWalk walk, String fileName, int depth) {
+            this.walk = walk;
+            this.fileName = fileName;
+            this.depth = depth + 1;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected List<GenericFile<File>> compute() {
+            log.trace("pollDirectory from fileName: {}", fileName);
+
+            File[] dirFiles = listDirectory(fileName, depth);
+            if (dirFiles == null) {
+                return Collections.emptyList();
+            }
+            List<File> files = Arrays.asList(dirFiles);
+
+            // the files and the forked sub directory tasks in the order they must be gathered
+            List<Object> parts = new ArrayList<>(dirFiles.length);
+            RuntimeException cause = null;
+            try {
+                for (File file : dirFiles) {
+                    // check if we can continue polling in files
+                    if (!walk.canPollMoreFiles()) {
+                        break;
+                    }
+
+                    // trace log as Windows/Unix can have different views what the file is?
+                    if (log.isTraceEnabled()) {
+                        log.trace("Found file: {} [isAbsolute: {}, isDirectory: {}, isFile: {}, isHidden: {}]",
+                                file, file.isAbsolute(), file.isDirectory(), file.isFile(), file.isHidden());
+                    }
+
+                    // creates a generic file
+                    GenericFile<File> gf = asGenericFile(endpointPath, file, getEndpoint().getCharset(), getEndpoint().isProbeContentType());
+
+                    if (file.isDirectory()) {
+                        if (isValidDirectory(gf, files, depth)) {
+                            // walk the sub directory concurrently
+                            String subDirectory = fileName + File.separator + file.getName();
+                            parts.add(new DirectoryWalkTask(walk, subDirectory, depth).fork());
+                        }
+                    } else if (acceptFile(gf, files, depth)) {
+                        walk.accept(gf);
+                        parts.add(gf);
+                    }
+                }
+            } catch (RuntimeException e) {
+                cause = e;
+            }
+
+            // always join all the forked tasks so the walk is complete when the root task returns
+            List<GenericFile<File>> answer = new ArrayList<>(parts.size());
+            for (Object part : parts) {
+                if (part instanceof DirectoryWalkTask) {
+                    try {
+                        answer.addAll(((DirectoryWalkTask) part).join());
+                    } catch (RuntimeException e) {
+                        if (cause == null) {
+                            cause = e;
+                        }
+                    }
+                } else {
+                    answer.add((GenericFile<File>) part);
+                }
+            }
+            if (cause != null) {
+                throw cause;
+            }
+            return answer;
+        }
+    }
 }
@@ -36,6 +36,7 @@ import org.apache.camel.spi.UriEndpoint;
 import org.apache.camel.spi.UriParam;
 import org.apache.camel.spi.UriPath;
 import org.apache.camel.support.processor.idempotent.MemoryIdempotentRepository;
+import org.apache.camel.support.service.ServiceHelper;
 import org.apache.camel.util.FileUtil;
 import org.apache.camel.util.ObjectHelper;
 
@@ -67,12 +68,34 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
     private boolean probeContentType;
     @UriParam(label = "consumer,advanced")
     private String extendedAttributes;
+    @UriParam(label = "consumer,advanced")
+    private boolean incremental;
+    @UriParam(label = "consumer,advanced", defaultValue = "60000")
+    private long incrementalReconcileInterval = 60000;
+    @UriParam(label = "consumer,advanced")
+    private int recursiveParallelism;
     @UriParam(label = "producer,advanced", defaultValue = "true")
     private boolean forceWrites = true;
     @UriParam(label = "producer,advanced")
     private String chmod;
     @UriParam(label = "producer,advanced")
     private String chmodDirectory;
+    @UriParam(label = "producer,advanced")
+    private boolean appendKeepOpen;
+    @UriParam(label = "producer,advanced", defaultValue = "10")
+    private int appendMaxOpenFiles = 10;
+    @UriParam(label = "producer,advanced", defaultValue = "60000")
+    private long appendIdleTimeout = 60000;
+    @UriParam(label = "producer,advanced", defaultValue = "Interval")
+    private FileAppendSync appendSync = FileAppendSync.Interval;
+    @UriParam(label = "producer,advanced", defaultValue = "1000")
+    private long appendSyncInterval = 1000;
+    @UriParam(label = "producer,advanced")
+    private long appendRollSize;
+    @UriParam(label = "producer,advanced")
+    private long appendRollInterval;
+    private FileAppendWriterCache appendWriters;
+    private int appendWritersUsage;
 
     public FileEndpoint() {
     }
@@ -177,7 +200,37 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
         if (this.getMoveExistingFileStrategy() == null) {
             this.setMoveExistingFileStrategy(createDefaultMoveExistingFileStrategy());
         }
-        return new GenericFileProducer<>(this, operations);
+        if (isAppendKeepOpen() && getDoneFileName() != null) {
+            throw new IllegalArgumentException("You cannot set both appendKeepOpen=true and doneFileName options");
+        }
+        if (isAppendKeepOpen() && getAppendSyncInterval() <= 0) {
+            throw new IllegalArgumentException("You must configure a positive appendSyncInterval option when appendKeepOpen=true, was " + getAppendSyncInterval());
+        }
+        return new FileProducer(this, operations);
+    }
+
+    /**
+     * Gets the files kept open for appending, which are shared by the producers of this endpoint, so a file is
+     * never appended to by several open files at the same time.
+     */
+    synchronized FileAppendWriterCache acquireAppendWriters() throws Exception {
+        if (appendWriters == null) {
+            appendWriters = new FileAppendWriterCache(this);
+            ServiceHelper.startService(appendWriters);
+        }
+        appendWritersUsage++;
+        return appendWriters;
+    }
+
+    /**
+     * Releases the files kept open for appending, which are closed when no longer used by any producer.
+     */
+    synchronized void releaseAppendWriters() throws Exception {
+        if (--appendWritersUsage == 0) {
+            FileAppendWriterCache cache = appendWriters;
+            appendWriters = null;
+            ServiceHelper.stopService(cache);
+        }
     }
 
     @Override
@@ -317,6 +370,91 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
         this.forceWrites = forceWrites;
     }
 
+    public boolean isAppendKeepOpen() {
+        return appendKeepOpen;
+    }
+
+    /**
+     * Whether to keep the files open between writes when using fileExist=Append, instead of opening and closing
+     * the file for every message. The writes are buffered and the files are flushed and synced according to the appendSync option.
+     * This can yield better performance when appending many small messages to a few files, such as log files.
+     */
+    public void setAppendKeepOpen(boolean appendKeepOpen) {
+        this.appendKeepOpen = appendKeepOpen;
+    }
+
+    public int getAppendMaxOpenFiles() {
+        return appendMaxOpenFiles;
+    }
+
+    /**
+     * The maximum number of files to keep open when using appendKeepOpen.
+     * The least recently used file which is not being written to is closed when the limit is hit.
+     */
+    public void setAppendMaxOpenFiles(int appendMaxOpenFiles) {
+        this.appendMaxOpenFiles = appendMaxOpenFiles;
+    }
+
+    public long getAppendIdleTimeout() {
+        return appendIdleTimeout;
+    }
+
+    /**
+     * Time in millis before a file which has not been written to is closed when using appendKeepOpen.
+     */
+    public void setAppendIdleTimeout(long appendIdleTimeout) {
+        this.appendIdleTimeout = appendIdleTimeout;
+    }
+
+    public FileAppendSync getAppendSync() {
+        return appendSync;
+    }
+
+    /**
+     * When to sync the files to the disk when using appendKeepOpen. Never leaves it to the operating system,
+     * Interval syncs the files periodically (see appendSyncInterval), and Batch syncs the file after each message
+     * which completes a batch (or is not part of a batch). The files are always synced when they are closed, unless Never is in use.
+     */
+    public void setAppendSync(FileAppendSync appendSync) {
+        this.appendSync = appendSync;
+    }
+
+    public long getAppendSyncInterval() {
+        return appendSyncInterval;
+    }
+
+    /**
+     * Interval in millis for flushing the buffered writes, syncing the files (if appendSync is Interval)
+     * and closing idle files when using appendKeepOpen. Must be a positive value.
+     */
+    public void setAppendSyncInterval(long appendSyncInterval) {
+        this.appendSyncInterval = appendSyncInterval;
+    }
+
+    public long getAppendRollSize() {
+        return appendRollSize;
+    }
+
+    /**
+     * To roll the file when it has reached the given size in bytes when using appendKeepOpen. The file is rolled by
+     * renaming it with a timestamp suffix before the next message is written, so a message is never split between files.
+     */
+    public void setAppendRollSize(long appendRollSize) {
+        this.appendRollSize = appendRollSize;
+    }
+
+    public long getAppendRollInterval() {
+        return appendRollInterval;
+    }
+
+    /**
+     * To roll the file when it has been open for the given time in millis when using appendKeepOpen. The file is rolled by
+     * renaming it with a timestamp suffix before the next message is written.
+     */
+    public void setAppendRollInterval(long appendRollInterval) {
+        this.appendRollInterval = appendRollInterval;
+    }
+
     public boolean isProbeContentType() {
         return probeContentType;
     }
@@ -341,6 +479,46 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
         this.extendedAttributes = extendedAttributes;
     }
 
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    /**
+     * Whether to poll incrementally by keeping an in-memory index of the name, size and last modified timestamp of the
+     * files seen, so only new or changed files are picked up by the consumer. The index is kept up to date using the
+     * file system watch service (if supported) and by reconciling with the directory listing periodically.
+     * Notice that a file which is not picked up, for example due to a filter, is only considered again when it is changed.
+     */
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    public long getIncrementalReconcileInterval() {
+        return incrementalReconcileInterval;
+    }
+
+    /**
+     * Interval in millis to reconcile the incremental index with the directory listing. This is only in use
+     * if the file system watch service is supported, otherwise the index is reconciled on every poll.
+     */
+    public void setIncrementalReconcileInterval(long incrementalReconcileInterval) {
+        this.incrementalReconcileInterval = incrementalReconcileInterval;
+    }
+
+    public int getRecursiveParallelism() {
+        return recursiveParallelism;
+    }
+
+    /**
+     * To walk the sub directories concurrently using a fork-join pool with the given number of threads, when the recursive
+     * option is enabled. This can speedup polling large directory trees, especially on network file systems.
+     * The files are gathered in the same order as when walking the sub directories one by one, however if maxMessagesPerPoll
+     * is in use, then the files picked up when the limit is hit may vary. Notice that any custom filter must be thread-safe.
+     */
+    public void setRecursiveParallelism(int recursiveParallelism) {
+        this.recursiveParallelism = recursiveParallelism;
+    }
+
     /**
      * Chmod value must be between 000 and 777; If there is a leading digit like in 0755 we will ignore it.
      */
@@ -0,0 +1,270 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.camel.util.IOHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An in-memory index of the files seen by the {@link FileConsumer} when using the <tt>incremental</tt> option.
+ * <p/>
+ * The index keeps the name, size and last modified timestamp of the files in each polled directory, and only hands back
+ * the files which are new, has changed, or which was not completed in a previous poll. Changes are detected using a
+ * {@link WatchService} (if supported by the file system) and by reconciling the index with the directory listing
+ * periodically, or on every poll if no {@link WatchService} is available.
+ */
+final class FileIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileIndex.class);
+    private static final File[] EMPTY = new File[0];
+
+    private final Map<String, DirectoryIndex> directories = new HashMap<>();
+    private final Map<WatchKey, DirectoryIndex> keys = new HashMap<>();
+    private final long reconcileInterval;
+    private WatchService watchService;
+
+    FileIndex(long reconcileInterval) {
+        this.reconcileInterval = reconcileInterval;
+    }
+
+    /**
+     * Starts the index, and creates the {@link WatchService} if the file system supports it.
+     */
+    synchronized void start() {
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+        } catch (IOException | UnsupportedOperationException e) {
+            LOG.debug("WatchService not supported, will reconcile directories on every poll due: {}", e.getMessage());
+            watchService = null;
+        }
+    }
+
+    /**
+     * Stops the index and clears all the indexed entries.
+     */
+    synchronized void close() {
+        IOHelper.close(watchService, "WatchService", LOG);
+        watchService = null;
+        directories.clear();
+        keys.clear();
+    }
+
+    /**
+     * Drains the pending {@link WatchService} events and marks the affected files as pending.
+     */
+    synchronized void processEvents() {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            WatchKey key;
+            while ((key = watchService.poll()) != null) {
+                DirectoryIndex dir = keys.get(key);
+                if (dir != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            dir.reconcile = true;
+                        } else {
+                            String name = event.context().toString();
+                            if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                                dir.remove(name);
+                            } else {
+                                dir.pending.add(name);
+                            }
+                        }
+                    }
+                }
+                if (!key.reset()) {
+                    // the directory is no longer accessible so start over if it comes back
+                    keys.remove(key);
+                    if (dir != null) {
+                        dir.key = null;
+                        directories.remove(dir.directory.getPath());
+                    }
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // ignore as we are stopping
+        }
+    }
+
+    /**
+     * Gets the files in the given directory which are new, changed or pending, and the known sub directories.
+     *
+     * @param directory the directory
+     * @return the files to consider, or <tt>null</tt> if the directory could not be listed
+     */
+    synchronized File[] poll(File directory) {
+        DirectoryIndex dir = directories.get(directory.getPath());
+        if (dir == null) {
+            dir = new DirectoryIndex(directory);
+            directories.put(directory.getPath(), dir);
+            register(dir);
+        }
+
+        long now = System.currentTimeMillis();
+        if (dir.reconcile || dir.key == null || now - dir.lastReconcile >= reconcileInterval) {
+            if (!reconcile(dir)) {
+                return null;
+            }
+            dir.reconcile = false;
+            dir.lastReconcile = now;
+        }
+
+        if (dir.pending.isEmpty() && dir.directories.isEmpty()) {
+            return EMPTY;
+        }
+
+        List<File> answer = new ArrayList<>(dir.pending.size() + dir.directories.size());
+        for (Iterator<String> it = dir.pending.iterator(); it.hasNext();) {
+            String name = it.next();
+            BasicFileAttributes attrs = readAttributes(new File(directory, name).toPath());
+            if (attrs == null) {
+                // the file is gone
+                it.remove();
+                dir.files.remove(name);
+            } else if (attrs.isDirectory()) {
+                // new sub directory so its included below
+                it.remove();
+                dir.directories.add(name);
+            } else {
+                dir.files.put(name, new long[]{attrs.size(), attrs.lastModifiedTime().toMillis()});
+                answer.add(new File(directory, name));
+            }
+        }
+        for (String name : dir.directories) {
+            answer.add(new File(directory, name));
+        }
+        return answer.toArray(new File[answer.size()]);
+    }
+
+    /**
+     * Marks the file as done, so its not returned again until it is changed.
+     */
+    synchronized void done(File file) {
+        DirectoryIndex dir = directories.get(file.getParent());
+        if (dir != null) {
+            dir.pending.remove(file.getName());
+        }
+    }
+
+    /**
+     * Marks the file as pending, so its returned again on the next poll.
+     */
+    synchronized void pending(File file) {
+        DirectoryIndex dir = directories.get(file.getParent());
+        if (dir != null) {
+            dir.pending.add(file.getName());
+        }
+    }
+
+    private void register(DirectoryIndex dir) {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            dir.key = dir.directory.toPath().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+            keys.put(dir.key, dir);
+        } catch (IOException | UnsupportedOperationException | ClosedWatchServiceException e) {
+            LOG.debug("Cannot watch directory: {} due: {}", dir.directory, e.getMessage());
+        }
+    }
+
+    private boolean reconcile(DirectoryIndex dir) {
+        Set<String> seen = new LinkedHashSet<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir.directory.toPath())) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                BasicFileAttributes attrs = readAttributes(path);
+                if (attrs == null) {
+                    continue;
+                }
+                seen.add(name);
+                if (attrs.isDirectory()) {
+                    dir.directories.add(name);
+                } else {
+                    long[] known = dir.files.get(name);
+                    if (known == null || known[0] != attrs.size() || known[1] != attrs.lastModifiedTime().toMillis()) {
+                        dir.pending.add(name);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            LOG.debug("Cannot list directory: {} due: {}", dir.directory, e.getMessage());
+            return false;
+        }
+
+        dir.files.keySet().retainAll(seen);
+        dir.directories.retainAll(seen);
+        dir.pending.retainAll(seen);
+        return true;
+    }
+
+    private static BasicFileAttributes readAttributes(Path path) {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            LOG.trace("Cannot read attributes of file: {} due: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    private static final class DirectoryIndex {
+        private final File directory;
+        private final Map<String, long[]> files = new HashMap<>();
+        private final Set<String> directories = new LinkedHashSet<>();
+        private final Set<String> pending = new LinkedHashSet<>();
+        private WatchKey key;
+        private long lastReconcile;
+        private boolean reconcile;
+
+        DirectoryIndex(File directory) {
+            this.directory = directory;
+        }
+
+        void remove(String name) {
+            files.remove(name);
+            directories.remove(name);
+            pending.remove(name);
+        }
+    }
+}
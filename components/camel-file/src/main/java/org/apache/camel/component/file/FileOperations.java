@@ -21,6 +21,8 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
 import java.nio.ByteBuffer;
@@ -38,7 +40,10 @@ import java.util.Set;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.InvalidPayloadException;
+import org.apache.camel.StreamCache;
 import org.apache.camel.WrappedFile;
+import org.apache.camel.converter.stream.FileInputStreamCache;
+import org.apache.camel.converter.stream.OffHeapInputStreamCache;
 import org.apache.camel.util.FileUtil;
 import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.ObjectHelper;
@@ -54,6 +59,7 @@ import static org.apache.camel.component.file.GenericFileHelper.asExclusiveReadL
 public class FileOperations implements GenericFileOperations<File> {
     private static final Logger LOG = LoggerFactory.getLogger(FileOperations.class);
     private FileEndpoint endpoint;
+    private FileAppendWriterCache appendWriters;
 
     public FileOperations() {
     }
@@ -67,6 +73,13 @@ public class FileOperations implements GenericFileOperations<File> {
         this.endpoint = (FileEndpoint) endpoint;
     }
 
+    /**
+     * Sets the cache of open files to use when appending to files (optional).
+     */
+    public void setAppendWriters(FileAppendWriterCache appendWriters) {
+        this.appendWriters = appendWriters;
+    }
+
     @Override
     public boolean deleteFile(String name) throws GenericFileOperationFailedException {
         File file = new File(name);
@@ -268,6 +281,16 @@ public class FileOperations implements GenericFileOperations<File> {
             }
         }
 
+        if (appendWriters != null && endpoint.getFileExist() == GenericFileExist.Append) {
+            // append to the file which is kept open
+            try {
+                writeFileByAppendWriter(exchange, file);
+                return true;
+            } catch (IOException | InvalidPayloadException e) {
+                throw new GenericFileOperationFailedException("Cannot store file: " + file, e);
+            }
+        }
+
         // we can write the file by 3 different techniques
         // 1. write file to file
         // 2. rename a file from a local work path
@@ -350,6 +373,10 @@ public class FileOperations implements GenericFileOperations<File> {
                 // buffer the reader
                 in = IOHelper.buffered(in);
                 writeFileByReaderWithCharset(in, file, charset);
+            } else if (exchange.getIn().getBody() instanceof FileInputStreamCache
+                    || exchange.getIn().getBody() instanceof OffHeapInputStreamCache) {
+                // spooled stream caches can transfer their content to the file channel without copying to the heap
+                writeFileByStreamCache(exchange.getIn().getBody(StreamCache.class), file);
             } else {
                 // fallback and use stream based
                 InputStream in = exchange.getIn().getMandatoryBody(InputStream.class);
@@ -446,6 +473,72 @@ public class FileOperations implements GenericFileOperations<File> {
         }
     }
 
+    private void writeFileByAppendWriter(Exchange exchange, File target) throws IOException, InvalidPayloadException {
+        FileAppendWriterCache.AppendWriter appender = appendWriters.acquire(target);
+        try {
+            // the writer is shared by the producers of the endpoint, so write the message as a whole
+            synchronized (appender) {
+                LOG.trace("Using open file to append to file: {}", target);
+                boolean exists = appender.begin();
+                OutputStream out = appender.getOutputStream();
+                int size = endpoint.getBufferSize();
+
+                String charset = endpoint.getCharset();
+                if (charset != null) {
+                    // charset configured so we must use a reader so we can write with encoding
+                    Reader in = exchange.getContext().getTypeConverter().tryConvertTo(Reader.class, exchange, exchange.getIn().getBody());
+                    if (in == null) {
+                        // okay no direct reader conversion, so use an input stream (which a lot can be converted as)
+                        InputStream is = exchange.getIn().getMandatoryBody(InputStream.class);
+                        in = new InputStreamReader(is);
+                    }
+                    try {
+                        Writer writer = new OutputStreamWriter(out, charset);
+                        IOHelper.copy(in, writer, size);
+                        if (exists && endpoint.getAppendChars() != null) {
+                            writer.write(endpoint.getAppendChars());
+                        }
+                        writer.flush();
+                    } finally {
+                        IOHelper.close(in, target.getName(), LOG);
+                    }
+                } else {
+                    InputStream in = exchange.getIn().getMandatoryBody(InputStream.class);
+                    try {
+                        IOHelper.copy(in, out, size);
+                        if (exists && endpoint.getAppendChars() != null) {
+                            out.write(endpoint.getAppendChars().getBytes());
+                        }
+                    } finally {
+                        IOHelper.close(in, target.getName(), LOG);
+                    }
+                }
+
+                // the message completes a batch if its the last in the batch, or is not part of a batch
+                boolean batchComplete = exchange.getProperty(Exchange.BATCH_COMPLETE, exchange.getProperty(Exchange.BATCH_SIZE) == null, Boolean.class);
+                appender.end(batchComplete);
+            }
+        } finally {
+            appendWriters.release(appender);
+        }
+    }
+
+    private void writeFileByStreamCache(StreamCache cache, File target) throws IOException {
+        boolean exists = target.exists();
+        boolean append = endpoint.getFileExist() == GenericFileExist.Append;
+        try (FileOutputStream out = new FileOutputStream(target, append)) {
+            LOG.debug("Using StreamCache to write file: {}", target);
+            cache.writeTo(out);
+
+            if (append && exists && endpoint.getAppendChars() != null) {
+                out.write(endpoint.getAppendChars().getBytes());
+            }
+        } finally {
+            // reset so the stream cache can be read again
+            cache.reset();
+        }
+    }
+
     private void writeFileByReaderWithCharset(Reader in, File target, String charset) throws IOException {
         boolean exists = target.exists();
         boolean append = endpoint.getFileExist() == GenericFileExist.Append;
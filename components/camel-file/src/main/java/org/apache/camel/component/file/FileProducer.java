@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.File;
+
+/**
+ * File producer.
+ */
+public class FileProducer extends GenericFileProducer<File> {
+
+    private final FileOperations fileOperations;
+    private FileAppendWriterCache appendWriters;
+
+    public FileProducer(FileEndpoint endpoint, FileOperations operations) {
+        super(endpoint, operations);
+        this.fileOperations = operations;
+    }
+
+    @Override
+    public FileEndpoint getEndpoint() {
+        return (FileEndpoint) super.getEndpoint();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (getEndpoint().isAppendKeepOpen() && getEndpoint().getFileExist() == GenericFileExist.Append) {
+            // the open files are shared by the producers of the endpoint, so use its own file operations
+            appendWriters = getEndpoint().acquireAppendWriters();
+            FileOperations answer = new FileOperations(getEndpoint());
+            answer.setAppendWriters(appendWriters);
+            setOperations(answer);
+        }
+        super.doStart();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        if (appendWriters != null) {
+            // the open files are closed when the last producer is stopped
+            getEndpoint().releaseAppendWriters();
+            appendWriters = null;
+            setOperations(fileOperations);
+        }
+    }
+}
@@ -0,0 +1,451 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.http;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProducer;
+import org.apache.camel.CamelExchangeException;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExtendedCamelContext;
+import org.apache.camel.converter.stream.CachedOutputStream;
+import org.apache.camel.spi.AsyncProcessorAwaitManager;
+import org.apache.camel.spi.ExecutorServiceManager;
+import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.camel.support.AsyncCallbackToCompletableFutureAdapter;
+import org.apache.camel.support.SynchronizationAdapter;
+import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.concurrent.Rejectable;
+import org.apache.camel.util.concurrent.ThreadPoolRejectedPolicy;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.nio.ContentDecoder;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.client.methods.HttpAsyncMethods;
+import org.apache.http.nio.entity.ContentInputStream;
+import org.apache.http.nio.protocol.AbstractAsyncResponseConsumer;
+import org.apache.http.nio.util.SharedInputBuffer;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.util.EntityUtils;
+
+/**
+ * A producer which uses the non-blocking Apache HttpAsyncClient to call the remote server.
+ * <p/>
+ * The calling thread is not blocked while the request is in flight, as the request body is written and the
+ * response body is read by the NIO I/O reactor threads of the client. The response body is streamed into the
+ * stream cache as it arrives, or when the stream cache is disabled then the response body is streamed to the
+ * route as it is read. The exchange is continued by a thread from the thread pool of the producer, and not
+ * by an I/O reactor thread, as the route could then block the I/O of other requests. The default thread pool has an
+ * unbounded queue, and if the thread pool rejects the exchange, such as when the producer is stopped, then the
+ * exchange fails with a {@link RejectedExecutionException}.
+ * Each producer has its own client, and therefore its own connection pool.
+ */
+public class HttpAsyncProducer extends HttpProducer implements AsyncProducer {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private CloseableHttpAsyncClient asyncClient;
+    private volatile ExecutorService executorService;
+    private boolean shutdownExecutorService;
+
+    public HttpAsyncProducer(HttpEndpoint endpoint) {
+        super(endpoint);
+    }
+
+    @Override
+    public void process(Exchange exchange) throws Exception {
+        AsyncProcessorAwaitManager awaitManager = exchange.getContext().adapt(ExtendedCamelContext.class).getAsyncProcessorAwaitManager();
+        awaitManager.process(this, exchange);
+    }
+
+    @Override
+    public CompletableFuture<Exchange> processAsync(Exchange exchange) {
+        AsyncCallbackToCompletableFutureAdapter<Exchange> callback = new AsyncCallbackToCompletableFutureAdapter<>(exchange);
+        process(exchange, callback);
+        return callback.getFuture();
+    }
+
+    @Override
+    public boolean process(final Exchange exchange, final AsyncCallback callback) {
+        try {
+            final HttpRequestBase httpRequest = prepareRequest(exchange);
+            if (log.isDebugEnabled()) {
+                log.debug("Executing http {} method: {}", httpRequest.getMethod(), httpRequest.getURI());
+            }
+            final ResponseHandler handler = new ResponseHandler(exchange, httpRequest, callback);
+            AbstractAsyncResponseConsumer<HttpResponse> consumer;
+            if (getEndpoint().isDisableStreamCache() && !getEndpoint().isIgnoreResponseBody()) {
+                consumer = new StreamingResponseConsumer(handler);
+            } else {
+                consumer = new StreamCachingResponseConsumer(exchange);
+            }
+            asyncClient.execute(HttpAsyncMethods.create(httpRequest), consumer, createLocalContext(), handler);
+        } catch (Exception e) {
+            exchange.setException(e);
+            callback.done(true);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    protected InputStream doExtractResponseBodyAsStream(InputStream is, Exchange exchange) throws IOException {
+        if (is instanceof CachedResponseInputStream) {
+            // the response body has already been read into the stream cache
+            return is;
+        }
+        return super.doExtractResponseBodyAsStream(is, exchange);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        if (executorService == null) {
+            executorService = getEndpoint().getExecutorService();
+            if (executorService == null) {
+                ExecutorServiceManager manager = getEndpoint().getCamelContext().getExecutorServiceManager();
+                // use an unbounded queue and never let the I/O reactor thread run the task when the pool is saturated
+                ThreadPoolProfile profile = manager.getDefaultThreadPoolProfile().clone();
+                profile.setId("HttpAsyncProducer");
+                profile.setDefaultProfile(false);
+                profile.setMaxQueueSize(Integer.MAX_VALUE);
+                profile.setRejectedPolicy(ThreadPoolRejectedPolicy.Abort);
+                executorService = manager.newThreadPool(this, "HttpAsyncProducer", profile);
+                shutdownExecutorService = true;
+            }
+        }
+        if (asyncClient == null) {
+            asyncClient = getEndpoint().createHttpAsyncClient();
+        }
+        asyncClient.start();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        if (asyncClient != null) {
+            IOHelper.close(asyncClient);
+            asyncClient = null;
+        }
+        if (executorService != null && shutdownExecutorService) {
+            getEndpoint().getCamelContext().getExecutorServiceManager().shutdown(executorService);
+            shutdownExecutorService = false;
+        }
+        executorService = null;
+    }
+
+    /**
+     * Continues the exchange when the response has been received, or the request failed, using a thread from the
+     * thread pool of the producer instead of the I/O reactor thread which calls back.
+     */
+    private final class ResponseHandler implements FutureCallback<HttpResponse> {
+
+        private final Exchange exchange;
+        private final HttpRequestBase httpRequest;
+        private final AsyncCallback callback;
+        // the exchange is continued when the response body starts streaming, before the response is completed
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        ResponseHandler(Exchange exchange, HttpRequestBase httpRequest, AsyncCallback callback) {
+            this.exchange = exchange;
+            this.httpRequest = httpRequest;
+            this.callback = callback;
+        }
+
+        @Override
+        public void completed(HttpResponse httpResponse) {
+            continueRouting(() -> handleResponse(exchange, httpRequest, httpResponse));
+        }
+
+        @Override
+        public void failed(Exception e) {
+            continueRouting(() -> {
+                throw e;
+            });
+        }
+
+        @Override
+        public void cancelled() {
+            continueRouting(() -> {
+                throw new CamelExchangeException("Http request to " + httpRequest.getURI() + " was cancelled", exchange);
+            });
+        }
+
+        /**
+         * Continues the exchange with the response which body is streamed as it is read.
+         *
+         * @return <tt>false</tt> if the exchange has failed as the thread pool rejected it
+         */
+        boolean streaming(HttpResponse httpResponse) {
+            return continueRouting(() -> {
+                try {
+                    handleResponse(exchange, httpRequest, httpResponse);
+                } finally {
+                    // the connection is released when the response body has been read
+                    consumeOnCompletion(httpResponse);
+                }
+            });
+        }
+
+        private boolean continueRouting(ResponseTask task) {
+            if (!done.compareAndSet(false, true)) {
+                // the exchange is already continued with the streamed response, where any failure is thrown when reading it
+                return true;
+            }
+            ContinueRoutingTask continuation = new ContinueRoutingTask(task);
+            ExecutorService executor = executorService;
+            if (executor == null) {
+                continuation.reject();
+            } else {
+                try {
+                    executor.execute(continuation);
+                } catch (RejectedExecutionException e) {
+                    continuation.reject();
+                }
+            }
+            return !continuation.rejected;
+        }
+
+        /**
+         * Continues the exchange, or fails the exchange if rejected by the thread pool, which then happens on the
+         * calling thread but does not route the exchange any further.
+         */
+        private final class ContinueRoutingTask implements Runnable, Rejectable {
+
+            private final ResponseTask task;
+            private volatile boolean rejected;
+
+            ContinueRoutingTask(ResponseTask task) {
+                this.task = task;
+            }
+
+            @Override
+            public void run() {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    exchange.setException(e);
+                } finally {
+                    callback.done(false);
+                }
+            }
+
+            @Override
+            public void reject() {
+                rejected = true;
+                exchange.setException(new RejectedExecutionException("Http response from " + httpRequest.getURI()
+                        + " was rejected by the thread pool of the producer"));
+                callback.done(false);
+            }
+        }
+
+        private void consumeOnCompletion(HttpResponse httpResponse) {
+            exchange.addOnCompletion(new SynchronizationAdapter() {
+                @Override
+                public void onDone(Exchange exchange) {
+                    try {
+                        EntityUtils.consume(httpResponse.getEntity());
+                    } catch (Throwable e) {
+                        // ignore
+                    }
+                }
+            });
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResponseTask {
+        void run() throws Exception;
+    }
+
+    /**
+     * Streams the response body to the route when the stream cache is disabled. The exchange is continued as soon
+     * as the response headers are received, and the body is read from a bounded buffer which is filled by the I/O
+     * reactor, which suspends reading from the connection when the buffer is full.
+     */
+    private final class StreamingResponseConsumer extends AbstractAsyncResponseConsumer<HttpResponse> {
+
+        private final ResponseHandler handler;
+        private HttpResponse response;
+        private SharedInputBuffer buffer;
+        private volatile Exception failure;
+        private boolean completed;
+
+        StreamingResponseConsumer(ResponseHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        protected void onResponseReceived(HttpResponse response) {
+            this.response = response;
+        }
+
+        @Override
+        protected void onEntityEnclosed(HttpEntity entity, ContentType contentType) throws IOException {
+            buffer = new SharedInputBuffer(BUFFER_SIZE);
+            InputStream is = new FailureAwareInputStream(new ContentInputStream(buffer));
+            response.setEntity(new InputStreamEntity(is, entity.getContentLength(), contentType));
+            if (!handler.streaming(response)) {
+                // the exchange has failed so stop reading the response
+                throw new IOException("Http response was rejected by the thread pool of the producer");
+            }
+        }
+
+        @Override
+        protected void onContentReceived(ContentDecoder decoder, IOControl ioControl) throws IOException {
+            buffer.consumeContent(decoder, ioControl);
+        }
+
+        @Override
+        protected HttpResponse buildResult(HttpContext context) throws Exception {
+            completed = true;
+            return response;
+        }
+
+        @Override
+        protected void releaseResources() {
+            if (!completed && buffer != null) {
+                // the response failed while the route may be reading the body, which must fail instead of ending
+                Exception e = getException();
+                failure = e != null ? e : new IOException("Http request was cancelled");
+                buffer.shutdown();
+            }
+        }
+
+        /**
+         * Fails reading the response body if the response failed, instead of returning a truncated body.
+         */
+        private final class FailureAwareInputStream extends FilterInputStream {
+
+            FailureAwareInputStream(InputStream in) {
+                super(in);
+            }
+
+            @Override
+            public int read() throws IOException {
+                return checkFailure(super.read());
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return checkFailure(super.read(b, off, len));
+            }
+
+            private int checkFailure(int read) throws IOException {
+                Exception e = failure;
+                if (read == -1 && e != null) {
+                    throw e instanceof IOException ? (IOException) e : new IOException("Error reading http response", e);
+                }
+                return read;
+            }
+        }
+    }
+
+    /**
+     * Reads the response body into a {@link CachedOutputStream} as the content is received by the I/O reactor,
+     * so the body is never bound to the connection, and large bodies are spooled to disk.
+     */
+    private final class StreamCachingResponseConsumer extends AbstractAsyncResponseConsumer<HttpResponse> {
+
+        private final Exchange exchange;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private HttpResponse response;
+        private ContentType contentType;
+        private CachedOutputStream cos;
+        private long length;
+
+        StreamCachingResponseConsumer(Exchange exchange) {
+            this.exchange = exchange;
+        }
+
+        @Override
+        protected void onResponseReceived(HttpResponse response) {
+            this.response = response;
+        }
+
+        @Override
+        protected void onEntityEnclosed(HttpEntity entity, ContentType contentType) {
+            this.contentType = contentType;
+            if (!getEndpoint().isIgnoreResponseBody()) {
+                cos = new CachedOutputStream(exchange, false);
+            }
+        }
+
+        @Override
+        protected void onContentReceived(ContentDecoder decoder, IOControl ioControl) throws IOException {
+            int read;
+            while ((read = decoder.read(buffer)) > 0) {
+                if (cos != null) {
+                    cos.write(buffer.array(), 0, read);
+                    length += read;
+                }
+                buffer.clear();
+            }
+        }
+
+        @Override
+        protected HttpResponse buildResult(HttpContext context) throws Exception {
+            if (cos != null) {
+                InputStream is = new CachedResponseInputStream(cos.getWrappedInputStream());
+                response.setEntity(new InputStreamEntity(is, length, contentType) {
+                    @Override
+                    public boolean isStreaming() {
+                        // the content is not bound to the connection, and must not be consumed when releasing the response
+                        return false;
+                    }
+                });
+                cos = null;
+            } else {
+                response.setEntity(null);
+            }
+            return response;
+        }
+
+        @Override
+        protected void releaseResources() {
+            if (cos != null) {
+                // the response failed so discard what has been cached
+                IOHelper.close(cos);
+                cos = null;
+            }
+        }
+    }
+
+    /**
+     * Marks the response body which has been read into the stream cache by the I/O reactor.
+     */
+    private static final class CachedResponseInputStream extends FilterInputStream {
+
+        CachedResponseInputStream(InputStream in) {
+            super(in);
+        }
+    }
+
+}
@@ -272,6 +272,9 @@ public class HttpComponent extends HttpCommonComponent implements RestProducerFa
         String endpointUriString = endpointUri.toString();
 
         log.debug("Creating endpoint uri {}", endpointUriString);
+        // the async client has its own connection pool, so keep the pool sizes before the connection manager removes them
+        int localMaxTotalConnections = getParameter(parameters, "maxTotalConnections", int.class, 0);
+        int localConnectionsPerRoute = getParameter(parameters, "connectionsPerRoute", int.class, 0);
         final HttpClientConnectionManager localConnectionManager = createConnectionManager(parameters, sslContextParameters);
         HttpEndpoint endpoint = new HttpEndpoint(endpointUriString, this, clientBuilder, localConnectionManager, configurer);
 
@@ -319,6 +322,22 @@ public class HttpComponent extends HttpCommonComponent implements RestProducerFa
             endpoint.setCookieStore(getCookieStore());
         }
         endpoint.setHttpClientOptions(httpClientOptions);
+        if (endpoint.isAsyncClient()) {
+            // the async client is created by the endpoint, so it needs the ssl and pool settings which are otherwise
+            // only used by the connection manager of the blocking client
+            if (endpoint.getSslContextParameters() == null) {
+                endpoint.setSslContextParameters(sslContextParameters);
+            }
+            if (endpoint.getX509HostnameVerifier() == null) {
+                endpoint.setX509HostnameVerifier(getX509HostnameVerifier());
+            }
+            if (endpoint.getMaxTotalConnections() <= 0) {
+                endpoint.setMaxTotalConnections(localMaxTotalConnections > 0 ? localMaxTotalConnections : getMaxTotalConnections());
+            }
+            if (endpoint.getConnectionsPerRoute() <= 0) {
+                endpoint.setConnectionsPerRoute(localConnectionsPerRoute > 0 ? localConnectionsPerRoute : getConnectionsPerRoute());
+            }
+        }
 
         return endpoint;
     }
@@ -19,8 +19,11 @@ package org.apache.camel.component.http;
 import java.io.Closeable;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
 
 import org.apache.camel.Consumer;
 import org.apache.camel.PollingConsumer;
@@ -34,20 +37,34 @@ import org.apache.camel.http.common.cookie.CookieHandler;
 import org.apache.camel.spi.Metadata;
 import org.apache.camel.spi.UriEndpoint;
 import org.apache.camel.spi.UriParam;
+import org.apache.camel.support.PropertyBindingSupport;
 import org.apache.camel.support.jsse.SSLContextParameters;
 import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.concurrent.CamelThreadFactory;
 import org.apache.http.HttpHost;
 import org.apache.http.client.CookieStore;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
 import org.apache.http.conn.HttpClientConnectionManager;
 import org.apache.http.conn.ssl.DefaultHostnameVerifier;
 import org.apache.http.impl.client.BasicCookieStore;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
 import org.apache.http.pool.ConnPoolControl;
 import org.apache.http.pool.PoolStats;
 import org.apache.http.protocol.HttpContext;
+import org.apache.http.ssl.SSLContexts;
 
 /**
  * For calling out to external HTTP servers using Apache HTTP Client 4.x.
@@ -115,6 +132,20 @@ public class HttpEndpoint extends HttpCommonEndpoint {
     private int connectionsPerRoute;
     @UriParam(label = "security", description = "To use a custom X509HostnameVerifier such as DefaultHostnameVerifier or NoopHostnameVerifier")
     private HostnameVerifier x509HostnameVerifier;
+    @UriParam(label = "producer,advanced", description = "Whether the producer should use the non-blocking Apache HttpAsyncClient instead of the blocking HttpClient."
+        + " The requests are then executed by a few NIO I/O reactor threads, so the calling thread is not blocked while waiting for the response."
+        + " Each producer has its own connection pool sized by the maxTotalConnections and connectionsPerRoute options,"
+        + " and the response body is streamed into the stream cache as it is received."
+        + " Notice that the httpClientConfigurer and clientBuilder options do not apply to the async client.")
+    private boolean asyncClient;
+    @UriParam(label = "producer,advanced", description = "The number of I/O reactor threads used by the async client."
+        + " Will by default use the number of available processors.")
+    private int ioThreadCount;
+    @UriParam(label = "producer,advanced", description = "To use a custom thread pool to continue the exchanges when the async client has received the response."
+        + " By default each producer creates a thread pool from the default thread pool profile, with an unbounded task queue."
+        + " The thread pool should not run the tasks on the calling thread when it is saturated, such as the CallerRuns rejection policy,"
+        + " as the exchanges would then be continued by the I/O reactor threads.")
+    private ExecutorService executorService;
 
     public HttpEndpoint() {
     }
@@ -142,6 +173,9 @@ public class HttpEndpoint extends HttpCommonEndpoint {
 
     @Override
     public Producer createProducer() throws Exception {
+        if (isAsyncClient()) {
+            return new HttpAsyncProducer(this);
+        }
         return new HttpProducer(this);
     }
 
@@ -190,16 +224,8 @@ public class HttpEndpoint extends HttpCommonEndpoint {
 
         if (!useSystemProperties) {
             // configure http proxy from camelContext
-            if (ObjectHelper.isNotEmpty(getCamelContext().getGlobalOption("http.proxyHost")) && ObjectHelper.isNotEmpty(getCamelContext().getGlobalOption("http.proxyPort"))) {
-                String host = getCamelContext().getGlobalOption("http.proxyHost");
-                int port = Integer.parseInt(getCamelContext().getGlobalOption("http.proxyPort"));
-                String scheme = getCamelContext().getGlobalOption("http.proxyScheme");
-                // fallback and use either http or https depending on secure
-                if (scheme == null) {
-                    scheme = HttpHelper.isSecureConnection(getEndpointUri()) ? "https" : "http";
-                }
-                log.debug("CamelContext properties http.proxyHost, http.proxyPort, and http.proxyScheme detected. Using http proxy host: {} port: {} scheme: {}", host, port, scheme);
-                HttpHost proxy = new HttpHost(host, port, scheme);
+            HttpHost proxy = getGlobalProxy();
+            if (proxy != null) {
                 clientBuilder.setProxy(proxy);
             }
         } else {
@@ -225,6 +251,88 @@ public class HttpEndpoint extends HttpCommonEndpoint {
         return clientBuilder.build();
     }
 
+    /**
+     * Factory method to create a new {@link CloseableHttpAsyncClient} instance used by the producer
+     * when the asyncClient option is enabled.
+     * <p/>
+     * Each producer creates its own client, and therefore has its own I/O reactor threads and connection pool.
+     */
+    protected CloseableHttpAsyncClient createHttpAsyncClient() throws Exception {
+        SSLContext sslContext = sslContextParameters != null ? sslContextParameters.createSSLContext(getCamelContext()) : SSLContexts.createDefault();
+        HostnameVerifier hostnameVerifier = x509HostnameVerifier != null ? x509HostnameVerifier : SSLIOSessionStrategy.getDefaultHostnameVerifier();
+        Registry<SchemeIOSessionStrategy> registry = RegistryBuilder.<SchemeIOSessionStrategy>create()
+            .register("http", NoopIOSessionStrategy.INSTANCE)
+            .register("https", new SSLIOSessionStrategy(sslContext, hostnameVerifier))
+            .build();
+
+        IOReactorConfig.Builder ioReactorConfig = IOReactorConfig.custom();
+        if (ioThreadCount > 0) {
+            ioReactorConfig.setIoThreadCount(ioThreadCount);
+        }
+        CamelThreadFactory threadFactory = new CamelThreadFactory(getCamelContext().getExecutorServiceManager().getThreadNamePattern(), "HttpAsyncClient", true);
+        DefaultConnectingIOReactor ioReactor = new DefaultConnectingIOReactor(ioReactorConfig.build(), threadFactory);
+
+        PoolingNHttpClientConnectionManager connectionManager = new PoolingNHttpClientConnectionManager(ioReactor, registry);
+        if (maxTotalConnections > 0) {
+            connectionManager.setMaxTotal(maxTotalConnections);
+        }
+        if (connectionsPerRoute > 0) {
+            connectionManager.setDefaultMaxPerRoute(connectionsPerRoute);
+        }
+
+        HttpAsyncClientBuilder asyncClientBuilder = HttpAsyncClients.custom();
+        asyncClientBuilder.setConnectionManager(connectionManager);
+        asyncClientBuilder.setThreadFactory(threadFactory);
+
+        // use the same request configuration (timeouts etc.) as the blocking client
+        RequestConfig.Builder requestConfigBuilder = RequestConfig.custom();
+        if (httpClientOptions != null) {
+            // bind from a copy as the binding removes the options which has been used
+            PropertyBindingSupport.bindProperties(getCamelContext(), requestConfigBuilder, new HashMap<>(httpClientOptions));
+        }
+        asyncClientBuilder.setDefaultRequestConfig(requestConfigBuilder.build());
+
+        if (!useSystemProperties) {
+            // configure http proxy from camelContext
+            HttpHost proxy = getGlobalProxy();
+            if (proxy != null) {
+                asyncClientBuilder.setProxy(proxy);
+            }
+        } else {
+            asyncClientBuilder.useSystemProperties();
+        }
+
+        if (isAuthenticationPreemptive()) {
+            // setup the PreemptiveAuthInterceptor here
+            asyncClientBuilder.addInterceptorFirst(new PreemptiveAuthInterceptor());
+        }
+
+        if (isBridgeEndpoint()) {
+            // need to use noop cookiestore as we do not want to keep cookies in memory
+            asyncClientBuilder.setDefaultCookieStore(new NoopCookieStore());
+        } else {
+            asyncClientBuilder.setDefaultCookieStore(cookieStore);
+        }
+
+        log.debug("Setup the HttpAsyncClientBuilder {}", asyncClientBuilder);
+        return asyncClientBuilder.build();
+    }
+
+    private HttpHost getGlobalProxy() {
+        if (ObjectHelper.isNotEmpty(getCamelContext().getGlobalOption("http.proxyHost")) && ObjectHelper.isNotEmpty(getCamelContext().getGlobalOption("http.proxyPort"))) {
+            String host = getCamelContext().getGlobalOption("http.proxyHost");
+            int port = Integer.parseInt(getCamelContext().getGlobalOption("http.proxyPort"));
+            String scheme = getCamelContext().getGlobalOption("http.proxyScheme");
+            // fallback and use either http or https depending on secure
+            if (scheme == null) {
+                scheme = HttpHelper.isSecureConnection(getEndpointUri()) ? "https" : "http";
+            }
+            log.debug("CamelContext properties http.proxyHost, http.proxyPort, and http.proxyScheme detected. Using http proxy host: {} port: {} scheme: {}", host, port, scheme);
+            return new HttpHost(host, port, scheme);
+        }
+        return null;
+    }
+
     @Override
     public HttpComponent getComponent() {
         return (HttpComponent) super.getComponent();
@@ -394,6 +502,50 @@ public class HttpEndpoint extends HttpCommonEndpoint {
         this.connectionsPerRoute = connectionsPerRoute;
     }
 
+    public boolean isAsyncClient() {
+        return asyncClient;
+    }
+
+    /**
+     * Whether the producer should use the non-blocking Apache HttpAsyncClient instead of the blocking HttpClient.
+     * The requests are then executed by a few NIO I/O reactor threads, so the calling thread is not blocked
+     * while waiting for the response.
+     * <p/>
+     * Each producer has its own connection pool sized by the maxTotalConnections and connectionsPerRoute options,
+     * and the response body is streamed into the stream cache as it is received, or to the route if disableStreamCache
+     * is enabled. The exchange is continued by a thread from a thread pool of the producer.
+     * Notice that the httpClientConfigurer and clientBuilder options do not apply to the async client.
+     */
+    public void setAsyncClient(boolean asyncClient) {
+        this.asyncClient = asyncClient;
+    }
+
+    public int getIoThreadCount() {
+        return ioThreadCount;
+    }
+
+    /**
+     * The number of I/O reactor threads used by the async client.
+     * Will by default use the number of available processors.
+     */
+    public void setIoThreadCount(int ioThreadCount) {
+        this.ioThreadCount = ioThreadCount;
+    }
+
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    /**
+     * To use a custom thread pool to continue the exchanges when the async client has received the response.
+     * By default each producer creates a thread pool from the default thread pool profile, with an unbounded task queue.
+     * The thread pool should not run the tasks on the calling thread when it is saturated, such as the CallerRuns
+     * rejection policy, as the exchanges would then be continued by the I/O reactor threads.
+     */
+    public void setExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
     public HostnameVerifier getX509HostnameVerifier() {
         return x509HostnameVerifier;
     }
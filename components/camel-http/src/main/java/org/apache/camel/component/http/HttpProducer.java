@@ -90,7 +90,49 @@ public class HttpProducer extends DefaultProducer {
 
     @Override
     public void process(Exchange exchange) throws Exception {
+        HttpRequestBase httpRequest = prepareRequest(exchange);
 
+        // lets store the result in the output message.
+        HttpResponse httpResponse = null;
+        try {
+            if (log.isDebugEnabled()) {
+                log.debug("Executing http {} method: {}", httpRequest.getMethod(), httpRequest.getURI());
+            }
+            httpResponse = executeMethod(httpRequest);
+            handleResponse(exchange, httpRequest, httpResponse);
+        } finally {
+            final HttpResponse response = httpResponse;
+            if (httpResponse != null && getEndpoint().isDisableStreamCache()) {
+                // close the stream at the end of the exchange to ensure it gets eventually closed later
+                exchange.addOnCompletion(new SynchronizationAdapter() {
+                    @Override
+                    public void onDone(Exchange exchange) {
+                        try {
+                            EntityUtils.consume(response.getEntity());
+                        } catch (Throwable e) {
+                            // ignore
+                        }
+                    }
+                });
+            } else if (httpResponse != null) {
+                // close the stream now
+                try {
+                    EntityUtils.consume(response.getEntity());
+                } catch (Throwable e) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates the request to send to the remote server with the headers from the message propagated as HTTP headers.
+     *
+     * @param exchange the exchange
+     * @return the request to execute
+     * @throws Exception is thrown if error creating the request
+     */
+    protected HttpRequestBase prepareRequest(Exchange exchange) throws Exception {
         if (getEndpoint().isClearExpiredCookies() && !getEndpoint().isBridgeEndpoint()) {
             // create the cookies before the invocation
             getEndpoint().getCookieStore().clearExpired(new Date());
@@ -180,50 +222,36 @@ public class HttpProducer extends DefaultProducer {
             httpRequest.addHeader("Connection", HTTP.CONN_CLOSE);
         }
 
-        // lets store the result in the output message.
-        HttpResponse httpResponse = null;
-        try {
-            if (log.isDebugEnabled()) {
-                log.debug("Executing http {} method: {}", httpRequest.getMethod(), httpRequest.getURI());
-            }
-            httpResponse = executeMethod(httpRequest);
-            int responseCode = httpResponse.getStatusLine().getStatusCode();
-            log.debug("Http responseCode: {}", responseCode);
+        return httpRequest;
+    }
+
+    /**
+     * Populates the exchange from the response of the remote server, or throws the exception
+     * to use if the response is a failure.
+     *
+     * @param exchange the exchange
+     * @param httpRequest the executed request
+     * @param httpResponse the response
+     * @throws Exception is thrown if the response is a failure or could not be read
+     */
+    protected void handleResponse(Exchange exchange, HttpRequestBase httpRequest, HttpResponse httpResponse) throws Exception {
+        Message in = exchange.getIn();
+        HeaderFilterStrategy strategy = getEndpoint().getHeaderFilterStrategy();
+
+        int responseCode = httpResponse.getStatusLine().getStatusCode();
+        log.debug("Http responseCode: {}", responseCode);
 
-            if (!throwException) {
-                // if we do not use failed exception then populate response for all response codes
+        if (!throwException) {
+            // if we do not use failed exception then populate response for all response codes
+            populateResponse(exchange, httpRequest, httpResponse, in, strategy, responseCode);
+        } else {
+            boolean ok = HttpHelper.isStatusCodeOk(responseCode, getEndpoint().getOkStatusCodeRange());
+            if (ok) {
+                // only populate response for OK response
                 populateResponse(exchange, httpRequest, httpResponse, in, strategy, responseCode);
             } else {
-                boolean ok = HttpHelper.isStatusCodeOk(responseCode, getEndpoint().getOkStatusCodeRange());
-                if (ok) {
-                    // only populate response for OK response
-                    populateResponse(exchange, httpRequest, httpResponse, in, strategy, responseCode);
-                } else {
-                    // operation failed so populate exception to throw
-                    throw populateHttpOperationFailedException(exchange, httpRequest, httpResponse, responseCode);
-                }
-            }
-        } finally {
-            final HttpResponse response = httpResponse;
-            if (httpResponse != null && getEndpoint().isDisableStreamCache()) {
-                // close the stream at the end of the exchange to ensure it gets eventually closed later
-                exchange.addOnCompletion(new SynchronizationAdapter() {
-                    @Override
-                    public void onDone(Exchange exchange) {
-                        try {
-                            EntityUtils.consume(response.getEntity());
-                        } catch (Throwable e) {
-                            // ignore
-                        }
-                    }
-                });
-            } else if (httpResponse != null) {
-                // close the stream now
-                try {
-                    EntityUtils.consume(response.getEntity());
-                } catch (Throwable e) {
-                    // ignore
-                }
+                // operation failed so populate exception to throw
+                throw populateHttpOperationFailedException(exchange, httpRequest, httpResponse, responseCode);
             }
         }
     }
@@ -319,6 +347,13 @@ public class HttpProducer extends DefaultProducer {
      * @throws IOException can be thrown
      */
     protected HttpResponse executeMethod(HttpUriRequest httpRequest) throws IOException {
+        return httpClient.execute(httpRequest, createLocalContext());
+    }
+
+    /**
+     * Creates the context to use when executing a request.
+     */
+    protected HttpContext createLocalContext() {
         HttpContext localContext = new BasicHttpContext();
         if (getEndpoint().isAuthenticationPreemptive()) {
             BasicScheme basicAuth = new BasicScheme();
@@ -327,7 +362,7 @@ public class HttpProducer extends DefaultProducer {
         if (httpContext != null) {
             localContext = new BasicHttpContext(httpContext);
         }
-        return httpClient.execute(httpRequest, localContext);
+        return localContext;
     }
 
     /**
@@ -401,7 +436,7 @@ public class HttpProducer extends DefaultProducer {
         }
     }
 
-    private InputStream doExtractResponseBodyAsStream(InputStream is, Exchange exchange) throws IOException {
+    protected InputStream doExtractResponseBodyAsStream(InputStream is, Exchange exchange) throws IOException {
         // As httpclient is using a AutoCloseInputStream, it will be closed when the connection is closed
         // we need to cache the stream for it.
         CachedOutputStream cos = null;
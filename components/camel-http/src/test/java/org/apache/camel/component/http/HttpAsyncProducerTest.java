@@ -0,0 +1,302 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.camel.AsyncProducer;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.StreamCache;
+import org.apache.camel.component.http.handler.BasicValidationHandler;
+import org.apache.camel.component.http.handler.DelayValidationHandler;
+import org.apache.camel.http.common.HttpOperationFailedException;
+import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.http.impl.bootstrap.HttpServer;
+import org.apache.http.impl.bootstrap.ServerBootstrap;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HttpAsyncProducerTest extends BaseHttpTest {
+
+    private HttpServer localServer;
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        localServer = ServerBootstrap.bootstrap().
+                setHttpProcessor(getBasicHttpProcessor()).
+                setConnectionReuseStrategy(getConnectionReuseStrategy()).
+                setResponseFactory(getHttpResponseFactory()).
+                setExpectationVerifier(getHttpExpectationVerifier()).
+                setSslContext(getSSLContext()).
+                registerHandler("/get", new BasicValidationHandler("GET", null, null, getExpectedContent())).
+                registerHandler("/post", new BasicValidationHandler("POST", null, "Hello World", getExpectedContent())).
+                registerHandler("/delay", new DelayValidationHandler("GET", null, null, getExpectedContent(), 1000)).create();
+        localServer.start();
+
+        super.setUp();
+    }
+
+    @After
+    @Override
+    public void tearDown() throws Exception {
+        super.tearDown();
+
+        if (localServer != null) {
+            localServer.stop();
+        }
+    }
+
+    @Test
+    public void httpGet() throws Exception {
+        Exchange exchange = template.request(getServerUrl() + "/get?asyncClient=true", new Processor() {
+            public void process(Exchange exchange) throws Exception {
+            }
+        });
+
+        assertExchange(exchange);
+    }
+
+    @Test
+    public void httpPostWithInputStreamBody() throws Exception {
+        Exchange exchange = template.request(getServerUrl() + "/post?asyncClient=true", new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                exchange.getIn().setBody(new ByteArrayInputStream("Hello World".getBytes()));
+            }
+        });
+
+        assertExchange(exchange);
+    }
+
+    @Test
+    public void httpGetWhichReturnsHttp501ShouldThrowAnException() throws Exception {
+        Exchange reply = template.request(getServerUrl() + "/XXX?asyncClient=true", new Processor() {
+            public void process(Exchange exchange) throws Exception {
+            }
+        });
+
+        HttpOperationFailedException cause = assertIsInstanceOf(HttpOperationFailedException.class, reply.getException());
+        assertEquals(501, cause.getStatusCode());
+    }
+
+    @Test
+    public void httpGetDoesNotBlockTheCaller() throws Exception {
+        Endpoint endpoint = context.getEndpoint(getServerUrl() + "/delay?asyncClient=true&ioThreadCount=1");
+        AsyncProducer producer = endpoint.createAsyncProducer();
+        producer.start();
+        try {
+            int size = 10;
+            CountDownLatch latch = new CountDownLatch(size);
+            Exchange[] exchanges = new Exchange[size];
+
+            long start = System.currentTimeMillis();
+            for (int i = 0; i < size; i++) {
+                exchanges[i] = endpoint.createExchange();
+                boolean sync = producer.process(exchanges[i], doneSync -> latch.countDown());
+                assertFalse("Should be processed asynchronously", sync);
+            }
+
+            // the server takes 1 sec to reply, so the calls must be in flight at the same time
+            assertTrue("Should complete all calls", latch.await(8, TimeUnit.SECONDS));
+            assertTrue("Should not call the server one by one", System.currentTimeMillis() - start < 8000);
+
+            for (Exchange exchange : exchanges) {
+                assertExchange(exchange);
+            }
+        } finally {
+            producer.stop();
+        }
+    }
+
+    @Test
+    public void httpGetIsContinuedByProducerThread() throws Exception {
+        Endpoint endpoint = context.getEndpoint(getServerUrl() + "/get?asyncClient=true");
+        AsyncProducer producer = endpoint.createAsyncProducer();
+        producer.start();
+        try {
+            CountDownLatch latch = new CountDownLatch(1);
+            AtomicReference<String> threadName = new AtomicReference<>();
+            Exchange exchange = endpoint.createExchange();
+            producer.process(exchange, doneSync -> {
+                threadName.set(Thread.currentThread().getName());
+                latch.countDown();
+            });
+
+            assertTrue("Should complete the call", latch.await(5, TimeUnit.SECONDS));
+            assertExchange(exchange);
+            // the route must not continue on the I/O reactor thread of the client
+            assertTrue("Should continue on a producer thread: " + threadName.get(), threadName.get().contains("HttpAsyncProducer"));
+        } finally {
+            producer.stop();
+        }
+    }
+
+    @Test
+    public void httpGetWithDisableStreamCache() throws Exception {
+        Endpoint endpoint = context.getEndpoint(getServerUrl() + "/get?asyncClient=true&disableStreamCache=true");
+        AsyncProducer producer = endpoint.createAsyncProducer();
+        producer.start();
+        try {
+            CountDownLatch latch = new CountDownLatch(1);
+            AtomicReference<Object> body = new AtomicReference<>();
+            AtomicReference<String> content = new AtomicReference<>();
+            Exchange exchange = endpoint.createExchange();
+            producer.process(exchange, doneSync -> {
+                // the body is streamed from the connection so read it before the exchange is done
+                body.set(exchange.getOut().getBody());
+                content.set(exchange.getOut().getBody(String.class));
+                latch.countDown();
+            });
+
+            assertTrue("Should complete the call", latch.await(5, TimeUnit.SECONDS));
+            assertNull(exchange.getException());
+            assertIsInstanceOf(InputStream.class, body.get());
+            assertFalse("Should not be stream cached", body.get() instanceof StreamCache);
+            assertBody(content.get());
+        } finally {
+            producer.stop();
+        }
+    }
+
+    @Test
+    public void httpGetIsContinuedByProducerThreadWhenSaturated() throws Exception {
+        // a tiny default thread pool which would let the caller run the tasks when saturated
+        ThreadPoolProfile profile = context.getExecutorServiceManager().getDefaultThreadPoolProfile();
+        profile.setPoolSize(1);
+        profile.setMaxPoolSize(1);
+        profile.setMaxQueueSize(1);
+
+        Endpoint endpoint = context.getEndpoint(getServerUrl() + "/get?asyncClient=true");
+        AsyncProducer producer = endpoint.createAsyncProducer();
+        producer.start();
+        try {
+            int size = 20;
+            CountDownLatch latch = new CountDownLatch(size);
+            List<String> threadNames = new CopyOnWriteArrayList<>();
+            Exchange[] exchanges = new Exchange[size];
+            for (int i = 0; i < size; i++) {
+                exchanges[i] = endpoint.createExchange();
+                producer.process(exchanges[i], doneSync -> {
+                    threadNames.add(Thread.currentThread().getName());
+                    try {
+                        // keep the thread busy so the responses queue up
+                        Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                        // ignore
+                    }
+                    latch.countDown();
+                });
+            }
+
+            assertTrue("Should complete all calls", latch.await(10, TimeUnit.SECONDS));
+            for (Exchange exchange : exchanges) {
+                assertExchange(exchange);
+            }
+            for (String threadName : threadNames) {
+                assertTrue("Should continue on a producer thread: " + threadName, threadName.contains("HttpAsyncProducer"));
+            }
+        } finally {
+            producer.stop();
+        }
+    }
+
+    @Test
+    public void httpGetWithCustomExecutorService() throws Exception {
+        ExecutorService executorService = context.getExecutorServiceManager().newFixedThreadPool(this, "MyPool", 2);
+        HttpEndpoint endpoint = context.getEndpoint(getServerUrl() + "/get?asyncClient=true", HttpEndpoint.class);
+        endpoint.setExecutorService(executorService);
+        AsyncProducer producer = endpoint.createAsyncProducer();
+        producer.start();
+        try {
+            CountDownLatch latch = new CountDownLatch(1);
+            AtomicReference<String> threadName = new AtomicReference<>();
+            Exchange exchange = endpoint.createExchange();
+            producer.process(exchange, doneSync -> {
+                threadName.set(Thread.currentThread().getName());
+                latch.countDown();
+            });
+
+            assertTrue("Should complete the call", latch.await(5, TimeUnit.SECONDS));
+            assertExchange(exchange);
+            assertTrue("Should continue on the custom thread pool: " + threadName.get(), threadName.get().contains("MyPool"));
+        } finally {
+            producer.stop();
+        }
+        assertFalse("Should not shutdown the custom thread pool", executorService.isShutdown());
+        context.getExecutorServiceManager().shutdown(executorService);
+    }
+
+    @Test
+    public void httpGetRejectedByThreadPool() throws Exception {
+        doHttpGetRejectedByThreadPool("/get?asyncClient=true");
+    }
+
+    @Test
+    public void httpGetWithDisableStreamCacheRejectedByThreadPool() throws Exception {
+        doHttpGetRejectedByThreadPool("/get?asyncClient=true&disableStreamCache=true");
+    }
+
+    private void doHttpGetRejectedByThreadPool(String uri) throws Exception {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        executorService.shutdown();
+        HttpEndpoint endpoint = context.getEndpoint(getServerUrl() + uri, HttpEndpoint.class);
+        endpoint.setExecutorService(executorService);
+        AsyncProducer producer = endpoint.createAsyncProducer();
+        producer.start();
+        try {
+            CountDownLatch latch = new CountDownLatch(1);
+            Exchange exchange = endpoint.createExchange();
+            producer.process(exchange, doneSync -> latch.countDown());
+
+            // the exchange must fail rather than never complete
+            assertTrue("Should complete the call", latch.await(5, TimeUnit.SECONDS));
+            assertIsInstanceOf(RejectedExecutionException.class, exchange.getException());
+        } finally {
+            producer.stop();
+        }
+    }
+
+    @Test
+    public void asyncClientSettingsOnlyForAsyncClient() throws Exception {
+        HttpEndpoint endpoint = context.getEndpoint(getServerUrl() + "/get", HttpEndpoint.class);
+        assertNull(endpoint.getX509HostnameVerifier());
+        assertEquals(0, endpoint.getMaxTotalConnections());
+        assertEquals(0, endpoint.getConnectionsPerRoute());
+
+        HttpEndpoint asyncEndpoint = context.getEndpoint(getServerUrl() + "/get?asyncClient=true&connectionsPerRoute=5", HttpEndpoint.class);
+        assertNotNull(asyncEndpoint.getX509HostnameVerifier());
+        assertEquals(200, asyncEndpoint.getMaxTotalConnections());
+        assertEquals(5, asyncEndpoint.getConnectionsPerRoute());
+    }
+
+    private String getServerUrl() {
+        return "http://" + localServer.getInetAddress().getHostName() + ":" + localServer.getLocalPort();
+    }
+
+}
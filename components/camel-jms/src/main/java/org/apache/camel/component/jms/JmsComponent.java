@@ -821,6 +821,21 @@ public class JmsComponent extends HeaderFilterStrategyComponent implements Appli
         getConfiguration().setRequestTimeoutCheckerInterval(requestTimeoutCheckerInterval);
     }
 
+    /**
+     * Whether to use a timing wheel to keep track of timed out Exchanges when doing request/reply over JMS.
+     * The timing wheel only checks the Exchanges which are due to timeout, instead of checking all the Exchanges
+     * waiting for a reply, which is faster when there are many outstanding replies.
+     * See also the requestTimeoutCheckerInterval option.
+     */
+    @Metadata(defaultValue = "false", label = "advanced",
+            description = "Whether to use a timing wheel to keep track of timed out Exchanges when doing request/reply over JMS."
+                    + " The timing wheel only checks the Exchanges which are due to timeout, instead of checking all the Exchanges"
+                    + " waiting for a reply, which is faster when there are many outstanding replies."
+                    + " See also the requestTimeoutCheckerInterval option.")
+    public void setRequestTimeoutTimingWheel(boolean requestTimeoutTimingWheel) {
+        getConfiguration().setRequestTimeoutTimingWheel(requestTimeoutTimingWheel);
+    }
+
     /**
      * You can transfer the exchange over the wire instead of just the body and headers.
      * The following fields are transferred: In body, Out body, Fault body, In headers, Out headers, Fault headers,
@@ -173,6 +173,12 @@ public class JmsConfiguration implements Cloneable {
                     + " By default Camel checks once per second. But if you must react faster when a timeout occurs,"
                     + " then you can lower this interval, to check more frequently. The timeout is determined by the option requestTimeout.")
     private long requestTimeoutCheckerInterval = 1000L;
+    @UriParam(defaultValue = "false", label = "advanced",
+            description = "Whether to use a timing wheel to keep track of timed out Exchanges when doing request/reply over JMS."
+                    + " The timing wheel only checks the Exchanges which are due to timeout, instead of checking all the Exchanges"
+                    + " waiting for a reply, which is faster when there are many outstanding replies."
+                    + " See also the requestTimeoutCheckerInterval option.")
+    private boolean requestTimeoutTimingWheel;
     @UriParam(defaultValue = "1", label = "advanced",
             description = "Specifies the limit for idle executions of a receive task, not having received any message within its execution."
                     + " If this limit is reached, the task will shut down and leave receiving to other executing tasks"
@@ -1728,6 +1734,20 @@ public class JmsConfiguration implements Cloneable {
         this.requestTimeoutCheckerInterval = requestTimeoutCheckerInterval;
     }
 
+    public boolean isRequestTimeoutTimingWheel() {
+        return requestTimeoutTimingWheel;
+    }
+
+    /**
+     * Whether to use a timing wheel to keep track of timed out Exchanges when doing request/reply over JMS.
+     * The timing wheel only checks the Exchanges which are due to timeout, instead of checking all the Exchanges
+     * waiting for a reply, which is faster when there are many outstanding replies.
+     * See also the requestTimeoutCheckerInterval option.
+     */
+    public void setRequestTimeoutTimingWheel(boolean requestTimeoutTimingWheel) {
+        this.requestTimeoutTimingWheel = requestTimeoutTimingWheel;
+    }
+
     public String getReplyTo() {
         return replyTo;
     }
@@ -643,6 +643,11 @@ public class JmsEndpoint extends DefaultEndpoint implements AsyncEndpoint, Heade
         return getConfiguration().getRequestTimeoutCheckerInterval();
     }
 
+    @ManagedAttribute
+    public boolean isRequestTimeoutTimingWheel() {
+        return getConfiguration().isRequestTimeoutTimingWheel();
+    }
+
     public TaskExecutor getTaskExecutor() {
         return getConfiguration().getTaskExecutor();
     }
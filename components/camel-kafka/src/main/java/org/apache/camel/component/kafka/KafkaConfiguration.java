@@ -135,6 +135,12 @@ public class KafkaConfiguration implements Cloneable, HeaderFilterStrategyAware
     @UriParam(label = "consumer")
     private boolean breakOnFirstError;
     @UriParam(label = "consumer")
+    private int consumerWorkerThreads;
+    @UriParam(label = "consumer", defaultValue = "1000")
+    private int consumerWorkerQueueSize = 1000;
+    @UriParam(label = "consumer")
+    private String consumerOrderingKey;
+    @UriParam(label = "consumer")
     private StateRepository<String, String> offsetRepository;
 
     // Producer configuration properties
@@ -754,6 +760,53 @@ public class KafkaConfiguration implements Cloneable, HeaderFilterStrategyAware
         this.breakOnFirstError = breakOnFirstError;
     }
 
+    public int getConsumerWorkerThreads() {
+        return consumerWorkerThreads;
+    }
+
+    /**
+     * Number of worker threads (per consumer) to process the polled records in
+     * parallel. The records are dispatched to the workers by their partition
+     * (or by the consumerOrderingKey), so records from the same partition (or
+     * with the same key) are processed in order. The offsets are only
+     * committed past the records which have been completed contiguously. This
+     * option cannot be used together with breakOnFirstError or
+     * allowManualCommit. The default value is 0, which processes the records
+     * one at a time by the consumer thread.
+     */
+    public void setConsumerWorkerThreads(int consumerWorkerThreads) {
+        this.consumerWorkerThreads = consumerWorkerThreads;
+    }
+
+    public int getConsumerWorkerQueueSize() {
+        return consumerWorkerQueueSize;
+    }
+
+    /**
+     * The maximum number of polled records (per consumer) which can be waiting
+     * to be processed by the workers (see consumerWorkerThreads). When this is
+     * exceeded then the consumer pauses fetching from its partitions, until the
+     * workers have caught up with half of the records.
+     */
+    public void setConsumerWorkerQueueSize(int consumerWorkerQueueSize) {
+        this.consumerWorkerQueueSize = consumerWorkerQueueSize;
+    }
+
+    public String getConsumerOrderingKey() {
+        return consumerOrderingKey;
+    }
+
+    /**
+     * A simple language expression to evaluate the key used for dispatching
+     * the records to the workers (see consumerWorkerThreads), for example
+     * <tt>${header.kafka.KEY}</tt>. Records with the same key are processed in
+     * order, which allows records from the same partition to be processed in
+     * parallel. By default the records are dispatched by their partition.
+     */
+    public void setConsumerOrderingKey(String consumerOrderingKey) {
+        this.consumerOrderingKey = consumerOrderingKey;
+    }
+
     public String getBrokers() {
         return brokers;
     }
@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -29,10 +30,12 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 import java.util.stream.StreamSupport;
 
 import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
 import org.apache.camel.Processor;
 import org.apache.camel.component.kafka.serde.KafkaHeaderDeserializer;
 import org.apache.camel.spi.HeaderFilterStrategy;
@@ -54,6 +57,8 @@ import org.apache.kafka.common.header.Header;
 
 public class KafkaConsumer extends DefaultConsumer {
 
+    private static final long PAUSED_POLL_TIMEOUT = 100;
+
     protected ExecutorService executor;
     private final KafkaEndpoint endpoint;
     private final Processor processor;
@@ -102,6 +107,13 @@ public class KafkaConsumer extends DefaultConsumer {
             props.put(ConsumerConfig.GROUP_ID_CONFIG, randomGroupId);
             log.debug("Kafka consumer groupId is {} (generated)", randomGroupId);
         }
+
+        if (endpoint.getConfiguration().getConsumerWorkerThreads() > 0) {
+            // the records are processed in parallel, so we must only commit the offsets
+            // of the records which has been completed, instead of the polled offsets,
+            // which the consumer does itself every auto commit interval
+            props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        }
         return props;
     }
 
@@ -110,6 +122,15 @@ public class KafkaConsumer extends DefaultConsumer {
         log.info("Starting Kafka consumer on topic: {} with breakOnFirstError: {}", endpoint.getConfiguration().getTopic(), endpoint.getConfiguration().isBreakOnFirstError());
         super.doStart();
 
+        if (endpoint.getConfiguration().getConsumerWorkerThreads() > 0) {
+            if (endpoint.getConfiguration().isBreakOnFirstError()) {
+                throw new IllegalArgumentException("The option breakOnFirstError cannot be used together with consumerWorkerThreads");
+            }
+            if (endpoint.getConfiguration().isAllowManualCommit()) {
+                throw new IllegalArgumentException("The option allowManualCommit cannot be used together with consumerWorkerThreads");
+            }
+        }
+
         // is the offset repository already started?
         StateRepository repo = endpoint.getConfiguration().getOffsetRepository();
         if (repo instanceof ServiceSupport) {
@@ -175,6 +196,13 @@ public class KafkaConsumer extends DefaultConsumer {
         private final String threadId;
         private final Properties kafkaProps;
         private final Map<String, Long> lastProcessedOffset = new ConcurrentHashMap<>();
+        // used when processing the records in parallel by the workers
+        private final Map<TopicPartition, KafkaOffsetTracker> offsetTrackers = new ConcurrentHashMap<>();
+        private final AtomicInteger pendingRecords = new AtomicInteger();
+        private ExecutorService[] workers;
+        private Expression orderingKey;
+        private long lastCommitTime;
+        private volatile boolean paused;
 
         KafkaFetchRecords(String topicName, Pattern topicPattern, String id, Properties kafkaProps) {
             this.topicName = topicName;
@@ -188,6 +216,20 @@ public class KafkaConsumer extends DefaultConsumer {
             boolean first = true;
             boolean reConnect = true;
 
+            int size = endpoint.getConfiguration().getConsumerWorkerThreads();
+            if (size > 0) {
+                // use a single thread per worker so the records dispatched to the same worker are processed in order
+                workers = new ExecutorService[size];
+                for (int i = 0; i < size; i++) {
+                    workers[i] = endpoint.getCamelContext().getExecutorServiceManager().newSingleThreadExecutor(KafkaConsumer.this,
+                        "KafkaConsumerWorker[" + topicName + "]");
+                }
+                String key = endpoint.getConfiguration().getConsumerOrderingKey();
+                if (key != null) {
+                    orderingKey = endpoint.getCamelContext().resolveLanguage("simple").createExpression(key);
+                }
+            }
+
             while (reConnect) {
                 try {
                     if (!first) {
@@ -218,6 +260,13 @@ public class KafkaConsumer extends DefaultConsumer {
                 reConnect = doRun();
             }
 
+            if (workers != null) {
+                for (ExecutorService worker : workers) {
+                    endpoint.getCamelContext().getExecutorServiceManager().shutdownNow(worker);
+                }
+                workers = null;
+            }
+
             log.info("Terminating KafkaConsumer thread: {} receiving from topic: {}", threadId, topicName);
         }
 
@@ -304,7 +353,21 @@ public class KafkaConsumer extends DefaultConsumer {
                     // flag to break out processing on the first exception
                     boolean breakOnErrorHit = false;
                     log.trace("Polling {} from topic: {} with timeout: {}", threadId, topicName, pollTimeoutMs);
-                    ConsumerRecords<Object, Object> allRecords = consumer.poll(pollTimeoutMs);
+                    // poll more frequently when paused so we can resume as soon as the workers have caught up
+                    long timeout = paused ? Math.min(pollTimeoutMs, PAUSED_POLL_TIMEOUT) : pollTimeoutMs;
+                    ConsumerRecords<Object, Object> allRecords = consumer.poll(timeout);
+
+                    if (workers != null) {
+                        // process the records in parallel by the workers
+                        dispatchRecords(allRecords, offsetRepository);
+                        long now = System.currentTimeMillis();
+                        if (offsetRepository != null || now - lastCommitTime >= endpoint.getConfiguration().getAutoCommitIntervalMs()) {
+                            commitCompletedOffsets(offsetRepository, "async");
+                            lastCommitTime = now;
+                        }
+                        pauseOrResumePartitions();
+                        continue;
+                    }
 
                     for (TopicPartition partition : allRecords.partitions()) {
 
@@ -320,23 +383,7 @@ public class KafkaConsumer extends DefaultConsumer {
                                 if (log.isTraceEnabled()) {
                                     log.trace("Partition = {}, offset = {}, key = {}, value = {}", record.partition(), record.offset(), record.key(), record.value());
                                 }
-                                Exchange exchange = endpoint.createKafkaExchange(record);
-
-                                propagateHeaders(record, exchange, endpoint.getConfiguration());
-
-                                // if not auto commit then we have additional
-                                // information on the exchange
-                                if (!isAutoCommitEnabled()) {
-                                    exchange.getIn().setHeader(KafkaConstants.LAST_RECORD_BEFORE_COMMIT, !recordIterator.hasNext());
-                                }
-                                if (endpoint.getConfiguration().isAllowManualCommit()) {
-                                    // allow Camel users to access the Kafka
-                                    // consumer API to be able to do for example
-                                    // manual commits
-                                    KafkaManualCommit manual = endpoint.getComponent().getKafkaManualCommitFactory().newInstance(exchange, consumer, topicName, threadId,
-                                                                                                                                 offsetRepository, partition, record.offset());
-                                    exchange.getIn().setHeader(KafkaConstants.MANUAL_COMMIT, manual);
-                                }
+                                Exchange exchange = createExchange(record, partition, !recordIterator.hasNext(), offsetRepository);
 
                                 try {
                                     processor.process(exchange);
@@ -386,7 +433,16 @@ public class KafkaConsumer extends DefaultConsumer {
                     }
                 }
 
-                if (!reConnect) {
+                if (!reConnect && workers != null) {
+                    // wait for the workers to complete the dispatched records so we can commit their offsets
+                    awaitCompletedRecords();
+                    String commitOnStop = endpoint.getConfiguration().getAutoCommitOnStop();
+                    log.info("Auto commit {} on stop {} from topic {}", commitOnStop, threadId, topicName);
+                    commitCompletedOffsets(offsetRepository, commitOnStop);
+                    // the offsets are handled, so do not commit them again when the partitions are revoked by unsubscribing
+                    offsetTrackers.clear();
+                    lastProcessedOffset.clear();
+                } else if (!reConnect) {
                     if (isAutoCommitEnabled()) {
                         if ("async".equals(endpoint.getConfiguration().getAutoCommitOnStop())) {
                             log.info("Auto commitAsync on stop {} from topic {}", threadId, topicName);
@@ -421,11 +477,141 @@ public class KafkaConsumer extends DefaultConsumer {
             } finally {
                 log.debug("Closing {}", threadId);
                 IOHelper.close(consumer);
+                // any records still being processed by the workers will be polled again on re-connect
+                offsetTrackers.clear();
+                paused = false;
             }
 
             return reConnect;
         }
 
+        private Exchange createExchange(ConsumerRecord<Object, Object> record, TopicPartition partition, boolean last, StateRepository<String, String> offsetRepository) {
+            Exchange exchange = endpoint.createKafkaExchange(record);
+
+            propagateHeaders(record, exchange, endpoint.getConfiguration());
+
+            // if not auto commit then we have additional
+            // information on the exchange
+            if (!isAutoCommitEnabled()) {
+                exchange.getIn().setHeader(KafkaConstants.LAST_RECORD_BEFORE_COMMIT, last);
+            }
+            if (endpoint.getConfiguration().isAllowManualCommit()) {
+                // allow Camel users to access the Kafka
+                // consumer API to be able to do for example
+                // manual commits
+                KafkaManualCommit manual = endpoint.getComponent().getKafkaManualCommitFactory().newInstance(exchange, consumer, topicName, threadId,
+                                                                                                             offsetRepository, partition, record.offset());
+                exchange.getIn().setHeader(KafkaConstants.MANUAL_COMMIT, manual);
+            }
+            return exchange;
+        }
+
+        private void dispatchRecords(ConsumerRecords<Object, Object> allRecords, StateRepository<String, String> offsetRepository) {
+            for (TopicPartition partition : allRecords.partitions()) {
+                List<ConsumerRecord<Object, Object>> partitionRecords = allRecords.records(partition);
+                log.debug("Records count {} received for partition {}", partitionRecords.size(), partition);
+
+                KafkaOffsetTracker tracker = offsetTrackers.computeIfAbsent(partition, k -> new KafkaOffsetTracker());
+                Iterator<ConsumerRecord<Object, Object>> recordIterator = partitionRecords.iterator();
+                while (recordIterator.hasNext()) {
+                    ConsumerRecord<Object, Object> record = recordIterator.next();
+                    if (log.isTraceEnabled()) {
+                        log.trace("Partition = {}, offset = {}, key = {}, value = {}", record.partition(), record.offset(), record.key(), record.value());
+                    }
+                    Exchange exchange = createExchange(record, partition, !recordIterator.hasNext(), offsetRepository);
+
+                    // records with the same partition (or ordering key) are dispatched to the same worker to keep them in order
+                    Object key = orderingKey != null ? orderingKey.evaluate(exchange, Object.class) : partition;
+                    int hash = key != null ? key.hashCode() : 0;
+                    ExecutorService worker = workers[(hash & Integer.MAX_VALUE) % workers.length];
+
+                    long offset = record.offset();
+                    tracker.dispatched(offset);
+                    pendingRecords.incrementAndGet();
+                    worker.execute(() -> {
+                        try {
+                            try {
+                                processor.process(exchange);
+                            } catch (Exception e) {
+                                exchange.setException(e);
+                            }
+                            if (exchange.getException() != null) {
+                                // will handle/log the exception and then continue to next
+                                getExceptionHandler().handleException("Error during processing", exchange, exchange.getException());
+                            }
+                        } finally {
+                            // must always be done, as otherwise the consumer would wait forever for the record on stop,
+                            // and the partitions may never be resumed
+                            tracker.completed(offset);
+                            pendingRecords.decrementAndGet();
+                        }
+                    });
+                }
+            }
+        }
+
+        /**
+         * Commits the offsets of the records which have been completed by the workers.
+         *
+         * @param offsetRepository the offset repository to save the offsets in, or <tt>null</tt> to commit to kafka
+         * @param commitMode       how to commit to kafka which is either sync, async or none
+         */
+        private void commitCompletedOffsets(StateRepository<String, String> offsetRepository, String commitMode) {
+            Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+            for (Map.Entry<TopicPartition, KafkaOffsetTracker> entry : offsetTrackers.entrySet()) {
+                TopicPartition partition = entry.getKey();
+                KafkaOffsetTracker tracker = entry.getValue();
+                long offset = tracker.getCompletedOffset();
+                if (offset > tracker.getLastCommittedOffset()) {
+                    tracker.setLastCommittedOffset(offset);
+                    // lastOffsetProcessed would be used by
+                    // Consumer re-balance listener to preserve
+                    // offset state upon partition revoke
+                    lastProcessedOffset.put(serializeOffsetKey(partition), offset);
+                    if (offsetRepository != null) {
+                        log.debug("Saving offset repository state {} from topic {} with offset: {}", threadId, topicName, offset);
+                        offsetRepository.setState(serializeOffsetKey(partition), serializeOffsetValue(offset));
+                    } else {
+                        offsets.put(partition, new OffsetAndMetadata(offset + 1));
+                    }
+                }
+            }
+            if (!offsets.isEmpty()) {
+                if ("sync".equals(commitMode)) {
+                    log.debug("Committing sync {} from topic {} with offsets: {}", threadId, topicName, offsets);
+                    consumer.commitSync(offsets);
+                } else if ("async".equals(commitMode)) {
+                    log.debug("Committing async {} from topic {} with offsets: {}", threadId, topicName, offsets);
+                    consumer.commitAsync(offsets, null);
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void pauseOrResumePartitions() {
+            int pending = pendingRecords.get();
+            int queueSize = endpoint.getConfiguration().getConsumerWorkerQueueSize();
+            if (!paused && pending >= queueSize) {
+                log.debug("Pausing {} from topic {} as there are {} records pending to be processed", threadId, topicName, pending);
+                consumer.pause(consumer.assignment());
+                paused = true;
+            } else if (paused && pending <= queueSize / 2) {
+                log.debug("Resuming {} from topic {} as there are {} records pending to be processed", threadId, topicName, pending);
+                consumer.resume(consumer.paused());
+                paused = false;
+            }
+        }
+
+        private void awaitCompletedRecords() {
+            try {
+                for (KafkaOffsetTracker tracker : offsetTrackers.values()) {
+                    tracker.awaitCompleted(0);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
         private void commitOffset(StateRepository<String, String> offsetRepository, TopicPartition partition, long partitionLastOffset, boolean forceCommit) {
             if (partitionLastOffset != -1) {
                 if (!endpoint.getConfiguration().isAllowManualCommit() && offsetRepository != null) {
@@ -438,6 +624,10 @@ public class KafkaConsumer extends DefaultConsumer {
             }
         }
 
+        boolean isPaused() {
+            return paused;
+        }
+
         private void shutdown() {
             // As advised in the KAFKA-1894 ticket, calling this wakeup method
             // breaks the infinite loop
@@ -449,6 +639,23 @@ public class KafkaConsumer extends DefaultConsumer {
             log.debug("onPartitionsRevoked: {} from topic {}", threadId, topicName);
 
             StateRepository<String, String> offsetRepository = endpoint.getConfiguration().getOffsetRepository();
+            if (workers != null) {
+                // give the workers a chance to complete the records from the revoked partitions
+                for (TopicPartition partition : partitions) {
+                    KafkaOffsetTracker tracker = offsetTrackers.remove(partition);
+                    if (tracker != null) {
+                        try {
+                            tracker.awaitCompleted(pollTimeoutMs);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        long offset = tracker.getCompletedOffset();
+                        if (offset > -1) {
+                            lastProcessedOffset.put(serializeOffsetKey(partition), offset);
+                        }
+                    }
+                }
+            }
             for (TopicPartition partition : partitions) {
                 String offsetKey = serializeOffsetKey(partition);
                 Long offset = lastProcessedOffset.get(offsetKey);
@@ -465,6 +672,11 @@ public class KafkaConsumer extends DefaultConsumer {
         public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
             log.debug("onPartitionsAssigned: {} from topic {}", threadId, topicName);
 
+            if (paused) {
+                // the workers have not caught up yet, so the new partitions must be paused as well
+                consumer.pause(partitions);
+            }
+
             StateRepository<String, String> offsetRepository = endpoint.getConfiguration().getOffsetRepository();
             if (offsetRepository != null) {
                 for (TopicPartition partition : partitions) {
@@ -481,6 +693,13 @@ public class KafkaConsumer extends DefaultConsumer {
         }
     }
 
+    /**
+     * Whether any of the consumers has paused fetching from its partitions, as the workers have not caught up
+     */
+    boolean isPaused() {
+        return tasks.stream().anyMatch(KafkaFetchRecords::isPaused);
+    }
+
     private void propagateHeaders(ConsumerRecord<Object, Object> record, Exchange exchange, KafkaConfiguration kafkaConfiguration) {
         HeaderFilterStrategy headerFilterStrategy = kafkaConfiguration.getHeaderFilterStrategy();
         KafkaHeaderDeserializer headerDeserializer = kafkaConfiguration.getKafkaHeaderDeserializer();
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka;
+
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Tracks the offsets of the records from a partition which are being processed in parallel by the workers,
+ * so the offset to commit only advances past the records which have been completed contiguously.
+ */
+class KafkaOffsetTracker {
+
+    private final NavigableSet<Long> inflight = new TreeSet<>();
+    private long lastDispatchedOffset = -1;
+    // only accessed by the thread polling from kafka
+    private long lastCommittedOffset = -1;
+
+    /**
+     * The record with the given offset has been dispatched to a worker
+     */
+    synchronized void dispatched(long offset) {
+        inflight.add(offset);
+        lastDispatchedOffset = offset;
+    }
+
+    /**
+     * The record with the given offset has been processed by a worker
+     */
+    synchronized void completed(long offset) {
+        inflight.remove(offset);
+        if (inflight.isEmpty()) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Gets the offset of the last record which is completed, and where all records before it are completed as well
+     *
+     * @return the offset, or <tt>-1</tt> if no records has been completed
+     */
+    synchronized long getCompletedOffset() {
+        if (inflight.isEmpty()) {
+            return lastDispatchedOffset;
+        }
+        return inflight.first() - 1;
+    }
+
+    /**
+     * Waits for all the dispatched records to be completed
+     *
+     * @param timeout the timeout in millis, or <tt>0</tt> to wait until completed
+     * @return <tt>true</tt> if all records was completed, <tt>false</tt> if timeout
+     */
+    synchronized boolean awaitCompleted(long timeout) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeout;
+        while (!inflight.isEmpty()) {
+            if (timeout > 0) {
+                long delay = deadline - System.currentTimeMillis();
+                if (delay <= 0) {
+                    return false;
+                }
+                wait(delay);
+            } else {
+                wait();
+            }
+        }
+        return true;
+    }
+
+    long getLastCommittedOffset() {
+        return lastCommittedOffset;
+    }
+
+    void setLastCommittedOffset(long lastCommittedOffset) {
+        this.lastCommittedOffset = lastCommittedOffset;
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.Endpoint;
+import org.apache.camel.EndpointInject;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class KafkaConsumerWorkerThreadsTest extends BaseEmbeddedKafkaTest {
+
+    public static final String TOPIC = "workers";
+    public static final String PARALLEL_TOPIC = "workersParallel";
+    public static final String PAUSE_TOPIC = "workersPause";
+
+    @EndpointInject("kafka:" + TOPIC
+            + "?groupId=group1"
+            + "&autoOffsetReset=earliest"
+            + "&consumerWorkerThreads=4"
+            + "&consumerWorkerQueueSize=10"
+            + "&consumerOrderingKey=${header.kafka.KEY}"
+    )
+    private Endpoint from;
+
+    @EndpointInject("mock:result")
+    private MockEndpoint to;
+
+    @EndpointInject("mock:parallel")
+    private MockEndpoint parallel;
+
+    @EndpointInject("mock:pause")
+    private MockEndpoint pause;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicInteger maxInflight = new AtomicInteger();
+    private final CountDownLatch pauseLatch = new CountDownLatch(1);
+
+    private org.apache.kafka.clients.producer.KafkaProducer<String, String> producer;
+
+    @Before
+    public void before() {
+        Properties props = getDefaultProperties();
+        producer = new org.apache.kafka.clients.producer.KafkaProducer<>(props);
+    }
+
+    @After
+    public void after() {
+        if (producer != null) {
+            producer.close();
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from(from).routeId("foo").delay(10).to(to);
+
+                from("kafka:" + PARALLEL_TOPIC + "?groupId=group2&autoOffsetReset=earliest&consumerWorkerThreads=4&consumerOrderingKey=${header.kafka.KEY}")
+                    .process(exchange -> {
+                        int current = inflight.incrementAndGet();
+                        maxInflight.accumulateAndGet(current, Math::max);
+                        Thread.sleep(50);
+                        inflight.decrementAndGet();
+                    })
+                    .to(parallel);
+
+                from("kafka:" + PAUSE_TOPIC + "?groupId=group3&autoOffsetReset=earliest&consumerWorkerThreads=1&consumerWorkerQueueSize=5")
+                    .routeId("pause")
+                    .process(exchange -> pauseLatch.await(20, TimeUnit.SECONDS))
+                    .to(pause);
+            }
+        };
+    }
+
+    @Test
+    public void kafkaMessagesIsConsumedInOrderPerKey() throws Exception {
+        to.expectedMessageCount(40);
+        for (int k = 0; k < 40; k++) {
+            ProducerRecord<String, String> data = new ProducerRecord<>(TOPIC, "key" + (k % 4), "m" + k);
+            producer.send(data);
+        }
+        to.assertIsSatisfied(10000);
+
+        // the messages with the same key must be processed in order
+        Map<String, List<Integer>> received = new HashMap<>();
+        for (Exchange exchange : to.getReceivedExchanges()) {
+            String key = exchange.getIn().getHeader(KafkaConstants.KEY, String.class);
+            int number = Integer.parseInt(exchange.getIn().getBody(String.class).substring(1));
+            received.computeIfAbsent(key, k -> new ArrayList<>()).add(number);
+        }
+        assertEquals(4, received.size());
+        for (List<Integer> numbers : received.values()) {
+            for (int i = 1; i < numbers.size(); i++) {
+                assertTrue("Should be in order: " + numbers, numbers.get(i - 1) < numbers.get(i));
+            }
+        }
+
+        to.reset();
+        to.expectedBodiesReceived("m40");
+
+        // restart the route, which should only consume the new message as the offsets has been committed
+        context.getRouteController().stopRoute("foo");
+        context.getRouteController().startRoute("foo");
+
+        producer.send(new ProducerRecord<>(TOPIC, "key0", "m40"));
+
+        to.assertIsSatisfied(10000);
+    }
+
+    @Test
+    public void kafkaMessagesIsProcessedInParallel() throws Exception {
+        parallel.expectedMessageCount(20);
+        for (int k = 0; k < 20; k++) {
+            producer.send(new ProducerRecord<>(PARALLEL_TOPIC, "key" + k, "m" + k));
+        }
+        parallel.assertIsSatisfied(10000);
+
+        assertTrue("Should process records in parallel, was: " + maxInflight.get(), maxInflight.get() > 1);
+    }
+
+    @Test
+    public void kafkaConsumerIsPausedUntilWorkersHaveCaughtUp() throws Exception {
+        pause.expectedMessageCount(20);
+        for (int k = 0; k < 20; k++) {
+            producer.send(new ProducerRecord<>(PAUSE_TOPIC, "key", "m" + k));
+        }
+
+        // the worker is blocked so the consumer should pause as more records than the queue size are pending
+        KafkaConsumer consumer = (KafkaConsumer) context.getRoute("pause").getConsumer();
+        assertTrue("Consumer should be paused", awaitPaused(consumer, true));
+        assertEquals(0, pause.getReceivedCounter());
+
+        // let the worker catch up, which should resume the consumer
+        pauseLatch.countDown();
+        pause.assertIsSatisfied(10000);
+        assertTrue("Consumer should be resumed", awaitPaused(consumer, false));
+    }
+
+    private static boolean awaitPaused(KafkaConsumer consumer, boolean paused) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (consumer.isPaused() != paused) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(50);
+        }
+        return true;
+    }
+}
@@ -31,6 +31,7 @@ import org.apache.camel.TimeoutMap;
 import org.apache.camel.TimeoutMap.Listener.Type;
 import org.apache.camel.spi.CamelLogger;
 import org.apache.camel.support.DefaultTimeoutMap;
+import org.apache.camel.support.TimingWheelTimeoutMap;
 import org.apache.camel.support.service.ServiceHelper;
 import org.apache.camel.support.service.ServiceSupport;
 import org.apache.camel.util.ObjectHelper;
@@ -54,6 +55,7 @@ public abstract class TimeoutCorrelationManagerSupport extends ServiceSupport im
     private CamelContext camelContext;
     private long timeout = 30000;
     private long timeoutChecker = 1000;
+    private boolean timeoutTimingWheel;
     private LoggingLevel timeoutLoggingLevel = LoggingLevel.DEBUG;
 
     @Override
@@ -89,6 +91,19 @@ public abstract class TimeoutCorrelationManagerSupport extends ServiceSupport im
         this.timeoutChecker = timeoutChecker;
     }
 
+    public boolean isTimeoutTimingWheel() {
+        return timeoutTimingWheel;
+    }
+
+    /**
+     * Whether to use a timing wheel to keep track of the timeouts, which only checks the requests which are due
+     * to timeout, instead of checking all the outstanding requests. This is faster when there are many outstanding
+     * requests. The default value is false.
+     */
+    public void setTimeoutTimingWheel(boolean timeoutTimingWheel) {
+        this.timeoutTimingWheel = timeoutTimingWheel;
+    }
+
     public LoggingLevel getTimeoutLoggingLevel() {
         return timeoutLoggingLevel;
     }
@@ -181,7 +196,11 @@ public abstract class TimeoutCorrelationManagerSupport extends ServiceSupport im
             workerPool = camelContext.getExecutorServiceManager().newDefaultThreadPool(this, "NettyTimeoutWorkerPool");
         }
 
-        map = new DefaultTimeoutMap<>(scheduledExecutorService, timeoutChecker);
+        if (timeoutTimingWheel) {
+            map = new TimingWheelTimeoutMap<>(scheduledExecutorService, timeoutChecker);
+        } else {
+            map = new DefaultTimeoutMap<>(scheduledExecutorService, timeoutChecker);
+        }
         map.addListener(this::onEviction);
 
         ServiceHelper.startService(map);
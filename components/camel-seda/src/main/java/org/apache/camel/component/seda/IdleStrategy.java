@@ -0,0 +1,33 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+/**
+ * Strategy for how a thread should wait when a {@link RingBufferBlockingQueue} is empty (for consumers)
+ * or full (for producers), as the queue is lock-free and therefore has no locks to block on.
+ */
+public interface IdleStrategy {
+
+    /**
+     * Perform the idle action, which is called each time the queue could not be polled or offered.
+     *
+     * @param idleCount the number of times the thread has been idle in a row, which starts from <tt>0</tt>
+     *                  and is reset when the thread is able to poll or offer again
+     */
+    void idle(int idleCount);
+
+}
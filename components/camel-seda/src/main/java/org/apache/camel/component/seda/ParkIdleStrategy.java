@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link IdleStrategy} which backs off by first spinning, then yielding and then parking the waiting threads
+ * with an exponential increasing park period, up till the max park period.
+ * <p/>
+ * This is the default strategy as it only uses the cpu while waiting for a short while.
+ */
+public class ParkIdleStrategy implements IdleStrategy {
+
+    private int maxSpins = 10;
+    private int maxYields = 20;
+    private long minParkPeriodNanos = TimeUnit.MICROSECONDS.toNanos(1);
+    private long maxParkPeriodNanos = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Override
+    public void idle(int idleCount) {
+        if (idleCount < maxSpins) {
+            // noop as we spin
+        } else if (idleCount < maxSpins + maxYields) {
+            Thread.yield();
+        } else {
+            int shift = Math.min(idleCount - maxSpins - maxYields, 30);
+            long period = Math.min(minParkPeriodNanos << shift, maxParkPeriodNanos);
+            LockSupport.parkNanos(period);
+        }
+    }
+
+    public int getMaxSpins() {
+        return maxSpins;
+    }
+
+    /**
+     * Number of times to spin before yielding
+     */
+    public void setMaxSpins(int maxSpins) {
+        this.maxSpins = maxSpins;
+    }
+
+    public int getMaxYields() {
+        return maxYields;
+    }
+
+    /**
+     * Number of times to yield before parking
+     */
+    public void setMaxYields(int maxYields) {
+        this.maxYields = maxYields;
+    }
+
+    public long getMinParkPeriodNanos() {
+        return minParkPeriodNanos;
+    }
+
+    /**
+     * The park period (in nanos) to start parking with, which is doubled each time until the max park period.
+     */
+    public void setMinParkPeriodNanos(long minParkPeriodNanos) {
+        this.minParkPeriodNanos = minParkPeriodNanos;
+    }
+
+    public long getMaxParkPeriodNanos() {
+        return maxParkPeriodNanos;
+    }
+
+    /**
+     * The max park period (in nanos)
+     */
+    public void setMaxParkPeriodNanos(long maxParkPeriodNanos) {
+        this.maxParkPeriodNanos = maxParkPeriodNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "ParkIdleStrategy[maxSpins=" + maxSpins + ", maxYields=" + maxYields
+            + ", minParkPeriodNanos=" + minParkPeriodNanos + ", maxParkPeriodNanos=" + maxParkPeriodNanos + "]";
+    }
+}
@@ -0,0 +1,358 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded lock-free {@link BlockingQueue} backed by a ring buffer, which supports multiple producers
+ * and either a single consumer (MPSC) or multiple consumers (MPMC).
+ * <p/>
+ * Each slot in the ring buffer has a sequence number, which the producers and consumers use to claim the slot,
+ * so the queue does not use any locks. As there are no locks to block on, then threads waiting for the queue
+ * to not be empty or full uses the configured {@link IdleStrategy}.
+ * <p/>
+ * When using a single consumer, then only one thread at the same time is allowed to poll or take from the queue.
+ * Removing elements using {@link #remove(Object)} or {@link #clear()} is allowed from any thread, as the removed
+ * elements are marked as removed in their slot, and then skipped by the consumer (and therefore still counted
+ * in the size of the queue until then).
+ * <p/>
+ * The {@link #size()} is an estimate as it is not possible to calculate the exact size of a lock-free queue
+ * while its being concurrently updated. Likewise the iterator returns a snapshot of the queue,
+ * which does not support removing elements.
+ */
+public class RingBufferBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+    /**
+     * The max capacity, as the ring buffer is allocated up front
+     */
+    public static final int MAX_CAPACITY = 1 << 30;
+
+    private static final Object REMOVED = new Object();
+
+    private final int capacity;
+    private final int mask;
+    private final boolean singleConsumer;
+    private final IdleStrategy idleStrategy;
+    private final AtomicReferenceArray<Object> buffer;
+    private final AtomicLongArray sequences;
+    // the position to offer to next
+    private final AtomicLong tail = new AtomicLong();
+    // the position to poll from next
+    private final AtomicLong head = new AtomicLong();
+
+    public RingBufferBlockingQueue(int capacity, boolean singleConsumer, IdleStrategy idleStrategy) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY + ", was " + capacity);
+        }
+        if (idleStrategy == null) {
+            throw new IllegalArgumentException("IdleStrategy must be configured");
+        }
+        this.capacity = capacity;
+        this.singleConsumer = singleConsumer;
+        this.idleStrategy = idleStrategy;
+        // the ring buffer must be a power of two so we can use a mask to find the slot
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public boolean isSingleConsumer() {
+        return singleConsumer;
+    }
+
+    public IdleStrategy getIdleStrategy() {
+        return idleStrategy;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        long pos = tail.get();
+        while (true) {
+            int index = (int) pos & mask;
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                // the ring buffer may be larger than the capacity (concurrent producers may exceed
+                // the capacity a little, but never the size of the ring buffer)
+                if (pos - head.get() >= capacity) {
+                    return false;
+                }
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    buffer.lazySet(index, e);
+                    // publish the element to the consumers
+                    sequences.lazySet(index, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                // the slot has not been consumed yet, so we are full
+                return false;
+            } else {
+                // another producer claimed the slot
+                pos = tail.get();
+            }
+        }
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        int idleCount = 0;
+        while (!offer(e)) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            idleStrategy.idle(idleCount++);
+        }
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int idleCount = 0;
+        while (!offer(e)) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (deadline - System.nanoTime() <= 0) {
+                return false;
+            }
+            idleStrategy.idle(idleCount++);
+        }
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        while (true) {
+            Object e = pollSlot();
+            // skip the elements which has been removed
+            if (e != REMOVED) {
+                return (E) e;
+            }
+        }
+    }
+
+    private Object pollSlot() {
+        long pos = head.get();
+        while (true) {
+            int index = (int) pos & mask;
+            long diff = sequences.get(index) - (pos + 1);
+            if (diff == 0) {
+                if (singleConsumer) {
+                    // only this thread updates the head
+                    head.lazySet(pos + 1);
+                } else if (!head.compareAndSet(pos, pos + 1)) {
+                    pos = head.get();
+                    continue;
+                }
+                Object e = buffer.getAndSet(index, null);
+                // release the slot to the producers
+                sequences.lazySet(index, pos + mask + 1);
+                return e;
+            } else if (diff < 0) {
+                // the slot has not been published yet, so we are empty
+                return null;
+            } else {
+                // another consumer claimed the slot
+                pos = head.get();
+            }
+        }
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        int idleCount = 0;
+        while (true) {
+            E e = poll();
+            if (e != null) {
+                return e;
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            idleStrategy.idle(idleCount++);
+        }
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int idleCount = 0;
+        while (true) {
+            E e = poll();
+            if (e != null) {
+                return e;
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (deadline - System.nanoTime() <= 0) {
+                return null;
+            }
+            idleStrategy.idle(idleCount++);
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        if (c == this) {
+            throw new IllegalArgumentException("Cannot drain to itself");
+        }
+        int count = 0;
+        while (count < maxElements) {
+            E e = poll();
+            if (e == null) {
+                break;
+            }
+            c.add(e);
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        long pos = head.get();
+        long end = tail.get();
+        for (; pos < end; pos++) {
+            int index = (int) pos & mask;
+            if (sequences.get(index) != pos + 1) {
+                // not published or already consumed
+                continue;
+            }
+            Object e = buffer.get(index);
+            if (e != null && e != REMOVED) {
+                return (E) e;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int size() {
+        long after = head.get();
+        while (true) {
+            long before = after;
+            long end = tail.get();
+            after = head.get();
+            if (before == after) {
+                long size = end - after;
+                return (int) Math.max(0, Math.min(size, capacity));
+            }
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        long pos = head.get();
+        long end = tail.get();
+        for (; pos < end; pos++) {
+            int index = (int) pos & mask;
+            if (sequences.get(index) != pos + 1) {
+                continue;
+            }
+            Object e = buffer.get(index);
+            // mark the slot as removed, which fails if a consumer took the element in the meantime
+            if (e != null && e != REMOVED && o.equals(e) && buffer.compareAndSet(index, e, REMOVED)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        if (!singleConsumer) {
+            // we are allowed to poll from any thread
+            while (poll() != null) {
+                // noop
+            }
+            return;
+        }
+        long pos = head.get();
+        long end = tail.get();
+        for (; pos < end; pos++) {
+            int index = (int) pos & mask;
+            if (sequences.get(index) != pos + 1) {
+                continue;
+            }
+            Object e = buffer.get(index);
+            if (e != null && e != REMOVED) {
+                buffer.compareAndSet(index, e, REMOVED);
+            }
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return Collections.unmodifiableList(snapshot()).iterator();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<E> snapshot() {
+        List<E> answer = new ArrayList<>();
+        long pos = head.get();
+        long end = tail.get();
+        for (; pos < end; pos++) {
+            int index = (int) pos & mask;
+            if (sequences.get(index) != pos + 1) {
+                continue;
+            }
+            Object e = buffer.get(index);
+            if (e != null && e != REMOVED) {
+                answer.add((E) e);
+            }
+        }
+        return answer;
+    }
+}
@@ -16,6 +16,7 @@
  */
 package org.apache.camel.component.seda;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
@@ -25,6 +26,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.camel.AsyncProcessor;
 import org.apache.camel.Exchange;
+import org.apache.camel.Message;
 import org.apache.camel.Processor;
 import org.apache.camel.ShutdownRunningTask;
 import org.apache.camel.Suspendable;
@@ -33,6 +35,7 @@ import org.apache.camel.spi.Synchronization;
 import org.apache.camel.support.DefaultConsumer;
 import org.apache.camel.support.EmptyAsyncCallback;
 import org.apache.camel.support.ExchangeHelper;
+import org.apache.camel.support.SynchronizationAdapter;
 import org.apache.camel.support.UnitOfWorkHelper;
 import org.apache.camel.util.ObjectHelper;
 
@@ -50,10 +53,14 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
     private volatile boolean forceShutdown;
     private ExecutorService executor;
     private final int pollTimeout;
+    private final int maxMessagesPerPoll;
+    private final boolean groupExchanges;
 
     public SedaConsumer(SedaEndpoint endpoint, Processor processor) {
         super(endpoint, processor);
         this.pollTimeout = endpoint.getPollTimeout();
+        this.maxMessagesPerPoll = endpoint.getMaxMessagesPerPoll();
+        this.groupExchanges = endpoint.isGroupExchanges();
     }
 
     @Override
@@ -173,24 +180,19 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
                     log.trace("Polled queue {} with timeout {} ms. -> {}", ObjectHelper.getIdentityHashCode(queue), pollTimeout, exchange);
                 }
                 if (exchange != null) {
-                    try {
-                        // send a new copied exchange with new camel context
-                        Exchange newExchange = prepareExchange(exchange);
-                        // process the exchange
-                        sendToConsumers(newExchange);
-                        // copy the message back
-                        if (newExchange.hasOut()) {
-                            exchange.setOut(newExchange.getOut().copy());
+                    if (maxMessagesPerPoll > 1) {
+                        // drain as many as possible (but the one we polled) without having to wait
+                        List<Exchange> exchanges = new ArrayList<>(maxMessagesPerPoll);
+                        exchanges.add(exchange);
+                        queue.drainTo(exchanges, maxMessagesPerPoll - 1);
+                        log.trace("Drained {} exchanges from queue {}", exchanges.size(), ObjectHelper.getIdentityHashCode(queue));
+                        if (groupExchanges) {
+                            processGroupedExchanges(exchanges);
                         } else {
-                            exchange.setIn(newExchange.getIn());
-                        }
-                        // log exception if an exception occurred and was not handled
-                        if (newExchange.getException() != null) {
-                            exchange.setException(newExchange.getException());
-                            getExceptionHandler().handleException("Error processing exchange", exchange, exchange.getException());
+                            processBatch(exchanges);
                         }
-                    } catch (Exception e) {
-                        getExceptionHandler().handleException("Error processing exchange", exchange, e);
+                    } else {
+                        processExchange(exchange, 0, 0);
                     }
                 } else if (shutdownPending && queue.isEmpty()) {
                     log.trace("Shutdown is pending, so this consumer thread is breaking out because the task queue is empty.");
@@ -210,6 +212,103 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
         }
     }
 
+    /**
+     * Processes the exchange polled from the queue
+     *
+     * @param exchange the exchange from the queue
+     * @param index    the index of the exchange in the batch
+     * @param total    the total number of exchanges in the batch, or <tt>0</tt> if not polled in batches
+     */
+    protected void processExchange(Exchange exchange, int index, int total) {
+        try {
+            // send a new copied exchange with new camel context
+            Exchange newExchange = prepareExchange(exchange);
+            if (total > 0) {
+                newExchange.setProperty(Exchange.BATCH_INDEX, index);
+                newExchange.setProperty(Exchange.BATCH_SIZE, total);
+                newExchange.setProperty(Exchange.BATCH_COMPLETE, index == total - 1);
+            }
+            // process the exchange
+            sendToConsumers(newExchange);
+            // copy the message back
+            if (newExchange.hasOut()) {
+                exchange.setOut(newExchange.getOut().copy());
+            } else {
+                exchange.setIn(newExchange.getIn());
+            }
+            // log exception if an exception occurred and was not handled
+            if (newExchange.getException() != null) {
+                exchange.setException(newExchange.getException());
+                getExceptionHandler().handleException("Error processing exchange", exchange, exchange.getException());
+            }
+        } catch (Exception e) {
+            getExceptionHandler().handleException("Error processing exchange", exchange, e);
+        }
+    }
+
+    /**
+     * Processes the exchanges drained from the queue back-to-back
+     *
+     * @param exchanges the exchanges from the queue
+     */
+    protected void processBatch(List<Exchange> exchanges) {
+        int total = exchanges.size();
+        for (int index = 0; index < total; index++) {
+            processExchange(exchanges.get(index), index, total);
+        }
+    }
+
+    /**
+     * Processes the exchanges drained from the queue as a single exchange, which holds the exchanges
+     * as a {@link List} in the message body.
+     *
+     * @param exchanges the exchanges from the queue
+     */
+    protected void processGroupedExchanges(List<Exchange> exchanges) {
+        final List<Exchange> grouped = new ArrayList<>(exchanges.size());
+        for (Exchange exchange : exchanges) {
+            grouped.add(prepareExchange(exchange));
+        }
+
+        Exchange group = getEndpoint().createExchange();
+        group.setProperty(Exchange.BATCH_SIZE, grouped.size());
+        group.getIn().setBody(grouped);
+        // the on completions of the grouped exchanges must be done when the group is done
+        group.addOnCompletion(new SynchronizationAdapter() {
+            @Override
+            public void onDone(Exchange exchange) {
+                // if the route replaced the list of exchanges in the body, then the resulting message
+                // is the reply of every grouped exchange, otherwise each exchange holds its own reply
+                Message result = exchange.getMessage();
+                boolean replaced = result.getBody() != grouped;
+                for (Exchange answer : grouped) {
+                    if (replaced) {
+                        answer.setOut(result.copy());
+                    }
+                    if (exchange.getException() != null && answer.getException() == null) {
+                        answer.setException(exchange.getException());
+                    }
+                    UnitOfWorkHelper.doneSynchronizations(answer, answer.handoverCompletions(), log);
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "onDone of grouped exchanges at endpoint: " + getEndpoint();
+            }
+        });
+
+        try {
+            sendToConsumers(group);
+            // log exception if an exception occurred and was not handled
+            if (group.getException() != null) {
+                getExceptionHandler().handleException("Error processing grouped exchanges", group, group.getException());
+            }
+        } catch (Exception e) {
+            getExceptionHandler().handleException("Error processing grouped exchanges", group, e);
+        }
+    }
+
     /**
      * Strategy to prepare exchange for being processed by this consumer
      *
@@ -270,6 +369,7 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
     @Override
     protected void doStart() throws Exception {
         super.doStart();
+
         latch = new CountDownLatch(getEndpoint().getConcurrentConsumers());
         shutdownPending = false;
         forceShutdown = false;
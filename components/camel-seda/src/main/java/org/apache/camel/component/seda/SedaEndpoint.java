@@ -66,6 +66,10 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
     private BlockingQueue queue;
     @UriParam(defaultValue = "" + SedaConstants.QUEUE_SIZE)
     private int size = SedaConstants.QUEUE_SIZE;
+    @UriParam(label = "advanced", enums = "mpsc,mpmc")
+    private String queueType;
+    @UriParam(label = "advanced", enums = "spin,yield,park", defaultValue = "park")
+    private String idleStrategy = "park";
 
     @UriParam(label = "consumer", defaultValue = "1")
     private int concurrentConsumers = 1;
@@ -77,6 +81,10 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
     private boolean purgeWhenStopping;
     @UriParam(label = "consumer,advanced", defaultValue = "1000")
     private int pollTimeout = 1000;
+    @UriParam(label = "consumer,advanced")
+    private int maxMessagesPerPoll;
+    @UriParam(label = "consumer,advanced")
+    private boolean groupExchanges;
 
     @UriParam(label = "producer", defaultValue = "IfReplyExpected")
     private WaitForTaskToComplete waitForTaskToComplete = WaitForTaskToComplete.IfReplyExpected;
@@ -143,6 +151,10 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
                         + ref.getMultipleConsumers() + " does not match given multiple consumers " + multipleConsumers);
             }
         }
+        if (isSingleConsumerQueue() && (concurrentConsumers > 1 || isMultipleConsumers())) {
+            throw new IllegalArgumentException("The mpsc queue only supports a single consumer thread,"
+                    + " so concurrentConsumers > 1 and multipleConsumers cannot be used on endpoint: " + this);
+        }
 
         Consumer answer = createNewConsumer(processor);
         configureConsumer(answer);
@@ -155,6 +167,10 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
 
     @Override
     public PollingConsumer createPollingConsumer() throws Exception {
+        if (isSingleConsumerQueue()) {
+            throw new IllegalArgumentException("The mpsc queue only supports a single consumer thread,"
+                    + " so a polling consumer cannot be used on endpoint: " + this);
+        }
         SedaPollingConsumer answer = new SedaPollingConsumer(this);
         configureConsumer(answer);
         return answer;
@@ -168,7 +184,7 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
             if (getComponent() != null) {
                 // use null to indicate default size (= use what the existing queue has been configured with)
                 Integer size = (getSize() == Integer.MAX_VALUE || getSize() == SedaConstants.QUEUE_SIZE) ? null : getSize();
-                QueueReference ref = getComponent().getOrCreateQueue(this, size, isMultipleConsumers(), queueFactory);
+                QueueReference ref = getComponent().getOrCreateQueue(this, size, isMultipleConsumers(), resolveQueueFactory());
                 queue = ref.getQueue();
                 String key = getComponent().getQueueKey(getEndpointUri());
                 log.info("Endpoint {} is using shared queue: {} with size: {}", this, key, ref.getSize() !=  null ? ref.getSize() : Integer.MAX_VALUE);
@@ -186,10 +202,53 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
     }
 
     protected BlockingQueue<Exchange> createQueue() {
+        BlockingQueueFactory<Exchange> factory = resolveQueueFactory();
         if (size > 0) {
-            return queueFactory.create(size);
+            return factory.create(size);
         } else {
-            return queueFactory.create();
+            return factory.create();
+        }
+    }
+
+    /**
+     * Whether the queue is a lock-free queue which only supports a single consumer thread
+     */
+    private boolean isSingleConsumerQueue() {
+        BlockingQueue<Exchange> answer = getQueue();
+        return answer instanceof RingBufferBlockingQueue && ((RingBufferBlockingQueue<Exchange>) answer).isSingleConsumer();
+    }
+
+    /**
+     * Resolves the queue factory to use, which is the lock-free queue factory if a queue type has been configured
+     */
+    protected BlockingQueueFactory<Exchange> resolveQueueFactory() {
+        if (queueType == null) {
+            return queueFactory;
+        }
+
+        IdleStrategy strategy;
+        if ("spin".equals(idleStrategy)) {
+            strategy = new SpinIdleStrategy();
+        } else if ("yield".equals(idleStrategy)) {
+            strategy = new YieldIdleStrategy();
+        } else if ("park".equals(idleStrategy)) {
+            strategy = new ParkIdleStrategy();
+        } else {
+            throw new IllegalArgumentException("Unknown idleStrategy: " + idleStrategy + ", must be one of: spin, yield, park");
+        }
+
+        // the ring buffer is bounded, so use the size of this endpoint unless its unbounded
+        int capacity = size > 0 && size <= RingBufferBlockingQueue.MAX_CAPACITY ? size : SedaConstants.QUEUE_SIZE;
+        if ("mpsc".equals(queueType)) {
+            MpscBlockingQueueFactory<Exchange> factory = new MpscBlockingQueueFactory<>(strategy);
+            factory.setDefaultCapacity(capacity);
+            return factory;
+        } else if ("mpmc".equals(queueType)) {
+            MpmcBlockingQueueFactory<Exchange> factory = new MpmcBlockingQueueFactory<>(strategy);
+            factory.setDefaultCapacity(capacity);
+            return factory;
+        } else {
+            throw new IllegalArgumentException("Unknown queueType: " + queueType + ", must be one of: mpsc, mpmc");
         }
     }
 
@@ -405,6 +464,64 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
         this.pollTimeout = pollTimeout;
     }
 
+    @ManagedAttribute
+    public String getQueueType() {
+        return queueType;
+    }
+
+    /**
+     * To use a bounded lock-free queue instead of the queue from the queue factory, which has higher throughput
+     * when there are many concurrent producers. Use mpsc when the queue has a single consumer thread (concurrentConsumers = 1),
+     * or mpmc when the queue has multiple consumer threads.
+     */
+    public void setQueueType(String queueType) {
+        this.queueType = queueType;
+    }
+
+    @ManagedAttribute
+    public String getIdleStrategy() {
+        return idleStrategy;
+    }
+
+    /**
+     * How threads should wait when the lock-free queue (see queueType) is empty or full.
+     * spin is busy spinning which has the lowest latency but uses 100% cpu while waiting,
+     * yield yields the thread, and park backs off from spinning and yielding to parking the thread.
+     */
+    public void setIdleStrategy(String idleStrategy) {
+        this.idleStrategy = idleStrategy;
+    }
+
+    @ManagedAttribute
+    public int getMaxMessagesPerPoll() {
+        return maxMessagesPerPoll;
+    }
+
+    /**
+     * To drain up to this number of messages from the queue each time the consumer polls, instead of
+     * polling one message at a time. The drained messages are then processed back-to-back by the consumer thread,
+     * which reduces the locking and thread wake-ups on the queue when there is a high throughput of messages.
+     * Values of 1 or lower polls one message at a time.
+     */
+    public void setMaxMessagesPerPoll(int maxMessagesPerPoll) {
+        this.maxMessagesPerPoll = maxMessagesPerPoll;
+    }
+
+    @ManagedAttribute
+    public boolean isGroupExchanges() {
+        return groupExchanges;
+    }
+
+    /**
+     * Whether the messages drained in a poll (see maxMessagesPerPoll) should be grouped together and routed
+     * as a single exchange, which holds the exchanges as a java.util.List in the message body.
+     * When using request/reply the resulting message is the reply to each of the grouped exchanges,
+     * unless the message body is still the list of exchanges, in which case each exchange holds its own reply.
+     */
+    public void setGroupExchanges(boolean groupExchanges) {
+        this.groupExchanges = groupExchanges;
+    }
+
     @ManagedAttribute
     public boolean isPurgeWhenStopping() {
         return purgeWhenStopping;
@@ -464,6 +581,13 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
     }
 
     void onStarted(SedaConsumer consumer) throws Exception {
+        if (isSingleConsumerQueue()) {
+            QueueReference ref = getComponent() != null ? getQueueReference() : null;
+            if (!consumers.isEmpty() || (ref != null && ref.hasConsumers())) {
+                throw new IllegalStateException("The mpsc queue only supports a single consumer thread,"
+                        + " so another consumer cannot be started on endpoint: " + this);
+            }
+        }
         consumers.add(consumer);
         if (isMultipleConsumers()) {
             updateMulticastProcessor();
@@ -21,13 +21,19 @@ import java.io.IOException;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import javax.sql.DataSource;
 
 import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
 import org.apache.camel.Exchange;
 import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.spi.OptimisticLockingAggregationRepository;
@@ -39,6 +45,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.core.Constants;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.support.AbstractLobCreatingPreparedStatementCallback;
@@ -61,8 +68,12 @@ import org.springframework.util.FileCopyUtils;
  * data types. If a data type is not such a type its dropped and a WARN is
  * logged. And it only persists the Message body and the Message headers.
  * The Exchange properties are not persisted.
+ * <p/>
+ * If a write behind interval is configured then the updates are not written to the database
+ * immediately, but kept in memory and written in JDBC batches periodically. Repeated updates of
+ * the same key within the interval are coalesced into a single update.
  */
-public class JdbcAggregationRepository extends ServiceSupport implements RecoverableAggregationRepository, OptimisticLockingAggregationRepository {
+public class JdbcAggregationRepository extends ServiceSupport implements RecoverableAggregationRepository, OptimisticLockingAggregationRepository, CamelContextAware {
 
     protected static final String EXCHANGE = "exchange";
     protected static final String ID = "id";
@@ -71,6 +82,7 @@ public class JdbcAggregationRepository extends ServiceSupport implements Recover
     private static final Logger LOG = LoggerFactory.getLogger(JdbcAggregationRepository.class);
     private static final Constants PROPAGATION_CONSTANTS = new Constants(TransactionDefinition.class);
 
+    private CamelContext camelContext;
     private JdbcOptimisticLockingExceptionMapper jdbcOptimisticLockingExceptionMapper = new DefaultJdbcOptimisticLockingExceptionMapper();
     private PlatformTransactionManager transactionManager;
     private DataSource dataSource;
@@ -89,6 +101,15 @@ public class JdbcAggregationRepository extends ServiceSupport implements Recover
     private List<String> headersToStoreAsText;
     private boolean storeBodyAsText;
     private boolean allowSerializedHeaders;
+    private long writeBehindInterval;
+    private int writeBehindBatchSize = 1000;
+    private final Object writeBehindLock = new Object();
+    private final Object flushLock = new Object();
+    private Map<String, PendingUpdate> pendingUpdates = new LinkedHashMap<>();
+    private Map<String, PendingUpdate> pendingCompleted = new LinkedHashMap<>();
+    private Map<String, PendingUpdate> flushingUpdates = Collections.emptyMap();
+    private Map<String, PendingUpdate> flushingCompleted = Collections.emptyMap();
+    private ScheduledExecutorService writeBehindExecutor;
 
     /**
      * Creates an aggregation repository
@@ -142,6 +163,18 @@ public class JdbcAggregationRepository extends ServiceSupport implements Recover
 
     @Override
     public Exchange add(final CamelContext camelContext, final String correlationId, final Exchange exchange) {
+        if (isWriteBehind()) {
+            LOG.debug("Adding exchange with key: [{}] to write behind", correlationId);
+            try {
+                Exchange result = isReturnOldExchange() ? get(camelContext, correlationId) : null;
+                PendingUpdate update = createPendingUpdate(camelContext, exchange);
+                addPendingUpdate(correlationId, update, null, null);
+                return result;
+            } catch (Exception e) {
+                throw new RuntimeException("Error adding to repository " + repositoryName + " with key " + correlationId, e);
+            }
+        }
+
         return transactionTemplate.execute(new TransactionCallback<Exchange>() {
 
             public Exchange doInTransaction(TransactionStatus status) {
@@ -213,6 +246,17 @@ public class JdbcAggregationRepository extends ServiceSupport implements Recover
      * @param repositoryName The name of the table
      */
     protected void insert(final CamelContext camelContext, final String correlationId, final Exchange exchange, String repositoryName) throws Exception {
+        String sql = createInsertSql(repositoryName);
+
+        insertAndUpdateHelper(camelContext, correlationId, exchange, sql, true);
+    }
+
+    /**
+     * Creates the SQL to insert a new record into the given repository table.
+     *
+     * @param repositoryName The name of the table
+     */
+    protected String createInsertSql(String repositoryName) {
         // The default totalParameterIndex is 2 for ID and Exchange. Depending on logic this will be increased
         int totalParameterIndex = 2;
         StringBuilder queryBuilder = new StringBuilder()
@@ -240,9 +284,7 @@ public class JdbcAggregationRepository extends ServiceSupport implements Recover
         }
         queryBuilder.append("?)");
 
-        String sql = queryBuilder.toString();
-
-        insertAndUpdateHelper(camelContext, correlationId, exchange, sql, true);
+        return queryBuilder.toString();
     }
 
     protected int insertAndUpdateHelper(final CamelContext camelContext, final String key, final Exchange exchange, String sql, final boolean idComesFirst) throws Exception {
@@ -284,6 +326,17 @@ public class JdbcAggregationRepository extends ServiceSupport implements Recover
     }
 
     private Exchange get(final String key, final String repositoryName, final CamelContext camelContext) {
+        if (isWriteBehind()) {
+            PendingUpdate pending = getPendingUpdate(key, repositoryName.equals(getRepositoryName()));
+            if (pending != null) {
+                try {
+                    return pending.data != null ? codec.unmarshallExchange(camelContext, pending.data) : null;
+                } catch (IOException | ClassNotFoundException e) {
+                    throw new RuntimeException("Error getting key " + key + " from repository " + repositoryName, e);
+                }
+            }
+        }
+
         return transactionTemplateReadOnly.execute(new TransactionCallback<Exchange>() {
             public Exchange doInTransaction(TransactionStatus status) {
                 try {
@@ -311,6 +364,17 @@ public class JdbcAggregationRepository extends ServiceSupport implements Recover
 
     @Override
     public void remove(final CamelContext camelContext, final String correlationId, final Exchange exchange) {
+        if (isWriteBehind()) {
+            LOG.debug("Removing key [{}] with write behind", correlationId);
+            try {
+                PendingUpdate update = createPendingUpdate(camelContext, exchange);
+                addPendingUpdate(correlationId, PendingUpdate.DELETE, exchange.getExchangeId(), update);
+            } catch (Exception e) {
+                throw new RuntimeException("Error removing key " + correlationId + " from repository " + repositoryName, e);
+            }
+            return;
+        }
+
         transactionTemplate.execute(new TransactionCallbackWithoutResult() {
             protected void doInTransactionWithoutResult(TransactionStatus status) {
                 final String key = correlationId;
@@ -331,6 +395,12 @@ public class JdbcAggregationRepository extends ServiceSupport implements Recover
 
     @Override
     public void confirm(final CamelContext camelContext, final String exchangeId) {
+        if (isWriteBehind()) {
+            LOG.debug("Confirming exchangeId [{}] with write behind", exchangeId);
+            addPendingUpdate(null, null, exchangeId, PendingUpdate.DELETE);
+            return;
+        }
+
         transactionTemplate.execute(new TransactionCallbackWithoutResult() {
             protected void doInTransactionWithoutResult(TransactionStatus status) {
                 LOG.debug("Confirming exchangeId [{}]", exchangeId);
@@ -360,6 +430,28 @@ public class JdbcAggregationRepository extends ServiceSupport implements Recover
      * @return Set of keys in the given repository name
      */
     protected Set<String> getKeys(final String repositoryName) {
+        Set<String> keys = getStoredKeys(repositoryName);
+        if (isWriteBehind()) {
+            boolean main = repositoryName.equals(getRepositoryName());
+            synchronized (writeBehindLock) {
+                applyPendingKeys(keys, main ? flushingUpdates : flushingCompleted);
+                applyPendingKeys(keys, main ? pendingUpdates : pendingCompleted);
+            }
+        }
+        return keys;
+    }
+
+    private static void applyPendingKeys(Set<String> keys, Map<String, PendingUpdate> updates) {
+        for (Map.Entry<String, PendingUpdate> entry : updates.entrySet()) {
+            if (entry.getValue().data != null) {
+                keys.add(entry.getKey());
+            } else {
+                keys.remove(entry.getKey());
+            }
+        }
+    }
+
+    private Set<String> getStoredKeys(final String repositoryName) {
         return transactionTemplateReadOnly.execute(new TransactionCallback<LinkedHashSet<String>>() {
             public LinkedHashSet<String> doInTransaction(TransactionStatus status) {
                 List<String> keys = jdbcTemplate.query("SELECT " + ID + " FROM " + repositoryName,
@@ -375,6 +467,167 @@ public class JdbcAggregationRepository extends ServiceSupport implements Recover
         });
     }
 
+    private PendingUpdate createPendingUpdate(CamelContext camelContext, Exchange exchange) throws Exception {
+        byte[] data = codec.marshallExchange(camelContext, exchange, allowSerializedHeaders);
+        String body = storeBodyAsText ? exchange.getIn().getBody(String.class) : null;
+        String[] headers = null;
+        if (hasHeadersToStoreAsText()) {
+            headers = new String[headersToStoreAsText.size()];
+            for (int i = 0; i < headers.length; i++) {
+                headers[i] = exchange.getIn().getHeader(headersToStoreAsText.get(i), String.class);
+            }
+        }
+        return new PendingUpdate(data, body, headers);
+    }
+
+    private void addPendingUpdate(String key, PendingUpdate update, String completedKey, PendingUpdate completedUpdate) {
+        boolean flush;
+        synchronized (writeBehindLock) {
+            int before = pendingUpdates.size() + pendingCompleted.size();
+            // a later update of the same key replaces the earlier update
+            if (key != null) {
+                pendingUpdates.remove(key);
+                pendingUpdates.put(key, update);
+            }
+            if (completedKey != null) {
+                pendingCompleted.remove(completedKey);
+                pendingCompleted.put(completedKey, completedUpdate);
+            }
+            int after = pendingUpdates.size() + pendingCompleted.size();
+            flush = before < writeBehindBatchSize && after >= writeBehindBatchSize;
+        }
+        if (flush && writeBehindExecutor != null) {
+            // do not wait for the interval when a full batch is pending
+            writeBehindExecutor.execute(this::flushWriteBehind);
+        }
+    }
+
+    private PendingUpdate getPendingUpdate(String key, boolean main) {
+        synchronized (writeBehindLock) {
+            PendingUpdate answer = main ? pendingUpdates.get(key) : pendingCompleted.get(key);
+            if (answer == null) {
+                answer = main ? flushingUpdates.get(key) : flushingCompleted.get(key);
+            }
+            return answer;
+        }
+    }
+
+    /**
+     * Writes the pending updates to the database, when using write behind.
+     */
+    public void flush() {
+        if (isWriteBehind()) {
+            flushWriteBehindOrFail();
+        }
+    }
+
+    private void flushWriteBehind() {
+        try {
+            flushWriteBehindOrFail();
+        } catch (Exception e) {
+            LOG.warn("Error writing pending updates to repository " + repositoryName + ". Will try again. This exception is ignored.", e);
+        }
+    }
+
+    private void flushWriteBehindOrFail() {
+        synchronized (flushLock) {
+            final Map<String, PendingUpdate> updates;
+            final Map<String, PendingUpdate> completed;
+            synchronized (writeBehindLock) {
+                if (pendingUpdates.isEmpty() && pendingCompleted.isEmpty()) {
+                    return;
+                }
+                // keep the updates visible for readers until they are written
+                updates = pendingUpdates;
+                completed = pendingCompleted;
+                flushingUpdates = updates;
+                flushingCompleted = completed;
+                pendingUpdates = new LinkedHashMap<>();
+                pendingCompleted = new LinkedHashMap<>();
+            }
+
+            boolean done = false;
+            try {
+                transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+                    protected void doInTransactionWithoutResult(TransactionStatus status) {
+                        LOG.debug("Writing {} pending updates to repository {}", updates.size() + completed.size(), getRepositoryName());
+                        writeBatch(getRepositoryName(), updates);
+                        writeBatch(getRepositoryNameCompleted(), completed);
+                    }
+                });
+                done = true;
+            } finally {
+                synchronized (writeBehindLock) {
+                    if (!done) {
+                        // keep the updates which have not been replaced meanwhile so they are written on next attempt
+                        updates.forEach(pendingUpdates::putIfAbsent);
+                        completed.forEach(pendingCompleted::putIfAbsent);
+                    }
+                    flushingUpdates = Collections.emptyMap();
+                    flushingCompleted = Collections.emptyMap();
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the updates to the given repository table using JDBC batches, by deleting all the keys
+     * and inserting the keys which are not removed.
+     *
+     * @param repositoryName the name of the table
+     * @param updates        the updates
+     */
+    protected void writeBatch(String repositoryName, Map<String, PendingUpdate> updates) {
+        if (updates.isEmpty()) {
+            return;
+        }
+        final List<String> keys = new ArrayList<>(updates.keySet());
+        jdbcTemplate.batchUpdate("DELETE FROM " + repositoryName + " WHERE " + ID + " = ?", new BatchPreparedStatementSetter() {
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setString(1, keys.get(i));
+            }
+
+            public int getBatchSize() {
+                return keys.size();
+            }
+        });
+
+        final List<Map.Entry<String, PendingUpdate>> inserts = new ArrayList<>();
+        for (Map.Entry<String, PendingUpdate> entry : updates.entrySet()) {
+            if (entry.getValue().data != null) {
+                inserts.add(entry);
+            }
+        }
+        if (inserts.isEmpty()) {
+            return;
+        }
+        final LobCreator lobCreator = getLobHandler().getLobCreator();
+        try {
+            jdbcTemplate.batchUpdate(createInsertSql(repositoryName), new BatchPreparedStatementSetter() {
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    PendingUpdate update = inserts.get(i).getValue();
+                    int totalParameterIndex = 0;
+                    lobCreator.setBlobAsBytes(ps, ++totalParameterIndex, update.data);
+                    ps.setString(++totalParameterIndex, inserts.get(i).getKey());
+                    if (storeBodyAsText) {
+                        ps.setString(++totalParameterIndex, update.body);
+                    }
+                    if (hasHeadersToStoreAsText()) {
+                        for (String header : update.headers) {
+                            ps.setString(++totalParameterIndex, header);
+                        }
+                    }
+                }
+
+                public int getBatchSize() {
+                    return inserts.size();
+                }
+            });
+        } finally {
+            lobCreator.close();
+        }
+    }
+
     @Override
     public Exchange recover(CamelContext camelContext, String exchangeId) {
         final String key = exchangeId;
@@ -455,6 +708,14 @@ public class JdbcAggregationRepository extends ServiceSupport implements Recover
         this.returnOldExchange = returnOldExchange;
     }
 
+    public JdbcCamelCodec getJdbcCamelCodec() {
+        return codec;
+    }
+
+    /**
+     * Sets the codec to use for marshalling the exchanges, such as {@link JdbcBinaryCamelCodec}.
+     * By default the exchanges are marshalled using Java serialization.
+     */
     public void setJdbcCamelCodec(JdbcCamelCodec codec) {
         this.codec = codec;
     }
@@ -497,6 +758,50 @@ public class JdbcAggregationRepository extends ServiceSupport implements Recover
         this.allowSerializedHeaders = allowSerializedHeaders;
     }
 
+    public boolean isWriteBehind() {
+        return writeBehindInterval > 0;
+    }
+
+    public long getWriteBehindInterval() {
+        return writeBehindInterval;
+    }
+
+    /**
+     * Sets the interval in millis to write the pending updates to the database in JDBC batches.
+     * By default this option is 0 which writes every update to the database immediately.
+     * <p/>
+     * Notice that updates which have not yet been written are lost if the JVM crashes, and that
+     * optimistic locking failures cannot be detected when adding exchanges.
+     */
+    public void setWriteBehindInterval(long writeBehindInterval) {
+        this.writeBehindInterval = writeBehindInterval;
+    }
+
+    public int getWriteBehindBatchSize() {
+        return writeBehindBatchSize;
+    }
+
+    /**
+     * Sets the number of pending updates which triggers writing the updates to the database
+     * before the write behind interval has elapsed. The default value is 1000.
+     */
+    public void setWriteBehindBatchSize(int writeBehindBatchSize) {
+        this.writeBehindBatchSize = writeBehindBatchSize;
+    }
+
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    /**
+     * The CamelContext, which is required when using write behind, to create the thread pool for writing the updates.
+     */
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
     public int getPropagationBehavior() {
         return propagationBehavior;
     }
@@ -576,11 +881,40 @@ public class JdbcAggregationRepository extends ServiceSupport implements Recover
         } else {
             LOG.info("On startup there are no completed exchanges to be recovered in repository: {}", getRepositoryNameCompleted());
         }
+
+        if (isWriteBehind()) {
+            LOG.info("Using write behind with interval {} millis in repository: {}", writeBehindInterval, getRepositoryName());
+            ObjectHelper.notNull(camelContext, "CamelContext");
+            writeBehindExecutor = camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(this, "JdbcAggregationRepositoryWriteBehind");
+            writeBehindExecutor.scheduleWithFixedDelay(this::flushWriteBehind, writeBehindInterval, writeBehindInterval, TimeUnit.MILLISECONDS);
+        }
     }
 
     @Override
     protected void doStop() throws Exception {
-        // noop
+        if (writeBehindExecutor != null) {
+            camelContext.getExecutorServiceManager().shutdownGraceful(writeBehindExecutor, writeBehindInterval);
+            writeBehindExecutor = null;
+        }
+        // write any pending updates
+        flush();
+    }
+
+    /**
+     * An update of a key which has not yet been written to the database.
+     */
+    protected static final class PendingUpdate {
+        static final PendingUpdate DELETE = new PendingUpdate(null, null, null);
+
+        private final byte[] data;
+        private final String body;
+        private final String[] headers;
+
+        private PendingUpdate(byte[] data, String body, String[] headers) {
+            this.data = data;
+            this.body = body;
+            this.headers = headers;
+        }
     }
 
 }
@@ -0,0 +1,412 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregate.jdbc;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.RuntimeExchangeException;
+import org.apache.camel.WrappedFile;
+import org.apache.camel.support.DefaultExchange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A compact binary {@link JdbcCamelCodec} which does not use Java serialization for the common
+ * types of message bodies, headers and properties.
+ * <p/>
+ * Strings, numbers, booleans, characters, dates, byte arrays and lists and maps of those types are
+ * written in a compact binary format. Values of other types are only stored if they are serializable,
+ * in which case Java serialization is used for that single value (headers and properties require
+ * <tt>allowSerializedHeaders</tt> to be enabled, as with the default codec). Data stored by the default
+ * codec can still be read, which allows to switch codec on an existing repository.
+ */
+public class JdbcBinaryCamelCodec extends JdbcCamelCodec {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JdbcBinaryCamelCodec.class);
+
+    private static final int MAGIC = 0xCA;
+    private static final int VERSION = 1;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INTEGER = 2;
+    private static final byte LONG = 3;
+    private static final byte BOOLEAN = 4;
+    private static final byte DOUBLE = 5;
+    private static final byte FLOAT = 6;
+    private static final byte SHORT = 7;
+    private static final byte BYTE = 8;
+    private static final byte CHARACTER = 9;
+    private static final byte BYTES = 10;
+    private static final byte DATE = 11;
+    private static final byte BIG_DECIMAL = 12;
+    private static final byte BIG_INTEGER = 13;
+    private static final byte LIST = 14;
+    private static final byte MAP = 15;
+    private static final byte SERIALIZED = 16;
+
+    private static final String[] RETAINED_PROPERTIES = {Exchange.AGGREGATED_SIZE, Exchange.AGGREGATED_TIMEOUT,
+        Exchange.AGGREGATED_COMPLETED_BY, Exchange.AGGREGATED_CORRELATION_KEY, Exchange.AGGREGATED_COLLECTION_GUARD};
+    private static final String FROM_ENDPOINT = "CamelAggregatedFromEndpoint";
+
+    @Override
+    public void marshallExchange(CamelContext camelContext, Exchange exchange, boolean allowSerializedHeaders, OutputStream outputStream) throws IOException {
+        // we do not support files
+        Object body = exchange.getIn().getBody();
+        if (body instanceof WrappedFile || body instanceof java.io.File) {
+            throw new RuntimeExchangeException("Message body of type " + body.getClass().getCanonicalName() + " is not supported by this marshaller.", exchange);
+        }
+
+        DataOutputStream out = new DataOutputStream(outputStream);
+        out.writeByte(MAGIC);
+        out.writeByte(VERSION);
+        writeString(out, exchange.getExchangeId());
+        writeMessage(out, "in", exchange.getIn(), allowSerializedHeaders);
+        out.writeBoolean(exchange.hasOut());
+        if (exchange.hasOut()) {
+            writeMessage(out, "out", exchange.getOut(), allowSerializedHeaders);
+        }
+
+        // retain the aggregation properties and the from endpoint only
+        Map<String, Object> properties = new LinkedHashMap<>();
+        for (String name : RETAINED_PROPERTIES) {
+            Object value = exchange.getProperty(name);
+            if (value != null) {
+                properties.put(name, value);
+            }
+        }
+        if (exchange.getFromEndpoint() != null) {
+            properties.put(FROM_ENDPOINT, exchange.getFromEndpoint().getEndpointUri());
+        }
+        writeMap(out, "property", properties, false);
+
+        Exception exception = exchange.getException();
+        out.writeBoolean(exception != null);
+        if (exception != null) {
+            writeSerialized(out, exception);
+        }
+        out.flush();
+    }
+
+    @Override
+    public Exchange unmarshallExchange(CamelContext camelContext, InputStream inputStream) throws IOException, ClassNotFoundException {
+        InputStream in = inputStream.markSupported() ? inputStream : new BufferedInputStream(inputStream);
+        in.mark(2);
+        int magic = in.read();
+        int version = in.read();
+        if (magic != MAGIC) {
+            // stored by the java serialization based codec
+            in.reset();
+            return super.unmarshallExchange(camelContext, in);
+        }
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary codec version: " + version);
+        }
+
+        DataInputStream data = new DataInputStream(in);
+        Exchange answer = new DefaultExchange(camelContext);
+        String exchangeId = readString(data);
+        if (exchangeId != null) {
+            answer.setExchangeId(exchangeId);
+        }
+        readMessage(camelContext, data, answer.getIn());
+        if (data.readBoolean()) {
+            readMessage(camelContext, data, answer.getOut());
+        }
+
+        Map<String, Object> properties = readMap(camelContext, data);
+        for (Map.Entry<String, Object> entry : properties.entrySet()) {
+            answer.setProperty(entry.getKey(), entry.getValue());
+        }
+        if (data.readBoolean()) {
+            answer.setException((Exception) readSerialized(camelContext, data));
+        }
+
+        // restore the from endpoint
+        String fromEndpointUri = (String) answer.removeProperty(FROM_ENDPOINT);
+        if (fromEndpointUri != null) {
+            Endpoint fromEndpoint = camelContext.hasEndpoint(fromEndpointUri);
+            if (fromEndpoint != null) {
+                answer.setFromEndpoint(fromEndpoint);
+            }
+        }
+        return answer;
+    }
+
+    private void writeMessage(DataOutputStream out, String type, Message message, boolean allowSerializedHeaders) throws IOException {
+        Object body = message.getBody();
+        if (isSupported(body) || body instanceof Serializable) {
+            writeValue(out, body, true);
+        } else {
+            LOG.warn("Exchange {} body containing object: {} of type: {} cannot be serialized, it will be excluded by the codec.", type, body, body.getClass().getCanonicalName());
+            out.writeByte(NULL);
+        }
+        writeMap(out, type + " header", message.getHeaders(), allowSerializedHeaders);
+    }
+
+    private void readMessage(CamelContext camelContext, DataInputStream in, Message message) throws IOException, ClassNotFoundException {
+        message.setBody(readValue(camelContext, in));
+        Map<String, Object> headers = readMap(camelContext, in);
+        if (!headers.isEmpty()) {
+            message.setHeaders(headers);
+        }
+    }
+
+    private void writeMap(DataOutputStream out, String type, Map<String, Object> map, boolean allowSerialized) throws IOException {
+        Map<String, Object> values = new LinkedHashMap<>();
+        if (map != null) {
+            for (Map.Entry<String, Object> entry : map.entrySet()) {
+                Object value = entry.getValue();
+                // silently skip any values which is null
+                if (value == null) {
+                    continue;
+                }
+                if (value instanceof CharSequence) {
+                    values.put(entry.getKey(), value.toString());
+                } else if (isSupported(value) || value instanceof Number || value instanceof Date
+                        || (allowSerialized && value instanceof Serializable)) {
+                    values.put(entry.getKey(), value);
+                } else {
+                    LOG.debug("Exchange {} containing key: {} with object of type: {} cannot be serialized, it will be excluded by the codec.",
+                            type, entry.getKey(), value.getClass().getCanonicalName());
+                }
+            }
+        }
+        out.writeInt(values.size());
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            writeString(out, entry.getKey());
+            writeValue(out, entry.getValue(), true);
+        }
+    }
+
+    private Map<String, Object> readMap(CamelContext camelContext, DataInputStream in) throws IOException, ClassNotFoundException {
+        int size = in.readInt();
+        Map<String, Object> answer = new LinkedHashMap<>(Math.max(16, size * 2));
+        for (int i = 0; i < size; i++) {
+            String key = readString(in);
+            answer.put(key, readValue(camelContext, in));
+        }
+        return answer;
+    }
+
+    private static boolean isSupported(Object value) {
+        if (value == null || value instanceof String || value instanceof Integer || value instanceof Long
+                || value instanceof Boolean || value instanceof Double || value instanceof Float || value instanceof Short
+                || value instanceof Byte || value instanceof Character || value instanceof byte[]
+                || value.getClass() == Date.class || value instanceof BigDecimal || value instanceof BigInteger) {
+            return true;
+        }
+        if (value instanceof List) {
+            for (Object element : (List<?>) value) {
+                if (!isSupported(element)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (value instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (!isSupported(entry.getKey()) || !isSupported(entry.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private void writeValue(DataOutputStream out, Object value, boolean allowSerialized) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String) {
+            out.writeByte(STRING);
+            writeString(out, (String) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            out.writeByte(FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Short) {
+            out.writeByte(SHORT);
+            out.writeShort((Short) value);
+        } else if (value instanceof Byte) {
+            out.writeByte(BYTE);
+            out.writeByte((Byte) value);
+        } else if (value instanceof Character) {
+            out.writeByte(CHARACTER);
+            out.writeChar((Character) value);
+        } else if (value instanceof byte[]) {
+            byte[] bytes = (byte[]) value;
+            out.writeByte(BYTES);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        } else if (value.getClass() == Date.class) {
+            out.writeByte(DATE);
+            out.writeLong(((Date) value).getTime());
+        } else if (value instanceof BigDecimal) {
+            out.writeByte(BIG_DECIMAL);
+            writeString(out, value.toString());
+        } else if (value instanceof BigInteger) {
+            out.writeByte(BIG_INTEGER);
+            writeString(out, value.toString());
+        } else if (value instanceof List && isSupported(value)) {
+            List<?> list = (List<?>) value;
+            out.writeByte(LIST);
+            out.writeInt(list.size());
+            for (Object element : list) {
+                writeValue(out, element, false);
+            }
+        } else if (value instanceof Map && isSupported(value)) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            out.writeByte(MAP);
+            out.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeValue(out, entry.getKey(), false);
+                writeValue(out, entry.getValue(), false);
+            }
+        } else if (allowSerialized && value instanceof Serializable) {
+            out.writeByte(SERIALIZED);
+            writeSerialized(out, value);
+        } else {
+            throw new IOException("Cannot marshal value of type: " + value.getClass().getCanonicalName());
+        }
+    }
+
+    private Object readValue(CamelContext camelContext, DataInputStream in) throws IOException, ClassNotFoundException {
+        byte type = in.readByte();
+        switch (type) {
+        case NULL:
+            return null;
+        case STRING:
+            return readString(in);
+        case INTEGER:
+            return in.readInt();
+        case LONG:
+            return in.readLong();
+        case BOOLEAN:
+            return in.readBoolean();
+        case DOUBLE:
+            return in.readDouble();
+        case FLOAT:
+            return in.readFloat();
+        case SHORT:
+            return in.readShort();
+        case BYTE:
+            return in.readByte();
+        case CHARACTER:
+            return in.readChar();
+        case BYTES:
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            return bytes;
+        case DATE:
+            return new Date(in.readLong());
+        case BIG_DECIMAL:
+            return new BigDecimal(readString(in));
+        case BIG_INTEGER:
+            return new BigInteger(readString(in));
+        case LIST:
+            int size = in.readInt();
+            List<Object> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                list.add(readValue(camelContext, in));
+            }
+            return list;
+        case MAP:
+            int entries = in.readInt();
+            Map<Object, Object> map = new LinkedHashMap<>(Math.max(16, entries * 2));
+            for (int i = 0; i < entries; i++) {
+                map.put(readValue(camelContext, in), readValue(camelContext, in));
+            }
+            return map;
+        case SERIALIZED:
+            return readSerialized(camelContext, in);
+        default:
+            throw new IOException("Unknown value type: " + type);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeSerialized(DataOutputStream out, Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOut = new ObjectOutputStream(bytes)) {
+            objectOut.writeObject(value);
+        }
+        out.writeInt(bytes.size());
+        bytes.writeTo(out);
+    }
+
+    private static Object readSerialized(CamelContext camelContext, DataInputStream in) throws IOException, ClassNotFoundException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        try (ObjectInputStream objectIn = new ClassLoadingAwareObjectInputStream(camelContext, new ByteArrayInputStream(bytes))) {
+            return objectIn.readObject();
+        }
+    }
+
+}
@@ -32,6 +32,11 @@ import org.apache.camel.support.DefaultExchangeHolder;
 import org.apache.camel.util.IOHelper;
 
 /**
+ * Marshals the exchanges stored by the {@link JdbcAggregationRepository} using Java serialization.
+ * <p/>
+ * A custom codec can be plugged in by extending this class and overriding the marshal and unmarshal
+ * methods which works on streams, such as {@link JdbcBinaryCamelCodec}.
+ * <p/>
  * Adapted from HawtDBCamelCodec
  */
 public class JdbcCamelCodec {
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregate.jdbc;
+
+import javax.sql.DataSource;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class JdbcAggregationRepositoryWriteBehindTest extends AbstractJdbcAggregationTestSupport {
+
+    @Override
+    void configureJdbcAggregationRepository() {
+        try {
+            repo.stop();
+            // use a long interval so the test controls when the updates are written
+            repo.setWriteBehindInterval(60000);
+            repo.setCamelContext(context);
+            repo.start();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    public void testWriteBehind() throws Exception {
+        Exchange exchange1 = new DefaultExchange(context);
+        exchange1.getIn().setBody("counter:1");
+        repo.add(context, "foo", exchange1);
+
+        Exchange exchange2 = new DefaultExchange(context);
+        exchange2.getIn().setBody("counter:2");
+        repo.add(context, "foo", exchange2);
+
+        // the pending update is visible
+        assertEquals("counter:2", repo.get(context, "foo").getIn().getBody());
+        assertTrue(repo.getKeys().contains("foo"));
+
+        // but not yet written
+        assertEquals(0, countRows(repo.getRepositoryName()));
+
+        repo.flush();
+        assertEquals(1, countRows(repo.getRepositoryName()));
+        assertEquals("counter:2", repo.get(context, "foo").getIn().getBody());
+
+        // complete the exchange
+        repo.remove(context, "foo", exchange2);
+        assertNull(repo.get(context, "foo"));
+        assertTrue(repo.scan(context).contains(exchange2.getExchangeId()));
+        assertEquals("counter:2", repo.recover(context, exchange2.getExchangeId()).getIn().getBody());
+
+        repo.flush();
+        assertEquals(0, countRows(repo.getRepositoryName()));
+        assertEquals(1, countRows(repo.getRepositoryNameCompleted()));
+
+        // and confirm it, which is written when stopping
+        repo.confirm(context, exchange2.getExchangeId());
+        assertTrue(repo.scan(context).isEmpty());
+        repo.stop();
+        assertEquals(0, countRows(repo.getRepositoryNameCompleted()));
+    }
+
+    private int countRows(String table) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(applicationContext.getBean("dataSource1", DataSource.class));
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregate.jdbc;
+
+import java.util.Date;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.Test;
+
+public class JdbcBinaryCamelCodecTest extends AbstractJdbcAggregationTestSupport {
+
+    @Override
+    void configureJdbcAggregationRepository() {
+        repo.setJdbcCamelCodec(new JdbcBinaryCamelCodec());
+    }
+
+    @Test
+    public void testBinaryCodec() {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("Hello World");
+        exchange.getIn().setHeader("name", "Olivier");
+        exchange.getIn().setHeader("number", 123);
+        exchange.getIn().setHeader("bytes", new byte[]{1, 2, 3});
+        exchange.setProperty("quote", "Camel rocks");
+        exchange.setProperty(Exchange.AGGREGATED_SIZE, 2);
+
+        Date now = new Date();
+        exchange.getIn().setHeader("date", now);
+
+        repo.add(context, "foo", exchange);
+
+        Exchange actual = repo.get(context, "foo");
+        assertEquals("Hello World", actual.getIn().getBody());
+        assertEquals("Olivier", actual.getIn().getHeader("name"));
+        assertEquals(123, actual.getIn().getHeader("number"));
+        assertArrayEquals(new byte[]{1, 2, 3}, actual.getIn().getHeader("bytes", byte[].class));
+        assertEquals(now.getTime(), actual.getIn().getHeader("date", Date.class).getTime());
+        assertEquals(2, actual.getProperty(Exchange.AGGREGATED_SIZE));
+        assertNull(actual.getProperty("quote"));
+        assertEquals(exchange.getExchangeId(), actual.getExchangeId());
+        assertSame(context, actual.getContext());
+    }
+
+    @Test
+    public void testReadJavaSerialized() throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("Hello World");
+        exchange.getIn().setHeader("number", 123);
+
+        // stored by the default codec
+        byte[] data = new JdbcCamelCodec().marshallExchange(context, exchange, false);
+
+        Exchange actual = new JdbcBinaryCamelCodec().unmarshallExchange(context, data);
+        assertEquals("Hello World", actual.getIn().getBody());
+        assertEquals(123, actual.getIn().getHeader("number"));
+    }
+}
@@ -334,6 +334,40 @@ public interface ManagementAgent extends Service {
      */
     Boolean getEndpointRuntimeStatisticsEnabled();
 
+    /**
+     * Sets whether processing time percentiles is enabled (gathers a histogram of the processing time
+     * of each route and processor, using a fixed amount of memory per histogram).
+     * <p/>
+     * The default value is <tt>false</tt>
+     *
+     * @param flag <tt>true</tt> to enable processing time percentiles
+     */
+    void setPercentilesEnabled(Boolean flag);
+
+    /**
+     * Gets whether processing time percentiles is enabled
+     *
+     * @return <tt>true</tt> if enabled
+     */
+    Boolean getPercentilesEnabled();
+
+    /**
+     * Sets the number of significant decimal digits (1 to 3) the processing time percentiles keep.
+     * A higher precision uses more memory per histogram.
+     * <p/>
+     * The default value is <tt>2</tt>
+     *
+     * @param precision the precision
+     */
+    void setPercentilesPrecision(Integer precision);
+
+    /**
+     * Gets the number of significant decimal digits the processing time percentiles keep
+     *
+     * @return the precision
+     */
+    Integer getPercentilesPrecision();
+
     /**
      * Sets the statistics level
      * <p/>
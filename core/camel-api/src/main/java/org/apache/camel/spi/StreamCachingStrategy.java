@@ -17,6 +17,7 @@
 package org.apache.camel.spi;
 
 import java.io.File;
+import java.nio.ByteBuffer;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.StaticService;
@@ -62,6 +63,21 @@ public interface StreamCachingStrategy extends StaticService {
          */
         long getCacheSpoolAverageSize();
 
+        /**
+         * Gets the counter for number of {@link StreamCache} created which are spooled to off-heap memory.
+         */
+        long getCacheOffHeapCounter();
+
+        /**
+         * Gets the total accumulated number of bytes which has been stream cached for off-heap stream caches.
+         */
+        long getCacheOffHeapSize();
+
+        /**
+         * Gets the average number of bytes per cached stream for off-heap stream caches.
+         */
+        long getCacheOffHeapAverageSize();
+
         /**
          * Reset the counters
          */
@@ -173,6 +189,37 @@ public interface StreamCachingStrategy extends StaticService {
 
     String getSpoolCipher();
 
+    /**
+     * Sets the maximum number of bytes of off-heap memory which can be used in total for spooling
+     * the stream caches, before spooling to disk. The off-heap memory is allocated as direct buffers
+     * which are pooled and reused by the stream caches.
+     * <p/>
+     * When a stream cache should be spooled then it is spooled to off-heap memory if there is room
+     * within this limit, otherwise the stream cache is spooled to disk.
+     * <p/>
+     * Is default 0 which means off-heap memory is not in use.
+     */
+    void setSpoolOffHeapMemoryLimit(long limit);
+
+    long getSpoolOffHeapMemoryLimit();
+
+    /**
+     * Gets the number of bytes of off-heap memory currently in use by stream caches.
+     */
+    long getSpoolOffHeapMemoryUsed();
+
+    /**
+     * Acquires a direct buffer from the off-heap memory pool for spooling a stream cache.
+     *
+     * @return the buffer, or <tt>null</tt> if off-heap memory is not in use or the limit has been reached
+     */
+    ByteBuffer acquireOffHeapBuffer();
+
+    /**
+     * Releases a buffer which was acquired by {@link #acquireOffHeapBuffer()} back to the off-heap memory pool.
+     */
+    void releaseOffHeapBuffer(ByteBuffer buffer);
+
     /**
      * Whether to remove the temporary directory when stopping.
      * <p/>
@@ -57,7 +57,7 @@ import org.apache.camel.spi.TypeConverterRegistry;
 import org.apache.camel.support.MessageHelper;
 import org.apache.camel.support.TypeConverterSupport;
 import org.apache.camel.support.service.ServiceSupport;
-import org.apache.camel.util.DoubleMap;
+import org.apache.camel.util.ConcurrentDoubleMap;
 import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.ObjectHelper;
 
@@ -77,7 +77,12 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         }
     };
 
-    protected final DoubleMap<Class<?>, Class<?>, TypeConverter> typeMappings = new DoubleMap<>(200);
+    protected final ConcurrentDoubleMap<Class<?>, Class<?>, TypeConverter> typeMappings = new ConcurrentDoubleMap<>(200);
+    // negative cache of the lookups which did not find any type converter
+    protected final ConcurrentDoubleMap<Class<?>, Class<?>, Boolean> lookupMisses = new ConcurrentDoubleMap<>(200);
+    // bumped whenever converters are added so a lookup racing with the add does not record a stale miss
+    private final AtomicInteger converterGeneration = new AtomicInteger();
+    private volatile boolean missConverters;
     protected final List<TypeConverterLoader> typeConverterLoaders = new ArrayList<>();
     protected final List<FallbackTypeConverter> fallbackConverters = new CopyOnWriteArrayList<>();
     protected CamelContext camelContext;
@@ -249,6 +254,7 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         }
 
         // try to find a suitable type converter
+        int generation = converterGeneration.get();
         TypeConverter converter = getOrFindTypeConverter(type, value.getClass());
         if (converter != null) {
             if (trace) {
@@ -330,10 +336,15 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
             }
         }
 
-        if (!tryConvert) {
+        if (!tryConvert && converterGeneration.get() == generation) {
             // Could not find suitable conversion, so remember it
             // do not register misses for try conversions
             typeMappings.put(type, value.getClass(), MISS_CONVERTER);
+            missConverters = true;
+            // a converter may have been added (and the misses cleared) in between the check and the put
+            if (converterGeneration.get() != generation && typeMappings.get(type, value.getClass()) == MISS_CONVERTER) {
+                typeMappings.remove(type, value.getClass());
+            }
         }
 
         // Could not find suitable conversion, so return Void to indicate not found
@@ -369,6 +380,8 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
 
             if (add) {
                 typeMappings.put(toType, fromType, typeConverter);
+                // the new converter may be used for conversions which previously failed
+                invalidateMisses();
             }
         }
     }
@@ -398,6 +411,7 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         // add in top of fallback as the toString() fallback will nearly always be able to convert
         // the last one which is add to the FallbackTypeConverter will be called at the first place
         fallbackConverters.add(0, new FallbackTypeConverter(typeConverter, canPromote));
+        invalidateMisses();
 
         if (typeConverter instanceof CamelContextAware) {
             CamelContextAware camelContextAware = (CamelContextAware) typeConverter;
@@ -407,6 +421,21 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         }
     }
 
+    /**
+     * Clears the cached misses, which is needed when type converters are added.
+     */
+    protected void invalidateMisses() {
+        // must be bumped before clearing so lookups in progress cannot record a miss afterwards
+        converterGeneration.incrementAndGet();
+        if (lookupMisses.size() > 0) {
+            lookupMisses.clear();
+        }
+        if (missConverters) {
+            missConverters = false;
+            typeMappings.removeIf(converter -> converter == MISS_CONVERTER);
+        }
+    }
+
     private void addCoreFallbackTypeConverterToList(TypeConverter typeConverter, boolean canPromote, List<FallbackTypeConverter> converters) {
         log.trace("Adding core fallback type converter: {} which can promote: {}", typeConverter, canPromote);
 
@@ -443,10 +472,21 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
     protected <T> TypeConverter getOrFindTypeConverter(Class<?> toType, Class<?> fromType) {
         TypeConverter converter = typeMappings.get(toType, fromType);
         if (converter == null) {
+            if (lookupMisses.containsKey(toType, fromType)) {
+                // the lookup has already been done without finding any converter
+                return null;
+            }
             // converter not found, try to lookup then
+            int generation = converterGeneration.get();
             converter = lookup(toType, fromType);
             if (converter != null) {
                 typeMappings.put(toType, fromType, converter);
+            } else if (converterGeneration.get() == generation) {
+                lookupMisses.put(toType, fromType, Boolean.TRUE);
+                // a converter may have been added (and the misses cleared) in between the check and the put
+                if (converterGeneration.get() != generation) {
+                    lookupMisses.remove(toType, fromType);
+                }
             }
         }
         return converter;
@@ -742,6 +782,8 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         }
 
         typeMappings.clear();
+        lookupMisses.clear();
+        missConverters = false;
         statistics.reset();
     }
 
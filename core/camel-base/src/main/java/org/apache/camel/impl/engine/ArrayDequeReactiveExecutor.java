@@ -0,0 +1,301 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.StaticService;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.ReactiveExecutor;
+import org.apache.camel.support.service.ServiceSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ReactiveExecutor} which has the same scheduling semantics as {@link DefaultReactiveExecutor}
+ * but keeps the tasks of each thread in array based deques, which are reused, so scheduling a task does not
+ * allocate any objects.
+ * <p/>
+ * The tasks are always run by the thread which scheduled them. Other threads cannot run (steal) them,
+ * as the tasks are not associated with an exchange, and therefore a pending task may continue the
+ * routing of the exchange which the thread is currently processing.
+ */
+@ManagedResource(description = "Managed ReactiveExecutor")
+public class ArrayDequeReactiveExecutor extends ServiceSupport implements ReactiveExecutor, StaticService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ArrayDequeReactiveExecutor.class);
+
+    private final ThreadLocal<Worker> workers = ThreadLocal.withInitial(new Supplier<Worker>() {
+        @Override
+        public Worker get() {
+            createdWorkers.incrementAndGet();
+            return new Worker(ArrayDequeReactiveExecutor.this);
+        }
+    });
+
+    // use for statistics so we have insights at runtime
+    private final AtomicInteger createdWorkers = new AtomicInteger();
+    private final AtomicInteger runningWorkers = new AtomicInteger();
+    private final LongAdder pendingTasks = new LongAdder();
+
+    @Override
+    public void scheduleMain(Runnable runnable, String description) {
+        if (description != null) {
+            runnable = describe(runnable, description);
+        }
+        workers.get().schedule(runnable, true, true, false);
+    }
+
+    @Override
+    public void schedule(Runnable runnable, String description) {
+        if (description != null) {
+            runnable = describe(runnable, description);
+        }
+        workers.get().schedule(runnable, true, false, false);
+    }
+
+    @Override
+    public void scheduleSync(Runnable runnable, String description) {
+        if (description != null) {
+            runnable = describe(runnable, description);
+        }
+        workers.get().schedule(runnable, false, true, true);
+    }
+
+    @Override
+    public boolean executeFromQueue() {
+        return workers.get().executeFromQueue();
+    }
+
+    @ManagedAttribute(description = "Number of created workers")
+    public int getCreatedWorkers() {
+        return createdWorkers.get();
+    }
+
+    @ManagedAttribute(description = "Number of running workers")
+    public int getRunningWorkers() {
+        return runningWorkers.get();
+    }
+
+    @ManagedAttribute(description = "Number of pending tasks")
+    public long getPendingTasks() {
+        return pendingTasks.sum();
+    }
+
+    @Override
+    public void callback(AsyncCallback callback) {
+        schedule(new Runnable() {
+            @Override
+            public void run() {
+                callback.done(false);
+            }
+            @Override
+            public String toString() {
+                return "Callback[" + callback + "]";
+            }
+        });
+    }
+
+    private static Runnable describe(Runnable runnable, String description) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                runnable.run();
+            }
+            @Override
+            public String toString() {
+                return description;
+            }
+        };
+    }
+
+    private static void run(Runnable runnable) {
+        try {
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Running: {}", runnable);
+            }
+            runnable.run();
+        } catch (Throwable t) {
+            LOG.warn("Error executing reactive work due to " + t.getMessage() + ". This exception is ignored.", t);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ArrayDequeReactiveExecutor";
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        // noop
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        // noop
+    }
+
+    private static final class Worker {
+
+        private final ArrayDequeReactiveExecutor executor;
+        private TaskDeque queue = new TaskDeque();
+        // the queues pushed back by main tasks, and the empty queues ready for reuse
+        private TaskDeque[] back = new TaskDeque[4];
+        private int backSize;
+        private TaskDeque[] spare = new TaskDeque[4];
+        private int spareSize;
+        private boolean running;
+
+        Worker(ArrayDequeReactiveExecutor executor) {
+            this.executor = executor;
+        }
+
+        void schedule(Runnable runnable, boolean first, boolean main, boolean sync) {
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Schedule [first={}, main={}, sync={}]: {}", first, main, sync, runnable);
+            }
+            push(runnable, first, main);
+            executor.pendingTasks.increment();
+            if (!running || sync) {
+                running = true;
+                executor.runningWorkers.incrementAndGet();
+                try {
+                    for (;;) {
+                        final Runnable polled = poll();
+                        if (polled == null) {
+                            break;
+                        }
+                        executor.pendingTasks.decrement();
+                        run(polled);
+                    }
+                } finally {
+                    running = false;
+                    executor.runningWorkers.decrementAndGet();
+                }
+            } else {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Queuing reactive work: {}", runnable);
+                }
+            }
+        }
+
+        boolean executeFromQueue() {
+            final Runnable polled = queue.pollFirst();
+            if (polled == null) {
+                return false;
+            }
+            executor.pendingTasks.decrement();
+            run(polled);
+            return true;
+        }
+
+        private void push(Runnable runnable, boolean first, boolean main) {
+            if (main && !queue.isEmpty()) {
+                if (backSize == back.length) {
+                    back = grow(back);
+                }
+                back[backSize++] = queue;
+                queue = spareSize > 0 ? spare[--spareSize] : new TaskDeque();
+            }
+            if (first) {
+                queue.addFirst(runnable);
+            } else {
+                queue.addLast(runnable);
+            }
+        }
+
+        private Runnable poll() {
+            for (;;) {
+                Runnable polled = queue.pollFirst();
+                if (polled != null || backSize == 0) {
+                    return polled;
+                }
+                // continue with the queue which was pushed back, and keep the empty queue for reuse
+                if (spareSize == spare.length) {
+                    spare = grow(spare);
+                }
+                spare[spareSize++] = queue;
+                queue = back[--backSize];
+                back[backSize] = null;
+            }
+        }
+
+        private static TaskDeque[] grow(TaskDeque[] array) {
+            TaskDeque[] answer = new TaskDeque[array.length * 2];
+            System.arraycopy(array, 0, answer, 0, array.length);
+            return answer;
+        }
+    }
+
+    /**
+     * A growable circular array deque of tasks.
+     */
+    private static final class TaskDeque {
+
+        private Runnable[] tasks = new Runnable[16];
+        private int head;
+        private int size;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void addFirst(Runnable runnable) {
+            if (size == tasks.length) {
+                grow();
+            }
+            head = (head - 1) & (tasks.length - 1);
+            tasks[head] = runnable;
+            size++;
+        }
+
+        void addLast(Runnable runnable) {
+            if (size == tasks.length) {
+                grow();
+            }
+            int index = (head + size) & (tasks.length - 1);
+            tasks[index] = runnable;
+            size++;
+        }
+
+        Runnable pollFirst() {
+            if (size == 0) {
+                return null;
+            }
+            Runnable answer = tasks[head];
+            tasks[head] = null;
+            head = (head + 1) & (tasks.length - 1);
+            size--;
+            return answer;
+        }
+
+        private void grow() {
+            int capacity = tasks.length * 2;
+            Runnable[] newTasks = new Runnable[capacity];
+            for (int i = 0; i < size; i++) {
+                newTasks[i] = tasks[(head + i) & (tasks.length - 1)];
+            }
+            tasks = newTasks;
+            head = 0;
+        }
+    }
+
+}
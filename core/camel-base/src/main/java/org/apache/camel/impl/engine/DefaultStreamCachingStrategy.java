@@ -19,9 +19,13 @@ package org.apache.camel.impl.engine;
 import java.io.File;
 import java.lang.management.ManagementFactory;
 import java.lang.management.MemoryMXBean;
+import java.nio.ByteBuffer;
 import java.util.LinkedHashSet;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 
 import org.apache.camel.CamelContext;
@@ -29,6 +33,7 @@ import org.apache.camel.CamelContextAware;
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
 import org.apache.camel.StreamCache;
+import org.apache.camel.converter.stream.OffHeapInputStreamCache;
 import org.apache.camel.spi.StreamCachingStrategy;
 import org.apache.camel.support.service.ServiceSupport;
 import org.apache.camel.util.FilePathResolver;
@@ -40,6 +45,11 @@ import org.apache.camel.util.IOHelper;
  */
 public class DefaultStreamCachingStrategy extends ServiceSupport implements CamelContextAware, StreamCachingStrategy {
 
+    /**
+     * The size of the direct buffers in the off-heap memory pool.
+     */
+    public static final int OFF_HEAP_BUFFER_SIZE = 64 * 1024;
+
     private CamelContext camelContext;
     private boolean enabled;
     private File spoolDirectory;
@@ -50,6 +60,10 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
     private String spoolCipher;
     private int bufferSize = IOHelper.DEFAULT_BUFFER_SIZE;
     private boolean removeSpoolDirectoryWhenStopping = true;
+    private long spoolOffHeapMemoryLimit;
+    private final Queue<ByteBuffer> offHeapBuffers = new ConcurrentLinkedQueue<>();
+    private final AtomicLong offHeapMemoryAllocated = new AtomicLong();
+    private final AtomicLong offHeapMemoryUsed = new AtomicLong();
     private final UtilizationStatistics statistics = new UtilizationStatistics();
     private final Set<SpoolRule> spoolRules = new LinkedHashSet<>();
     private boolean anySpoolRules;
@@ -134,6 +148,52 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
         return bufferSize;
     }
 
+    @Override
+    public long getSpoolOffHeapMemoryLimit() {
+        return spoolOffHeapMemoryLimit;
+    }
+
+    @Override
+    public void setSpoolOffHeapMemoryLimit(long spoolOffHeapMemoryLimit) {
+        this.spoolOffHeapMemoryLimit = spoolOffHeapMemoryLimit;
+    }
+
+    @Override
+    public long getSpoolOffHeapMemoryUsed() {
+        return offHeapMemoryUsed.get();
+    }
+
+    @Override
+    public ByteBuffer acquireOffHeapBuffer() {
+        if (spoolOffHeapMemoryLimit <= 0) {
+            return null;
+        }
+
+        ByteBuffer buffer = offHeapBuffers.poll();
+        if (buffer == null) {
+            // allocate a new buffer if there is room within the limit
+            long allocated;
+            do {
+                allocated = offHeapMemoryAllocated.get();
+                if (allocated + OFF_HEAP_BUFFER_SIZE > spoolOffHeapMemoryLimit) {
+                    log.trace("Off-heap memory limit {} reached", spoolOffHeapMemoryLimit);
+                    return null;
+                }
+            } while (!offHeapMemoryAllocated.compareAndSet(allocated, allocated + OFF_HEAP_BUFFER_SIZE));
+            buffer = ByteBuffer.allocateDirect(OFF_HEAP_BUFFER_SIZE);
+        }
+        offHeapMemoryUsed.addAndGet(buffer.capacity());
+        buffer.clear();
+        return buffer;
+    }
+
+    @Override
+    public void releaseOffHeapBuffer(ByteBuffer buffer) {
+        offHeapMemoryUsed.addAndGet(-buffer.capacity());
+        buffer.clear();
+        offHeapBuffers.offer(buffer);
+    }
+
     @Override
     public void setBufferSize(int bufferSize) {
         this.bufferSize = bufferSize;
@@ -209,7 +269,9 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
             }
             if (statistics.isStatisticsEnabled()) {
                 try {
-                    if (cache.inMemory()) {
+                    if (cache instanceof OffHeapInputStreamCache) {
+                        statistics.updateOffHeap(cache.length());
+                    } else if (cache.inMemory()) {
                         statistics.updateMemory(cache.length());
                     } else {
                         statistics.updateSpool(cache.length());
@@ -335,6 +397,12 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
             log.debug("Stopping StreamCachingStrategy with statistics: {}", statistics);
         }
 
+        // let the garbage collector free the direct buffers which are not in use
+        ByteBuffer buffer;
+        while ((buffer = offHeapBuffers.poll()) != null) {
+            offHeapMemoryAllocated.addAndGet(-buffer.capacity());
+        }
+
         statistics.reset();
     }
 
@@ -345,6 +413,7 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
             + ", spoolCipher=" + spoolCipher
             + ", spoolThreshold=" + spoolThreshold
             + ", spoolUsedHeapMemoryThreshold=" + spoolUsedHeapMemoryThreshold
+            + ", spoolOffHeapMemoryLimit=" + spoolOffHeapMemoryLimit
             + ", bufferSize=" + bufferSize
             + ", anySpoolRules=" + anySpoolRules + "]";
     }
@@ -423,6 +492,9 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
         private volatile long spoolCounter;
         private volatile long spoolSize;
         private volatile long spoolAverageSize;
+        private volatile long offHeapCounter;
+        private volatile long offHeapSize;
+        private volatile long offHeapAverageSize;
 
         synchronized void updateMemory(long size) {
             memoryCounter++;
@@ -436,6 +508,12 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
             spoolAverageSize = spoolSize / spoolCounter;
         }
 
+        synchronized void updateOffHeap(long size) {
+            offHeapCounter++;
+            offHeapSize += size;
+            offHeapAverageSize = offHeapSize / offHeapCounter;
+        }
+
         @Override
         public long getCacheMemoryCounter() {
             return memoryCounter;
@@ -466,6 +544,21 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
             return spoolAverageSize;
         }
 
+        @Override
+        public long getCacheOffHeapCounter() {
+            return offHeapCounter;
+        }
+
+        @Override
+        public long getCacheOffHeapSize() {
+            return offHeapSize;
+        }
+
+        @Override
+        public long getCacheOffHeapAverageSize() {
+            return offHeapAverageSize;
+        }
+
         @Override
         public synchronized void reset() {
             memoryCounter = 0;
@@ -474,6 +567,9 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
             spoolCounter = 0;
             spoolSize = 0;
             spoolAverageSize = 0;
+            offHeapCounter = 0;
+            offHeapSize = 0;
+            offHeapAverageSize = 0;
         }
 
         @Override
@@ -488,8 +584,9 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
 
         @Override
         public String toString() {
-            return String.format("[memoryCounter=%s, memorySize=%s, memoryAverageSize=%s, spoolCounter=%s, spoolSize=%s, spoolAverageSize=%s]",
-                    memoryCounter, memorySize, memoryAverageSize, spoolCounter, spoolSize, spoolAverageSize);
+            return String.format("[memoryCounter=%s, memorySize=%s, memoryAverageSize=%s, spoolCounter=%s, spoolSize=%s, spoolAverageSize=%s,"
+                    + " offHeapCounter=%s, offHeapSize=%s, offHeapAverageSize=%s]",
+                    memoryCounter, memorySize, memoryAverageSize, spoolCounter, spoolSize, spoolAverageSize, offHeapCounter, offHeapSize, offHeapAverageSize);
         }
     }
 
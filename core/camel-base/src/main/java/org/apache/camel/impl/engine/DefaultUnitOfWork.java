@@ -17,13 +17,15 @@
 package org.apache.camel.impl.engine;
 
 import java.util.ArrayDeque;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.Deque;
-import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Predicate;
 
 import org.apache.camel.AsyncCallback;
@@ -46,9 +48,16 @@ import org.slf4j.LoggerFactory;
 
 /**
  * The default implementation of {@link org.apache.camel.spi.UnitOfWork}
+ * <p/>
+ * The synchronizations are kept in a small copy-on-write array which is only allocated when the first
+ * synchronization is added. Changes are applied by compare-and-set, which means adding and removing
+ * synchronizations does not need to lock, and the callbacks always work on a consistent snapshot even if
+ * synchronizations are added or handed over from other threads.
  */
 public class DefaultUnitOfWork implements UnitOfWork, Service {
     private static final Logger LOG = LoggerFactory.getLogger(DefaultUnitOfWork.class);
+    private static final AtomicReferenceFieldUpdater<DefaultUnitOfWork, Synchronization[]> SYNCHRONIZATIONS
+        = AtomicReferenceFieldUpdater.newUpdater(DefaultUnitOfWork.class, Synchronization[].class, "synchronizations");
 
     // TODO: This implementation seems to have transformed itself into a to broad concern
     //   where unit of work is doing a bit more work than the transactional aspect that ties
@@ -60,10 +69,10 @@ public class DefaultUnitOfWork implements UnitOfWork, Service {
     private UnitOfWork parent;
     private String id;
     private CamelContext context;
-    private List<Synchronization> synchronizations;
+    private volatile Synchronization[] synchronizations;
     private Message originalInMessage;
     private Set<Object> transactedBy;
-    private final Deque<RouteContext> routeContextStack = new ArrayDeque<>();
+    private Deque<RouteContext> routeContextStack;
     private final transient Logger log;
     
     public DefaultUnitOfWork(Exchange exchange) {
@@ -159,37 +168,44 @@ public class DefaultUnitOfWork implements UnitOfWork, Service {
     @Override
     public void stop() {
         // need to clean up when we are stopping to not leak memory
-        if (synchronizations != null) {
-            synchronizations.clear();
-        }
+        synchronizations = null;
         if (transactedBy != null) {
             transactedBy.clear();
         }
-        routeContextStack.clear();
+        if (routeContextStack != null) {
+            routeContextStack.clear();
+        }
         originalInMessage = null;
         parent = null;
         id = null;
     }
 
     @Override
-    public synchronized void addSynchronization(Synchronization synchronization) {
-        if (synchronizations == null) {
-            synchronizations = new ArrayList<>();
-        }
+    public void addSynchronization(Synchronization synchronization) {
         log.trace("Adding synchronization {}", synchronization);
-        synchronizations.add(synchronization);
+        while (true) {
+            Synchronization[] current = synchronizations;
+            Synchronization[] update;
+            if (current == null) {
+                update = new Synchronization[]{synchronization};
+            } else {
+                update = Arrays.copyOf(current, current.length + 1);
+                update[current.length] = synchronization;
+            }
+            if (SYNCHRONIZATIONS.compareAndSet(this, current, update)) {
+                return;
+            }
+        }
     }
 
     @Override
-    public synchronized void removeSynchronization(Synchronization synchronization) {
-        if (synchronizations != null) {
-            synchronizations.remove(synchronization);
-        }
+    public void removeSynchronization(Synchronization synchronization) {
+        doRemoveSynchronization(synchronization);
     }
 
     @Override
-    public synchronized boolean containsSynchronization(Synchronization synchronization) {
-        return synchronizations != null && synchronizations.contains(synchronization);
+    public boolean containsSynchronization(Synchronization synchronization) {
+        return indexOf(synchronizations, synchronization) != -1;
     }
 
     @Override
@@ -199,25 +215,22 @@ public class DefaultUnitOfWork implements UnitOfWork, Service {
 
     @Override
     public void handoverSynchronization(Exchange target, Predicate<Synchronization> filter) {
-        if (synchronizations == null || synchronizations.isEmpty()) {
+        Synchronization[] current = synchronizations;
+        if (current == null) {
             return;
         }
 
-        Iterator<Synchronization> it = synchronizations.iterator();
-        while (it.hasNext()) {
-            Synchronization synchronization = it.next();
-
+        for (Synchronization synchronization : current) {
             boolean handover = true;
             if (synchronization instanceof SynchronizationVetoable) {
                 SynchronizationVetoable veto = (SynchronizationVetoable) synchronization;
                 handover = veto.allowHandover();
             }
 
-            if (handover && (filter == null || filter.test(synchronization))) {
+            // remove it before its handed over, so its only ever owned by one of us
+            if (handover && (filter == null || filter.test(synchronization)) && doRemoveSynchronization(synchronization)) {
                 log.trace("Handover synchronization {} to: {}", synchronization, target);
                 target.addOnCompletion(synchronization);
-                // remove it if its handed over
-                it.remove();
             } else {
                 log.trace("Handover not allow for synchronization {}", synchronization);
             }
@@ -231,7 +244,7 @@ public class DefaultUnitOfWork implements UnitOfWork, Service {
         boolean failed = exchange.isFailed();
 
         // at first done the synchronizations
-        UnitOfWorkHelper.doneSynchronizations(exchange, synchronizations, log);
+        UnitOfWorkHelper.doneSynchronizations(exchange, getSynchronizations(), log);
 
         // unregister from inflight registry, before signalling we are done
         if (exchange.getContext() != null) {
@@ -256,7 +269,7 @@ public class DefaultUnitOfWork implements UnitOfWork, Service {
         if (log.isTraceEnabled()) {
             log.trace("UnitOfWork beforeRoute: {} for ExchangeId: {} with {}", route.getId(), exchange.getExchangeId(), exchange);
         }
-        UnitOfWorkHelper.beforeRouteSynchronizations(route, exchange, synchronizations, log);
+        UnitOfWorkHelper.beforeRouteSynchronizations(route, exchange, getSynchronizations(), log);
     }
 
     @Override
@@ -264,7 +277,7 @@ public class DefaultUnitOfWork implements UnitOfWork, Service {
         if (log.isTraceEnabled()) {
             log.trace("UnitOfWork afterRoute: {} for ExchangeId: {} with {}", route.getId(), exchange.getExchangeId(), exchange);
         }
-        UnitOfWorkHelper.afterRouteSynchronizations(route, exchange, synchronizations, log);
+        UnitOfWorkHelper.afterRouteSynchronizations(route, exchange, getSynchronizations(), log);
     }
 
     @Override
@@ -305,17 +318,21 @@ public class DefaultUnitOfWork implements UnitOfWork, Service {
 
     @Override
     public RouteContext getRouteContext() {
-        return routeContextStack.peek();
+        return routeContextStack != null ? routeContextStack.peek() : null;
     }
 
     @Override
     public void pushRouteContext(RouteContext routeContext) {
+        if (routeContextStack == null) {
+            // routes are seldom nested deeply so start small
+            routeContextStack = new ArrayDeque<>(4);
+        }
         routeContextStack.push(routeContext);
     }
 
     @Override
     public RouteContext popRouteContext() {
-        return routeContextStack.pollFirst();
+        return routeContextStack != null ? routeContextStack.pollFirst() : null;
     }
 
     @Override
@@ -328,6 +345,44 @@ public class DefaultUnitOfWork implements UnitOfWork, Service {
     public void afterProcess(Processor processor, Exchange exchange, AsyncCallback callback, boolean doneSync) {
     }
 
+    /**
+     * Gets a snapshot of the current synchronizations
+     */
+    protected List<Synchronization> getSynchronizations() {
+        Synchronization[] current = synchronizations;
+        return current != null ? Arrays.asList(current) : Collections.emptyList();
+    }
+
+    private boolean doRemoveSynchronization(Synchronization synchronization) {
+        while (true) {
+            Synchronization[] current = synchronizations;
+            int index = indexOf(current, synchronization);
+            if (index == -1) {
+                return false;
+            }
+            Synchronization[] update = null;
+            if (current.length > 1) {
+                update = new Synchronization[current.length - 1];
+                System.arraycopy(current, 0, update, 0, index);
+                System.arraycopy(current, index + 1, update, index, current.length - index - 1);
+            }
+            if (SYNCHRONIZATIONS.compareAndSet(this, current, update)) {
+                return true;
+            }
+        }
+    }
+
+    private static int indexOf(Synchronization[] array, Synchronization synchronization) {
+        if (array != null) {
+            for (int i = 0; i < array.length; i++) {
+                if (Objects.equals(array[i], synchronization)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
     private Set<Object> getTransactedBy() {
         if (transactedBy == null) {
             transactedBy = new LinkedHashSet<>();
@@ -27,10 +27,18 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Factory resolver to create the {@link org.apache.camel.spi.ReactiveExecutor} to be used.
+ * <p/>
+ * A custom implementation is discovered using the factory finder. Otherwise one of the built-in
+ * implementations is used, which can be selected using the {@link #REACTIVE_EXECUTOR} global option:
+ * <ul>
+ *     <li>default - uses {@link DefaultReactiveExecutor}</li>
+ *     <li>arrayDeque - uses {@link ArrayDequeReactiveExecutor}</li>
+ * </ul>
  */
 public class ReactiveExecutorResolver {
 
     public static final String RESOURCE_PATH = "META-INF/services/org/apache/camel/";
+    public static final String REACTIVE_EXECUTOR = "CamelReactiveExecutor";
 
     private static final Logger LOG = LoggerFactory.getLogger(ReactiveExecutorResolver.class);
 
@@ -58,6 +66,14 @@ public class ReactiveExecutorResolver {
             }
         }
 
+        String name = context.getGlobalOption(REACTIVE_EXECUTOR);
+        if ("arrayDeque".equalsIgnoreCase(name)) {
+            LOG.debug("Creating ArrayDequeReactiveExecutor");
+            return new ArrayDequeReactiveExecutor();
+        } else if (name != null && !"default".equalsIgnoreCase(name)) {
+            throw new IllegalArgumentException("Unknown ReactiveExecutor: " + name + ". Supported values: default, arrayDeque");
+        }
+
         // fallback to default
         LOG.debug("Creating default ReactiveExecutor");
         return new DefaultReactiveExecutor();
@@ -47,10 +47,16 @@ public abstract class BaseSimpleParser {
     protected int previousIndex;
     protected int index;
     protected boolean allowEscape = true;
+    protected boolean strictOgnl;
 
     protected BaseSimpleParser(String expression, boolean allowEscape) {
+        this(expression, allowEscape, false);
+    }
+
+    protected BaseSimpleParser(String expression, boolean allowEscape, boolean strictOgnl) {
         this.expression = expression;
         this.allowEscape = allowEscape;
+        this.strictOgnl = strictOgnl;
     }
 
     /**
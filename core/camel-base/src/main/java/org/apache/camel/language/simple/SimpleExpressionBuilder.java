@@ -38,6 +38,7 @@ import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.spi.ExchangeFormatter;
 import org.apache.camel.support.CamelContextHelper;
 import org.apache.camel.support.ExpressionAdapter;
+import org.apache.camel.support.LanguageSupport;
 import org.apache.camel.support.MessageHelper;
 import org.apache.camel.support.builder.ExpressionBuilder;
 import org.apache.camel.support.processor.DefaultExchangeFormatter;
@@ -519,11 +520,13 @@ public final class SimpleExpressionBuilder {
      */
     public static Expression mandatoryBodyOgnlExpression(final String name, final String ognl) {
         return new ExpressionAdapter() {
+            private final TypeNameResolver resolver = new TypeNameResolver(name);
+            private final SimpleOgnlPath path = SimpleOgnlPath.compile(ognl);
+
             public Object evaluate(Exchange exchange) {
-                String text = ExpressionBuilder.simpleExpression(name).evaluate(exchange, String.class);
                 Class<?> type;
                 try {
-                    type = exchange.getContext().getClassResolver().resolveMandatoryClass(text);
+                    type = resolver.resolve(exchange);
                 } catch (ClassNotFoundException e) {
                     throw CamelExecutionException.wrapCamelExecutionException(exchange, e);
                 }
@@ -533,8 +536,7 @@ public final class SimpleExpressionBuilder {
                 } catch (InvalidPayloadException e) {
                     throw CamelExecutionException.wrapCamelExecutionException(exchange, e);
                 }
-                Expression exp = ExpressionBuilder.beanExpression(body, ognl);
-                return exp.evaluate(exchange, Object.class);
+                return invokeOgnl(exchange, body, path, ognl);
             }
 
             @Override
@@ -550,11 +552,12 @@ public final class SimpleExpressionBuilder {
      */
     public static Expression mandatoryBodyExpression(final String name) {
         return new ExpressionAdapter() {
+            private final TypeNameResolver resolver = new TypeNameResolver(name);
+
             public Object evaluate(Exchange exchange) {
-                String text = ExpressionBuilder.simpleExpression(name).evaluate(exchange, String.class);
                 Class<?> type;
                 try {
-                    type = exchange.getContext().getClassResolver().resolveMandatoryClass(text);
+                    type = resolver.resolve(exchange);
                 } catch (ClassNotFoundException e) {
                     throw CamelExecutionException.wrapCamelExecutionException(exchange, e);
                 }
@@ -578,20 +581,19 @@ public final class SimpleExpressionBuilder {
      */
     public static Expression bodyOgnlExpression(final String name, final String ognl) {
         return new ExpressionAdapter() {
+            private final TypeNameResolver resolver = new TypeNameResolver(name);
+            private final SimpleOgnlPath path = SimpleOgnlPath.compile(ognl);
+
             public Object evaluate(Exchange exchange) {
-                String text = ExpressionBuilder.simpleExpression(name).evaluate(exchange, String.class);
                 Class<?> type;
                 try {
-                    type = exchange.getContext().getClassResolver().resolveMandatoryClass(text);
+                    type = resolver.resolve(exchange);
                 } catch (ClassNotFoundException e) {
                     throw CamelExecutionException.wrapCamelExecutionException(exchange, e);
                 }
                 Object body = exchange.getIn().getBody(type);
                 if (body != null) {
-                    // ognl is able to evaluate method name if it contains nested functions
-                    // so we should not eager evaluate ognl as a string
-                    return ExpressionBuilder.beanExpression(body, ognl)
-                            .evaluate(exchange, Object.class);
+                    return invokeOgnl(exchange, body, path, ognl);
                 } else {
                     return null;
                 }
@@ -612,10 +614,10 @@ public final class SimpleExpressionBuilder {
      */
     public static Expression exchangeOgnlExpression(final String ognl) {
         return new ExpressionAdapter() {
+            private final SimpleOgnlPath path = SimpleOgnlPath.compile(ognl);
+
             public Object evaluate(Exchange exchange) {
-                // ognl is able to evaluate method name if it contains nested functions
-                // so we should not eager evaluate ognl as a string
-                return ExpressionBuilder.beanExpression(exchange, ognl).evaluate(exchange, Object.class);
+                return invokeOgnl(exchange, exchange, path, ognl);
             }
 
             @Override
@@ -633,14 +635,14 @@ public final class SimpleExpressionBuilder {
      */
     public static Expression camelContextOgnlExpression(final String ognl) {
         return new ExpressionAdapter() {
+            private final SimpleOgnlPath path = SimpleOgnlPath.compile(ognl);
+
             public Object evaluate(Exchange exchange) {
                 CamelContext context = exchange.getContext();
                 if (context == null) {
                     return null;
                 }
-                // ognl is able to evaluate method name if it contains nested functions
-                // so we should not eager evaluate ognl as a string
-                return ExpressionBuilder.beanExpression(context, ognl).evaluate(exchange, Object.class);
+                return invokeOgnl(exchange, context, path, ognl);
             }
 
             @Override
@@ -658,14 +660,14 @@ public final class SimpleExpressionBuilder {
      */
     public static Expression bodyOgnlExpression(final String ognl) {
         return new ExpressionAdapter() {
+            private final SimpleOgnlPath path = SimpleOgnlPath.compile(ognl);
+
             public Object evaluate(Exchange exchange) {
                 Object body = exchange.getIn().getBody();
                 if (body == null) {
                     return null;
                 }
-                // ognl is able to evaluate method name if it contains nested functions
-                // so we should not eager evaluate ognl as a string
-                return ExpressionBuilder.beanExpression(body, ognl).evaluate(exchange, Object.class);
+                return invokeOgnl(exchange, body, path, ognl);
             }
 
             @Override
@@ -762,6 +764,8 @@ public final class SimpleExpressionBuilder {
      */
     public static Expression exchangeExceptionOgnlExpression(final String ognl) {
         return new ExpressionAdapter() {
+            private final SimpleOgnlPath path = SimpleOgnlPath.compile(ognl);
+
             public Object evaluate(Exchange exchange) {
                 Object exception = exchange.getException();
                 if (exception == null) {
@@ -772,9 +776,7 @@ public final class SimpleExpressionBuilder {
                     return null;
                 }
 
-                // ognl is able to evaluate method name if it contains nested functions
-                // so we should not eager evaluate ognl as a string
-                return ExpressionBuilder.beanExpression(exception, ognl).evaluate(exchange, Object.class);
+                return invokeOgnl(exchange, exception, path, ognl);
             }
 
             @Override
@@ -784,6 +786,46 @@ public final class SimpleExpressionBuilder {
         };
     }
 
+    /**
+     * Invokes the OGNL on the target using the compiled path, or using the bean language if the path could not be compiled.
+     */
+    private static Object invokeOgnl(Exchange exchange, Object target, SimpleOgnlPath path, String ognl) {
+        if (path != null) {
+            return path.invoke(exchange, target);
+        }
+        // ognl is able to evaluate method name if it contains nested functions
+        // so we should not eager evaluate ognl as a string
+        return ExpressionBuilder.beanExpression(target, ognl).evaluate(exchange, Object.class);
+    }
+
+    /**
+     * Resolves a type from its name, which can contain nested functions. The type is only
+     * resolved once per camel context when the name is a constant.
+     */
+    private static final class TypeNameResolver {
+        private final String name;
+        private final boolean constant;
+        private volatile Object[] resolved;
+
+        TypeNameResolver(String name) {
+            this.name = name;
+            this.constant = !LanguageSupport.hasSimpleFunction(name);
+        }
+
+        Class<?> resolve(Exchange exchange) throws ClassNotFoundException {
+            Object[] answer = resolved;
+            if (answer != null && answer[0] == exchange.getContext()) {
+                return (Class<?>) answer[1];
+            }
+            String text = ExpressionBuilder.simpleExpression(name).evaluate(exchange, String.class);
+            Class<?> type = exchange.getContext().getClassResolver().resolveMandatoryClass(text);
+            if (constant) {
+                resolved = new Object[]{exchange.getContext(), type};
+            }
+            return type;
+        }
+    }
+
     /**
      * Expression adapter for OGNL expression from Message Header or Exchange property
      */
@@ -791,46 +833,49 @@ public final class SimpleExpressionBuilder {
         private final String ognl;
         private final String toStringValue;
         private final KeyedEntityRetrievalStrategy keyedEntityRetrievalStrategy;
+        private final String key;
+        private final String remainder;
+        private final SimpleOgnlPath path;
 
         KeyedOgnlExpressionAdapter(String ognl, String toStringValue,
                                    KeyedEntityRetrievalStrategy keyedEntityRetrievalStrategy) {
             this.ognl = ognl;
             this.toStringValue = toStringValue;
             this.keyedEntityRetrievalStrategy = keyedEntityRetrievalStrategy;
-        }
-
-        @Override
-        public Object evaluate(Exchange exchange) {
-            // try with full name first
-            Object property = keyedEntityRetrievalStrategy.getKeyedEntity(exchange, ognl);
-            if (property != null) {
-                return property;
-            }
-
 
             // Split ognl except when this is not a Map, Array
             // and we would like to keep the dots within the key name
             List<String> methods = OgnlHelper.splitOgnl(ognl);
 
-            String key = methods.get(0);
+            String name = methods.get(0);
             String keySuffix = "";
             // if ognl starts with a key inside brackets (eg: [foo.bar])
             // remove starting and ending brackets from key
-            if (key.startsWith("[") && key.endsWith("]")) {
-                key = StringHelper.removeLeadingAndEndingQuotes(key.substring(1, key.length() - 1));
-                keySuffix = StringHelper.after(methods.get(0), key);
+            if (name.startsWith("[") && name.endsWith("]")) {
+                name = StringHelper.removeLeadingAndEndingQuotes(name.substring(1, name.length() - 1));
+                keySuffix = StringHelper.after(methods.get(0), name);
             }
             // remove any OGNL operators so we got the pure key name
-            key = OgnlHelper.removeOperators(key);
+            this.key = OgnlHelper.removeOperators(name);
+            // the remainder is the rest of the ognl without the key
+            this.remainder = StringHelper.after(ognl, this.key + keySuffix);
+            this.path = SimpleOgnlPath.compile(remainder);
+        }
+
+        @Override
+        public Object evaluate(Exchange exchange) {
+            // try with full name first
+            Object property = keyedEntityRetrievalStrategy.getKeyedEntity(exchange, ognl);
+            if (property != null) {
+                return property;
+            }
 
 
             property = keyedEntityRetrievalStrategy.getKeyedEntity(exchange, key);
             if (property == null) {
                 return null;
             }
-            // the remainder is the rest of the ognl without the key
-            String remainder = StringHelper.after(ognl, key + keySuffix);
-            return ExpressionBuilder.beanExpression(property, remainder).evaluate(exchange, Object.class);
+            return invokeOgnl(exchange, property, path, remainder);
         }
 
         @Override
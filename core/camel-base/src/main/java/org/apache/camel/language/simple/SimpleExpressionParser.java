@@ -44,7 +44,12 @@ public class SimpleExpressionParser extends BaseSimpleParser {
 
     public SimpleExpressionParser(String expression, boolean allowEscape,
                                   Map<String, Expression> cacheExpression) {
-        super(expression, allowEscape);
+        this(expression, allowEscape, false, cacheExpression);
+    }
+
+    public SimpleExpressionParser(String expression, boolean allowEscape, boolean strictOgnl,
+                                  Map<String, Expression> cacheExpression) {
+        super(expression, allowEscape, strictOgnl);
         this.cacheExpression = cacheExpression;
     }
 
@@ -142,7 +147,7 @@ public class SimpleExpressionParser extends BaseSimpleParser {
         if (token.getType().isFunctionStart()) {
             // starting a new function
             functions.incrementAndGet();
-            return new SimpleFunctionStart(token, cacheExpression);
+            return new SimpleFunctionStart(token, cacheExpression, strictOgnl);
         } else if (functions.get() > 0 && token.getType().isFunctionEnd()) {
             // there must be a start function already, to let this be a end function
             functions.decrementAndGet();
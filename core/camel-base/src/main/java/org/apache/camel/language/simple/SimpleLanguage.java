@@ -100,12 +100,18 @@ import org.slf4j.LoggerFactory;
 @Language("simple")
 public class SimpleLanguage extends LanguageSupport implements StaticService {
 
+    /**
+     * Global option to enable strict OGNL mode, see {@link #setStrictOgnl(boolean)}.
+     */
+    public static final String STRICT_OGNL = "CamelSimpleStrictOgnl";
+
     private static final Logger LOG = LoggerFactory.getLogger(SimpleLanguage.class);
 
     // singleton for expressions without a result type
     private static final SimpleLanguage SIMPLE = new SimpleLanguage();
 
     boolean allowEscape = true;
+    boolean strictOgnl;
 
     // use caches to avoid re-parsing the same expressions over and over again
     private Map<String, Expression> cacheExpression;
@@ -117,6 +123,22 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
     public SimpleLanguage() {
     }
 
+    public boolean isStrictOgnl() {
+        return strictOgnl;
+    }
+
+    /**
+     * Whether to validate OGNL paths when creating the expressions, so expressions such as <tt>${exchange.foo}</tt>
+     * or <tt>${bodyAs(com.foo.Order).lines}</tt> fails when the route is started if the methods cannot be resolved
+     * on the types known up front (the type of the exchange, camel context, exception or the given type).
+     * <p/>
+     * The validation stops when a method returns a type which is not known up front such as <tt>Object</tt>,
+     * or an element from an index lookup. This option is by default <tt>false</tt>.
+     */
+    public void setStrictOgnl(boolean strictOgnl) {
+        this.strictOgnl = strictOgnl;
+    }
+
     @Override
     public void init() {
         // setup cache which requires CamelContext to be set first
@@ -134,7 +156,12 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
 
     @Override
     public void start() {
-        // noop
+        if (getCamelContext() != null) {
+            String strict = getCamelContext().getGlobalOption(STRICT_OGNL);
+            if (strict != null) {
+                strictOgnl = Boolean.parseBoolean(strict);
+            }
+        }
     }
 
     @Override
@@ -164,7 +191,7 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
 
             expression = loadResource(expression);
 
-            SimplePredicateParser parser = new SimplePredicateParser(expression, allowEscape, cacheExpression);
+            SimplePredicateParser parser = new SimplePredicateParser(expression, allowEscape, strictOgnl, cacheExpression);
             answer = parser.parsePredicate();
 
             if (cachePredicate != null && answer != null) {
@@ -184,7 +211,7 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
 
             expression = loadResource(expression);
 
-            SimpleExpressionParser parser = new SimpleExpressionParser(expression, allowEscape, cacheExpression);
+            SimpleExpressionParser parser = new SimpleExpressionParser(expression, allowEscape, strictOgnl, cacheExpression);
             answer = parser.parseExpression();
 
             if (cacheExpression != null && answer != null) {
@@ -0,0 +1,438 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.RuntimeExpressionException;
+import org.apache.camel.support.LanguageSupport;
+import org.apache.camel.support.builder.ExpressionBuilder;
+import org.apache.camel.util.KeyValueHolder;
+import org.apache.camel.util.OgnlHelper;
+import org.apache.camel.util.StringHelper;
+
+/**
+ * A compiled Camel OGNL path such as <tt>.getFriend?.name.lines[0]</tt> which invokes a chain of no argument
+ * methods using {@link MethodHandle}s that are resolved once per receiver class.
+ * <p/>
+ * Only paths made of no argument methods, getter shorthands and index lookups with literal keys can be compiled,
+ * paths with method arguments or nested functions should be evaluated using the bean language as before.
+ * Whenever the compiled path cannot continue, eg a method cannot be resolved on the type of a result, or an index
+ * lookup needs the type conversions of the bean language, then the rest of the path is evaluated using the bean
+ * language on the last computed result, so a method is never invoked twice. Exceptions thrown by the invoked
+ * methods, and results which are <tt>null</tt> before a method which is not null safe, fail in the same way
+ * as the bean language.
+ */
+public final class SimpleOgnlPath {
+
+    private static final String BEAN_EXPRESSION_EXCEPTION = "org.apache.camel.language.bean.RuntimeBeanExpressionException";
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodHandle NOT_FOUND = MethodHandles.dropArguments(
+            MethodHandles.constant(Object.class, null), 0, Object.class);
+    private static final Object UNRESOLVED = new Object();
+    private static final Set<String> EXCLUDED_METHODS = new HashSet<>();
+
+    static {
+        // same methods as the bean component does not allow to be invoked
+        for (Method method : Object.class.getDeclaredMethods()) {
+            EXCLUDED_METHODS.add(method.getName());
+        }
+        for (Method method : Proxy.class.getDeclaredMethods()) {
+            EXCLUDED_METHODS.add(method.getName());
+        }
+        EXCLUDED_METHODS.remove("toString");
+    }
+
+    private final String ognl;
+    private final Step[] steps;
+
+    private SimpleOgnlPath(String ognl, Step[] steps) {
+        this.ognl = ognl;
+        this.steps = steps;
+    }
+
+    /**
+     * Compiles the OGNL path.
+     *
+     * @param ognl the OGNL path, eg <tt>.foo.bar</tt>
+     * @return the compiled path, or <tt>null</tt> if the path cannot be compiled
+     */
+    public static SimpleOgnlPath compile(String ognl) {
+        if (!OgnlHelper.isValidOgnlExpression(ognl) || OgnlHelper.isInvalidValidOgnlExpression(ognl)
+                || LanguageSupport.hasSimpleFunction(ognl)) {
+            return null;
+        }
+        List<String> methods;
+        try {
+            methods = OgnlHelper.splitOgnl(ognl);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (methods.isEmpty()) {
+            return null;
+        }
+        Step[] steps = new Step[methods.size()];
+        for (int i = 0; i < steps.length; i++) {
+            steps[i] = Step.parse(methods.get(i));
+            if (steps[i] == null) {
+                return null;
+            }
+        }
+        return new SimpleOgnlPath(ognl, steps);
+    }
+
+    /**
+     * Validates the OGNL path against the given type, by resolving the methods on the declared return types
+     * for as long as the types are known.
+     *
+     * @param ognl the OGNL path, eg <tt>.foo.bar</tt>
+     * @param type the type the path is invoked on
+     * @throws IllegalArgumentException if a method cannot be resolved
+     */
+    public static void validate(String ognl, Class<?> type) {
+        List<String> methods = OgnlHelper.splitOgnl(ognl);
+        for (String method : methods) {
+            if (type == null || type == Object.class) {
+                return;
+            }
+            String name = OgnlHelper.removeLeadingOperators(method);
+            KeyValueHolder<String, String> index = OgnlHelper.isOgnlIndex(name);
+            if (index != null) {
+                name = index.getKey();
+            }
+            if (name == null) {
+                // the element type of the index lookup is not known
+                return;
+            }
+            boolean noArgs = name.endsWith("()");
+            if (name.contains("(")) {
+                name = StringHelper.before(name, "(");
+            }
+            if ("toString".equals(name)) {
+                type = String.class;
+            } else {
+                List<Method> candidates = candidates(type, name);
+                if (candidates.isEmpty()) {
+                    throw new IllegalArgumentException("Cannot resolve method: " + name + " in OGNL path: " + ognl
+                            + " on type: " + type.getName());
+                }
+                Method noArgsMethod = noArgsMethod(candidates, noArgs || !method.contains("("));
+                type = noArgsMethod != null ? noArgsMethod.getReturnType() : null;
+            }
+            if (index != null) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Invokes the path on the given object.
+     *
+     * @param exchange the exchange
+     * @param target   the object to invoke the path on
+     * @return the result
+     */
+    public Object invoke(Exchange exchange, Object target) {
+        if (target == null) {
+            return invokeRemainder(exchange, null, ognl);
+        }
+        Object answer = target;
+        for (int i = 0; i < steps.length; i++) {
+            Step step = steps[i];
+            if (answer == null) {
+                // the previous method was not null safe
+                throw beanExpressionException(exchange, target.getClass().getCanonicalName(), ognl,
+                        "last method returned null and therefore cannot continue to invoke method " + step.text + " on a null instance");
+            }
+            if (step.name != null) {
+                MethodHandle handle = step.handles.get(answer.getClass());
+                if (handle == NOT_FOUND) {
+                    return invokeRemainder(exchange, answer, i == 0 ? ognl : remainder(step.text, i + 1));
+                }
+                try {
+                    answer = (Object) handle.invokeExact(answer);
+                } catch (Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    // the method has been invoked so it must not be invoked again by the bean language
+                    throw beanExpressionException(exchange, null, step.method, e);
+                }
+            }
+            if (step.key != null) {
+                Object value = step.lookup(answer);
+                if (value == UNRESOLVED) {
+                    // let the bean language deal with type conversions, out of bounds and null values
+                    return invokeRemainder(exchange, answer, i == 0 && step.name == null ? ognl : remainder(step.lookupText, i + 1));
+                }
+                answer = value;
+            }
+            if (answer == null && step.nullSafe) {
+                return null;
+            }
+        }
+        return answer;
+    }
+
+    @Override
+    public String toString() {
+        return ognl;
+    }
+
+    private String remainder(String first, int from) {
+        StringBuilder sb = new StringBuilder(first);
+        for (int i = from; i < steps.length; i++) {
+            sb.append(steps[i].text);
+        }
+        return sb.toString();
+    }
+
+    private static Object invokeRemainder(Exchange exchange, Object target, String ognl) {
+        return ExpressionBuilder.beanExpression(target, ognl).evaluate(exchange, Object.class);
+    }
+
+    /**
+     * Creates the exception the bean language would throw, which is not on the classpath of this module.
+     */
+    private static RuntimeException beanExpressionException(Exchange exchange, String beanName, String method, Object cause) {
+        Class<?> type = exchange.getContext().getClassResolver().resolveClass(BEAN_EXPRESSION_EXCEPTION);
+        if (type != null && RuntimeException.class.isAssignableFrom(type)) {
+            try {
+                Class<?> causeType = cause instanceof Throwable ? Throwable.class : String.class;
+                return (RuntimeException) type.getConstructor(Exchange.class, String.class, String.class, causeType)
+                        .newInstance(exchange, beanName, method, cause);
+            } catch (ReflectiveOperationException e) {
+                // fallback to a plain expression exception with the same message
+            }
+        }
+        if (cause instanceof Throwable) {
+            return new RuntimeExpressionException("Failed to invoke method: " + method + " on " + beanName + " due to: " + cause, (Throwable) cause);
+        }
+        return new RuntimeExpressionException("Failed to invoke method: " + method + " on " + beanName + " due " + cause);
+    }
+
+    private static List<Method> candidates(Class<?> type, String name) {
+        List<Method> answer = methods(type, name);
+        if (answer.isEmpty()) {
+            // try the getter shorthand
+            String suffix = name.substring(0, 1).toUpperCase(Locale.ENGLISH) + name.substring(1);
+            for (Method method : methods(type, "get" + suffix)) {
+                if (method.getParameterCount() == 0 && method.getReturnType() != Void.TYPE) {
+                    answer.add(method);
+                }
+            }
+            for (Method method : methods(type, "is" + suffix)) {
+                if (method.getParameterCount() == 0 && method.getReturnType().getSimpleName().equalsIgnoreCase("boolean")) {
+                    answer.add(method);
+                }
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Finds the methods with the given name in the same way as the bean component introspects the type.
+     */
+    private static List<Method> methods(Class<?> type, String name) {
+        Map<String, Method> answer = new LinkedHashMap<>();
+        Deque<Class<?>> types = new ArrayDeque<>();
+        Set<Class<?>> visited = new HashSet<>();
+        types.add(type);
+        while (!types.isEmpty()) {
+            Class<?> clazz = types.poll();
+            if (!visited.add(clazz)) {
+                continue;
+            }
+            for (Method method : clazz.getDeclaredMethods()) {
+                if (method.getName().equals(name) && !method.isBridge() && !Modifier.isPrivate(method.getModifiers())
+                        && !EXCLUDED_METHODS.contains(name) && !Exchange.class.isAssignableFrom(method.getReturnType())) {
+                    // the first found is the most specific override
+                    answer.putIfAbsent(Arrays.toString(method.getParameterTypes()), method);
+                }
+            }
+            Class<?> superClass = clazz.getSuperclass();
+            if (superClass != null && superClass != Object.class) {
+                types.add(superClass);
+            }
+            types.addAll(Arrays.asList(clazz.getInterfaces()));
+        }
+        return new ArrayList<>(answer.values());
+    }
+
+    private static Method noArgsMethod(List<Method> candidates, boolean explicitNoArgs) {
+        Method answer = null;
+        if (explicitNoArgs) {
+            for (Method method : candidates) {
+                if (method.getParameterCount() == 0) {
+                    if (answer != null) {
+                        return null;
+                    }
+                    answer = method;
+                }
+            }
+        } else if (candidates.size() == 1 && candidates.get(0).getParameterCount() == 0) {
+            answer = candidates.get(0);
+        }
+        return answer;
+    }
+
+    private static MethodHandle resolve(Class<?> type, String name, boolean explicitNoArgs) {
+        Method method = noArgsMethod(candidates(type, name), explicitNoArgs);
+        if (method == null || Modifier.isStatic(method.getModifiers()) || !Modifier.isPublic(method.getModifiers())
+                || Future.class.isAssignableFrom(method.getReturnType())
+                || CompletionStage.class.isAssignableFrom(method.getReturnType())) {
+            return NOT_FOUND;
+        }
+        // the declaring class may not be public so lookup the method from a public type
+        Deque<Class<?>> types = new ArrayDeque<>();
+        types.add(type);
+        while (!types.isEmpty()) {
+            Class<?> clazz = types.poll();
+            if (Modifier.isPublic(clazz.getModifiers())) {
+                try {
+                    Method found = clazz.getMethod(method.getName());
+                    MethodHandle handle = MethodHandles.publicLookup()
+                            .findVirtual(clazz, found.getName(), MethodType.methodType(found.getReturnType()));
+                    return handle.asType(INVOKER_TYPE);
+                } catch (NoSuchMethodException | IllegalAccessException e) {
+                    // try the super types
+                }
+            }
+            if (clazz.getSuperclass() != null) {
+                types.add(clazz.getSuperclass());
+            }
+            types.addAll(Arrays.asList(clazz.getInterfaces()));
+        }
+        return NOT_FOUND;
+    }
+
+    private static final class Step {
+        private final String text;
+        private final String method;
+        private final String name;
+        private final String lookupText;
+        private final boolean nullSafe;
+        private final String key;
+        private final int index;
+        private final int lastOffset;
+        private final ClassValue<MethodHandle> handles;
+
+        private Step(String text, String method, String name, boolean explicitNoArgs, boolean nullSafe,
+                     String lookupText, String key, int index, int lastOffset) {
+            this.text = text;
+            this.method = method;
+            this.name = name;
+            this.lookupText = lookupText;
+            this.nullSafe = nullSafe;
+            this.key = key;
+            this.index = index;
+            this.lastOffset = lastOffset;
+            this.handles = name == null ? null : new ClassValue<MethodHandle>() {
+                @Override
+                protected MethodHandle computeValue(Class<?> type) {
+                    return resolve(type, name, explicitNoArgs);
+                }
+            };
+        }
+
+        static Step parse(String method) {
+            boolean nullSafe = OgnlHelper.isNullSafeOperator(method);
+            String name = OgnlHelper.removeLeadingOperators(method);
+            String key = null;
+            String lookupText = null;
+            KeyValueHolder<String, String> index = OgnlHelper.isOgnlIndex(name);
+            if (index != null) {
+                name = index.getKey();
+                key = index.getValue();
+                lookupText = (nullSafe ? "?." : "") + "[" + key + "]";
+            }
+            String methodName = name;
+            boolean explicitNoArgs = false;
+            if (name != null) {
+                if (name.endsWith("()")) {
+                    explicitNoArgs = true;
+                    name = name.substring(0, name.length() - 2);
+                }
+                if (name.isEmpty() || !Character.isJavaIdentifierStart(name.charAt(0))) {
+                    return null;
+                }
+                for (int i = 1; i < name.length(); i++) {
+                    if (!Character.isJavaIdentifierPart(name.charAt(i))) {
+                        // method with arguments or an invalid name
+                        return null;
+                    }
+                }
+            }
+
+            int number = -1;
+            int lastOffset = -1;
+            if (key != null) {
+                key = StringHelper.removeLeadingAndEndingQuotes(key.trim());
+                if (key.isEmpty()) {
+                    return null;
+                }
+                if (key.startsWith("last")) {
+                    String after = StringHelper.after(key, "-");
+                    lastOffset = after != null ? parseInt(after.trim()) : 0;
+                } else {
+                    number = parseInt(key);
+                }
+            }
+            return new Step(method, methodName, name, explicitNoArgs, nullSafe, lookupText, key, number, lastOffset);
+        }
+
+        private static int parseInt(String text) {
+            try {
+                return Integer.parseInt(text);
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        Object lookup(Object value) {
+            if (value instanceof Map) {
+                return ((Map<?, ?>) value).get(key);
+            }
+            if (value instanceof List) {
+                List<?> list = (List<?>) value;
+                int num = lastOffset >= 0 ? list.size() - 1 - lastOffset : index;
+                if (num >= 0 && num < list.size()) {
+                    return list.get(num);
+                }
+            }
+            return UNRESOLVED;
+        }
+    }
+
+}
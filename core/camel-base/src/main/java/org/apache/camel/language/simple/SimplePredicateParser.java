@@ -58,7 +58,11 @@ public class SimplePredicateParser extends BaseSimpleParser {
     private Map<String, Expression> cacheExpression;
 
     public SimplePredicateParser(String expression, boolean allowEscape, Map<String, Expression> cacheExpression) {
-        super(expression, allowEscape);
+        this(expression, allowEscape, false, cacheExpression);
+    }
+
+    public SimplePredicateParser(String expression, boolean allowEscape, boolean strictOgnl, Map<String, Expression> cacheExpression) {
+        super(expression, allowEscape, strictOgnl);
         this.cacheExpression = cacheExpression;
     }
 
@@ -223,7 +227,7 @@ public class SimplePredicateParser extends BaseSimpleParser {
                                   AtomicBoolean startFunction) {
         if (token.getType().isFunctionStart()) {
             startFunction.set(true);
-            return new SimpleFunctionStart(token, cacheExpression);
+            return new SimpleFunctionStart(token, cacheExpression, strictOgnl);
         } else if (token.getType().isFunctionEnd()) {
             startFunction.set(false);
             return new SimpleFunctionEnd(token);
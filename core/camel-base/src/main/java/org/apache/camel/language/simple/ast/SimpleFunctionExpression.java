@@ -18,10 +18,14 @@ package org.apache.camel.language.simple.ast;
 
 import java.util.Map;
 
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
 import org.apache.camel.Expression;
 import org.apache.camel.language.simple.SimpleExpressionBuilder;
+import org.apache.camel.language.simple.SimpleOgnlPath;
 import org.apache.camel.language.simple.types.SimpleParserException;
 import org.apache.camel.language.simple.types.SimpleToken;
+import org.apache.camel.support.LanguageSupport;
 import org.apache.camel.support.builder.ExpressionBuilder;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.OgnlHelper;
@@ -35,10 +39,17 @@ public class SimpleFunctionExpression extends LiteralExpression {
 
     // use caches to avoid re-parsing the same expressions over and over again
     private Map<String, Expression> cacheExpression;
+    // whether to validate OGNL paths on the types known when creating the expression
+    private final boolean strictOgnl;
 
     public SimpleFunctionExpression(SimpleToken token, Map<String, Expression> cacheExpression) {
+        this(token, cacheExpression, false);
+    }
+
+    public SimpleFunctionExpression(SimpleToken token, Map<String, Expression> cacheExpression, boolean strictOgnl) {
         super(token);
         this.cacheExpression = cacheExpression;
+        this.strictOgnl = strictOgnl;
     }
 
     /**
@@ -103,6 +114,7 @@ public class SimpleFunctionExpression extends LiteralExpression {
             if (invalid) {
                 throw new SimpleParserException("Valid syntax: ${camelContext.OGNL} was: " + function, token.getIndex());
             }
+            validateOgnl(function, CamelContext.class, remainder);
             return SimpleExpressionBuilder.camelContextOgnlExpression(remainder);
         }
 
@@ -113,6 +125,7 @@ public class SimpleFunctionExpression extends LiteralExpression {
             if (invalid) {
                 throw new SimpleParserException("Valid syntax: ${exception.OGNL} was: " + function, token.getIndex());
             }
+            validateOgnl(function, Exception.class, remainder);
             return SimpleExpressionBuilder.exchangeExceptionOgnlExpression(remainder);
         }
 
@@ -169,6 +182,7 @@ public class SimpleFunctionExpression extends LiteralExpression {
             if (invalid) {
                 throw new SimpleParserException("Valid syntax: ${exchange.OGNL} was: " + function, token.getIndex());
             }
+            validateOgnl(function, Exchange.class, remainder);
             return SimpleExpressionBuilder.exchangeOgnlExpression(remainder);
         }
 
@@ -265,6 +279,7 @@ public class SimpleFunctionExpression extends LiteralExpression {
                 if (invalid) {
                     throw new SimpleParserException("Valid syntax: ${bodyAs(type).OGNL} was: " + function, token.getIndex());
                 }
+                validateOgnl(function, type, remainder);
                 return SimpleExpressionBuilder.bodyOgnlExpression(type, remainder);
             } else {
                 return ExpressionBuilder.bodyExpression(type);
@@ -285,6 +300,7 @@ public class SimpleFunctionExpression extends LiteralExpression {
                 if (invalid) {
                     throw new SimpleParserException("Valid syntax: ${mandatoryBodyAs(type).OGNL} was: " + function, token.getIndex());
                 }
+                validateOgnl(function, type, remainder);
                 return SimpleExpressionBuilder.mandatoryBodyOgnlExpression(type, remainder);
             } else {
                 return SimpleExpressionBuilder.mandatoryBodyExpression(type);
@@ -501,6 +517,30 @@ public class SimpleFunctionExpression extends LiteralExpression {
         return null;
     }
 
+    /**
+     * Validates the OGNL path can be resolved on the type when strict OGNL is enabled,
+     * so invalid paths fail when creating the expression instead of when evaluating it.
+     */
+    private void validateOgnl(String function, Class<?> type, String ognl) {
+        if (strictOgnl && OgnlHelper.isValidOgnlExpression(ognl)) {
+            try {
+                SimpleOgnlPath.validate(ognl, type);
+            } catch (IllegalArgumentException e) {
+                throw new SimpleParserException(e.getMessage() + " in function: " + function, token.getIndex());
+            }
+        }
+    }
+
+    private void validateOgnl(String function, String typeName, String ognl) {
+        if (strictOgnl && !LanguageSupport.hasSimpleFunction(typeName)) {
+            Class<?> type = ObjectHelper.loadClass(typeName);
+            if (type == null) {
+                throw new SimpleParserException("Cannot find type: " + typeName + " in function: " + function, token.getIndex());
+            }
+            validateOgnl(function, type, ognl);
+        }
+    }
+
     private String ifStartsWithReturnRemainder(String prefix, String text) {
         if (text.startsWith(prefix)) {
             String remainder = text.substring(prefix.length());
@@ -151,6 +151,7 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
     private final boolean shutdownExecutorService;
     private ExecutorService aggregateExecutorService;
     private final long timeout;
+    private int maxInflight;
     private final ConcurrentMap<PreparedErrorHandler, Processor> errorHandlers = new ConcurrentHashMap<>();
     private final boolean shareUnitOfWork;
 
@@ -265,6 +266,7 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
         final AtomicInteger nbAggregated = new AtomicInteger();
         final AtomicBoolean allSent = new AtomicBoolean();
         final AtomicBoolean done = new AtomicBoolean();
+        final AtomicBoolean waitingForInflight = new AtomicBoolean();
 
         MulticastState(Exchange original, Iterable<ProcessorExchangePair> pairs, AsyncCallback callback) {
             this.original = original;
@@ -315,7 +317,7 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
                 // Schedule the processing of the next pair
                 if (hasNext) {
                     if (isParallelProcessing()) {
-                        schedule(this);
+                        scheduleNext();
                     }
                 } else {
                     allSent.set(true);
@@ -382,7 +384,32 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
                 } finally {
                     lock.unlock();
                 }
+                // continue with the next pair if it was waiting for exchanges to be aggregated
+                if (waitingForInflight.get() && hasInflightCapacity() && waitingForInflight.compareAndSet(true, false)) {
+                    schedule(this);
+                }
+            }
+        }
+
+        /**
+         * Schedules the processing of the next pair when using parallel processing. If the maximum number
+         * of exchanges are in flight, then the next pair is scheduled when an exchange has been aggregated,
+         * so the iterator is not read ahead of what can be processed.
+         */
+        protected void scheduleNext() {
+            if (hasInflightCapacity()) {
+                schedule(this);
+                return;
             }
+            waitingForInflight.set(true);
+            // an exchange may have been aggregated in the meantime
+            if (hasInflightCapacity() && waitingForInflight.compareAndSet(true, false)) {
+                schedule(this);
+            }
+        }
+
+        protected boolean hasInflightCapacity() {
+            return maxInflight <= 0 || nbExchangeSent.get() - nbAggregated.get() < maxInflight;
         }
 
         protected void timeout() {
@@ -929,6 +956,18 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
         return aggregationStrategy;
     }
 
+    /**
+     * The maximum number of exchanges which are sent and not yet aggregated when using parallel processing.
+     * A value of 0 or negative means there is no limit.
+     */
+    public int getMaxInflight() {
+        return maxInflight;
+    }
+
+    public void setMaxInflight(int maxInflight) {
+        this.maxInflight = maxInflight;
+    }
+
     public boolean isParallelProcessing() {
         return parallelProcessing;
     }
@@ -60,6 +60,7 @@ public class RecipientList extends AsyncProcessorSupport implements IdAware {
     private boolean ignoreInvalidEndpoints;
     private boolean streaming;
     private long timeout;
+    private int maxInflight;
     private int cacheSize;
     private Processor onPrepare;
     private boolean shareUnitOfWork;
@@ -151,6 +152,7 @@ public class RecipientList extends AsyncProcessorSupport implements IdAware {
             }
         };
         rlp.setIgnoreInvalidEndpoints(isIgnoreInvalidEndpoints());
+        rlp.setMaxInflight(getMaxInflight());
 
         // start the service
         try {
@@ -288,6 +290,14 @@ public class RecipientList extends AsyncProcessorSupport implements IdAware {
         this.timeout = timeout;
     }
 
+    public int getMaxInflight() {
+        return maxInflight;
+    }
+
+    public void setMaxInflight(int maxInflight) {
+        this.maxInflight = maxInflight;
+    }
+
     public Processor getOnPrepare() {
         return onPrepare;
     }
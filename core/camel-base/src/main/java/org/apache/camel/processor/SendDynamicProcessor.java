@@ -16,6 +16,9 @@
  */
 package org.apache.camel.processor;
 
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.CamelContext;
 import org.apache.camel.CamelContextAware;
@@ -26,6 +29,7 @@ import org.apache.camel.Expression;
 import org.apache.camel.NoTypeConversionAvailableException;
 import org.apache.camel.Processor;
 import org.apache.camel.ResolveEndpointFailedException;
+import org.apache.camel.StatefulService;
 import org.apache.camel.impl.engine.DefaultProducerCache;
 import org.apache.camel.spi.EndpointUtilizationStatistics;
 import org.apache.camel.spi.IdAware;
@@ -34,6 +38,7 @@ import org.apache.camel.spi.SendDynamicAware;
 import org.apache.camel.support.AsyncProcessorSupport;
 import org.apache.camel.support.EndpointHelper;
 import org.apache.camel.support.ExchangeHelper;
+import org.apache.camel.support.LRUCacheFactory;
 import org.apache.camel.support.service.ServiceHelper;
 import org.apache.camel.util.URISupport;
 
@@ -54,6 +59,10 @@ public class SendDynamicProcessor extends AsyncProcessorSupport implements IdAwa
     protected boolean ignoreInvalidEndpoint;
     protected int cacheSize;
     protected boolean allowOptimisedComponents = true;
+    // cache from the computed uri to the resolved endpoint, to avoid normalizing the uri per exchange
+    private Map<String, ResolvedEndpoint> endpointCache;
+    private final LongAdder endpointCacheHits = new LongAdder();
+    private final LongAdder endpointCacheMisses = new LongAdder();
 
     public SendDynamicProcessor(String uri, Expression expression) {
         this.uri = uri;
@@ -117,12 +126,13 @@ public class SendDynamicProcessor extends AsyncProcessorSupport implements IdAwa
                     }
                 }
             }
+            ResolvedEndpoint resolved;
             if (staticUri != null) {
-                endpoint = resolveEndpoint(exchange, staticUri);
+                resolved = resolveCachedEndpoint(exchange, staticUri);
             } else {
-                endpoint = resolveEndpoint(exchange, recipient);
+                resolved = resolveCachedEndpoint(exchange, recipient);
             }
-            if (endpoint == null) {
+            if (resolved == null) {
                 if (log.isDebugEnabled()) {
                     log.debug("Send dynamic evaluated as null so cannot send to any endpoint");
                 }
@@ -130,7 +140,8 @@ public class SendDynamicProcessor extends AsyncProcessorSupport implements IdAwa
                 callback.done(true);
                 return true;
             }
-            destinationExchangePattern = EndpointHelper.resolveExchangePatternFromUrl(endpoint.getEndpointUri());
+            endpoint = resolved.endpoint;
+            destinationExchangePattern = resolved.pattern;
         } catch (Throwable e) {
             if (isIgnoreInvalidEndpoint()) {
                 if (log.isDebugEnabled()) {
@@ -229,6 +240,39 @@ public class SendDynamicProcessor extends AsyncProcessorSupport implements IdAwa
         }
     }
 
+    /**
+     * Resolves the endpoint using the endpoint cache when the recipient is a String uri.
+     * Non singleton endpoints are never cached.
+     *
+     * @return the resolved endpoint with its exchange pattern, or <tt>null</tt> if the recipient is <tt>null</tt>
+     */
+    protected ResolvedEndpoint resolveCachedEndpoint(Exchange exchange, Object recipient) throws Exception {
+        Map<String, ResolvedEndpoint> cache = endpointCache;
+        if (cache == null || !(recipient instanceof String)) {
+            Endpoint endpoint = resolveEndpoint(exchange, recipient);
+            return endpoint != null ? new ResolvedEndpoint(endpoint) : null;
+        }
+
+        String key = (String) recipient;
+        ResolvedEndpoint answer = cache.get(key);
+        if (answer != null && answer.isValid()) {
+            endpointCacheHits.increment();
+            return answer;
+        }
+
+        endpointCacheMisses.increment();
+        Endpoint endpoint = resolveEndpoint(exchange, recipient);
+        if (endpoint == null) {
+            return null;
+        }
+        answer = new ResolvedEndpoint(endpoint);
+        // non singleton endpoints must be created for each send, so they cannot be cached
+        if (endpoint.isSingleton()) {
+            cache.put(key, answer);
+        }
+        return answer;
+    }
+
     protected Exchange configureExchange(Exchange exchange, ExchangePattern pattern, Endpoint endpoint) {
         if (pattern != null) {
             exchange.setPattern(pattern);
@@ -270,18 +314,53 @@ public class SendDynamicProcessor extends AsyncProcessorSupport implements IdAwa
             }
         }
 
+        if (endpointCache == null && cacheSize >= 0 && producerCache.getCapacity() > 0) {
+            // do not stop the endpoints on eviction as they are owned by the camel context
+            endpointCache = LRUCacheFactory.newLRUCache(16, producerCache.getCapacity(), false);
+        }
+
         ServiceHelper.startService(producerCache);
     }
 
     @Override
     protected void doStop() throws Exception {
         ServiceHelper.stopService(producerCache);
+        if (endpointCache != null) {
+            endpointCache.clear();
+        }
     }
 
     public EndpointUtilizationStatistics getEndpointUtilizationStatistics() {
         return producerCache.getEndpointUtilizationStatistics();
     }
 
+    /**
+     * Number of times the endpoint was found in the endpoint cache
+     */
+    public long getEndpointCacheHits() {
+        return endpointCacheHits.sum();
+    }
+
+    /**
+     * Number of times the endpoint had to be resolved from the camel context
+     */
+    public long getEndpointCacheMisses() {
+        return endpointCacheMisses.sum();
+    }
+
+    /**
+     * Current number of entries in the endpoint cache
+     */
+    public int getEndpointCacheSize() {
+        Map<String, ResolvedEndpoint> cache = endpointCache;
+        return cache != null ? cache.size() : 0;
+    }
+
+    public void resetEndpointCacheStatistics() {
+        endpointCacheHits.reset();
+        endpointCacheMisses.reset();
+    }
+
     @Override
     public CamelContext getCamelContext() {
         return camelContext;
@@ -335,4 +414,34 @@ public class SendDynamicProcessor extends AsyncProcessorSupport implements IdAwa
     public void setAllowOptimisedComponents(boolean allowOptimisedComponents) {
         this.allowOptimisedComponents = allowOptimisedComponents;
     }
+
+    /**
+     * A resolved endpoint together with the exchange pattern from its uri.
+     */
+    protected static final class ResolvedEndpoint {
+        private final Endpoint endpoint;
+        private final ExchangePattern pattern;
+
+        ResolvedEndpoint(Endpoint endpoint) throws Exception {
+            this.endpoint = endpoint;
+            this.pattern = EndpointHelper.resolveExchangePatternFromUrl(endpoint.getEndpointUri());
+        }
+
+        public Endpoint getEndpoint() {
+            return endpoint;
+        }
+
+        public ExchangePattern getPattern() {
+            return pattern;
+        }
+
+        boolean isValid() {
+            // the endpoint may have been removed from the camel context which stops it
+            if (endpoint instanceof StatefulService) {
+                StatefulService service = (StatefulService) endpoint;
+                return !service.isStopping() && !service.isStopped();
+            }
+            return true;
+        }
+    }
 }
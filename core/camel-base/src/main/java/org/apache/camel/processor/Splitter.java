@@ -272,7 +272,7 @@ public class Splitter extends MulticastProcessor implements AsyncProcessor, Trac
     private static Exchange copyAndPrepareSubExchange(Exchange exchange, boolean preserveExchangeId) {
         Exchange answer = ExchangeHelper.createCopy(exchange, preserveExchangeId);
         // we do not want to copy the message history for splitted sub-messages
-        answer.getProperties().remove(Exchange.MESSAGE_HISTORY);
+        answer.removeProperty(Exchange.MESSAGE_HISTORY);
         return answer;
     }
 }
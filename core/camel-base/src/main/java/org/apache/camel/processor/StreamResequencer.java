@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.camel.AsyncCallback;
@@ -31,6 +32,7 @@ import org.apache.camel.Expression;
 import org.apache.camel.Navigate;
 import org.apache.camel.Processor;
 import org.apache.camel.Traceable;
+import org.apache.camel.processor.resequencer.ConcurrentResequencerEngine;
 import org.apache.camel.processor.resequencer.ResequencerEngine;
 import org.apache.camel.processor.resequencer.SequenceElementComparator;
 import org.apache.camel.processor.resequencer.SequenceSender;
@@ -68,6 +70,7 @@ public class StreamResequencer extends AsyncProcessorSupport implements Sequence
     private final CamelContext camelContext;
     private final ExceptionHandler exceptionHandler;
     private final ResequencerEngine<Exchange> engine;
+    private final boolean concurrentInsert;
     private final Processor processor;
     private final Expression expression;
     private Delivery delivery;
@@ -82,9 +85,23 @@ public class StreamResequencer extends AsyncProcessorSupport implements Sequence
      * @param comparator a sequence element comparator for exchanges.
      */
     public StreamResequencer(CamelContext camelContext, Processor processor, SequenceElementComparator<Exchange> comparator, Expression expression) {
+        this(camelContext, processor, comparator, expression, false);
+    }
+
+    /**
+     * Creates a new {@link StreamResequencer} instance.
+     *
+     * @param processor next processor that processes re-ordered exchanges.
+     * @param comparator a sequence element comparator for exchanges.
+     * @param concurrentInsert whether to use the {@link ConcurrentResequencerEngine} which allows exchanges
+     *                 to be inserted concurrently.
+     */
+    public StreamResequencer(CamelContext camelContext, Processor processor, SequenceElementComparator<Exchange> comparator, Expression expression,
+                             boolean concurrentInsert) {
         ObjectHelper.notNull(camelContext, "CamelContext");
         this.camelContext = camelContext;
-        this.engine = new ResequencerEngine<>(comparator);
+        this.concurrentInsert = concurrentInsert;
+        this.engine = concurrentInsert ? new ConcurrentResequencerEngine<>(comparator) : new ResequencerEngine<>(comparator);
         this.engine.setSequenceSender(this);
         this.processor = processor;
         this.expression = expression;
@@ -150,6 +167,13 @@ public class StreamResequencer extends AsyncProcessorSupport implements Sequence
         return ignoreInvalidExchanges;
     }
 
+    /**
+     * Whether the {@link ConcurrentResequencerEngine} which allows exchanges to be inserted concurrently is in use.
+     */
+    public boolean isConcurrentInsert() {
+        return concurrentInsert;
+    }
+
     public void setRejectOld(Boolean rejectOld) {
         engine.setRejectOld(rejectOld);
     }
@@ -269,15 +293,23 @@ public class StreamResequencer extends AsyncProcessorSupport implements Sequence
         @Override
         public void run() {
             while (isRunAllowed()) {
-                try {
-                    deliveryRequestLock.lock();
+                if (concurrentInsert) {
+                    // the engine does not need a handshake, so just wait to be unparked
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(deliveryAttemptInterval));
+                    if (isInterrupted()) {
+                        break;
+                    }
+                } else {
                     try {
-                        deliveryRequestCondition.await(deliveryAttemptInterval, TimeUnit.MILLISECONDS);
-                    } finally {
-                        deliveryRequestLock.unlock();
+                        deliveryRequestLock.lock();
+                        try {
+                            deliveryRequestCondition.await(deliveryAttemptInterval, TimeUnit.MILLISECONDS);
+                        } finally {
+                            deliveryRequestLock.unlock();
+                        }
+                    } catch (InterruptedException e) {
+                        break;
                     }
-                } catch (InterruptedException e) {
-                    break;
                 }
                 try {
                     engine.deliver();
@@ -293,6 +325,10 @@ public class StreamResequencer extends AsyncProcessorSupport implements Sequence
         }
         
         public void request() {
+            if (concurrentInsert) {
+                LockSupport.unpark(this);
+                return;
+            }
             deliveryRequestLock.lock();
             try {
                 deliveryRequestCondition.signal();
@@ -16,6 +16,9 @@
  */
 package org.apache.camel.processor;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.DelayQueue;
@@ -24,6 +27,7 @@ import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.camel.AsyncCallback;
@@ -55,6 +59,12 @@ import org.apache.camel.util.ObjectHelper;
  * block if necessary. The end result is a rolling window of time. Where from the
  * callers point of view in the last timePeriodMillis no more than
  * maxRequestsPerPeriod have been allowed to be acquired.
+ *
+ * Alternatively the throttler can use token buckets, which allows bursts of up to
+ * maxRequestsPerPeriod requests and then one request per timePeriodMillis / maxRequestsPerPeriod.
+ * Each correlation key has a bucket which is just a few numbers updated using compare and set,
+ * where the time to wait for a token is computed instead of queuing permits. Buckets which
+ * are idle and full are evicted periodically.
  */
 public class Throttler extends AsyncProcessorSupport implements Traceable, IdAware {
 
@@ -63,6 +73,11 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
     private static final String PROPERTY_EXCHANGE_QUEUED_TIMESTAMP = "CamelThrottlerExchangeQueuedTimestamp";
     private static final String PROPERTY_EXCHANGE_STATE = "CamelThrottlerExchangeState";
 
+    private static final AtomicLongFieldUpdater<TokenBucket> THEORETICAL_ARRIVAL = AtomicLongFieldUpdater.newUpdater(TokenBucket.class, "theoreticalArrival");
+    private static final AtomicLongFieldUpdater<TokenBucket> ACQUIRED = AtomicLongFieldUpdater.newUpdater(TokenBucket.class, "acquired");
+    private static final AtomicLongFieldUpdater<TokenBucket> THROTTLED = AtomicLongFieldUpdater.newUpdater(TokenBucket.class, "throttled");
+    private static final AtomicLongFieldUpdater<TokenBucket> REJECTED = AtomicLongFieldUpdater.newUpdater(TokenBucket.class, "rejected");
+
     private enum State { SYNC, ASYNC, ASYNC_REJECTED }
 
     private final CamelContext camelContext;
@@ -78,6 +93,9 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
     private boolean callerRunsWhenRejected = true;
     private Expression correlationExpression;
     private Map<String, ThrottlingState> states = new ConcurrentHashMap<>();
+    private boolean tokenBucket;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private volatile ScheduledFuture<?> evictionFuture;
 
     public Throttler(final CamelContext camelContext, final Expression maxRequestsPerPeriodExpression, final long timePeriodMillis,
                      final ScheduledExecutorService asyncExecutor, final boolean shutdownAsyncExecutor, final boolean rejectExecution, Expression correlation) {
@@ -117,6 +135,9 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
             if (correlationExpression != null) {
                 key = correlationExpression.evaluate(exchange, String.class);
             }
+            if (tokenBucket) {
+                return processTokenBucket(exchange, callback, key, doneSync);
+            }
             ThrottlingState throttlingState = states.computeIfAbsent(key, ThrottlingState::new);
             throttlingState.calculateAndSetMaxRequestsPerPeriod(exchange);
 
@@ -213,15 +234,73 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
         }
     }
 
+    /**
+     * Acquires a token from the bucket of the key, and waits (or delays asynchronously) for the computed time
+     * if the bucket is empty.
+     */
+    protected boolean processTokenBucket(final Exchange exchange, final AsyncCallback callback, String key, boolean doneSync) throws Exception {
+        TokenBucket bucket = buckets.computeIfAbsent(key, TokenBucket::new);
+        bucket.calculateAndSetMaxRequestsPerPeriod(exchange);
+
+        long wait = bucket.acquire(isRejectExecution());
+        if (wait > 0) {
+            if (isRejectExecution()) {
+                throw new ThrottlerRejectedExecutionException("Exceeded the max throttle rate of "
+                        + bucket.getThrottleRate() + " within " + timePeriodMillis + "ms");
+            }
+            // the token is reserved so we only need to wait until it is available
+            if (isAsyncDelayed() && !exchange.isTransacted()) {
+                log.debug("Throttle rate exceeded but AsyncDelayed enabled, so delaying for {}ns, exchangeId: {}", wait, exchange.getExchangeId());
+                try {
+                    asyncExecutor.schedule(() -> callback.done(false), wait, TimeUnit.NANOSECONDS);
+                    return false;
+                } catch (final RejectedExecutionException e) {
+                    if (!isCallerRunsWhenRejected()) {
+                        throw e;
+                    }
+                    log.debug("AsyncExecutor is full, rejected exchange will run in the current thread, exchangeId: {}", exchange.getExchangeId());
+                }
+            }
+            TimeUnit.NANOSECONDS.sleep(wait);
+            log.trace("Throttled for {}ns, exchangeId: {}", wait, exchange.getExchangeId());
+        } else {
+            log.trace("No throttling applied to exchangeId: {}", exchange.getExchangeId());
+        }
+
+        callback.done(doneSync);
+        return doneSync;
+    }
+
+    /**
+     * Removes the token buckets which have not been used within the clean period and are full,
+     * as they are equal to a new bucket.
+     */
+    protected void evictIdleBuckets() {
+        long now = System.nanoTime();
+        long idle = TimeUnit.MILLISECONDS.toNanos(cleanPeriodMillis);
+        for (TokenBucket bucket : buckets.values()) {
+            if (now - bucket.lastUsed > idle && bucket.theoreticalArrival - now <= 0) {
+                buckets.remove(bucket.key, bucket);
+            }
+        }
+    }
+
     @Override
     protected void doStart() throws Exception {
         if (isAsyncDelayed()) {
             ObjectHelper.notNull(asyncExecutor, "executorService", this);
         }
+        if (tokenBucket && asyncExecutor != null) {
+            evictionFuture = asyncExecutor.scheduleWithFixedDelay(this::evictIdleBuckets, cleanPeriodMillis, cleanPeriodMillis, TimeUnit.MILLISECONDS);
+        }
     }
 
     @Override
     protected void doStop() throws Exception {
+        if (evictionFuture != null) {
+            evictionFuture.cancel(false);
+            evictionFuture = null;
+        }
     }
 
     @Override
@@ -230,9 +309,164 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
             camelContext.getExecutorServiceManager().shutdownNow(asyncExecutor);
         }
         states.clear();
+        buckets.clear();
         super.doShutdown();
     }
 
+    /**
+     * Statistics of a correlation key when using token buckets.
+     */
+    public interface KeyStatistics {
+
+        /**
+         * The correlation key
+         */
+        String getKey();
+
+        /**
+         * The current maximum requests per period
+         */
+        int getThrottleRate();
+
+        /**
+         * The number of tokens which are currently available
+         */
+        long getAvailableTokens();
+
+        /**
+         * The number of exchanges which was let through, including the throttled exchanges
+         */
+        long getAcquiredCount();
+
+        /**
+         * The number of exchanges which had to wait for a token
+         */
+        long getThrottledCount();
+
+        /**
+         * The number of exchanges which was rejected
+         */
+        long getRejectedCount();
+
+        /**
+         * The time in millis since the key was last used
+         */
+        long getIdleMillis();
+    }
+
+    /**
+     * A token bucket implemented as the generic cell rate algorithm, where the theoretical arrival time is the
+     * time when the bucket is full again, and each request moves it one emission interval into the future.
+     */
+    private final class TokenBucket implements KeyStatistics {
+        private final String key;
+        private volatile int throttleRate;
+        private volatile long theoreticalArrival;
+        private volatile long lastUsed;
+        private volatile long acquired;
+        private volatile long throttled;
+        private volatile long rejected;
+
+        TokenBucket(String key) {
+            this.key = key;
+            this.theoreticalArrival = System.nanoTime();
+            this.lastUsed = theoreticalArrival;
+        }
+
+        /**
+         * Acquires a token.
+         *
+         * @param reject whether to reject instead of reserving a token when the bucket is empty
+         * @return the nanos to wait until the reserved token is available, or <tt>0</tt> if a token was acquired
+         */
+        long acquire(boolean reject) {
+            long now = System.nanoTime();
+            lastUsed = now;
+            long period = TimeUnit.MILLISECONDS.toNanos(timePeriodMillis);
+            long interval = Math.max(1, period / throttleRate);
+            for (;;) {
+                long tat = theoreticalArrival;
+                long next = (tat - now > 0 ? tat : now) + interval;
+                long wait = next - period - now;
+                if (wait > 0 && reject) {
+                    REJECTED.incrementAndGet(this);
+                    return wait;
+                }
+                if (THEORETICAL_ARRIVAL.compareAndSet(this, tat, next)) {
+                    ACQUIRED.incrementAndGet(this);
+                    if (wait > 0) {
+                        THROTTLED.incrementAndGet(this);
+                        return wait;
+                    }
+                    return 0;
+                }
+            }
+        }
+
+        /**
+         * Evaluates the maxRequestsPerPeriodExpression and sets the throttle rate.
+         */
+        void calculateAndSetMaxRequestsPerPeriod(final Exchange exchange) throws Exception {
+            Integer newThrottle = maxRequestsPerPeriodExpression.evaluate(exchange, Integer.class);
+
+            if (newThrottle != null && newThrottle <= 0) {
+                throw new IllegalStateException("The maximumRequestsPerPeriod must be a positive number when using token bucket, was: " + newThrottle);
+            }
+
+            if (newThrottle == null && throttleRate == 0) {
+                throw new RuntimeExchangeException("The maxRequestsPerPeriodExpression was evaluated as null: " + maxRequestsPerPeriodExpression, exchange);
+            }
+
+            if (newThrottle != null && newThrottle != throttleRate) {
+                log.debug("Throttle rate changed from {} to {}, triggered by ExchangeId: {}", throttleRate, newThrottle, exchange.getExchangeId());
+                throttleRate = newThrottle;
+            }
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public int getThrottleRate() {
+            return throttleRate;
+        }
+
+        @Override
+        public long getAvailableTokens() {
+            int rate = throttleRate;
+            if (rate == 0) {
+                return 0;
+            }
+            long period = TimeUnit.MILLISECONDS.toNanos(timePeriodMillis);
+            long interval = Math.max(1, period / rate);
+            long emptyAt = theoreticalArrival - period;
+            long answer = (System.nanoTime() - emptyAt) / interval;
+            return Math.max(0, Math.min(rate, answer));
+        }
+
+        @Override
+        public long getAcquiredCount() {
+            return acquired;
+        }
+
+        @Override
+        public long getThrottledCount() {
+            return throttled;
+        }
+
+        @Override
+        public long getRejectedCount() {
+            return rejected;
+        }
+
+        @Override
+        public long getIdleMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastUsed);
+        }
+    }
+
     private class ThrottlingState {
         private final String key;
         private final DelayQueue<ThrottlePermit> delayQueue = new DelayQueue<>();
@@ -375,6 +609,27 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
         this.asyncDelayed = asyncDelayed;
     }
 
+    public boolean isTokenBucket() {
+        return tokenBucket;
+    }
+
+    /**
+     * Whether to use token buckets instead of a rolling window of permits.
+     */
+    public void setTokenBucket(boolean tokenBucket) {
+        this.tokenBucket = tokenBucket;
+    }
+
+    /**
+     * Gets the statistics of the correlation keys, when using token buckets.
+     */
+    public Collection<KeyStatistics> getKeyStatistics() {
+        if (!tokenBucket) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(buckets.values());
+    }
+
     public boolean isCallerRunsWhenRejected() {
         return callerRunsWhenRejected;
     }
@@ -410,6 +665,9 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
      * than the max per period within the group will return
      */
     public int getCurrentMaximumRequestsPerPeriod() {
+        if (tokenBucket) {
+            return buckets.values().stream().mapToInt(TokenBucket::getThrottleRate).max().orElse(0);
+        }
         return states.values().stream().mapToInt(ThrottlingState::getThrottleRate).max().orElse(0);
     }
 
@@ -64,6 +64,7 @@ import org.apache.camel.support.ExchangeHelper;
 import org.apache.camel.support.LRUCacheFactory;
 import org.apache.camel.support.LoggingExceptionHandler;
 import org.apache.camel.support.NoLock;
+import org.apache.camel.support.TimingWheelTimeoutMap;
 import org.apache.camel.support.service.ServiceHelper;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.StopWatch;
@@ -98,6 +99,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
     public static final String COMPLETED_BY_FORCE = "force";
 
     private volatile Lock lock;
+    private volatile Lock[] locks;
     private final AtomicBoolean aggregateRepositoryWarned = new AtomicBoolean();
     private final CamelContext camelContext;
     private final AsyncProcessor processor;
@@ -223,6 +225,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
     private Integer closeCorrelationKeyOnCompletion;
     private boolean parallelProcessing;
     private boolean optimisticLocking;
+    private int lockStripes;
 
     // different ways to have completion triggered
     private boolean eagerCheckCompletion;
@@ -240,6 +243,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
     private boolean forceCompletionOnStop;
     private boolean completeAllOnStop;
     private long completionTimeoutCheckerInterval = 1000;
+    private boolean completionTimeoutTimingWheel;
 
     private ProducerTemplate deadLetterProducerTemplate;
 
@@ -382,13 +386,20 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         copy.getIn().removeHeader(Exchange.AGGREGATION_COMPLETE_ALL_GROUPS_INCLUSIVE);
 
         List<Exchange> aggregated = null;
-        lock.lock();
+        AtomicBoolean forceCompletionOfAllGroups = new AtomicBoolean();
+        Lock groupLock = getLock(key);
+        groupLock.lock();
         try {
-            aggregated = doAggregation(key, copy);
+            // the key may have been closed by another thread while we were waiting for the lock
+            if (closedCorrelationKeys != null && closedCorrelationKeys.containsKey(key)) {
+                exchange.setException(new ClosedCorrelationKeyException(key, exchange));
+            } else {
+                aggregated = doAggregation(key, copy, forceCompletionOfAllGroups);
+            }
         } catch (CamelExchangeException e) {
             exchange.setException(e);
         } finally {
-            lock.unlock();
+            groupLock.unlock();
         }
 
         // we are completed so do that work outside the lock
@@ -397,6 +408,11 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
             aggregated.forEach(agg -> onSubmitCompletion(key, agg));
         }
 
+        // when using lock striping we cannot complete the other groups while holding the lock for this group
+        if (forceCompletionOfAllGroups.get()) {
+            forceCompletionOfAllGroups();
+        }
+
         // check for the special header to force completion of all groups (inclusive of the message)
         if (getAndRemoveBooleanHeader(exchange, Exchange.AGGREGATION_COMPLETE_ALL_GROUPS_INCLUSIVE)) {
             forceCompletionOfAllGroups();
@@ -428,10 +444,12 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
      *
      * @param key      the correlation key
      * @param newExchange the exchange
+     * @param forceCompletionOfAllGroups set to <tt>true</tt> if completion of all groups must be forced after the lock
+     *                                   for this correlation key has been released (only when using lock striping)
      * @return the aggregated exchange(s) which is complete, or <tt>null</tt> if not yet complete
      * @throws org.apache.camel.CamelExchangeException is thrown if error aggregating
      */
-    private List<Exchange> doAggregation(String key, Exchange newExchange) throws CamelExchangeException {
+    private List<Exchange> doAggregation(String key, Exchange newExchange, AtomicBoolean forceCompletionOfAllGroups) throws CamelExchangeException {
         log.trace("onAggregation +++ start +++ with correlation key: {}", key);
 
         List<Exchange> list = new ArrayList<>();
@@ -523,7 +541,11 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
 
         // check for the special exchange property to force completion of all groups
         if (getAndRemoveBooleanProperty(answer, Exchange.AGGREGATION_COMPLETE_ALL_GROUPS)) {
-            forceCompletionOfAllGroups();
+            if (locks != null) {
+                forceCompletionOfAllGroups.set(true);
+            } else {
+                forceCompletionOfAllGroups();
+            }
         } else if (isCompletionOnNewCorrelationGroup() && originalExchange == null) {
             // its a new group so force complete of all existing groups
             forceCompletionOfAllGroups();
@@ -721,8 +743,10 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
             aggregationRepository.remove(aggregated.getContext(), key, original);
         }
 
-        if (!fromTimeout && timeoutMap != null) {
+        if ((!fromTimeout || locks != null) && timeoutMap != null) {
             // cleanup timeout map if it was a incoming exchange which triggered the timeout (and not the timeout checker)
+            // when using lock striping the timeout checker does not hold the group lock while purging, so an incoming
+            // exchange may have tracked a new timeout for this key which we must remove as well
             log.trace("Removing correlation key {} from timeout", key);
             timeoutMap.remove(key);
         }
@@ -1000,6 +1024,18 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         this.completionTimeoutCheckerInterval = completionTimeoutCheckerInterval;
     }
 
+    public boolean isCompletionTimeoutTimingWheel() {
+        return completionTimeoutTimingWheel;
+    }
+
+    /**
+     * Whether to use a {@link TimingWheelTimeoutMap} to keep track of the completion timeouts, which only checks
+     * the aggregated exchanges which are due to timeout, instead of all of them on every check.
+     */
+    public void setCompletionTimeoutTimingWheel(boolean completionTimeoutTimingWheel) {
+        this.completionTimeoutTimingWheel = completionTimeoutTimingWheel;
+    }
+
     public ExceptionHandler getExceptionHandler() {
         return exceptionHandler;
     }
@@ -1024,6 +1060,26 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         this.optimisticLocking = optimisticLocking;
     }
 
+    public int getLockStripes() {
+        return lockStripes;
+    }
+
+    /**
+     * Sets the number of locks to use for lock striping, where each correlation key is guarded by one of the locks
+     * selected by the hash of the key. This allows exchanges with different correlation keys to be aggregated
+     * in parallel, while exchanges with the same correlation key are still aggregated in order.
+     * <p/>
+     * The number is rounded up to the nearest power of two. The default value of <tt>0</tt> (or <tt>1</tt>) uses
+     * a single shared lock. This option cannot be combined with optimistic locking.
+     */
+    public void setLockStripes(int lockStripes) {
+        this.lockStripes = lockStripes;
+    }
+
+    public boolean isLockStriping() {
+        return lockStripes > 1;
+    }
+
     public AggregationRepository getAggregationRepository() {
         return aggregationRepository;
     }
@@ -1120,6 +1176,30 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         this.aggregateController = aggregateController;
     }
 
+    /**
+     * Gets the lock which guards the given correlation key
+     */
+    private Lock getLock(String key) {
+        Lock[] stripes = locks;
+        if (stripes != null) {
+            // spread the hash as the stripes is a power of two
+            int hash = key.hashCode();
+            hash ^= hash >>> 16;
+            return stripes[hash & (stripes.length - 1)];
+        }
+        return lock;
+    }
+
+    /**
+     * Gets the lock to hold while iterating all the correlation groups.
+     * <p/>
+     * When using lock striping each group must be locked individually (using {@link #getLock(String)})
+     * and therefore no lock is held for the iteration as a whole.
+     */
+    private Lock getAllGroupsLock() {
+        return locks != null ? NoLock.INSTANCE : lock;
+    }
+
     /**
      * On completion task which keeps the booking of the in progress up to date
      */
@@ -1168,8 +1248,9 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
 
         private AggregationTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis) {
             // do NOT use locking on the timeout map as this aggregator has its own shared lock we will use instead
-            super(executor, requestMapPollTimeMillis, optimisticLocking);
-            addListener(this::onEviction);
+            // (when using lock striping there is no shared lock and the timeout map must use its own locking)
+            super(executor, requestMapPollTimeMillis, optimisticLocking || isLockStriping());
+            addListener(AggregateProcessor.this::onTimeoutEviction);
         }
 
         @Override
@@ -1177,50 +1258,95 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
             // wait for lock to be created
             if (lock != null) {
                 // must acquire the shared aggregation lock to be able to purge
-                lock.lock();
+                // (when using lock striping then each evicted group is locked individually in onTimeoutEviction)
+                Lock purgeLock = getAllGroupsLock();
+                purgeLock.lock();
                 try {
                     super.purge();
                 } finally {
-                    lock.unlock();
+                    purgeLock.unlock();
                 }
             }
         }
+    }
 
-        private void onEviction(Listener.Type type, String key, String exchangeId) {
-            if (type != Listener.Type.Evict) {
-                return;
-            }
-            log.debug("Completion timeout triggered for correlation key: {}", key);
+    /**
+     * Background task that looks for aggregated exchanges which is triggered by completion timeouts,
+     * using a timing wheel to only check the aggregated exchanges which are due to timeout.
+     */
+    private final class AggregationTimingWheelTimeoutMap extends TimingWheelTimeoutMap<String, String> {
 
-            boolean inProgress = inProgressCompleteExchanges.contains(exchangeId);
-            if (inProgress) {
-                log.trace("Aggregated exchange with id: {} is already in progress.", exchangeId);
-                return;
-            }
+        private AggregationTimingWheelTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis) {
+            // same locking as AggregationTimeoutMap
+            super(executor, requestMapPollTimeMillis, optimisticLocking || isLockStriping());
+            addListener(AggregateProcessor.this::onTimeoutEviction);
+        }
 
-            // get the aggregated exchange
-            boolean evictionStolen = false;
-            Exchange answer = aggregationRepository.get(camelContext, key);
-            if (answer == null) {
-                evictionStolen = true;
-            } else {
-                // indicate it was completed by timeout
-                answer.setProperty(Exchange.AGGREGATED_COMPLETED_BY, COMPLETED_BY_TIMEOUT);
+        @Override
+        protected void purge() {
+            // wait for lock to be created
+            if (lock != null) {
+                // must acquire the shared aggregation lock to be able to purge
+                // (when using lock striping then each evicted group is locked individually in onTimeoutEviction)
+                Lock purgeLock = getAllGroupsLock();
+                purgeLock.lock();
                 try {
-                    answer = onCompletion(key, answer, answer, true, false);
-                    if (answer != null) {
-                        onSubmitCompletion(key, answer);
-                    }
-                } catch (OptimisticLockingAggregationRepository.OptimisticLockingException e) {
-                    evictionStolen = true;
+                    super.purge();
+                } finally {
+                    purgeLock.unlock();
                 }
             }
+        }
+    }
 
-            if (optimisticLocking && evictionStolen) {
-                log.debug("Another Camel instance has already successfully correlated or processed this timeout eviction "
-                          + "for exchange with id: {} and correlation id: {}", exchangeId, key);
+    private void onTimeoutEviction(TimeoutMap.Listener.Type type, String key, String exchangeId) {
+        if (type != TimeoutMap.Listener.Type.Evict) {
+            return;
+        }
+        if (locks == null) {
+            doTimeoutEviction(key, exchangeId);
+            return;
+        }
+        Lock groupLock = getLock(key);
+        groupLock.lock();
+        try {
+            doTimeoutEviction(key, exchangeId);
+        } finally {
+            groupLock.unlock();
+        }
+    }
+
+    private void doTimeoutEviction(String key, String exchangeId) {
+        log.debug("Completion timeout triggered for correlation key: {}", key);
+
+        boolean inProgress = inProgressCompleteExchanges.contains(exchangeId);
+        if (inProgress) {
+            log.trace("Aggregated exchange with id: {} is already in progress.", exchangeId);
+            return;
+        }
+
+        // get the aggregated exchange
+        boolean evictionStolen = false;
+        Exchange answer = aggregationRepository.get(camelContext, key);
+        if (answer == null) {
+            evictionStolen = true;
+        } else {
+            // indicate it was completed by timeout
+            answer.setProperty(Exchange.AGGREGATED_COMPLETED_BY, COMPLETED_BY_TIMEOUT);
+            try {
+                answer = onCompletion(key, answer, answer, true, false);
+                if (answer != null) {
+                    onSubmitCompletion(key, answer);
+                }
+            } catch (OptimisticLockingAggregationRepository.OptimisticLockingException e) {
+                evictionStolen = true;
             }
         }
+
+        if (optimisticLocking && evictionStolen) {
+            log.debug("Another Camel instance has already successfully correlated or processed this timeout eviction "
+                      + "for exchange with id: {} and correlation id: {}", exchangeId, key);
+        }
     }
 
     /**
@@ -1243,37 +1369,48 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
 
             if (keys != null && !keys.isEmpty()) {
                 // must acquire the shared aggregation lock to be able to trigger interval completion
-                lock.lock();
+                Lock allGroupsLock = getAllGroupsLock();
+                allGroupsLock.lock();
                 try {
                     for (String key : keys) {
-                        boolean stolenInterval = false;
-                        Exchange exchange = aggregationRepository.get(camelContext, key);
-                        if (exchange == null) {
-                            stolenInterval = true;
-                        } else {
-                            log.trace("Completion interval triggered for correlation key: {}", key);
-                            // indicate it was completed by interval
-                            exchange.setProperty(Exchange.AGGREGATED_COMPLETED_BY, COMPLETED_BY_INTERVAL);
-                            try {
-                                Exchange answer = onCompletion(key, exchange, exchange, false, false);
-                                if (answer != null) {
-                                    onSubmitCompletion(key, answer);
-                                }
-                            } catch (OptimisticLockingAggregationRepository.OptimisticLockingException e) {
-                                stolenInterval = true;
-                            }
-                        }
-                        if (optimisticLocking && stolenInterval) {
-                            log.debug("Another Camel instance has already processed this interval aggregation for exchange with correlation id: {}", key);
+                        Lock groupLock = getLock(key);
+                        groupLock.lock();
+                        try {
+                            doIntervalCompletion(key);
+                        } finally {
+                            groupLock.unlock();
                         }
                     }
                 } finally {
-                    lock.unlock();
+                    allGroupsLock.unlock();
                 }
             }
 
             log.trace("Completion interval task complete");
         }
+
+        private void doIntervalCompletion(String key) {
+            boolean stolenInterval = false;
+            Exchange exchange = aggregationRepository.get(camelContext, key);
+            if (exchange == null) {
+                stolenInterval = true;
+            } else {
+                log.trace("Completion interval triggered for correlation key: {}", key);
+                // indicate it was completed by interval
+                exchange.setProperty(Exchange.AGGREGATED_COMPLETED_BY, COMPLETED_BY_INTERVAL);
+                try {
+                    Exchange answer = onCompletion(key, exchange, exchange, false, false);
+                    if (answer != null) {
+                        onSubmitCompletion(key, answer);
+                    }
+                } catch (OptimisticLockingAggregationRepository.OptimisticLockingException e) {
+                    stolenInterval = true;
+                }
+            }
+            if (optimisticLocking && stolenInterval) {
+                log.debug("Another Camel instance has already processed this interval aggregation for exchange with correlation id: {}", key);
+            }
+        }
     }
 
     /**
@@ -1307,7 +1444,10 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
                     log.info("We are shutting down so stop recovering");
                     return;
                 }
-                lock.lock();
+                // when using lock striping there is no shared lock, and the recovered exchanges are no longer part
+                // of an active correlation group, so only the in progress bookkeeping (which is thread-safe) is involved
+                Lock recoverLock = getAllGroupsLock();
+                recoverLock.lock();
                 try {
                     // consider in progress if it was in progress before we did the scan, or currently after we did the scan
                     // its safer to consider it in progress than risk duplicates due both in progress + recovered
@@ -1371,7 +1511,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
                         }
                     }
                 } finally {
-                    lock.unlock();
+                    recoverLock.unlock();
                 }
             }
 
@@ -1385,6 +1525,9 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         if (aggregationStrategy instanceof CamelContextAware) {
             ((CamelContextAware) aggregationStrategy).setCamelContext(camelContext);
         }
+        if (aggregationRepository instanceof CamelContextAware && ((CamelContextAware) aggregationRepository).getCamelContext() == null) {
+            ((CamelContextAware) aggregationRepository).setCamelContext(camelContext);
+        }
         if (aggregationStrategy.canPreComplete()) {
             preCompletion = true;
             log.info("PreCompletionAwareAggregationStrategy detected. Aggregator {} is in pre-completion mode.", getId());
@@ -1404,6 +1547,10 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
             if (getCloseCorrelationKeyOnCompletion() > 0) {
                 log.info("Using ClosedCorrelationKeys with a LRUCache with a capacity of {}", getCloseCorrelationKeyOnCompletion());
                 closedCorrelationKeys = LRUCacheFactory.newLRUCache(getCloseCorrelationKeyOnCompletion());
+                if (isLockStriping()) {
+                    // the closed keys are updated concurrently when using lock striping
+                    closedCorrelationKeys = Collections.synchronizedMap(closedCorrelationKeys);
+                }
             } else {
                 log.info("Using ClosedCorrelationKeys with unbounded capacity");
                 closedCorrelationKeys = new ConcurrentHashMap<>();
@@ -1422,6 +1569,19 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
             log.info("Optimistic locking is enabled");
         }
 
+        if (isLockStriping()) {
+            if (optimisticLocking) {
+                throw new IllegalArgumentException("Cannot use both optimisticLocking and lockStripes");
+            }
+            // these completions span across all the correlation groups and require the shared lock
+            if (isCompletionFromBatchConsumer()) {
+                throw new IllegalArgumentException("Cannot use both completionFromBatchConsumer and lockStripes");
+            }
+            if (isCompletionOnNewCorrelationGroup()) {
+                throw new IllegalArgumentException("Cannot use both completionOnNewCorrelationGroup and lockStripes");
+            }
+        }
+
         ServiceHelper.startService(aggregationStrategy, processor, aggregationRepository);
 
         // should we use recover checker
@@ -1478,7 +1638,11 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
                 shutdownTimeoutCheckerExecutorService = true;
             }
             // check for timed out aggregated messages once every second
-            timeoutMap = new AggregationTimeoutMap(getTimeoutCheckerExecutorService(), getCompletionTimeoutCheckerInterval());
+            if (isCompletionTimeoutTimingWheel()) {
+                timeoutMap = new AggregationTimingWheelTimeoutMap(getTimeoutCheckerExecutorService(), getCompletionTimeoutCheckerInterval());
+            } else {
+                timeoutMap = new AggregationTimeoutMap(getTimeoutCheckerExecutorService(), getCompletionTimeoutCheckerInterval());
+            }
             // fill in existing timeout values from the aggregation repository, for example if a restart occurred, then we
             // need to re-establish the timeout map so timeout can trigger
             restoreTimeoutMapFromAggregationRepository();
@@ -1496,6 +1660,17 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
                 setOptimisticLockingExecutorService(camelContext.getExecutorServiceManager().newScheduledThreadPool(this, AGGREGATE_OPTIMISTIC_LOCKING_EXECUTOR, 1));
                 shutdownOptimisticLockingExecutorService = true;
             }
+        } else if (isLockStriping()) {
+            // round up to power of two so we can select the stripe by bit masking
+            int size = Integer.highestOneBit(lockStripes - 1) << 1;
+            Lock[] stripes = new Lock[size];
+            for (int i = 0; i < size; i++) {
+                stripes[i] = new ReentrantLock();
+            }
+            locks = stripes;
+            log.info("Lock striping is enabled using {} locks", size);
+            // the shared lock is not in use but must be set to indicate the locks has been created
+            lock = NoLock.INSTANCE;
         } else {
             lock = new ReentrantLock();
         }
@@ -1607,7 +1782,8 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         // must acquire the shared aggregation lock to be able to trigger force completion
         int total = 0;
 
-        lock.lock();
+        Lock groupLock = getLock(key);
+        groupLock.lock();
         try {
             Exchange exchange = aggregationRepository.get(camelContext, key);
             if (exchange != null) {
@@ -1621,7 +1797,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
                 }
             }
         } finally {
-            lock.unlock();
+            groupLock.unlock();
         }
         log.trace("Completed force completion of group {}", key);
 
@@ -1648,23 +1824,30 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         int total = 0;
         if (keys != null && !keys.isEmpty()) {
             // must acquire the shared aggregation lock to be able to trigger force completion
-            lock.lock();
+            Lock allGroupsLock = getAllGroupsLock();
+            allGroupsLock.lock();
             total = keys.size();
             try {
                 for (String key : keys) {
-                    Exchange exchange = aggregationRepository.get(camelContext, key);
-                    if (exchange != null) {
-                        log.trace("Force completion triggered for correlation key: {}", key);
-                        // indicate it was completed by a force completion request
-                        exchange.setProperty(Exchange.AGGREGATED_COMPLETED_BY, COMPLETED_BY_FORCE);
-                        Exchange answer = onCompletion(key, exchange, exchange, false, false);
-                        if (answer != null) {
-                            onSubmitCompletion(key, answer);
+                    Lock groupLock = getLock(key);
+                    groupLock.lock();
+                    try {
+                        Exchange exchange = aggregationRepository.get(camelContext, key);
+                        if (exchange != null) {
+                            log.trace("Force completion triggered for correlation key: {}", key);
+                            // indicate it was completed by a force completion request
+                            exchange.setProperty(Exchange.AGGREGATED_COMPLETED_BY, COMPLETED_BY_FORCE);
+                            Exchange answer = onCompletion(key, exchange, exchange, false, false);
+                            if (answer != null) {
+                                onSubmitCompletion(key, answer);
+                            }
                         }
+                    } finally {
+                        groupLock.unlock();
                     }
                 }
             } finally {
-                lock.unlock();
+                allGroupsLock.unlock();
             }
         }
         log.trace("Completed force completion of all groups task");
@@ -1679,7 +1862,8 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         // must acquire the shared aggregation lock to be able to trigger force completion
         int total = 0;
 
-        lock.lock();
+        Lock groupLock = getLock(key);
+        groupLock.lock();
         try {
             Exchange exchange = aggregationRepository.get(camelContext, key);
             if (exchange != null) {
@@ -1689,7 +1873,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
                 onCompletion(key, exchange, exchange, false, true);
             }
         } finally {
-            lock.unlock();
+            groupLock.unlock();
         }
         log.trace("Completed force discarded of group {}", key);
 
@@ -1716,19 +1900,26 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         int total = 0;
         if (keys != null && !keys.isEmpty()) {
             // must acquire the shared aggregation lock to be able to trigger force completion
-            lock.lock();
+            Lock allGroupsLock = getAllGroupsLock();
+            allGroupsLock.lock();
             total = keys.size();
             try {
                 for (String key : keys) {
-                    Exchange exchange = aggregationRepository.get(camelContext, key);
-                    if (exchange != null) {
-                        log.trace("Force discarded triggered for correlation key: {}", key);
-                        // force discarding by setting aggregate failed as true
-                        onCompletion(key, exchange, exchange, false, true);
+                    Lock groupLock = getLock(key);
+                    groupLock.lock();
+                    try {
+                        Exchange exchange = aggregationRepository.get(camelContext, key);
+                        if (exchange != null) {
+                            log.trace("Force discarded triggered for correlation key: {}", key);
+                            // force discarding by setting aggregate failed as true
+                            onCompletion(key, exchange, exchange, false, true);
+                        }
+                    } finally {
+                        groupLock.unlock();
                     }
                 }
             } finally {
-                lock.unlock();
+                allGroupsLock.unlock();
             }
         }
         log.trace("Completed force discarding of all groups task");
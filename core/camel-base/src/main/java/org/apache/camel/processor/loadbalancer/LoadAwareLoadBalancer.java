@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.loadbalancer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.Exchange;
+
+/**
+ * A base class for {@link LoadBalancer} implementations which choose a single
+ * destination for each exchange based on the current load of the destinations.
+ * <p/>
+ * The load of each destination is tracked as the number of inflight exchanges and
+ * an exponentially decaying moving average of the processing time.
+ */
+public abstract class LoadAwareLoadBalancer extends QueueLoadBalancer {
+
+    public static final long DEFAULT_DECAY_PERIOD = 10000;
+
+    private final Map<AsyncProcessor, ProcessorLoad> loads = new ConcurrentHashMap<>();
+    private volatile int lastChosenProcessorIndex = -1;
+    private long decayPeriod = DEFAULT_DECAY_PERIOD;
+
+    @Override
+    public boolean process(final Exchange exchange, final AsyncCallback callback) {
+        AsyncProcessor[] list = doGetProcessors();
+        if (list.length > 0) {
+            int index = chooseProcessorIndex(list, exchange);
+            if (index < 0 || index >= list.length) {
+                Exception e = new IllegalStateException("No processors could be chosen to process " + exchange);
+                exchange.setException(e);
+            } else {
+                lastChosenProcessorIndex = index;
+                final ProcessorLoad load = getProcessorLoad(list[index]);
+                final long start = load.begin();
+                list[index].process(exchange, doneSync -> {
+                    load.done(start);
+                    callback.done(doneSync);
+                });
+                return false;
+            }
+        }
+        // no processors but indicate we are done
+        callback.done(false);
+        return false;
+    }
+
+    @Override
+    protected AsyncProcessor chooseProcessor(AsyncProcessor[] processors, Exchange exchange) {
+        int index = chooseProcessorIndex(processors, exchange);
+        return index >= 0 && index < processors.length ? processors[index] : null;
+    }
+
+    /**
+     * Chooses the index of the processor which should process the exchange.
+     *
+     * @param processors the processors to choose among (at least one)
+     * @param exchange   the exchange
+     * @return the index of the chosen processor
+     */
+    protected abstract int chooseProcessorIndex(AsyncProcessor[] processors, Exchange exchange);
+
+    @Override
+    public void removeProcessor(AsyncProcessor processor) {
+        super.removeProcessor(processor);
+        loads.remove(processor);
+    }
+
+    /**
+     * Gets the current load of the given processor
+     */
+    public ProcessorLoad getProcessorLoad(AsyncProcessor processor) {
+        return loads.computeIfAbsent(processor, p -> new ProcessorLoad(TimeUnit.MILLISECONDS.toNanos(decayPeriod)));
+    }
+
+    public int getLastChosenProcessorIndex() {
+        return lastChosenProcessorIndex;
+    }
+
+    public long getDecayPeriod() {
+        return decayPeriod;
+    }
+
+    /**
+     * Sets the period in millis over which the measured processing time of a destination decays.
+     * A shorter period reacts faster to changes in latency, a longer period smooths out spikes.
+     */
+    public void setDecayPeriod(long decayPeriod) {
+        if (decayPeriod <= 0) {
+            throw new IllegalArgumentException("DecayPeriod must be a positive number, was: " + decayPeriod);
+        }
+        this.decayPeriod = decayPeriod;
+    }
+
+    /**
+     * The load of a single destination.
+     */
+    public static final class ProcessorLoad {
+        private final AtomicInteger inflight = new AtomicInteger();
+        private final AtomicLong completed = new AtomicLong();
+        private final long decayNanos;
+        private double latency;
+        private long lastUpdate = System.nanoTime();
+
+        ProcessorLoad(long decayNanos) {
+            this.decayNanos = decayNanos;
+        }
+
+        long begin() {
+            inflight.incrementAndGet();
+            return System.nanoTime();
+        }
+
+        void done(long start) {
+            long now = System.nanoTime();
+            inflight.decrementAndGet();
+            completed.incrementAndGet();
+            synchronized (this) {
+                long elapsed = now - start;
+                if (latency == 0) {
+                    latency = elapsed;
+                } else {
+                    double weight = Math.exp(-Math.max(0, now - lastUpdate) / (double) decayNanos);
+                    latency = latency * weight + elapsed * (1 - weight);
+                }
+                lastUpdate = now;
+            }
+        }
+
+        /**
+         * Number of exchanges currently being processed by the destination
+         */
+        public int getInflight() {
+            return inflight.get();
+        }
+
+        /**
+         * Number of exchanges completed by the destination
+         */
+        public long getCompleted() {
+            return completed.get();
+        }
+
+        /**
+         * The moving average of the processing time in nanos. The average decays towards zero
+         * while the destination is idle, so a slow destination is eventually tried again.
+         */
+        public synchronized double getLatency() {
+            long idle = Math.max(0, System.nanoTime() - lastUpdate);
+            return latency * Math.exp(-idle / (double) decayNanos);
+        }
+    }
+}
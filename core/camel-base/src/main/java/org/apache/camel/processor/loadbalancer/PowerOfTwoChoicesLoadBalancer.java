@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.loadbalancer;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.Exchange;
+
+/**
+ * Implements the power of two choices load balancing policy, which picks two
+ * destinations at random and chooses the one with the lower load.
+ * <p/>
+ * The load is the moving average of the processing time multiplied by the number of
+ * inflight exchanges (plus one), which favours both fast and idle destinations while
+ * only requiring two destinations to be inspected per exchange.
+ */
+public class PowerOfTwoChoicesLoadBalancer extends LoadAwareLoadBalancer {
+
+    @Override
+    protected int chooseProcessorIndex(AsyncProcessor[] processors, Exchange exchange) {
+        int size = processors.length;
+        if (size == 1) {
+            return 0;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        return cost(processors[second]) < cost(processors[first]) ? second : first;
+    }
+
+    private double cost(AsyncProcessor processor) {
+        ProcessorLoad load = getProcessorLoad(processor);
+        // add one so destinations without any measured latency are still compared by inflight
+        return (load.getLatency() + 1) * (load.getInflight() + 1);
+    }
+
+}
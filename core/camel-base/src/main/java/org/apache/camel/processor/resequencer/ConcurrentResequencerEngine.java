@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.resequencer;
+
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A {@link ResequencerEngine} which allows elements to be inserted concurrently.
+ * <p/>
+ * The elements are kept in a {@link ConcurrentSkipListSet} ordered by the {@link SequenceElementComparator}, so
+ * finding the immediate predecessor and successor of an inserted element is <tt>O(log n)</tt>. Elements which are ready for delivery are delivered in order and in batches by a single thread
+ * at a time, so the {@link SequenceSender} is never invoked concurrently.
+ * <p/>
+ * This engine is not lock-free. Adding an element is guarded by a read lock, which is shared by the producers, so
+ * they do not block each other, but taking the next element for delivery is guarded by the write lock, which blocks
+ * the producers for a short moment, so an element is never taken while an older element is being added.
+ * <p/>
+ * The semantics of timeouts, <tt>rejectOld</tt> and duplicate elements are the same as with {@link ResequencerEngine}.
+ */
+public class ConcurrentResequencerEngine<E> extends ResequencerEngine<E> {
+
+    private final ElementComparator<E> comparator;
+    private final ConcurrentSkipListSet<Element<E>> sequence;
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean delivering = new AtomicBoolean();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Element<E> lastDelivered;
+
+    /**
+     * Creates a new resequencer instance with a default timeout of 2000
+     * milliseconds.
+     *
+     * @param comparator a sequence element comparator.
+     */
+    public ConcurrentResequencerEngine(SequenceElementComparator<E> comparator) {
+        super(comparator);
+        this.comparator = new ElementComparator<>(comparator);
+        this.sequence = new ConcurrentSkipListSet<>(this.comparator);
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    @Override
+    E getLastDelivered() {
+        Element<E> element = lastDelivered;
+        return element != null ? element.getObject() : null;
+    }
+
+    @Override
+    void setLastDelivered(E o) {
+        lastDelivered = new Element<>(o);
+    }
+
+    @Override
+    public void insert(E o) {
+        // wrap object into internal element
+        Element<E> element = new Element<>(o);
+
+        // validate the exchange has no problem
+        if (!comparator.isValid(element)) {
+            throw new IllegalArgumentException("Element cannot be used in comparator: " + comparator);
+        }
+
+        // the element is added while no element can be taken for delivery, as otherwise a newer
+        // element could be taken in between, and then this element would be delivered after it
+        lock.readLock().lock();
+        try {
+            // validate the exchange shouldn't be 'rejected' (if applicable)
+            Element<E> last = lastDelivered;
+            if (getRejectOld() != null && getRejectOld() && last != null && comparator.compare(element, last) < 0) {
+                throw new MessageRejectedException("rejecting message [" + element.getObject()
+                        + "], it should have been sent before the last delivered message [" + last.getObject() + "]");
+            }
+
+            // schedule the element before adding it, as otherwise it could be taken for delivery
+            // before its timeout when its predecessor is missing
+            if (!readyForDelivery(element)) {
+                element.schedule(defineTimeout());
+            }
+
+            // add element to sequence in proper order (duplicates are ignored)
+            if (!sequence.add(element)) {
+                element.cancel();
+                return;
+            }
+            size.incrementAndGet();
+
+            // check if there is an immediate successor and cancel
+            // timer task (no need to wait any more for timeout)
+            Element<E> successor = sequence.higher(element);
+            if (successor != null && comparator.successor(successor, element)) {
+                successor.cancel();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // the predecessor may have been inserted or delivered concurrently while scheduling
+        // and then we should not wait for the timeout
+        if (element.scheduled() && readyForDelivery(element)) {
+            element.cancel();
+        }
+    }
+
+    @Override
+    public void deliver() throws Exception {
+        // only one thread delivers at any time to keep the elements in order,
+        // and any element which becomes ready meanwhile is picked up by the next delivery
+        while (delivering.compareAndSet(false, true)) {
+            try {
+                while (deliverNext()) {
+                    // do nothing here
+                }
+            } finally {
+                delivering.set(false);
+            }
+            // an element may have become ready after the last attempt but before
+            // the delivery was released, and then we should deliver it now
+            if (!headReadyForDelivery()) {
+                break;
+            }
+        }
+    }
+
+    @Override
+    public boolean deliverNext() throws Exception {
+        Element<E> element;
+        lock.writeLock().lock();
+        try {
+            // inspect element with lowest sequence value
+            element = sequence.isEmpty() ? null : sequence.first();
+            if (element == null || element.scheduled()) {
+                return false;
+            }
+
+            // set the delivered element to last delivered element before removing it from the sequence,
+            // so concurrent inserts always find either the element or the last delivered element
+            lastDelivered = element;
+            sequence.remove(element);
+            size.decrementAndGet();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // deliver the sequence element
+        getSequenceSender().sendElement(element.getObject());
+
+        // element has been delivered
+        return true;
+    }
+
+    private boolean headReadyForDelivery() {
+        Element<E> element = sequence.isEmpty() ? null : sequence.first();
+        return element != null && !element.scheduled();
+    }
+
+    /**
+     * Returns <code>true</code> if the given element is the immediate successor of the last delivered element
+     * or if its immediate predecessor is in the sequence.
+     */
+    private boolean readyForDelivery(Element<E> element) {
+        Element<E> predecessor = sequence.lower(element);
+        if (predecessor != null && comparator.predecessor(predecessor, element)) {
+            return true;
+        }
+        Element<E> last = lastDelivered;
+        return last != null && comparator.successor(element, last);
+    }
+
+}
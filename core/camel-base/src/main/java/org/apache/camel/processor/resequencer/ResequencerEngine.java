@@ -320,7 +320,7 @@ public class ResequencerEngine<E> {
      *
      * @return a new timeout task.
      */
-    private Timeout defineTimeout() {
+    protected Timeout defineTimeout() {
         return new Timeout(timer, timeout);
     }
 
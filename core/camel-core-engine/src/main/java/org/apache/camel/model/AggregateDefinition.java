@@ -79,6 +79,8 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
     @XmlAttribute
     private Boolean optimisticLocking;
     @XmlAttribute
+    private Integer lockStripes;
+    @XmlAttribute
     private String executorServiceRef;
     @XmlAttribute
     private String timeoutCheckerExecutorServiceRef;
@@ -100,6 +102,8 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
     @Metadata(defaultValue = "1000")
     private Long completionTimeoutCheckerInterval = 1000L;
     @XmlAttribute
+    private Boolean completionTimeoutTimingWheel;
+    @XmlAttribute
     private Boolean completionFromBatchConsumer;
     @XmlAttribute
     private Boolean completionOnNewCorrelationGroup;
@@ -346,6 +350,14 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
         this.completionTimeoutCheckerInterval = completionTimeoutCheckerInterval;
     }
 
+    public Boolean getCompletionTimeoutTimingWheel() {
+        return completionTimeoutTimingWheel;
+    }
+
+    public void setCompletionTimeoutTimingWheel(Boolean completionTimeoutTimingWheel) {
+        this.completionTimeoutTimingWheel = completionTimeoutTimingWheel;
+    }
+
     public ExpressionSubElementDefinition getCompletionPredicate() {
         return completionPredicate;
     }
@@ -433,6 +445,14 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
         this.optimisticLocking = optimisticLocking;
     }
 
+    public Integer getLockStripes() {
+        return lockStripes;
+    }
+
+    public void setLockStripes(Integer lockStripes) {
+        this.lockStripes = lockStripes;
+    }
+
     public Boolean getParallelProcessing() {
         return parallelProcessing;
     }
@@ -768,6 +788,19 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
         return this;
     }
 
+    /**
+     * Whether to use a timing wheel to keep track of completion timeouts.
+     * The timing wheel only checks the aggregated exchanges which are due to
+     * timeout, instead of checking all of them, which is faster when there
+     * are many aggregated exchanges in progress.
+     *
+     * @return the builder
+     */
+    public AggregateDefinition completionTimeoutTimingWheel() {
+        setCompletionTimeoutTimingWheel(true);
+        return this;
+    }
+
     /**
      * Sets the AggregationStrategy to use with a fluent builder.
      */
@@ -1000,6 +1033,24 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
         return this;
     }
 
+    /**
+     * Turns on lock striping, where exchanges are aggregated while holding a
+     * lock per correlation key (selected by hashing the key among the given
+     * number of locks) instead of a single lock shared by all correlation keys.
+     * This allows exchanges with different correlation keys to be aggregated in
+     * parallel. The number of locks is rounded up to a power of two.
+     * <p/>
+     * Lock striping cannot be used together with optimistic locking,
+     * completionFromBatchConsumer or completionOnNewCorrelationGroup.
+     *
+     * @param lockStripes the number of locks
+     * @return builder
+     */
+    public AggregateDefinition lockStripes(int lockStripes) {
+        setLockStripes(lockStripes);
+        return this;
+    }
+
     /**
      * Allows to configure retry settings when using optimistic locking.
      */
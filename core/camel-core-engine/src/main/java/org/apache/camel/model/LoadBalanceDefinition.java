@@ -30,6 +30,8 @@ import javax.xml.bind.annotation.XmlRootElement;
 import org.apache.camel.Expression;
 import org.apache.camel.model.loadbalancer.CustomLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.FailoverLoadBalancerDefinition;
+import org.apache.camel.model.loadbalancer.LeastInflightLoadBalancerDefinition;
+import org.apache.camel.model.loadbalancer.PowerOfTwoChoicesLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.RandomLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.RoundRobinLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.StickyLoadBalancerDefinition;
@@ -49,6 +51,8 @@ public class LoadBalanceDefinition extends ProcessorDefinition<LoadBalanceDefini
     @XmlElements({@XmlElement(required = false, name = "failover", type = FailoverLoadBalancerDefinition.class),
                   @XmlElement(required = false, name = "random", type = RandomLoadBalancerDefinition.class),
                   @XmlElement(required = false, name = "customLoadBalancer", type = CustomLoadBalancerDefinition.class),
+                  @XmlElement(required = false, name = "leastInflight", type = LeastInflightLoadBalancerDefinition.class),
+                  @XmlElement(required = false, name = "powerOfTwoChoices", type = PowerOfTwoChoicesLoadBalancerDefinition.class),
                   @XmlElement(required = false, name = "roundRobin", type = RoundRobinLoadBalancerDefinition.class),
                   @XmlElement(required = false, name = "sticky", type = StickyLoadBalancerDefinition.class),
                   @XmlElement(required = false, name = "topic", type = TopicLoadBalancerDefinition.class),
@@ -226,6 +230,40 @@ public class LoadBalanceDefinition extends ProcessorDefinition<LoadBalanceDefini
         return this;
     }
 
+    /**
+     * Uses least inflight load balancer
+     *
+     * @return the builder
+     */
+    public LoadBalanceDefinition leastInflight() {
+        setLoadBalancerType(new LeastInflightLoadBalancerDefinition());
+        return this;
+    }
+
+    /**
+     * Uses power of two choices load balancer
+     *
+     * @return the builder
+     */
+    public LoadBalanceDefinition powerOfTwoChoices() {
+        setLoadBalancerType(new PowerOfTwoChoicesLoadBalancerDefinition());
+        return this;
+    }
+
+    /**
+     * Uses power of two choices load balancer
+     *
+     * @param decayPeriod the period in millis over which the measured
+     *            processing time of a destination decays
+     * @return the builder
+     */
+    public LoadBalanceDefinition powerOfTwoChoices(long decayPeriod) {
+        PowerOfTwoChoicesLoadBalancerDefinition def = new PowerOfTwoChoicesLoadBalancerDefinition();
+        def.setDecayPeriod(decayPeriod);
+        setLoadBalancerType(def);
+        return this;
+    }
+
     /**
      * Uses the custom load balancer
      *
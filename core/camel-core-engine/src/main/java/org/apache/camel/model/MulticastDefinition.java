@@ -69,6 +69,9 @@ public class MulticastDefinition extends OutputDefinition<MulticastDefinition> i
     private Boolean parallelAggregate;
     @XmlAttribute
     private Boolean stopOnAggregateException;
+    @XmlAttribute
+    @Metadata(defaultValue = "0")
+    private Integer maxInflight;
 
     public MulticastDefinition() {
     }
@@ -353,6 +356,23 @@ public class MulticastDefinition extends OutputDefinition<MulticastDefinition> i
         return this;
     }
 
+    /**
+     * Sets the maximum number of messages sent to the multicasts which are in
+     * flight when using parallel processing, which are messages not yet
+     * aggregated. When the limit is reached then the multicast will not send
+     * further messages until messages has been aggregated. This keeps the
+     * memory usage bounded regardless of the number of multicasts, such as
+     * when using streaming mode. The default value is 0 which means there is
+     * no limit.
+     *
+     * @param maxInflight the maximum number of messages in flight
+     * @return the builder
+     */
+    public MulticastDefinition maxInflight(int maxInflight) {
+        setMaxInflight(maxInflight);
+        return this;
+    }
+
     /**
      * Shares the {@link org.apache.camel.spi.UnitOfWork} with the parent and
      * each of the sub messages. Multicast will by default not share unit of
@@ -512,4 +532,12 @@ public class MulticastDefinition extends OutputDefinition<MulticastDefinition> i
         this.stopOnAggregateException = stopOnAggregateException;
     }
 
+    public Integer getMaxInflight() {
+        return maxInflight;
+    }
+
+    public void setMaxInflight(Integer maxInflight) {
+        this.maxInflight = maxInflight;
+    }
+
 }
@@ -77,6 +77,9 @@ public class RecipientListDefinition<Type extends ProcessorDefinition<Type>> ext
     private Boolean parallelAggregate;
     @XmlAttribute
     private Boolean stopOnAggregateException;
+    @XmlAttribute
+    @Metadata(defaultValue = "0")
+    private Integer maxInflight;
 
     public RecipientListDefinition() {
     }
@@ -380,6 +383,23 @@ public class RecipientListDefinition<Type extends ProcessorDefinition<Type>> ext
         return this;
     }
 
+    /**
+     * Sets the maximum number of messages sent to the recipients which are in
+     * flight when using parallel processing, which are messages not yet
+     * aggregated. When the limit is reached then the recipient list will not
+     * send further messages until messages has been aggregated. This keeps the
+     * memory usage bounded regardless of the number of recipients, such as
+     * when using streaming mode. The default value is 0 which means there is
+     * no limit.
+     *
+     * @param maxInflight the maximum number of messages in flight
+     * @return the builder
+     */
+    public RecipientListDefinition<Type> maxInflight(int maxInflight) {
+        setMaxInflight(maxInflight);
+        return this;
+    }
+
     /**
      * Shares the {@link org.apache.camel.spi.UnitOfWork} with the parent and
      * each of the sub messages. Recipient List will by default not share unit
@@ -590,4 +610,12 @@ public class RecipientListDefinition<Type extends ProcessorDefinition<Type>> ext
     public void setStopOnAggregateException(Boolean stopOnAggregateException) {
         this.stopOnAggregateException = stopOnAggregateException;
     }
+
+    public Integer getMaxInflight() {
+        return maxInflight;
+    }
+
+    public void setMaxInflight(Integer maxInflight) {
+        this.maxInflight = maxInflight;
+    }
 }
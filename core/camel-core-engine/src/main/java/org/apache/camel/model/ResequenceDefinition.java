@@ -169,6 +169,20 @@ public class ResequenceDefinition extends ProcessorDefinition<ResequenceDefiniti
         return this;
     }
 
+    /**
+     * Uses a resequencer engine which allows messages to be inserted concurrently, as the inserts
+     * only share a read lock, and delivers the messages which are ready in batches.
+     *
+     * @return the builder
+     */
+    public ResequenceDefinition concurrentInsert() {
+        if (streamConfig == null) {
+            throw new IllegalStateException("concurrentInsert() only supported for stream resequencer");
+        }
+        streamConfig.setConcurrentInsert(true);
+        return this;
+    }
+
     /**
      * Sets the in batch size for number of exchanges received
      * 
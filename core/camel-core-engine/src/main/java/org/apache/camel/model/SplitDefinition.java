@@ -69,6 +69,9 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
     private Boolean parallelAggregate;
     @XmlAttribute
     private Boolean stopOnAggregateException;
+    @XmlAttribute
+    @Metadata(defaultValue = "0")
+    private Integer maxInflight;
 
     public SplitDefinition() {
     }
@@ -344,6 +347,22 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
         return this;
     }
 
+    /**
+     * Sets the maximum number of splitted messages which are in flight when
+     * using parallel processing, which are messages not yet aggregated. When
+     * the limit is reached then the Splitter will not split further messages
+     * until messages has been aggregated. This keeps the memory usage bounded
+     * regardless of the size of the message being splitted, such as when using
+     * streaming mode. The default value is 0 which means there is no limit.
+     *
+     * @param maxInflight the maximum number of messages in flight
+     * @return the builder
+     */
+    public SplitDefinition maxInflight(int maxInflight) {
+        setMaxInflight(maxInflight);
+        return this;
+    }
+
     /**
      * Shares the {@link org.apache.camel.spi.UnitOfWork} with the parent and
      * each of the sub messages. Splitter will by default not share unit of work
@@ -416,6 +435,14 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
         this.stopOnAggregateException = stopOnAggregateException;
     }
 
+    public Integer getMaxInflight() {
+        return maxInflight;
+    }
+
+    public void setMaxInflight(Integer maxInflight) {
+        this.maxInflight = maxInflight;
+    }
+
     public Boolean getStopOnException() {
         return stopOnException;
     }
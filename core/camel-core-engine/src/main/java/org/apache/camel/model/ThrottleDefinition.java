@@ -56,6 +56,8 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
     private Boolean callerRunsWhenRejected;
     @XmlAttribute
     private Boolean rejectExecution;
+    @XmlAttribute
+    private Boolean tokenBucket;
 
     public ThrottleDefinition() {
     }
@@ -160,6 +162,21 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
         return this;
     }
 
+    /**
+     * Whether to use token buckets instead of a rolling window of permits.
+     * The token bucket allows bursts of up to the maximum requests per period,
+     * and computes the time to wait for a token instead of queuing permits,
+     * which uses less memory when throttling many correlation keys.
+     * <p/>
+     * Is by default <tt>false</tt>
+     *
+     * @return the builder
+     */
+    public ThrottleDefinition tokenBucket() {
+        setTokenBucket(true);
+        return this;
+    }
+
     /**
      * To use a custom thread pool (ScheduledExecutorService) by the throttler.
      *
@@ -250,6 +267,14 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
         this.rejectExecution = rejectExecution;
     }
 
+    public Boolean getTokenBucket() {
+        return tokenBucket;
+    }
+
+    public void setTokenBucket(Boolean tokenBucket) {
+        this.tokenBucket = tokenBucket;
+    }
+
     /**
      * The expression used to calculate the correlation key to use for throttle
      * grouping. The Exchange which has the same correlation key is throttled
@@ -49,6 +49,8 @@ public class StreamResequencerConfig extends ResequencerConfig {
     private String comparatorRef;
     @XmlAttribute
     private Boolean rejectOld;
+    @XmlAttribute
+    private Boolean concurrentInsert;
 
     /**
      * Creates a new {@link StreamResequencerConfig} instance using default
@@ -212,4 +214,17 @@ public class StreamResequencerConfig extends ResequencerConfig {
         return rejectOld;
     }
 
+    public Boolean getConcurrentInsert() {
+        return concurrentInsert;
+    }
+
+    /**
+     * Whether to use a resequencer engine which allows messages to be inserted concurrently, as the inserts
+     * only share a read lock, and delivers the messages which are ready in batches. This can be used to improve
+     * the throughput when the resequencer receives messages from many concurrent threads.
+     */
+    public void setConcurrentInsert(Boolean concurrentInsert) {
+        this.concurrentInsert = concurrentInsert;
+    }
+
 }
@@ -27,7 +27,10 @@ import org.apache.camel.Expression;
 import org.apache.camel.Predicate;
 import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.builder.SimpleBuilder;
+import org.apache.camel.language.simple.SimpleLanguage;
+import org.apache.camel.spi.Language;
 import org.apache.camel.spi.Metadata;
+import org.apache.camel.support.ScriptHelper;
 
 /**
  * To use Camels built-in Simple language in Camel expressions or predicates.
@@ -96,6 +99,15 @@ public class SimpleExpression extends ExpressionDefinition {
             exp = exp.trim();
         }
 
+        // in strict mode the expression is created up front so invalid expressions
+        // fails when creating the route, and not when evaluating the expression
+        Language language = camelContext.resolveLanguage("simple");
+        if (exp != null && language instanceof SimpleLanguage && ((SimpleLanguage) language).isStrictOgnl()) {
+            String resolved = camelContext.resolvePropertyPlaceholders(exp);
+            resolved = ScriptHelper.resolveOptionalExternalScript(camelContext, resolved);
+            language.createExpression(resolved);
+        }
+
         SimpleBuilder answer = new SimpleBuilder(exp);
         answer.setResultType(resultType);
         return answer;
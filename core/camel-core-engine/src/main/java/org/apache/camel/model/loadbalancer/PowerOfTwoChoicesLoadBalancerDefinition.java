@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.model.loadbalancer;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import org.apache.camel.model.LoadBalancerDefinition;
+import org.apache.camel.spi.Metadata;
+
+/**
+ * Power of two choices load balancer The power of two choices load balancer
+ * will pick two endpoints at random and use the one with the lowest load, where
+ * the load is based on the number of messages being processed and the recent
+ * processing time of the endpoint. This load balancer is not meant to work with
+ * failover, for that you should use the dedicated failover load balancer.
+ */
+@Metadata(label = "eip,routing,loadbalance")
+@XmlRootElement(name = "powerOfTwoChoices")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class PowerOfTwoChoicesLoadBalancerDefinition extends LoadBalancerDefinition {
+    @XmlAttribute
+    @Metadata(defaultValue = "10000")
+    private Long decayPeriod;
+
+    public PowerOfTwoChoicesLoadBalancerDefinition() {
+    }
+
+    public Long getDecayPeriod() {
+        return decayPeriod;
+    }
+
+    /**
+     * The period in millis over which the measured processing time of an
+     * endpoint decays. A shorter period reacts faster to changes in latency,
+     * a longer period smooths out spikes.
+     */
+    public void setDecayPeriod(Long decayPeriod) {
+        this.decayPeriod = decayPeriod;
+    }
+
+    @Override
+    public String toString() {
+        return "PowerOfTwoChoicesLoadBalancer";
+    }
+
+}
@@ -80,6 +80,9 @@ public class RecipientListReifier extends ProcessorReifier<RecipientListDefiniti
         if (definition.getTimeout() != null) {
             answer.setTimeout(definition.getTimeout());
         }
+        if (definition.getMaxInflight() != null) {
+            answer.setMaxInflight(definition.getMaxInflight());
+        }
 
         boolean shutdownThreadPool = ProcessorDefinitionHelper.willCreateNewThreadPool(routeContext, definition, isParallelProcessing);
         ExecutorService threadPool = ProcessorDefinitionHelper.getConfiguredExecutorService(routeContext, "RecipientList", definition, isParallelProcessing);
@@ -125,7 +125,8 @@ public class ResequenceReifier extends ProcessorReifier<ResequenceDefinition> {
         }
         comparator.setExpression(expression);
 
-        StreamResequencer resequencer = new StreamResequencer(routeContext.getCamelContext(), internal, comparator, expression);
+        boolean concurrentInsert = config.getConcurrentInsert() != null && config.getConcurrentInsert();
+        StreamResequencer resequencer = new StreamResequencer(routeContext.getCamelContext(), internal, comparator, expression, concurrentInsert);
         resequencer.setTimeout(config.getTimeout());
         if (config.getDeliveryAttemptInterval() != null) {
             resequencer.setDeliveryAttemptInterval(config.getDeliveryAttemptInterval());
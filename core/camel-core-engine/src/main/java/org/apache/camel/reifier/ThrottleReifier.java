@@ -57,6 +57,7 @@ public class ThrottleReifier extends ExpressionReifier<ThrottleDefinition> {
         Throttler answer = new Throttler(routeContext.getCamelContext(), maxRequestsExpression, period, threadPool, shutdownThreadPool, reject, correlation);
 
         answer.setAsyncDelayed(async);
+        answer.setTokenBucket(definition.getTokenBucket() != null && definition.getTokenBucket());
         if (definition.getCallerRunsWhenRejected() == null) {
             // should be true by default
             answer.setCallerRunsWhenRejected(true);
@@ -23,6 +23,8 @@ import java.util.function.Function;
 import org.apache.camel.model.LoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.CustomLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.FailoverLoadBalancerDefinition;
+import org.apache.camel.model.loadbalancer.LeastInflightLoadBalancerDefinition;
+import org.apache.camel.model.loadbalancer.PowerOfTwoChoicesLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.RandomLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.RoundRobinLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.StickyLoadBalancerDefinition;
@@ -40,6 +42,8 @@ public class LoadBalancerReifier<T extends LoadBalancerDefinition> {
         map.put(LoadBalancerDefinition.class, LoadBalancerReifier::new);
         map.put(CustomLoadBalancerDefinition.class, CustomLoadBalancerReifier::new);
         map.put(FailoverLoadBalancerDefinition.class, FailoverLoadBalancerReifier::new);
+        map.put(LeastInflightLoadBalancerDefinition.class, LeastInflightLoadBalancerReifier::new);
+        map.put(PowerOfTwoChoicesLoadBalancerDefinition.class, PowerOfTwoChoicesLoadBalancerReifier::new);
         map.put(RandomLoadBalancerDefinition.class, RandomLoadBalancerReifier::new);
         map.put(RoundRobinLoadBalancerDefinition.class, RoundRobinLoadBalancerReifier::new);
         map.put(StickyLoadBalancerDefinition.class, StickyLoadBalancerReifier::new);
@@ -552,6 +552,12 @@ public abstract class AbstractCamelContextFactoryBean<T extends ModelCamelContex
             if (camelJMXAgent.getEndpointRuntimeStatisticsEnabled() != null) {
                 properties.put("endpointRuntimeStatisticsEnabled", CamelContextHelper.parseBoolean(getContext(), camelJMXAgent.getEndpointRuntimeStatisticsEnabled()));
             }
+            if (camelJMXAgent.getPercentilesEnabled() != null) {
+                properties.put("percentilesEnabled", CamelContextHelper.parseBoolean(getContext(), camelJMXAgent.getPercentilesEnabled()));
+            }
+            if (camelJMXAgent.getPercentilesPrecision() != null) {
+                properties.put("percentilesPrecision", CamelContextHelper.parseInteger(getContext(), camelJMXAgent.getPercentilesPrecision()));
+            }
             if (camelJMXAgent.getStatisticsLevel() != null) {
                 String level = CamelContextHelper.parseText(getContext(), camelJMXAgent.getStatisticsLevel());
                 ManagementStatisticsLevel msLevel = getContext().getTypeConverter().mandatoryConvertTo(ManagementStatisticsLevel.class, level);
@@ -62,6 +62,10 @@ public class CamelJMXAgentDefinition extends IdentifiedType {
     @XmlAttribute @Metadata(defaultValue = "true")
     private String endpointRuntimeStatisticsEnabled;
     @XmlAttribute @Metadata(defaultValue = "false")
+    private String percentilesEnabled;
+    @XmlAttribute @Metadata(defaultValue = "2")
+    private String percentilesPrecision;
+    @XmlAttribute @Metadata(defaultValue = "false")
     private String includeHostName;
     @XmlAttribute @Metadata(defaultValue = "false")
     private String useHostIPAddress;
@@ -222,6 +226,28 @@ public class CamelJMXAgentDefinition extends IdentifiedType {
         this.endpointRuntimeStatisticsEnabled = endpointRuntimeStatisticsEnabled;
     }
 
+    public String getPercentilesEnabled() {
+        return percentilesEnabled;
+    }
+
+    /**
+     * A flag that indicates whether processing time percentiles is enabled
+     */
+    public void setPercentilesEnabled(String percentilesEnabled) {
+        this.percentilesEnabled = percentilesEnabled;
+    }
+
+    public String getPercentilesPrecision() {
+        return percentilesPrecision;
+    }
+
+    /**
+     * The number of significant decimal digits (1 to 3) the processing time percentiles keep
+     */
+    public void setPercentilesPrecision(String percentilesPrecision) {
+        this.percentilesPrecision = percentilesPrecision;
+    }
+
     public String getIncludeHostName() {
         return includeHostName;
     }
@@ -294,6 +320,12 @@ public class CamelJMXAgentDefinition extends IdentifiedType {
         if (endpointRuntimeStatisticsEnabled != null) {
             csb.append("endpointRuntimeStatisticsEnabled=" + endpointRuntimeStatisticsEnabled);
         }
+        if (percentilesEnabled != null) {
+            csb.append("percentilesEnabled=" + percentilesEnabled);
+        }
+        if (percentilesPrecision != null) {
+            csb.append("percentilesPrecision=" + percentilesPrecision);
+        }
         if (onlyRegisterProcessorWithCustomId != null) {
             csb.append("onlyRegisterProcessorWithCustomId=" + onlyRegisterProcessorWithCustomId);
         }
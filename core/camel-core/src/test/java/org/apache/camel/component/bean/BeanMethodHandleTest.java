@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.bean;
+
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Header;
+import org.apache.camel.builder.RouteBuilder;
+import org.junit.Test;
+
+public class BeanMethodHandleTest extends ContextTestSupport {
+
+    @Test
+    public void testBody() throws Exception {
+        assertEquals("Hello World", template.requestBody("direct:hello", "World"));
+    }
+
+    @Test
+    public void testBodyTypeConversion() throws Exception {
+        assertEquals(5, template.requestBody("direct:length", "Camel".getBytes()));
+        assertEquals(43, template.requestBody("direct:increment", "42"));
+    }
+
+    @Test
+    public void testHeaderAndExchange() throws Exception {
+        assertEquals("Hi Camel from direct://headerAndExchange",
+            template.requestBodyAndHeader("direct:headerAndExchange", "Camel", "greeting", "Hi"));
+    }
+
+    @Test
+    public void testHeaderFallbackOnProperty() throws Exception {
+        Exchange out = template.request("direct:headerAndExchange", e -> {
+            e.getIn().setBody("Camel");
+            e.setProperty("greeting", "Bye");
+        });
+        assertEquals("Bye Camel from direct://headerAndExchange", out.getMessage().getBody());
+    }
+
+    @Test
+    public void testParameterValues() throws Exception {
+        assertEquals("Hi Camel from direct://parameterValues", template.requestBody("direct:parameterValues", "Camel"));
+    }
+
+    @Test
+    public void testStaticMethod() throws Exception {
+        assertEquals("CAMEL", template.requestBody("direct:static", "camel"));
+    }
+
+    @Test
+    public void testNullBodyForPrimitive() throws Exception {
+        try {
+            template.requestBody("direct:increment", (Object) null);
+            fail("Should have thrown an exception");
+        } catch (CamelExecutionException e) {
+            assertIsInstanceOf(IllegalArgumentException.class, e.getCause().getCause());
+        }
+    }
+
+    @Test
+    public void testBeanThrowsException() throws Exception {
+        try {
+            template.requestBody("direct:fail", "Kaboom");
+            fail("Should have thrown an exception");
+        } catch (CamelExecutionException e) {
+            IllegalStateException cause = assertIsInstanceOf(IllegalStateException.class, e.getCause());
+            assertEquals("Kaboom", cause.getMessage());
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                bindToRegistry("myBean", new MyBean());
+
+                from("direct:hello").to("bean:myBean?method=hello&useMethodHandle=true");
+                from("direct:length").to("bean:myBean?method=length&useMethodHandle=true");
+                from("direct:increment").to("bean:myBean?method=increment&useMethodHandle=true");
+                from("direct:headerAndExchange").to("bean:myBean?method=greet&useMethodHandle=true");
+                from("direct:parameterValues").to("bean:myBean?method=greet('Hi', *, *)&useMethodHandle=true");
+                from("direct:static").to("bean:myBean?method=upper&useMethodHandle=true");
+                from("direct:fail").to("bean:myBean?method=fail&useMethodHandle=true");
+            }
+        };
+    }
+
+    public static class MyBean {
+
+        public String hello(String body) {
+            return "Hello " + body;
+        }
+
+        public int length(String body) {
+            return body.length();
+        }
+
+        public int increment(int number) {
+            return number + 1;
+        }
+
+        public String greet(@Header("greeting") String greeting, String body, Exchange exchange) {
+            return greeting + " " + body + " from " + exchange.getFromEndpoint().getEndpointUri();
+        }
+
+        public static String upper(String body) {
+            return body.toUpperCase();
+        }
+
+        public void fail(String body) {
+            throw new IllegalStateException(body);
+        }
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for the incremental option.
+ */
+public class FileConsumerIncrementalTest extends ContextTestSupport {
+
+    private final AtomicInteger failures = new AtomicInteger();
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        deleteDirectory("target/data/incremental");
+        super.setUp();
+    }
+
+    @Test
+    public void testIncremental() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceivedInAnyOrder("Hello World", "Bye World");
+        // the files are not consumed again as they have not changed, even though idempotent is false
+        mock.setAssertPeriod(200);
+
+        template.sendBodyAndHeader("file://target/data/incremental", "Hello World", Exchange.FILE_NAME, "hello.txt");
+        template.sendBodyAndHeader("file://target/data/incremental", "Bye World", Exchange.FILE_NAME, "bye.txt");
+        context.getRouteController().startRoute("foo");
+
+        assertMockEndpointsSatisfied();
+
+        mock.reset();
+        mock.expectedBodiesReceivedInAnyOrder("Hello Camel", "Hi World");
+        mock.setAssertPeriod(200);
+
+        // a changed file and a new file should be consumed
+        // (write using a temp prefix so the consumer do not see the files while they are being written)
+        template.sendBodyAndHeader("file://target/data/incremental?tempPrefix=.", "Hello Camel", Exchange.FILE_NAME, "hello.txt");
+        template.sendBodyAndHeader("file://target/data/incremental?tempPrefix=.", "Hi World", Exchange.FILE_NAME, "hi.txt");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testIncrementalFailure() throws Exception {
+        failures.set(2);
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        // the failed file should be consumed again until it succeeds
+        mock.expectedBodiesReceived("Kaboom", "Kaboom", "Kaboom");
+        mock.setAssertPeriod(200);
+
+        template.sendBodyAndHeader("file://target/data/incremental", "Kaboom", Exchange.FILE_NAME, "kaboom.txt");
+        context.getRouteController().startRoute("foo");
+
+        assertMockEndpointsSatisfied();
+        assertEquals(0, failures.get());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("file://target/data/incremental?initialDelay=0&delay=10&noop=true&idempotent=false&incremental=true")
+                    .routeId("foo").noAutoStartup()
+                    .convertBodyTo(String.class)
+                    .to("mock:result")
+                    .process(e -> {
+                        if (failures.get() > 0) {
+                            failures.decrementAndGet();
+                            throw new IllegalArgumentException("Forced");
+                        }
+                    });
+            }
+        };
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Producer;
+import org.apache.camel.builder.RouteBuilder;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for the appendKeepOpen option.
+ */
+public class FileProducerAppendKeepOpenTest extends ContextTestSupport {
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        deleteDirectory("target/data/append-open");
+        super.setUp();
+        template.sendBodyAndHeader("file://target/data/append-open", "Hello\n", Exchange.FILE_NAME, "hello.txt");
+    }
+
+    @Test
+    public void testAppendKeepOpen() throws Exception {
+        template.sendBody("direct:batch", "World");
+        template.sendBody("direct:batch", "How are you?");
+
+        // synced after each message as they are not part of a batch
+        assertFileExists("target/data/append-open/hello.txt");
+        assertEquals("Hello\nWorld\nHow are you?\n", context.getTypeConverter().convertTo(String.class, new File("target/data/append-open/hello.txt")));
+    }
+
+    @Test
+    public void testAppendKeepOpenNeverSync() throws Exception {
+        template.sendBody("direct:never", "World");
+        template.sendBody("direct:never", "How are you?");
+
+        // the writes are buffered until the producer is stopped
+        assertEquals("Hello\n", context.getTypeConverter().convertTo(String.class, new File("target/data/append-open/hello.txt")));
+
+        context.stop();
+
+        assertEquals("Hello\nWorld\nHow are you?\n", context.getTypeConverter().convertTo(String.class, new File("target/data/append-open/hello.txt")));
+    }
+
+    @Test
+    public void testAppendKeepOpenRollSize() throws Exception {
+        template.sendBody("direct:roll", "Hello World");
+        template.sendBody("direct:roll", "Bye World!");
+        template.sendBody("direct:roll", "Hello Camel");
+
+        context.stop();
+
+        // the file is rolled when it has reached 10 bytes
+        File[] files = new File("target/data/append-open").listFiles((dir, name) -> name.startsWith("roll.txt"));
+        assertEquals(3, files.length);
+        assertEquals("Hello Camel", context.getTypeConverter().convertTo(String.class, new File("target/data/append-open/roll.txt")));
+    }
+
+    @Test
+    public void testAppendKeepOpenSharedByProducers() throws Exception {
+        // the producers of both routes write to the same files, and only one file can be kept open
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 200; i++) {
+            final String uri = i % 2 == 0 ? "direct:shared" : "direct:shared2";
+            final String fileName = i % 3 == 0 ? "a.txt" : "b.txt";
+            final String body = "Message " + i + " which is longer than the buffer\n";
+            executor.submit(() -> template.sendBodyAndHeader(uri, body, Exchange.FILE_NAME, fileName));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(20, TimeUnit.SECONDS));
+
+        context.stop();
+
+        // the messages must not be interleaved
+        Set<String> lines = new HashSet<>();
+        for (String fileName : new String[] {"a.txt", "b.txt"}) {
+            String content = context.getTypeConverter().convertTo(String.class, new File("target/data/append-open/" + fileName));
+            lines.addAll(Arrays.asList(content.split("\n")));
+        }
+        assertEquals(200, lines.size());
+        for (int i = 0; i < 200; i++) {
+            assertTrue("Missing message " + i, lines.contains("Message " + i + " which is longer than the buffer"));
+        }
+    }
+
+    @Test
+    public void testAppendKeepOpenInvalidSyncInterval() throws Exception {
+        try {
+            Producer producer = context.getEndpoint("file://target/data/append-open?fileExist=Append&appendKeepOpen=true&appendSyncInterval=0").createProducer();
+            producer.start();
+            fail("Should have thrown an exception");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("appendSyncInterval"));
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            public void configure() {
+                from("direct:batch").setHeader(Exchange.FILE_NAME, constant("hello.txt"))
+                    .to("file://target/data/append-open?fileExist=Append&appendChars=\\n&appendKeepOpen=true&appendSync=Batch&appendSyncInterval=60000");
+
+                from("direct:never").setHeader(Exchange.FILE_NAME, constant("hello.txt"))
+                    .to("file://target/data/append-open?fileExist=Append&appendChars=\\n&appendKeepOpen=true&appendSync=Never&appendSyncInterval=60000");
+
+                from("direct:roll").setHeader(Exchange.FILE_NAME, constant("roll.txt"))
+                    .to("file://target/data/append-open?fileExist=Append&appendKeepOpen=true&appendRollSize=10");
+
+                from("direct:shared")
+                    .to("file://target/data/append-open?fileExist=Append&appendKeepOpen=true&appendMaxOpenFiles=1&bufferSize=16");
+
+                from("direct:shared2")
+                    .to("file://target/data/append-open?fileExist=Append&appendKeepOpen=true&appendMaxOpenFiles=1&bufferSize=16");
+            }
+        };
+    }
+}
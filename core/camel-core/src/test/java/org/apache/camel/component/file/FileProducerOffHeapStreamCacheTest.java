@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.converter.stream.OffHeapInputStreamCache;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FileProducerOffHeapStreamCacheTest extends ContextTestSupport {
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        deleteDirectory("target/data/offheap");
+        super.setUp();
+    }
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getStreamCachingStrategy().setSpoolDirectory("target/data/offheap/cachedir");
+        context.getStreamCachingStrategy().setSpoolThreshold(16);
+        context.getStreamCachingStrategy().setSpoolOffHeapMemoryLimit(1024 * 1024);
+        return context;
+    }
+
+    @Test
+    public void testWriteOffHeapStreamCache() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            sb.append("Hello World ").append(i).append("\n");
+        }
+        String body = sb.toString();
+
+        getMockEndpoint("mock:result").expectedMessageCount(2);
+
+        template.sendBodyAndHeader("direct:start", new BufferedInputStream(new ByteArrayInputStream(body.getBytes())), Exchange.FILE_NAME, "hello.txt");
+        template.sendBodyAndHeader("direct:start", new BufferedInputStream(new ByteArrayInputStream(body.getBytes())), Exchange.FILE_NAME, "hello.txt");
+
+        assertMockEndpointsSatisfied();
+        assertIsInstanceOf(OffHeapInputStreamCache.class, getMockEndpoint("mock:result").getReceivedExchanges().get(0).getIn().getBody());
+
+        File file = new File("target/data/offheap/hello.txt");
+        String content = context.getTypeConverter().convertTo(String.class, file);
+        // append chars are only written when appending to an existing file
+        assertEquals(body + body + "\n", content);
+        assertEquals(0, context.getStreamCachingStrategy().getSpoolOffHeapMemoryUsed());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").streamCaching()
+                    .to("file:target/data/offheap?fileExist=Append&appendChars=\\n")
+                    .to("mock:result");
+            }
+        };
+    }
+}
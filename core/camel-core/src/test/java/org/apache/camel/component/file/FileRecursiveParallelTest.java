@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for the recursiveParallelism option.
+ */
+public class FileRecursiveParallelTest extends ContextTestSupport {
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        deleteDirectory("target/data/parallel");
+        super.setUp();
+    }
+
+    @Test
+    public void testRecursiveParallel() throws Exception {
+        template.sendBodyAndHeader("file:target/data/parallel", "a", Exchange.FILE_NAME, "a.txt");
+        template.sendBodyAndHeader("file:target/data/parallel/b", "b-a", Exchange.FILE_NAME, "a.txt");
+        template.sendBodyAndHeader("file:target/data/parallel/b/c", "b-c-a", Exchange.FILE_NAME, "a.txt");
+        template.sendBodyAndHeader("file:target/data/parallel", "c", Exchange.FILE_NAME, "c.txt");
+        template.sendBodyAndHeader("file:target/data/parallel/d", "d-a", Exchange.FILE_NAME, "a.txt");
+        template.sendBodyAndHeader("file:target/data/parallel/d", "d-b", Exchange.FILE_NAME, "b.txt");
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        // should be in the same order as when walking the directories one by one
+        mock.expectedBodiesReceived("a", "b-a", "b-c-a", "c", "d-a", "d-b");
+
+        context.getRouteController().startRoute("foo");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testRecursiveParallelMaxMessagesPerPoll() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            template.sendBodyAndHeader("file:target/data/parallel/sub" + i, "Hello " + i, Exchange.FILE_NAME, "hello.txt");
+        }
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceivedInAnyOrder("Hello 0", "Hello 1", "Hello 2", "Hello 3", "Hello 4",
+            "Hello 5", "Hello 6", "Hello 7", "Hello 8", "Hello 9");
+        mock.allMessages().exchangeProperty(Exchange.BATCH_SIZE).isLessThanOrEqualTo(3);
+
+        context.getRouteController().startRoute("bar");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("file:target/data/parallel?initialDelay=0&delay=10&recursive=true&recursiveParallelism=4&noop=true&preSort=true")
+                    .routeId("foo").noAutoStartup()
+                    .convertBodyTo(String.class).to("mock:result");
+
+                from("file:target/data/parallel?initialDelay=0&delay=10&recursive=true&recursiveParallelism=4&maxMessagesPerPoll=3")
+                    .routeId("bar").noAutoStartup()
+                    .convertBodyTo(String.class).to("mock:result");
+            }
+        };
+    }
+}
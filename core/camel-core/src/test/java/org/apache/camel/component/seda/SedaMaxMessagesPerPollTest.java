@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.Test;
+
+public class SedaMaxMessagesPerPollTest extends ContextTestSupport {
+
+    @Test
+    public void testMaxMessagesPerPoll() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:batch");
+        mock.expectedBodiesReceived("A", "B", "C", "D", "E");
+        mock.message(0).exchangeProperty(Exchange.BATCH_INDEX).isEqualTo(0);
+        mock.message(0).exchangeProperty(Exchange.BATCH_SIZE).isEqualTo(3);
+        mock.message(2).exchangeProperty(Exchange.BATCH_COMPLETE).isEqualTo(true);
+        mock.message(3).exchangeProperty(Exchange.BATCH_INDEX).isEqualTo(0);
+        mock.message(3).exchangeProperty(Exchange.BATCH_SIZE).isEqualTo(2);
+        mock.message(4).exchangeProperty(Exchange.BATCH_COMPLETE).isEqualTo(true);
+
+        for (String body : new String[] {"A", "B", "C", "D", "E"}) {
+            template.sendBody("seda:batch", body);
+        }
+        context.getRouteController().startRoute("batch");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testGroupExchanges() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:group");
+        mock.expectedMessageCount(2);
+        mock.message(0).exchangeProperty(Exchange.BATCH_SIZE).isEqualTo(3);
+        mock.message(1).exchangeProperty(Exchange.BATCH_SIZE).isEqualTo(2);
+
+        for (String body : new String[] {"A", "B", "C", "D", "E"}) {
+            template.sendBody("seda:group", body);
+        }
+        context.getRouteController().startRoute("group");
+
+        assertMockEndpointsSatisfied();
+
+        List<?> first = mock.getReceivedExchanges().get(0).getIn().getBody(List.class);
+        assertEquals(3, first.size());
+        assertEquals("A", ((Exchange) first.get(0)).getIn().getBody());
+        List<?> second = mock.getReceivedExchanges().get(1).getIn().getBody(List.class);
+        assertEquals(2, second.size());
+        assertEquals("E", ((Exchange) second.get(1)).getIn().getBody());
+    }
+
+    @Test
+    public void testGroupExchangesInOut() throws Exception {
+        String out = template.requestBody("seda:groupInOut", "Hello World", String.class);
+        assertEquals("Hello World", out);
+    }
+
+    @Test
+    public void testMaxMessagesPerPollInOut() throws Exception {
+        List<Future<String>> replies = new ArrayList<>();
+        for (String body : new String[] {"A", "B", "C"}) {
+            replies.add(template.asyncRequestBody("seda:batchInOut", body, String.class));
+        }
+        context.getRouteController().startRoute("batchInOut");
+
+        assertEquals("Bye A", replies.get(0).get(10, TimeUnit.SECONDS));
+        assertEquals("Bye B", replies.get(1).get(10, TimeUnit.SECONDS));
+        assertEquals("Bye C", replies.get(2).get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testGroupExchangesInOutReplyToGroup() throws Exception {
+        List<Future<String>> replies = new ArrayList<>();
+        for (String body : new String[] {"A", "B", "C"}) {
+            replies.add(template.asyncRequestBody("seda:groupReply", body, String.class));
+        }
+        context.getRouteController().startRoute("groupReply");
+
+        for (Future<String> reply : replies) {
+            assertEquals("Done 3", reply.get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testGroupExchangesInOutReplyToEach() throws Exception {
+        List<Future<String>> replies = new ArrayList<>();
+        for (String body : new String[] {"A", "B", "C"}) {
+            replies.add(template.asyncRequestBody("seda:groupEach", body, String.class));
+        }
+        context.getRouteController().startRoute("groupEach");
+
+        assertEquals("Bye A", replies.get(0).get(10, TimeUnit.SECONDS));
+        assertEquals("Bye B", replies.get(1).get(10, TimeUnit.SECONDS));
+        assertEquals("Bye C", replies.get(2).get(10, TimeUnit.SECONDS));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:batch?maxMessagesPerPoll=3").routeId("batch").noAutoStartup()
+                    .to("mock:batch");
+
+                from("seda:group?maxMessagesPerPoll=3&groupExchanges=true").routeId("group").noAutoStartup()
+                    .to("mock:group");
+
+                from("seda:groupInOut?maxMessagesPerPoll=10&groupExchanges=true")
+                    .to("mock:groupInOut");
+
+                from("seda:batchInOut?maxMessagesPerPoll=3").routeId("batchInOut").noAutoStartup()
+                    .transform(simple("Bye ${body}"));
+
+                from("seda:groupReply?maxMessagesPerPoll=3&groupExchanges=true").routeId("groupReply").noAutoStartup()
+                    .transform(simple("Done ${exchangeProperty.CamelBatchSize}"));
+
+                from("seda:groupEach?maxMessagesPerPoll=3&groupExchanges=true").routeId("groupEach").noAutoStartup()
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            List<Exchange> group = exchange.getIn().getBody(List.class);
+                            for (Exchange grouped : group) {
+                                grouped.getMessage().setBody("Bye " + grouped.getMessage().getBody());
+                            }
+                        }
+                    });
+            }
+        };
+    }
+}
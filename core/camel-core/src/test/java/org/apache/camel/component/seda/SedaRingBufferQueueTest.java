@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.Test;
+
+public class SedaRingBufferQueueTest extends ContextTestSupport {
+
+    @Test
+    public void testQueueType() throws Exception {
+        SedaEndpoint endpoint = resolveMandatoryEndpoint("seda:mpscQueue?queueType=mpsc&idleStrategy=yield&size=100", SedaEndpoint.class);
+
+        BlockingQueue<Exchange> queue = endpoint.getQueue();
+        RingBufferBlockingQueue<Exchange> ringBuffer = assertIsInstanceOf(RingBufferBlockingQueue.class, queue);
+        assertTrue(ringBuffer.isSingleConsumer());
+        assertIsInstanceOf(YieldIdleStrategy.class, ringBuffer.getIdleStrategy());
+        assertEquals(100, ringBuffer.remainingCapacity());
+    }
+
+    @Test
+    public void testRingBufferQueue() throws Exception {
+        RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<>(3, true, new SpinIdleStrategy());
+        assertNull(queue.poll());
+        assertTrue(queue.offer("A"));
+        assertTrue(queue.offer("B"));
+        assertTrue(queue.offer("C"));
+        // the capacity is not a power of two, but we should still be full
+        assertFalse(queue.offer("D"));
+        assertFalse(queue.offer("D", 10, TimeUnit.MILLISECONDS));
+        assertEquals(3, queue.size());
+        assertEquals("A", queue.peek());
+
+        // remove in the middle of the queue
+        assertTrue(queue.remove("B"));
+        assertFalse(queue.remove("B"));
+        assertEquals("A", queue.poll());
+        assertEquals("C", queue.poll());
+        assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+        assertEquals(0, queue.size());
+
+        // wrap around the ring buffer
+        for (int i = 0; i < 10; i++) {
+            queue.put("" + i);
+            assertEquals("" + i, queue.take());
+        }
+    }
+
+    @Test
+    public void testMpsc() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:mpsc");
+        mock.expectedMessageCount(500);
+
+        sendConcurrent("seda:mpsc?queueType=mpsc", 500);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testMpmc() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:mpmc");
+        mock.expectedMessageCount(500);
+
+        sendConcurrent("seda:mpmc?queueType=mpmc&concurrentConsumers=5", 500);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testMpscInOut() throws Exception {
+        String out = template.requestBody("seda:mpsc?queueType=mpsc", "Hello World", String.class);
+        assertEquals("Bye World", out);
+    }
+
+    @Test
+    public void testQueueTypeUsesEndpointSize() throws Exception {
+        SedaEndpoint endpoint = resolveMandatoryEndpoint("seda:defaultSize?queueType=mpmc", SedaEndpoint.class);
+        assertEquals(SedaConstants.QUEUE_SIZE, endpoint.getQueue().remainingCapacity());
+
+        endpoint = resolveMandatoryEndpoint("seda:customSize?queueType=mpmc&size=50", SedaEndpoint.class);
+        assertEquals(50, endpoint.getQueue().remainingCapacity());
+    }
+
+    @Test
+    public void testMpscConcurrentConsumersNotAllowed() throws Exception {
+        try {
+            context.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    from("seda:invalid?queueType=mpsc&concurrentConsumers=2").to("mock:invalid");
+                }
+            });
+            fail("Should have thrown exception");
+        } catch (Exception e) {
+            assertSingleConsumerOnly(e);
+        }
+    }
+
+    @Test
+    public void testMpscMultipleConsumersNotAllowed() throws Exception {
+        try {
+            context.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    from("seda:invalid?queueType=mpsc&multipleConsumers=true").to("mock:invalid");
+                }
+            });
+            fail("Should have thrown exception");
+        } catch (Exception e) {
+            assertSingleConsumerOnly(e);
+        }
+    }
+
+    @Test
+    public void testMpscSecondConsumerNotAllowed() throws Exception {
+        try {
+            context.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    // another endpoint on the same queue
+                    from("seda:mpsc?queueType=mpsc&pollTimeout=500").to("mock:invalid");
+                }
+            });
+            fail("Should have thrown exception");
+        } catch (Exception e) {
+            assertSingleConsumerOnly(e);
+        }
+    }
+
+    @Test
+    public void testMpscPollingConsumerNotAllowed() throws Exception {
+        try {
+            consumer.receiveBody("seda:mpsc?queueType=mpsc", 100);
+            fail("Should have thrown exception");
+        } catch (Exception e) {
+            assertSingleConsumerOnly(e);
+        }
+    }
+
+    private static void assertSingleConsumerOnly(Throwable e) {
+        while (e.getCause() != null) {
+            e = e.getCause();
+        }
+        assertTrue(e.getMessage(), e.getMessage().startsWith("The mpsc queue only supports a single consumer thread"));
+    }
+
+    private void sendConcurrent(final String uri, int size) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        for (int i = 0; i < size; i++) {
+            final int count = i;
+            executor.submit(() -> template.sendBody(uri, "Message " + count));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:mpsc?queueType=mpsc").transform(constant("Bye World")).to("mock:mpsc");
+
+                from("seda:mpmc?queueType=mpmc&concurrentConsumers=5").to("mock:mpmc");
+            }
+        };
+    }
+}
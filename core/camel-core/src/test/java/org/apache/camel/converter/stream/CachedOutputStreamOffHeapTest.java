@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.StreamCache;
+import org.apache.camel.impl.engine.DefaultStreamCachingStrategy;
+import org.apache.camel.impl.engine.DefaultUnitOfWork;
+import org.apache.camel.spi.StreamCachingStrategy;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.util.IOHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CachedOutputStreamOffHeapTest extends ContextTestSupport {
+
+    private static final int BUFFER_SIZE = DefaultStreamCachingStrategy.OFF_HEAP_BUFFER_SIZE;
+
+    private Exchange exchange;
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setStreamCaching(true);
+        context.getStreamCachingStrategy().setSpoolDirectory("target/data/cachedir");
+        context.getStreamCachingStrategy().setSpoolThreshold(16);
+        context.getStreamCachingStrategy().setSpoolOffHeapMemoryLimit(2 * BUFFER_SIZE);
+        context.getStreamCachingStrategy().getStatistics().setStatisticsEnabled(true);
+        return context;
+    }
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        deleteDirectory("target/data/cachedir");
+        super.setUp();
+        createDirectory("target/data/cachedir");
+
+        exchange = new DefaultExchange(context);
+        exchange.setUnitOfWork(new DefaultUnitOfWork(exchange));
+    }
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    private static byte[] data(int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) ('a' + i % 26);
+        }
+        return data;
+    }
+
+    private static byte[] read(InputStream is) throws Exception {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        IOHelper.copy(is, bos);
+        return bos.toByteArray();
+    }
+
+    @Test
+    public void testSpoolToOffHeapMemory() throws Exception {
+        context.start();
+        StreamCachingStrategy strategy = context.getStreamCachingStrategy();
+
+        byte[] data = data(BUFFER_SIZE + 100);
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(data);
+
+        assertEquals("should not spool to disk", 0, new File("target/data/cachedir").list().length);
+        assertEquals(2 * BUFFER_SIZE, strategy.getSpoolOffHeapMemoryUsed());
+
+        StreamCache cache = cos.newStreamCache();
+        assertIsInstanceOf(OffHeapInputStreamCache.class, cache);
+        assertTrue(cache.inMemory());
+        assertEquals(data.length, cache.length());
+        assertTrue(Arrays.equals(data, read((InputStream) cache)));
+
+        // can be read again after reset
+        cache.reset();
+        assertTrue(Arrays.equals(data, read((InputStream) cache)));
+
+        // and a copy has its own position
+        cache.reset();
+        StreamCache copy = cache.copy(exchange);
+        assertTrue(Arrays.equals(data, read((InputStream) copy)));
+        assertTrue(Arrays.equals(data, read((InputStream) cache)));
+
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals("off-heap memory should be released", 0, strategy.getSpoolOffHeapMemoryUsed());
+    }
+
+    @Test
+    public void testReadAfterOffHeapMemoryReleased() throws Exception {
+        context.start();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(data(1000));
+        StreamCache cache = cos.newStreamCache();
+        StreamCache copy = cache.copy(exchange);
+
+        exchange.getUnitOfWork().done(exchange);
+
+        // the buffers are back in the pool, so the stream caches must not read them anymore
+        for (StreamCache released : Arrays.asList(cache, copy)) {
+            try {
+                ((InputStream) released).read();
+                fail("Should have thrown an exception");
+            } catch (IOException e) {
+                // expected
+            }
+            try {
+                released.writeTo(new ByteArrayOutputStream());
+                fail("Should have thrown an exception");
+            } catch (IOException e) {
+                // expected
+            }
+            try {
+                released.reset();
+                fail("Should have thrown an exception");
+            } catch (RuntimeCamelException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testSpoolToFileWhenOffHeapLimitReached() throws Exception {
+        context.start();
+        StreamCachingStrategy strategy = context.getStreamCachingStrategy();
+
+        byte[] data = data(3 * BUFFER_SIZE);
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(data);
+
+        File dir = new File("target/data/cachedir");
+        assertEquals("should spool to disk", 1, dir.list().length);
+        assertEquals("off-heap memory should be released", 0, strategy.getSpoolOffHeapMemoryUsed());
+
+        StreamCache cache = cos.newStreamCache();
+        assertIsInstanceOf(FileInputStreamCache.class, cache);
+        assertTrue(Arrays.equals(data, read((InputStream) cache)));
+
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals("temp file should be deleted", 0, dir.list().length);
+    }
+
+    @Test
+    public void testWriteToFile() throws Exception {
+        context.start();
+
+        byte[] data = data(BUFFER_SIZE + 100);
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(data);
+        StreamCache cache = cos.newStreamCache();
+
+        File target = new File("target/data/offheap.dat");
+        try (FileOutputStream fos = new FileOutputStream(target)) {
+            cache.writeTo(fos);
+        }
+        try (InputStream is = new FileInputStream(target)) {
+            assertTrue(Arrays.equals(data, read(is)));
+        }
+
+        exchange.getUnitOfWork().done(exchange);
+    }
+
+    @Test
+    public void testOffHeapStatistics() throws Exception {
+        context.start();
+        StreamCachingStrategy strategy = context.getStreamCachingStrategy();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(data(1000));
+        exchange.getIn().setBody(cos.newStreamCache());
+        strategy.cache(exchange);
+
+        assertEquals(1, strategy.getStatistics().getCacheOffHeapCounter());
+        assertEquals(1000, strategy.getStatistics().getCacheOffHeapSize());
+        assertEquals(1000, strategy.getStatistics().getCacheOffHeapAverageSize());
+        assertEquals(0, strategy.getStatistics().getCacheSpoolCounter());
+
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals(0, strategy.getSpoolOffHeapMemoryUsed());
+    }
+}
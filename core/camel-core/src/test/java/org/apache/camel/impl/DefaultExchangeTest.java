@@ -18,6 +18,10 @@ package org.apache.camel.impl;
 
 import java.io.IOException;
 import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
@@ -220,6 +224,101 @@ public class DefaultExchangeTest extends ExchangeTestSupport {
         assertEquals("Africa", exchange.getProperty("zone", String.class));
     }
 
+    @Test
+    public void testInternalProperties() throws Exception {
+        exchange.removeProperty("foobar");
+        assertFalse(exchange.hasProperties());
+
+        exchange.setProperty(Exchange.SPLIT_INDEX, 2);
+        exchange.setProperty("fruit", "apple");
+        assertTrue(exchange.hasProperties());
+        assertEquals(Integer.valueOf(2), exchange.getProperty(Exchange.SPLIT_INDEX, Integer.class));
+
+        Exchange copy = exchange.copy();
+        assertEquals(Integer.valueOf(2), copy.getProperty(Exchange.SPLIT_INDEX, Integer.class));
+        assertEquals("apple", copy.getProperty("fruit"));
+
+        // the properties map includes the internal properties and is a live view
+        assertEquals(2, exchange.getProperties().size());
+        assertEquals(2, exchange.getProperties().get(Exchange.SPLIT_INDEX));
+        exchange.getProperties().put(Exchange.SPLIT_INDEX, 3);
+        assertEquals(Integer.valueOf(3), exchange.getProperty(Exchange.SPLIT_INDEX, Integer.class));
+        exchange.setProperty(Exchange.SPLIT_SIZE, 5);
+        assertEquals(5, exchange.getProperties().get(Exchange.SPLIT_SIZE));
+
+        // the copy is not affected
+        assertEquals(Integer.valueOf(2), copy.getProperty(Exchange.SPLIT_INDEX, Integer.class));
+        assertNull(copy.getProperty(Exchange.SPLIT_SIZE));
+
+        assertEquals(2, copy.removeProperty(Exchange.SPLIT_INDEX));
+        copy.removeProperties("CamelSplit*");
+        assertEquals(1, copy.getProperties().size());
+        assertEquals("apple", copy.getProperty("fruit"));
+    }
+
+    @Test
+    public void testRemoveInternalProperties() throws Exception {
+        exchange.setProperty(Exchange.SPLIT_INDEX, 1);
+        exchange.setProperty(Exchange.SPLIT_SIZE, 2);
+        exchange.setProperty(Exchange.TO_ENDPOINT, "mock://foo");
+        exchange.setProperty("fruit", "apple");
+
+        assertTrue(exchange.removeProperties("CamelSplit*"));
+        assertNull(exchange.getProperty(Exchange.SPLIT_INDEX));
+        assertNull(exchange.getProperty(Exchange.SPLIT_SIZE));
+        assertEquals("mock://foo", exchange.getProperty(Exchange.TO_ENDPOINT));
+
+        exchange.removeProperties("*", Exchange.TO_ENDPOINT);
+        assertTrue(exchange.hasProperties());
+        assertNull(exchange.getProperty("fruit"));
+
+        exchange.setProperty(Exchange.TO_ENDPOINT, null);
+        assertFalse(exchange.hasProperties());
+    }
+
+    @Test
+    public void testInternalPropertiesSetWhileMaterialized() throws Exception {
+        final String[] names = {Exchange.SPLIT_INDEX, Exchange.SPLIT_SIZE, Exchange.LOOP_INDEX, Exchange.MULTICAST_INDEX};
+        for (int i = 0; i < 500; i++) {
+            final Exchange exchange = new DefaultExchange(context);
+            final CountDownLatch start = new CountDownLatch(1);
+            List<Thread> threads = new ArrayList<>();
+            for (int j = 0; j < names.length; j++) {
+                final String name = names[j];
+                final int value = j;
+                threads.add(new Thread(() -> {
+                    awaitStart(start);
+                    exchange.setProperty(name, value);
+                }));
+            }
+            threads.add(new Thread(() -> {
+                awaitStart(start);
+                exchange.getProperties();
+            }));
+            threads.forEach(Thread::start);
+            start.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            // no property is lost when the properties map is created while they are set from other threads
+            Map<String, Object> properties = exchange.getProperties();
+            assertEquals(names.length, properties.size());
+            for (int j = 0; j < names.length; j++) {
+                assertEquals(j, exchange.getProperty(names[j]));
+                assertEquals(j, properties.get(names[j]));
+            }
+        }
+    }
+
+    private static void awaitStart(CountDownLatch start) {
+        try {
+            start.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     @Test
     public void testInType() throws Exception {
         exchange.setIn(new MyMessage(context));
@@ -16,24 +16,34 @@
  */
 package org.apache.camel.impl;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
 import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
 import org.apache.camel.impl.engine.DefaultUnitOfWork;
+import org.apache.camel.spi.Synchronization;
 import org.apache.camel.support.DefaultExchange;
 import org.apache.camel.support.SimpleUuidGenerator;
+import org.apache.camel.support.SynchronizationAdapter;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
 public class DefaultUnitOfWorkTest extends Assert {
 
+    private CamelContext context;
+    private Exchange exchange;
     private DefaultUnitOfWork unitOfWork;
 
     @Before
     public void setUp() throws Exception {
 
-        CamelContext context = new DefaultCamelContext();
+        context = new DefaultCamelContext();
         context.setUuidGenerator(new SimpleUuidGenerator());
-        unitOfWork = new DefaultUnitOfWork(new DefaultExchange(context));
+        exchange = new DefaultExchange(context);
+        unitOfWork = new DefaultUnitOfWork(exchange);
     }
 
     @Test
@@ -42,4 +52,87 @@ public class DefaultUnitOfWorkTest extends Assert {
         assertNotNull(id);
         assertEquals(id, unitOfWork.getId());
     }
+
+    @Test
+    public void testSynchronizations() {
+        final List<String> done = new ArrayList<>();
+        Synchronization a = new MySynchronization("a", done);
+        Synchronization b = new MySynchronization("b", done);
+        Synchronization c = new MySynchronization("c", done);
+
+        assertFalse(unitOfWork.containsSynchronization(a));
+
+        unitOfWork.addSynchronization(a);
+        unitOfWork.addSynchronization(b);
+        unitOfWork.addSynchronization(c);
+        assertTrue(unitOfWork.containsSynchronization(a));
+        assertTrue(unitOfWork.containsSynchronization(b));
+        assertTrue(unitOfWork.containsSynchronization(c));
+
+        unitOfWork.removeSynchronization(b);
+        assertFalse(unitOfWork.containsSynchronization(b));
+
+        unitOfWork.done(exchange);
+
+        // invoked in FILO order
+        assertEquals(2, done.size());
+        assertEquals("c", done.get(0));
+        assertEquals("a", done.get(1));
+    }
+
+    @Test
+    public void testHandoverSynchronization() {
+        final List<String> done = new ArrayList<>();
+        Synchronization a = new MySynchronization("a", done);
+        Synchronization b = new MySynchronization("b", done);
+        unitOfWork.addSynchronization(a);
+        unitOfWork.addSynchronization(b);
+
+        Exchange target = new DefaultExchange(context);
+        unitOfWork.handoverSynchronization(target, s -> s == b);
+
+        assertTrue(unitOfWork.containsSynchronization(a));
+        assertFalse(unitOfWork.containsSynchronization(b));
+
+        List<Synchronization> handover = target.handoverCompletions();
+        assertEquals(1, handover.size());
+        assertSame(b, handover.get(0));
+    }
+
+    @Test
+    public void testAddSynchronizationConcurrently() throws Exception {
+        final int threads = 4;
+        final int size = 500;
+        final CountDownLatch latch = new CountDownLatch(threads);
+        final List<String> done = new ArrayList<>();
+
+        for (int i = 0; i < threads; i++) {
+            new Thread(() -> {
+                for (int j = 0; j < size; j++) {
+                    unitOfWork.addSynchronization(new MySynchronization("" + j, done));
+                }
+                latch.countDown();
+            }).start();
+        }
+        latch.await();
+
+        unitOfWork.done(exchange);
+        assertEquals(threads * size, done.size());
+    }
+
+    private static final class MySynchronization extends SynchronizationAdapter {
+
+        private final String name;
+        private final List<String> done;
+
+        private MySynchronization(String name, List<String> done) {
+            this.name = name;
+            this.done = done;
+        }
+
+        @Override
+        public void onDone(Exchange exchange) {
+            done.add(name);
+        }
+    }
 }
@@ -24,7 +24,13 @@ import org.apache.camel.LoggingLevel;
 import org.apache.camel.TypeConverter;
 import org.apache.camel.TypeConverterExists;
 import org.apache.camel.TypeConverterExistsException;
+import org.apache.camel.impl.converter.DefaultTypeConverter;
+import org.apache.camel.impl.engine.DefaultClassResolver;
+import org.apache.camel.impl.engine.DefaultFactoryFinderResolver;
+import org.apache.camel.impl.engine.DefaultPackageScanClassResolver;
 import org.apache.camel.support.TypeConverterSupport;
+import org.apache.camel.support.service.ServiceHelper;
+import org.apache.camel.util.ReflectionInjector;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -110,6 +116,52 @@ public class TypeConverterRegistryTest extends Assert {
         assertNull("Type converter should be removed", order);
     }
 
+    @Test
+    public void testAddTypeConverterAfterMiss() {
+        DefaultCamelContext context = new DefaultCamelContext();
+
+        // no converter so the conversion is remembered as a miss
+        MyOrder order = context.getTypeConverter().convertTo(MyOrder.class, "123");
+        assertNull(order);
+        order = context.getTypeConverter().convertTo(MyOrder.class, "123");
+        assertNull(order);
+
+        // adding a converter from a super type of String should invalidate the miss
+        context.getTypeConverterRegistry().addTypeConverter(MyOrder.class, CharSequence.class, new MyOrderTypeConverter());
+
+        order = context.getTypeConverter().convertTo(MyOrder.class, "123");
+        assertNotNull(order);
+        assertEquals(123, order.getId());
+    }
+
+    @Test
+    public void testAddTypeConverterDuringLookup() throws Exception {
+        DefaultTypeConverter converter = new DefaultTypeConverter(new DefaultPackageScanClassResolver(), new ReflectionInjector(),
+                new DefaultFactoryFinderResolver().resolveDefaultFactoryFinder(new DefaultClassResolver()), false) {
+            private boolean added;
+
+            @Override
+            public TypeConverter lookup(Class<?> toType, Class<?> fromType) {
+                TypeConverter answer = super.lookup(toType, fromType);
+                if (toType == MyOrder.class && !added) {
+                    // simulate another thread adding a converter after this lookup missed
+                    added = true;
+                    addTypeConverter(MyOrder.class, CharSequence.class, new MyOrderTypeConverter());
+                }
+                return answer;
+            }
+        };
+        ServiceHelper.startService(converter);
+
+        // the first lookup missed but must not be remembered as the converter was added meanwhile
+        MyOrder order = converter.convertTo(MyOrder.class, "123");
+        assertNull(order);
+
+        order = converter.convertTo(MyOrder.class, "123");
+        assertNotNull(order);
+        assertEquals(123, order.getId());
+    }
+
     private static class MyOrder {
         private int id;
 
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.spi.ReactiveExecutor;
+import org.junit.Test;
+
+public class ArrayDequeReactiveExecutorTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getGlobalOptions().put(ReactiveExecutorResolver.REACTIVE_EXECUTOR, "arrayDeque");
+        return context;
+    }
+
+    @Test
+    public void testResolved() throws Exception {
+        ReactiveExecutor executor = context.getReactiveExecutor();
+        assertIsInstanceOf(ArrayDequeReactiveExecutor.class, executor);
+    }
+
+    @Test
+    public void testSameOrderAsDefault() throws Exception {
+        assertEquals(runTasks(new DefaultReactiveExecutor()), runTasks(new ArrayDequeReactiveExecutor()));
+    }
+
+    @Test
+    public void testManyTasks() throws Exception {
+        ArrayDequeReactiveExecutor executor = new ArrayDequeReactiveExecutor();
+        List<Integer> order = new ArrayList<>();
+        executor.scheduleSync(() -> {
+            for (int i = 0; i < 100; i++) {
+                final int n = i;
+                executor.scheduleSync(() -> order.add(n));
+            }
+        });
+        assertEquals(100, order.size());
+        assertEquals(0, executor.getPendingTasks());
+    }
+
+    @Test
+    public void testTasksAreNotRunByOtherThreads() throws Exception {
+        ArrayDequeReactiveExecutor executor = new ArrayDequeReactiveExecutor();
+        CountDownLatch queued = new CountDownLatch(1);
+        CountDownLatch checked = new CountDownLatch(1);
+        List<String> threads = new ArrayList<>();
+
+        Thread owner = new Thread(() -> executor.schedule(() -> {
+            // queue a task, which must only be run by this thread after the current task
+            executor.schedule(() -> threads.add(Thread.currentThread().getName()));
+            queued.countDown();
+            try {
+                checked.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                // ignore
+            }
+        }), "owner");
+        owner.start();
+
+        assertTrue(queued.await(10, TimeUnit.SECONDS));
+        assertFalse(executor.executeFromQueue());
+        checked.countDown();
+        owner.join(10000);
+
+        assertEquals(1, threads.size());
+        assertEquals("owner", threads.get(0));
+        assertEquals(0, executor.getPendingTasks());
+    }
+
+    @Test
+    public void testOrderWithinExchange() throws Exception {
+        int count = 200;
+        getMockEndpoint("mock:order").expectedMessageCount(count);
+
+        List<Future<Object>> replies = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            replies.add(template.asyncRequestBody("direct:order", "" + i));
+        }
+        for (Future<Object> reply : replies) {
+            assertEquals("1,2,3,4", reply.get(20, TimeUnit.SECONDS));
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testRoute() throws Exception {
+        getMockEndpoint("mock:a").expectedBodiesReceived("A", "B", "C");
+        getMockEndpoint("mock:b").expectedBodiesReceived("A", "B", "C");
+        getMockEndpoint("mock:result").expectedBodiesReceived("A,B,C");
+
+        template.sendBody("direct:start", "A,B,C");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    private static List<String> runTasks(ReactiveExecutor executor) {
+        List<String> order = new ArrayList<>();
+        executor.scheduleSync(() -> {
+            order.add("sync");
+            executor.schedule(() -> {
+                order.add("a");
+                executor.scheduleMain(() -> order.add("main1"));
+                executor.schedule(() -> order.add("a1"));
+            });
+            executor.schedule(() -> order.add("b"));
+            executor.scheduleMain(() -> {
+                order.add("main2");
+                executor.schedule(() -> order.add("main2-1"));
+                executor.scheduleSync(() -> order.add("main2-sync"));
+            });
+            executor.schedule(() -> order.add("c"));
+        });
+        return order;
+    }
+
+    private static void step(Exchange exchange, int step) {
+        String steps = exchange.getProperty("steps", String.class);
+        // yield to let any other thread run tasks of this exchange, if it could
+        Thread.yield();
+        exchange.setProperty("steps", steps.isEmpty() ? "" + step : steps + "," + step);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .split(body().tokenize(","))
+                        .multicast().to("mock:a", "mock:b").end()
+                    .end()
+                    .to("mock:result");
+
+                // each step must see the previous step of the same exchange completed
+                from("direct:order")
+                    .setProperty("steps", constant(""))
+                    .process(e -> step(e, 1))
+                    .threads(4)
+                    .process(e -> step(e, 2))
+                    .multicast().to("direct:noop", "direct:noop").end()
+                    .process(e -> step(e, 3))
+                    .delay(1).asyncDelayed()
+                    .process(e -> step(e, 4))
+                    .setBody(exchangeProperty("steps"))
+                    .to("mock:order");
+
+                from("direct:noop").process(e -> Thread.yield());
+            }
+        };
+    }
+}
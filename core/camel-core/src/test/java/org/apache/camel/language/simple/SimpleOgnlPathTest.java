@@ -0,0 +1,287 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.component.bean.MethodNotFoundException;
+import org.apache.camel.language.bean.RuntimeBeanExpressionException;
+import org.junit.Test;
+
+public class SimpleOgnlPathTest extends ContextTestSupport {
+
+    private Exchange exchange;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        exchange = createExchangeWithBody(null);
+    }
+
+    @Test
+    public void testCompile() throws Exception {
+        assertNotNull(SimpleOgnlPath.compile(".name"));
+        assertNotNull(SimpleOgnlPath.compile(".getFriend?.getName()"));
+        assertNotNull(SimpleOgnlPath.compile(".lines[last - 1].id"));
+        assertNotNull(SimpleOgnlPath.compile("[foo]"));
+
+        // method arguments and nested functions are left for the bean language
+        assertNull(SimpleOgnlPath.compile(".substring(1, 2)"));
+        assertNull(SimpleOgnlPath.compile(".lines[${header.index}]"));
+        assertNull(SimpleOgnlPath.compile(".foo..bar"));
+        assertNull(SimpleOgnlPath.compile("name"));
+    }
+
+    @Test
+    public void testInvoke() throws Exception {
+        Animal tiger = new Animal("Tony the Tiger", 13);
+        Animal camel = new Animal("Camel", 6);
+        camel.setFriend(tiger);
+
+        assertEquals("Camel", SimpleOgnlPath.compile(".name").invoke(exchange, camel));
+        assertEquals(6, SimpleOgnlPath.compile(".getAge").invoke(exchange, camel));
+        assertEquals(true, SimpleOgnlPath.compile(".old").invoke(exchange, tiger));
+        assertEquals("Tony the Tiger", SimpleOgnlPath.compile(".friend.getName()").invoke(exchange, camel));
+        assertEquals("Camel", SimpleOgnlPath.compile(".toString").invoke(exchange, camel));
+    }
+
+    @Test
+    public void testInvokeDifferentReceivers() throws Exception {
+        SimpleOgnlPath path = SimpleOgnlPath.compile(".size");
+        assertEquals(2, path.invoke(exchange, new ArrayList<>(Arrays.asList("a", "b"))));
+        assertEquals(1, path.invoke(exchange, Collections.singletonList("a")));
+        assertEquals(0, path.invoke(exchange, new HashMap<>()));
+        assertEquals(3, path.invoke(exchange, Collections.unmodifiableSet(new java.util.HashSet<>(Arrays.asList(1, 2, 3)))));
+        // no such method so the bean language fails
+        try {
+            path.invoke(exchange, "Hello");
+            fail("Should have thrown exception");
+        } catch (RuntimeBeanExpressionException e) {
+            assertIsInstanceOf(MethodNotFoundException.class, e.getCause());
+        }
+    }
+
+    @Test
+    public void testNullSafe() throws Exception {
+        Animal tiger = new Animal("Tony the Tiger", 13);
+        Animal camel = new Animal("Camel", 6);
+        camel.setFriend(tiger);
+
+        assertNull(SimpleOgnlPath.compile(".friend?.friend.name").invoke(exchange, camel));
+        // not null safe so it fails as the bean language
+        try {
+            SimpleOgnlPath.compile(".friend.friend.name").invoke(exchange, camel);
+            fail("Should have thrown exception");
+        } catch (RuntimeBeanExpressionException e) {
+            assertEquals("Failed to invoke method: .friend.friend.name on " + Animal.class.getCanonicalName()
+                    + " due last method returned null and therefore cannot continue to invoke method .name on a null instance", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testIndex() throws Exception {
+        List<String> lines = Arrays.asList("a", "b", "c");
+        Map<String, Object> map = new HashMap<>();
+        map.put("lines", lines);
+        map.put("foo.bar", "Hello");
+
+        assertEquals("a", SimpleOgnlPath.compile("[lines][0]").invoke(exchange, map));
+        assertEquals("c", SimpleOgnlPath.compile("[lines][last]").invoke(exchange, map));
+        assertEquals("b", SimpleOgnlPath.compile("[lines][last - 1]").invoke(exchange, map));
+        assertEquals("Hello", SimpleOgnlPath.compile("['foo.bar']").invoke(exchange, map));
+        assertNull(SimpleOgnlPath.compile("[unknown]").invoke(exchange, map));
+
+        // out of bounds and keys on a non map fail in the bean language
+        assertIndexOutOfBounds(SimpleOgnlPath.compile("[lines][3]"), map);
+        assertIndexOutOfBounds(SimpleOgnlPath.compile("[lines][last - 3]"), map);
+        assertIndexOutOfBounds(SimpleOgnlPath.compile("[foo]"), "Hello");
+        assertNull(SimpleOgnlPath.compile("[lines]?.[5]").invoke(exchange, map));
+        // the bean language converts the array to a list
+        assertEquals("b", SimpleOgnlPath.compile("[array][1]").invoke(exchange, Collections.singletonMap("array", new String[]{"a", "b"})));
+    }
+
+    @Test
+    public void testAmbiguous() throws Exception {
+        // overloaded methods are left for the bean language to choose, which binds the message body to the parameter
+        assertEquals("nullCamel", SimpleOgnlPath.compile(".describe").invoke(exchange, new Animal("Camel", 6)));
+        assertEquals("Camel", SimpleOgnlPath.compile(".describe()").invoke(exchange, new Animal("Camel", 6)));
+    }
+
+    @Test
+    public void testMethodsInvokedOnce() throws Exception {
+        Counter counter = new Counter();
+
+        // the bean language continues from the result of next when the lookup needs a type conversion
+        assertEquals("b", SimpleOgnlPath.compile(".next.array[1]").invoke(exchange, counter));
+        assertEquals(1, counter.getCount());
+
+        // the bean language continues from the result of next when the method is overloaded
+        assertEquals("null2", SimpleOgnlPath.compile(".next.describe").invoke(exchange, counter));
+        assertEquals(2, counter.getCount());
+
+        try {
+            SimpleOgnlPath.compile(".next.lines[5]").invoke(exchange, counter);
+            fail("Should have thrown exception");
+        } catch (RuntimeBeanExpressionException e) {
+            assertIsInstanceOf(IndexOutOfBoundsException.class, e.getCause());
+        }
+        assertEquals(3, counter.getCount());
+
+        try {
+            SimpleOgnlPath.compile(".next.nothing.name").invoke(exchange, counter);
+            fail("Should have thrown exception");
+        } catch (RuntimeBeanExpressionException e) {
+            assertTrue(e.getMessage().endsWith("cannot continue to invoke method .name on a null instance"));
+        }
+        assertEquals(4, counter.getCount());
+    }
+
+    @Test
+    public void testMethodThrowsException() throws Exception {
+        Counter counter = new Counter();
+
+        try {
+            SimpleOgnlPath.compile(".next.fail").invoke(exchange, counter);
+            fail("Should have thrown exception");
+        } catch (RuntimeBeanExpressionException e) {
+            assertEquals("Failed to invoke method: fail on null due to: java.lang.IllegalStateException: Forced", e.getMessage());
+            IllegalStateException cause = assertIsInstanceOf(IllegalStateException.class, e.getCause());
+            assertEquals("Forced", cause.getMessage());
+        }
+        assertEquals(1, counter.getCount());
+        assertEquals(1, counter.getFailures());
+    }
+
+    @Test
+    public void testValidate() throws Exception {
+        SimpleOgnlPath.validate(".name.length", Animal.class);
+        SimpleOgnlPath.validate(".friend?.friend.age", Animal.class);
+        // the type after a method with arguments is not known
+        SimpleOgnlPath.validate(".describe('Hello ').unknown", Animal.class);
+
+        try {
+            SimpleOgnlPath.validate(".friend.unknown", Animal.class);
+            fail("Should have thrown exception");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Cannot resolve method: unknown in OGNL path: .friend.unknown on type: "
+                    + Animal.class.getName(), e.getMessage());
+        }
+    }
+
+    private void assertIndexOutOfBounds(SimpleOgnlPath path, Object target) {
+        try {
+            path.invoke(exchange, target);
+            fail("Should have thrown exception");
+        } catch (RuntimeBeanExpressionException e) {
+            assertIsInstanceOf(IndexOutOfBoundsException.class, e.getCause());
+        }
+    }
+
+    public static final class Counter {
+        private int count;
+        private int failures;
+
+        public Counter getNext() {
+            count++;
+            return this;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public int getFailures() {
+            return failures;
+        }
+
+        public List<String> getLines() {
+            return Arrays.asList("a", "b");
+        }
+
+        public String[] getArray() {
+            return new String[]{"a", "b"};
+        }
+
+        public Counter getNothing() {
+            return null;
+        }
+
+        public String getFail() {
+            failures++;
+            throw new IllegalStateException("Forced");
+        }
+
+        public String describe() {
+            return String.valueOf(count);
+        }
+
+        public String describe(String prefix) {
+            return prefix + count;
+        }
+    }
+
+    public static final class Animal {
+        private final String name;
+        private final int age;
+        private Animal friend;
+
+        public Animal(String name, int age) {
+            this.name = name;
+            this.age = age;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public boolean isOld() {
+            return age > 10;
+        }
+
+        public Animal getFriend() {
+            return friend;
+        }
+
+        public void setFriend(Animal friend) {
+            this.friend = friend;
+        }
+
+        public String describe() {
+            return name;
+        }
+
+        public String describe(String prefix) {
+            return prefix + name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
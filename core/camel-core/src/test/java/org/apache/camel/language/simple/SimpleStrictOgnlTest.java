@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.FailedToCreateRouteException;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.language.simple.types.SimpleIllegalSyntaxException;
+import org.junit.Test;
+
+public class SimpleStrictOgnlTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getGlobalOptions().put(SimpleLanguage.STRICT_OGNL, "true");
+        return context;
+    }
+
+    @Test
+    public void testStrictOgnl() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived("Hello World");
+
+        template.sendBodyAndHeader("direct:start", "World", "greeting", "Hello");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testUnresolvableOgnl() throws Exception {
+        SimpleLanguage simple = (SimpleLanguage) context.resolveLanguage("simple");
+        assertTrue(simple.isStrictOgnl());
+
+        assertInvalid(simple, "${exchange.in.unknown}", "Cannot resolve method: unknown in OGNL path: .in.unknown on type: org.apache.camel.Message");
+        assertInvalid(simple, "${camelContext.foo}", "Cannot resolve method: foo in OGNL path: .foo on type: org.apache.camel.CamelContext");
+        assertInvalid(simple, "${exception.cause.foo}", "Cannot resolve method: foo in OGNL path: .cause.foo on type: java.lang.Throwable");
+        assertInvalid(simple, "${bodyAs(String).foo}", "Cannot resolve method: foo in OGNL path: .foo on type: java.lang.String");
+        assertInvalid(simple, "${mandatoryBodyAs(com.foo.Unknown).foo}", "Cannot find type: com.foo.Unknown");
+
+        // the types are not known up front
+        assertNotNull(simple.createExpression("${body.foo}"));
+        assertNotNull(simple.createExpression("${header.foo.bar}"));
+        assertNotNull(simple.createExpression("${exchange.in.body.foo}"));
+    }
+
+    @Test
+    public void testFailOnRouteStart() throws Exception {
+        try {
+            context.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    from("direct:invalid").routeId("invalid")
+                        .setBody().simple("${exchange.in.unknown}");
+                }
+            });
+            fail("Should have thrown exception");
+        } catch (FailedToCreateRouteException e) {
+            assertIsInstanceOf(SimpleIllegalSyntaxException.class, e.getCause());
+        }
+    }
+
+    private static void assertInvalid(SimpleLanguage simple, String expression, String message) {
+        try {
+            simple.createExpression(expression);
+            fail("Should have thrown exception");
+        } catch (SimpleIllegalSyntaxException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(message));
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .setBody().simple("${exchange.getIn().getHeader('greeting')} ${bodyAs(String).toString}")
+                    .to("mock:result");
+            }
+        };
+    }
+}
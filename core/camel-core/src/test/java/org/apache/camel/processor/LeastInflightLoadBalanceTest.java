@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LeastInflightLoadBalanceTest extends ContextTestSupport {
+    protected MockEndpoint x;
+    protected MockEndpoint y;
+    protected MockEndpoint z;
+
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+
+        x = getMockEndpoint("mock:x");
+        y = getMockEndpoint("mock:y");
+        z = getMockEndpoint("mock:z");
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            public void configure() {
+                from("direct:start").loadBalance().leastInflight().to("mock:x", "mock:y", "mock:z");
+
+                from("direct:busy").loadBalance().leastInflight().to("direct:slow", "mock:y");
+
+                from("direct:slow")
+                    .process(exchange -> {
+                        entered.countDown();
+                        release.await(10, TimeUnit.SECONDS);
+                    })
+                    .to("mock:x");
+            }
+        };
+    }
+
+    @Test
+    public void testIdleSpreadEvenly() throws Exception {
+        x.expectedBodiesReceived("A", "D", "G");
+        y.expectedBodiesReceived("B", "E", "H");
+        z.expectedBodiesReceived("C", "F", "I");
+
+        for (String body : new String[]{"A", "B", "C", "D", "E", "F", "G", "H", "I"}) {
+            template.sendBody("direct:start", body);
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testBusyProcessorNotChosen() throws Exception {
+        x.expectedBodiesReceived("A");
+        y.expectedBodiesReceived("B", "C", "D");
+
+        template.asyncSendBody("direct:busy", "A");
+        assertTrue(entered.await(10, TimeUnit.SECONDS));
+
+        // the slow processor is busy so the other processor should be chosen
+        template.sendBody("direct:busy", "B");
+        template.sendBody("direct:busy", "C");
+        template.sendBody("direct:busy", "D");
+
+        release.countDown();
+
+        assertMockEndpointsSatisfied();
+    }
+
+}
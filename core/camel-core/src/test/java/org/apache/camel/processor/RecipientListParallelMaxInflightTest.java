@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.AggregationStrategy;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.junit.Test;
+
+public class RecipientListParallelMaxInflightTest extends ContextTestSupport {
+
+    private final AtomicInteger sent = new AtomicInteger();
+    private final AtomicInteger aggregated = new AtomicInteger();
+    private final AtomicInteger maxObserved = new AtomicInteger();
+
+    @Test
+    public void testMaxInflight() throws Exception {
+        List<String> recipients = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            recipients.add("direct:a");
+        }
+
+        getMockEndpoint("mock:a").expectedMessageCount(20);
+        getMockEndpoint("mock:result").expectedBodiesReceived(20);
+
+        template.sendBodyAndHeader("direct:start", "Hello World", "foo", recipients);
+
+        assertMockEndpointsSatisfied();
+        assertTrue("Should not have more than 3 in flight but was " + maxObserved.get(), maxObserved.get() <= 3);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        final AggregationStrategy counter = new AggregationStrategy() {
+            @Override
+            public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+                newExchange.getIn().setBody(aggregated.incrementAndGet());
+                return newExchange;
+            }
+        };
+
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .recipientList(header("foo")).aggregationStrategy(counter).parallelProcessing().streaming().maxInflight(3)
+                    .end()
+                    .to("mock:result");
+
+                from("direct:a")
+                    .process(e -> maxObserved.accumulateAndGet(sent.incrementAndGet() - aggregated.get(), Math::max))
+                    .delay(5)
+                    .to("mock:a");
+            }
+        };
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.io.File;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.support.processor.idempotent.SegmentedFileIdempotentRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SegmentedFileIdempotentRepositoryTest extends ContextTestSupport {
+    private File directory = new File("target/data/segmentedidempotent");
+    private SegmentedFileIdempotentRepository repo;
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        deleteDirectory(directory);
+
+        // the repository is started by the idempotent consumer, which sets the CamelContext
+        repo = new SegmentedFileIdempotentRepository(directory);
+
+        super.setUp();
+
+        repo.add("4");
+    }
+
+    @Override
+    @After
+    public void tearDown() throws Exception {
+        super.tearDown();
+        repo.stop();
+    }
+
+    @Test
+    public void testDuplicateMessagesAreFilteredOut() throws Exception {
+        MockEndpoint result = getMockEndpoint("mock:result");
+        result.expectedBodiesReceived("one", "two", "three");
+
+        template.sendBodyAndHeader("direct:start", "one", "messageId", "1");
+        template.sendBodyAndHeader("direct:start", "two", "messageId", "2");
+        template.sendBodyAndHeader("direct:start", "one", "messageId", "1");
+        template.sendBodyAndHeader("direct:start", "four", "messageId", "4");
+        template.sendBodyAndHeader("direct:start", "three", "messageId", "3");
+
+        assertMockEndpointsSatisfied();
+
+        assertTrue(repo.contains("1"));
+        assertTrue(repo.contains("2"));
+        assertTrue(repo.contains("3"));
+        assertTrue(repo.contains("4"));
+        assertEquals(4, repo.getSize());
+    }
+
+    @Test
+    public void testReload() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(repo.add("key-" + i));
+        }
+        assertFalse(repo.add("key-10"));
+        assertTrue(repo.remove("key-10"));
+        assertFalse(repo.remove("key-10"));
+        assertTrue(repo.remove("4"));
+        repo.stop();
+
+        repo = createRepository();
+        assertEquals(999, repo.getSize());
+        assertFalse(repo.contains("key-10"));
+        assertFalse(repo.contains("4"));
+        assertTrue(repo.contains("key-999"));
+
+        // can be added again
+        assertTrue(repo.add("key-10"));
+        repo.stop();
+
+        repo = createRepository();
+        assertTrue(repo.contains("key-10"));
+        assertEquals(1000, repo.getSize());
+    }
+
+    @Test
+    public void testCompaction() throws Exception {
+        repo.stop();
+        deleteDirectory(directory);
+        repo = new SegmentedFileIdempotentRepository(directory);
+        repo.setSegmentSize(70000);
+        repo.setCompactionInterval(0);
+        repo.start();
+
+        for (int i = 0; i < 10000; i++) {
+            repo.add("message-" + i);
+        }
+        int segments = repo.getSegments();
+        assertTrue("Should roll segments", segments > 2);
+
+        for (int i = 0; i < 10000; i++) {
+            if (i % 10 != 0) {
+                repo.remove("message-" + i);
+            }
+        }
+        repo.compact();
+        assertTrue(repo.getCompactions() > 0);
+        assertEquals(1000, repo.getSize());
+        assertTrue(repo.contains("message-0"));
+        assertTrue(repo.contains("message-9990"));
+        assertFalse(repo.contains("message-1"));
+
+        // the compacted segments are loaded on restart
+        repo.stop();
+        repo = new SegmentedFileIdempotentRepository(directory);
+        repo.setCamelContext(context);
+        repo.setSegmentSize(70000);
+        repo.start();
+        assertEquals(1000, repo.getSize());
+        for (int i = 0; i < 10000; i++) {
+            assertEquals("message-" + i, i % 10 == 0, repo.contains("message-" + i));
+        }
+    }
+
+    @Test
+    public void testCompactionRequiresCamelContext() throws Exception {
+        SegmentedFileIdempotentRepository answer = new SegmentedFileIdempotentRepository(directory);
+        try {
+            answer.start();
+            fail("Should have thrown exception");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("camelContext"));
+        }
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        repo.add("1");
+        repo.clear();
+        assertFalse(repo.contains("1"));
+        assertFalse(repo.contains("4"));
+        assertEquals(0, repo.getSize());
+        assertTrue(repo.add("1"));
+    }
+
+    private SegmentedFileIdempotentRepository createRepository() throws Exception {
+        SegmentedFileIdempotentRepository answer = new SegmentedFileIdempotentRepository(directory);
+        answer.setCamelContext(context);
+        answer.start();
+        return answer;
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            public void configure() {
+                from("direct:start").idempotentConsumer(header("messageId"), repo).to("mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.support.processor.idempotent.ShardedMemoryIdempotentRepository;
+import org.junit.Test;
+
+public class ShardedMemoryIdempotentRepositoryTest extends ContextTestSupport {
+    private ShardedMemoryIdempotentRepository repo = new ShardedMemoryIdempotentRepository(1000);
+
+    @Test
+    public void testDuplicateMessagesAreFilteredOut() throws Exception {
+        MockEndpoint result = getMockEndpoint("mock:result");
+        result.expectedBodiesReceived("one", "two", "three");
+
+        template.sendBodyAndHeader("direct:start", "one", "messageId", "1");
+        template.sendBodyAndHeader("direct:start", "two", "messageId", "2");
+        template.sendBodyAndHeader("direct:start", "one", "messageId", "1");
+        template.sendBodyAndHeader("direct:start", "two", "messageId", "2");
+        template.sendBodyAndHeader("direct:start", "three", "messageId", "3");
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(3, repo.getCacheSize());
+        assertEquals(2, repo.getHitCount());
+        assertEquals(3, repo.getMissCount());
+    }
+
+    @Test
+    public void testAddRemove() throws Exception {
+        ShardedMemoryIdempotentRepository repository = new ShardedMemoryIdempotentRepository(10000);
+        for (int i = 0; i < 5000; i++) {
+            assertTrue(repository.add("key-" + i));
+        }
+        for (int i = 0; i < 5000; i += 2) {
+            assertTrue(repository.remove("key-" + i));
+            assertFalse(repository.remove("key-" + i));
+        }
+        assertEquals(2500, repository.getCacheSize());
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(i % 2 == 1, repository.contains("key-" + i));
+        }
+        // adding again the removed keys
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(i % 2 == 0, repository.add("key-" + i));
+        }
+        assertEquals(5000, repository.getCacheSize());
+        assertEquals(0, repository.getEvictionCount());
+
+        repository.clear();
+        assertEquals(0, repository.getCacheSize());
+        assertFalse(repository.contains("key-1"));
+    }
+
+    @Test
+    public void testMaximumSizeEvictsOldest() throws Exception {
+        ShardedMemoryIdempotentRepository repository = new ShardedMemoryIdempotentRepository(10);
+        repository.setShardCount(1);
+        for (int i = 0; i < 15; i++) {
+            assertTrue(repository.add("key-" + i));
+        }
+        assertEquals(10, repository.getCacheSize());
+        assertEquals(5, repository.getEvictionCount());
+        for (int i = 0; i < 5; i++) {
+            assertFalse(repository.contains("key-" + i));
+        }
+        for (int i = 5; i < 15; i++) {
+            assertTrue(repository.contains("key-" + i));
+        }
+    }
+
+    @Test
+    public void testRemovedKeysAreNotEvicted() throws Exception {
+        ShardedMemoryIdempotentRepository repository = new ShardedMemoryIdempotentRepository(10);
+        repository.setShardCount(1);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(repository.add("key-" + i));
+        }
+        for (int i = 1; i < 10; i += 2) {
+            assertTrue(repository.remove("key-" + i));
+        }
+        // there is room for 5 more keys without evicting
+        for (int i = 10; i < 15; i++) {
+            assertTrue(repository.add("key-" + i));
+        }
+        assertEquals(10, repository.getCacheSize());
+        assertEquals(0, repository.getEvictionCount());
+        assertTrue(repository.contains("key-0"));
+        assertTrue(repository.contains("key-14"));
+    }
+
+    @Test
+    public void testTimeToLive() throws Exception {
+        ShardedMemoryIdempotentRepository repository = new ShardedMemoryIdempotentRepository(100, 200);
+        assertTrue(repository.add("a"));
+        assertFalse(repository.add("a"));
+
+        Thread.sleep(300);
+
+        assertFalse(repository.contains("a"));
+        assertTrue(repository.add("a"));
+        assertEquals(1, repository.getEvictionCount());
+    }
+
+    @Test
+    public void testExactCheck() throws Exception {
+        ShardedMemoryIdempotentRepository repository = new ShardedMemoryIdempotentRepository(10000);
+        repository.setExactCheck(true);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(repository.add("key-" + i));
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(repository.add("key-" + i));
+        }
+        assertTrue(repository.remove("key-500"));
+        assertFalse(repository.contains("key-500"));
+        assertEquals(999, repository.getCacheSize());
+    }
+
+    @Test
+    public void testConcurrentAdd() throws Exception {
+        final ShardedMemoryIdempotentRepository repository = new ShardedMemoryIdempotentRepository(100000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(new Callable<Integer>() {
+                public Integer call() throws Exception {
+                    int added = 0;
+                    for (int i = 0; i < 10000; i++) {
+                        if (repository.add("key-" + i)) {
+                            added++;
+                        }
+                    }
+                    return added;
+                }
+            }));
+        }
+        int added = 0;
+        for (Future<Integer> future : futures) {
+            added += future.get();
+        }
+        executor.shutdownNow();
+
+        // each key must only be added once
+        assertEquals(10000, added);
+        assertEquals(10000, repository.getCacheSize());
+        assertEquals(70000, repository.getHitCount());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").idempotentConsumer(header("messageId"), repo).to("mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.AggregationStrategy;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.Test;
+
+public class SplitterParallelMaxInflightTest extends ContextTestSupport {
+
+    private static final int SIZE = 50;
+    private static final int MAX_INFLIGHT = 5;
+
+    private final AtomicInteger read = new AtomicInteger();
+    private final AtomicInteger sent = new AtomicInteger();
+    private final AtomicInteger aggregated = new AtomicInteger();
+    private final AtomicInteger maxObserved = new AtomicInteger();
+
+    @Test
+    public void testStreamingMaxInflight() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(1);
+
+        template.sendBody("direct:streaming", "Hello World");
+
+        assertMockEndpointsSatisfied();
+        assertEquals(SIZE, read.get());
+        assertEquals(SIZE, aggregated.get());
+        assertTrue("Should not have more than " + MAX_INFLIGHT + " in flight but was " + maxObserved.get(), maxObserved.get() <= MAX_INFLIGHT);
+    }
+
+    @Test
+    public void testOrderedMaxInflight() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(1);
+
+        template.sendBody("direct:ordered", "Hello World");
+
+        assertMockEndpointsSatisfied();
+        assertEquals(SIZE, read.get());
+        assertEquals(SIZE, aggregated.get());
+        assertTrue("Should not have more than " + MAX_INFLIGHT + " in flight but was " + maxObserved.get(), maxObserved.get() <= MAX_INFLIGHT);
+    }
+
+    public Iterator<Integer> iterator() {
+        return new Iterator<Integer>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < SIZE;
+            }
+
+            @Override
+            public Integer next() {
+                read.incrementAndGet();
+                return index++;
+            }
+        };
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        final AggregationStrategy counter = new AggregationStrategy() {
+            @Override
+            public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+                newExchange.getIn().setBody(aggregated.incrementAndGet());
+                return newExchange;
+            }
+        };
+
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:streaming")
+                    .split(method(SplitterParallelMaxInflightTest.this, "iterator"), counter).streaming().parallelProcessing().maxInflight(MAX_INFLIGHT)
+                        .to("direct:part")
+                    .end()
+                    .to("mock:result");
+
+                from("direct:ordered")
+                    .split(method(SplitterParallelMaxInflightTest.this, "iterator"), counter).parallelProcessing().maxInflight(MAX_INFLIGHT)
+                        .to("direct:part")
+                    .end()
+                    .to("mock:result");
+
+                from("direct:part")
+                    .process(e -> maxObserved.accumulateAndGet(sent.incrementAndGet() - aggregated.get(), Math::max))
+                    .delay(5);
+            }
+        };
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.Test;
+
+public class ThrottlerTokenBucketTest extends ContextTestSupport {
+
+    @Test
+    public void testBurstAndThrottle() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(5);
+
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < 5; i++) {
+            template.sendBodyAndHeader("direct:start", "Hello " + i, "tenant", "a");
+        }
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertMockEndpointsSatisfied();
+        // 3 requests in a burst and then one every 100 millis
+        assertTrue("Should be throttled, was " + elapsed, elapsed >= 150);
+
+        Throttler throttler = getThrottler("throttle");
+        assertTrue(throttler.isTokenBucket());
+        Throttler.KeyStatistics stat = throttler.getKeyStatistics().iterator().next();
+        assertEquals("a", stat.getKey());
+        assertEquals(3, stat.getThrottleRate());
+        assertEquals(5, stat.getAcquiredCount());
+        assertEquals(2, stat.getThrottledCount());
+    }
+
+    @Test
+    public void testKeysAreThrottledIndependently() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(6);
+
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < 3; i++) {
+            template.sendBodyAndHeader("direct:start", "Hello " + i, "tenant", "a");
+            template.sendBodyAndHeader("direct:start", "Hello " + i, "tenant", "b");
+        }
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertMockEndpointsSatisfied();
+        assertTrue("Should not be throttled, was " + elapsed, elapsed < 150);
+        assertEquals(2, getThrottler("throttle").getKeyStatistics().size());
+    }
+
+    @Test
+    public void testReject() throws Exception {
+        getMockEndpoint("mock:reject").expectedMessageCount(2);
+
+        template.sendBody("direct:reject", "Hello");
+        template.sendBody("direct:reject", "Hello");
+        try {
+            template.sendBody("direct:reject", "Hello");
+            fail("Should have thrown exception");
+        } catch (CamelExecutionException e) {
+            assertIsInstanceOf(ThrottlerRejectedExecutionException.class, e.getCause());
+        }
+
+        assertMockEndpointsSatisfied();
+        Throttler.KeyStatistics stat = getThrottler("rejecting").getKeyStatistics().iterator().next();
+        assertEquals(2, stat.getAcquiredCount());
+        assertEquals(1, stat.getRejectedCount());
+    }
+
+    @Test
+    public void testAsyncDelayed() throws Exception {
+        getMockEndpoint("mock:async").expectedMessageCount(4);
+
+        for (int i = 0; i < 4; i++) {
+            template.sendBody("seda:async", "Hello " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+        Throttler.KeyStatistics stat = getThrottler("async").getKeyStatistics().iterator().next();
+        assertEquals(4, stat.getAcquiredCount());
+        assertEquals(2, stat.getThrottledCount());
+    }
+
+    private Throttler getThrottler(String id) {
+        return (Throttler) context.getProcessor(id);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .throttle(constant(3), header("tenant")).timePeriodMillis(300).tokenBucket().id("throttle")
+                    .to("mock:result");
+
+                from("direct:reject")
+                    .throttle(2).timePeriodMillis(10000).tokenBucket().rejectExecution(true).id("rejecting")
+                    .to("mock:reject");
+
+                from("seda:async")
+                    .throttle(2).timePeriodMillis(200).tokenBucket().asyncDelayed().id("async")
+                    .to("mock:async");
+            }
+        };
+    }
+}
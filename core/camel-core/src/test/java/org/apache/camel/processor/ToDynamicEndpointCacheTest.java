@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.camel.Consumer;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.Producer;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.support.DefaultComponent;
+import org.apache.camel.support.DefaultEndpoint;
+import org.apache.camel.support.DefaultProducer;
+import org.apache.camel.support.processor.DelegateAsyncProcessor;
+import org.junit.Test;
+
+public class ToDynamicEndpointCacheTest extends ContextTestSupport {
+
+    private final List<Endpoint> created = new ArrayList<>();
+
+    @Test
+    public void testEndpointCache() throws Exception {
+        getMockEndpoint("mock:foo").expectedBodiesReceived("A", "C");
+        getMockEndpoint("mock:bar").expectedBodiesReceived("B");
+
+        template.sendBodyAndHeader("direct:start", "A", "foo", "foo");
+        template.sendBodyAndHeader("direct:start", "B", "foo", "bar");
+        template.sendBodyAndHeader("direct:start", "C", "foo", "foo");
+
+        assertMockEndpointsSatisfied();
+
+        SendDynamicProcessor send = getProcessor("send");
+        assertEquals(1, send.getEndpointCacheHits());
+        assertEquals(2, send.getEndpointCacheMisses());
+        assertEquals(2, send.getEndpointCacheSize());
+
+        send.resetEndpointCacheStatistics();
+        assertEquals(0, send.getEndpointCacheHits());
+        assertEquals(0, send.getEndpointCacheMisses());
+    }
+
+    @Test
+    public void testEndpointCacheRemovedEndpoint() throws Exception {
+        template.sendBodyAndHeader("direct:start", "A", "foo", "foo");
+
+        Endpoint old = context.getEndpoint("mock:foo");
+        context.removeEndpoint(old);
+
+        template.sendBodyAndHeader("direct:start", "B", "foo", "foo");
+
+        // the cached endpoint was stopped so it should be resolved again
+        Endpoint endpoint = context.hasEndpoint("mock:foo");
+        assertNotNull(endpoint);
+        assertNotSame(old, endpoint);
+
+        SendDynamicProcessor send = getProcessor("send");
+        assertEquals(0, send.getEndpointCacheHits());
+        assertEquals(2, send.getEndpointCacheMisses());
+    }
+
+    @Test
+    public void testEndpointCacheDisabled() throws Exception {
+        getMockEndpoint("mock:foo").expectedBodiesReceived("A", "B");
+
+        template.sendBodyAndHeader("direct:nocache", "A", "foo", "foo");
+        template.sendBodyAndHeader("direct:nocache", "B", "foo", "foo");
+
+        assertMockEndpointsSatisfied();
+
+        SendDynamicProcessor send = getProcessor("nocache");
+        assertEquals(0, send.getEndpointCacheHits());
+        assertEquals(0, send.getEndpointCacheMisses());
+        assertEquals(0, send.getEndpointCacheSize());
+    }
+
+    @Test
+    public void testEndpointCacheNonSingleton() throws Exception {
+        context.addComponent("dummy", new MyDummyComponent());
+
+        template.sendBodyAndHeader("direct:dummy", "A", "foo", "foo");
+        template.sendBodyAndHeader("direct:dummy", "B", "foo", "foo");
+
+        // a new endpoint should be resolved for each send
+        assertEquals(2, created.size());
+        assertNotSame(created.get(0), created.get(1));
+
+        SendDynamicProcessor send = getProcessor("dummy");
+        assertEquals(0, send.getEndpointCacheHits());
+        assertEquals(2, send.getEndpointCacheMisses());
+        assertEquals(0, send.getEndpointCacheSize());
+    }
+
+    private SendDynamicProcessor getProcessor(String id) {
+        Object processor = context.getProcessor(id);
+        while (processor instanceof DelegateAsyncProcessor) {
+            processor = ((DelegateAsyncProcessor) processor).getProcessor();
+        }
+        return assertIsInstanceOf(SendDynamicProcessor.class, processor);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").toD("mock:${header.foo}").id("send");
+
+                from("direct:nocache").toD("mock:${header.foo}", -1).id("nocache");
+
+                from("direct:dummy").toD("dummy:${header.foo}").id("dummy");
+            }
+        };
+    }
+
+    public class MyDummyComponent extends DefaultComponent {
+
+        @Override
+        protected Endpoint createEndpoint(String uri, String remaining, Map<String, Object> parameters) throws Exception {
+            Endpoint answer = new MyDummyEndpoint(uri, this);
+            created.add(answer);
+            return answer;
+        }
+    }
+
+    public class MyDummyEndpoint extends DefaultEndpoint {
+
+        public MyDummyEndpoint(String uri, DefaultComponent component) {
+            super(uri, component);
+        }
+
+        @Override
+        public Producer createProducer() throws Exception {
+            return new DefaultProducer(this) {
+                @Override
+                public void process(Exchange exchange) throws Exception {
+                    // noop
+                }
+            };
+        }
+
+        @Override
+        public Consumer createConsumer(Processor processor) throws Exception {
+            return null;
+        }
+
+        @Override
+        public boolean isSingleton() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.BodyInAggregatingStrategy;
+import org.apache.camel.processor.aggregate.ClosedCorrelationKeyException;
+import org.junit.Test;
+
+public class AggregateLockStripesTest extends ContextTestSupport {
+
+    private final int size = 400;
+
+    @Test
+    public void testAggregateLockStripesCompletionSize() throws Exception {
+        ExecutorService service = Executors.newFixedThreadPool(20);
+        List<Callable<Object>> tasks = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            final int id = i % 10;
+            final int count = i;
+            tasks.add(new Callable<Object>() {
+                public Object call() throws Exception {
+                    template.sendBodyAndHeader("direct:start", "" + count, "id", id);
+                    return null;
+                }
+            });
+        }
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(10);
+        mock.allMessages().exchangeProperty(Exchange.AGGREGATED_SIZE).isEqualTo(40);
+        mock.allMessages().exchangeProperty(Exchange.AGGREGATED_COMPLETED_BY).isEqualTo("size");
+
+        // submit all tasks
+        service.invokeAll(tasks);
+
+        assertMockEndpointsSatisfied();
+        service.shutdownNow();
+    }
+
+    @Test
+    public void testAggregateLockStripesCompletionTimeout() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceivedInAnyOrder("A+B", "C");
+        mock.allMessages().exchangeProperty(Exchange.AGGREGATED_COMPLETED_BY).isEqualTo("timeout");
+
+        template.sendBodyAndHeader("direct:start", "A", "id", 1);
+        template.sendBodyAndHeader("direct:start", "B", "id", 1);
+        template.sendBodyAndHeader("direct:start", "C", "id", 2);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testAggregateLockStripesClosedCorrelationKey() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:closed");
+        mock.expectedMessageCount(1);
+
+        template.sendBodyAndHeader("direct:closed", "A", "id", 1);
+        template.sendBodyAndHeader("direct:closed", "B", "id", 1);
+
+        try {
+            template.sendBodyAndHeader("direct:closed", "C", "id", 1);
+            fail("Should throw exception");
+        } catch (Exception e) {
+            ClosedCorrelationKeyException cause = assertIsInstanceOf(ClosedCorrelationKeyException.class, e.getCause());
+            assertEquals("1", cause.getCorrelationKey());
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .aggregate(header("id"), new BodyInAggregatingStrategy()).lockStripes(8)
+                        .completionSize(40).completionTimeout(500)
+                        .to("mock:result");
+
+                from("direct:closed")
+                    .aggregate(header("id"), new BodyInAggregatingStrategy()).lockStripes(8)
+                        .completionSize(2).closeCorrelationKeyOnCompletion(1000)
+                        .to("mock:closed");
+            }
+        };
+    }
+}
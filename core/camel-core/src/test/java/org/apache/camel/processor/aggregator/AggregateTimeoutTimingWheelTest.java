@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregator;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.aggregate.UseLatestAggregationStrategy;
+import org.junit.Test;
+
+/**
+ * Unit test to verify that aggregate by timeout works when using a timing wheel to track the timeouts.
+ */
+public class AggregateTimeoutTimingWheelTest extends ContextTestSupport {
+
+    @Test
+    public void testAggregateTimeoutTimingWheel() throws Exception {
+        MockEndpoint result = getMockEndpoint("mock:result");
+        result.expectedBodiesReceivedInAnyOrder("Message 9", "Message 19", "Message 29");
+        result.allMessages().exchangeProperty(Exchange.AGGREGATED_COMPLETED_BY).isEqualTo("timeout");
+        // should take 0.1 seconds to complete this one
+        result.setResultMinimumWaitTime(90);
+
+        for (int i = 0; i < 30; i++) {
+            template.sendBodyAndHeader("direct:start", "Message " + i, "id", i / 10);
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .aggregate(header("id"), new UseLatestAggregationStrategy())
+                        .completionTimeout(100).completionTimeoutCheckerInterval(10).completionTimeoutTimingWheel()
+                    .to("mock:result");
+            }
+        };
+    }
+}
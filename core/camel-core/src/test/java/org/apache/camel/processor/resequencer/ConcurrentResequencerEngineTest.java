@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.resequencer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.TestSupport;
+import org.junit.After;
+import org.junit.Test;
+
+public class ConcurrentResequencerEngineTest extends TestSupport {
+
+    private ConcurrentResequencerEngine<Integer> engine;
+    private SequenceBuffer<Integer> buffer;
+    private volatile boolean running;
+    private Thread delivery;
+
+    @Override
+    @After
+    public void tearDown() throws Exception {
+        running = false;
+        if (delivery != null) {
+            delivery.join(5000);
+        }
+        if (engine != null) {
+            engine.stop();
+        }
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        initResequencer(500);
+        engine.setLastDelivered(2);
+        engine.insert(4);
+        assertNull(buffer.poll(250));
+        assertEquals((Integer) 4, buffer.take());
+        assertEquals((Integer) 4, engine.getLastDelivered());
+    }
+
+    @Test
+    public void testSuccessorOfLastDelivered() throws Exception {
+        initResequencer(500);
+        engine.setLastDelivered(2);
+        engine.insert(4);
+        engine.insert(3);
+        assertEquals((Integer) 3, buffer.poll(250));
+        assertEquals((Integer) 4, buffer.poll(250));
+        assertEquals((Integer) 4, engine.getLastDelivered());
+        assertEquals(0, engine.size());
+    }
+
+    @Test
+    public void testDuplicateIgnored() throws Exception {
+        initResequencer(500);
+        engine.setLastDelivered(0);
+        engine.insert(2);
+        engine.insert(2);
+        assertEquals(1, engine.size());
+        engine.insert(1);
+        assertEquals((Integer) 1, buffer.poll(250));
+        assertEquals((Integer) 2, buffer.poll(250));
+        assertNull(buffer.poll(100));
+    }
+
+    @Test
+    public void testRejectOld() throws Exception {
+        initResequencer(500);
+        engine.setRejectOld(true);
+        engine.setLastDelivered(5);
+        try {
+            engine.insert(3);
+            fail("Should have thrown an exception");
+        } catch (MessageRejectedException e) {
+            // expected
+        }
+        assertEquals(0, engine.size());
+    }
+
+    @Test
+    public void testConcurrentInserts() throws Exception {
+        final int threads = 4;
+        final int count = 2000;
+        initResequencer(5000);
+        engine.setLastDelivered(-1);
+
+        // each thread inserts its own numbers in random order
+        final List<List<Integer>> inputs = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            List<Integer> list = new ArrayList<>();
+            for (int i = t; i < count; i += threads) {
+                list.add(i);
+            }
+            Collections.shuffle(list);
+            inputs.add(list);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch latch = new CountDownLatch(threads);
+        for (final List<Integer> input : inputs) {
+            executor.submit(() -> {
+                for (Integer i : input) {
+                    engine.insert(i);
+                }
+                latch.countDown();
+            });
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        executor.shutdownNow();
+
+        for (int i = 0; i < count; i++) {
+            assertEquals((Integer) i, buffer.poll(2000));
+        }
+        assertNull(buffer.poll(100));
+        assertEquals(0, engine.size());
+    }
+
+    @Test
+    public void testConcurrentInsertsRejectOld() throws Exception {
+        final int threads = 4;
+        final int count = 2000;
+        // use a short timeout so elements are delivered while older elements are still being inserted,
+        // and yield when comparing to let the delivery interleave with the inserts
+        initResequencer(5, new IntegerComparator() {
+            @Override
+            public int compare(Integer o1, Integer o2) {
+                Thread.yield();
+                return super.compare(o1, o2);
+            }
+        });
+        engine.setRejectOld(true);
+        engine.setLastDelivered(-1);
+
+        final List<Integer> input = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            input.add(i);
+        }
+        Collections.shuffle(input);
+
+        final AtomicInteger rejected = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch latch = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            final int offset = t;
+            executor.submit(() -> {
+                for (int i = offset; i < count; i += threads) {
+                    try {
+                        engine.insert(input.get(i));
+                    } catch (MessageRejectedException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                latch.countDown();
+            });
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        executor.shutdownNow();
+
+        // every element is either rejected or delivered, and the delivered elements are in order
+        int delivered = 0;
+        Integer last = -1;
+        while (delivered + rejected.get() < count) {
+            Integer next = buffer.poll(2000);
+            assertNotNull("Should deliver " + (count - rejected.get()) + " elements, was " + delivered, next);
+            assertTrue("Should deliver " + next + " after " + last, next > last);
+            last = next;
+            delivered++;
+        }
+        assertNull(buffer.poll(100));
+        assertEquals(0, engine.size());
+    }
+
+    private void initResequencer(long timeout) {
+        initResequencer(timeout, new IntegerComparator());
+    }
+
+    private void initResequencer(long timeout, SequenceElementComparator<Integer> comparator) {
+        buffer = new SequenceBuffer<>();
+        engine = new ConcurrentResequencerEngine<>(comparator);
+        engine.setSequenceSender(buffer);
+        engine.setTimeout(timeout);
+        engine.start();
+
+        running = true;
+        delivery = new Thread(() -> {
+            while (running) {
+                try {
+                    engine.deliver();
+                    Thread.sleep(10);
+                } catch (Exception e) {
+                    break;
+                }
+            }
+        });
+        delivery.start();
+    }
+
+}
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import org.apache.camel.TimeoutMap;
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class TimingWheelTimeoutMapTest extends Assert {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TimingWheelTimeoutMapTest.class);
+    private ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1);
+
+    @Test
+    public void testTimingWheelTimeoutMapPurge() throws Exception {
+        TimingWheelTimeoutMap<String, Integer> map = new TimingWheelTimeoutMap<>(executor, 100);
+        map.start();
+        assertEquals(TimingWheelTimeoutMap.DEFAULT_WHEEL_SIZE, map.getWheelSize());
+        assertEquals(0, map.size());
+
+        map.put("A", 123, 50);
+        assertEquals(1, map.size());
+
+        Thread.sleep(250);
+        if (map.size() > 0) {
+            LOG.warn("Waiting extra due slow CI box");
+            Thread.sleep(1000);
+        }
+
+        assertEquals(0, map.size());
+
+        map.stop();
+    }
+
+    @Test
+    public void testTimingWheelTimeoutMapForcePurge() throws Exception {
+        TimingWheelTimeoutMap<String, Integer> map = new TimingWheelTimeoutMap<>(executor, 100);
+        // map.start(); // Do not start background purge
+
+        map.put("A", 123, 10);
+        map.put("B", 456, 5000);
+        assertEquals(2, map.size());
+
+        Thread.sleep(50);
+
+        // will purge and remove old entries
+        map.purge();
+
+        assertEquals(1, map.size());
+        assertEquals(456, (int) map.get("B"));
+    }
+
+    @Test
+    public void testTimingWheelTimeoutMapGetRemove() throws Exception {
+        TimingWheelTimeoutMap<String, Integer> map = new TimingWheelTimeoutMap<>(executor, 100);
+        map.start();
+
+        map.put("A", 123, 50);
+        assertEquals(1, map.size());
+
+        assertEquals(123, (int) map.get("A"));
+        assertEquals(123, (int) map.putIfAbsent("A", 456, 50));
+
+        Object old = map.remove("A");
+        assertEquals(123, old);
+        assertEquals(null, map.get("A"));
+        assertEquals(0, map.size());
+
+        map.stop();
+    }
+
+    @Test
+    public void testExpiredInCorrectOrder() throws Exception {
+        final List<String> keys = new ArrayList<>();
+
+        MyTimeoutMap map = new MyTimeoutMap(100, 8);
+        map.addListener((type, key, value) -> {
+            if (type == TimeoutMap.Listener.Type.Evict) {
+                keys.add(key);
+            }
+        });
+
+        map.put("A", 1, 50);
+        map.put("B", 2, 30);
+        map.put("C", 3, 40);
+        map.put("D", 4, 20);
+        map.put("E", 5, 140);
+        // is not expired
+        map.put("F", 6, 800);
+
+        map.time += 200;
+        map.purge();
+
+        assertEquals(5, keys.size());
+        assertEquals("D", keys.get(0));
+        assertEquals("B", keys.get(1));
+        assertEquals("C", keys.get(2));
+        assertEquals("A", keys.get(3));
+        assertEquals("E", keys.get(4));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testLongTimeoutWrapsAroundWheel() throws Exception {
+        final List<String> keys = new ArrayList<>();
+
+        // a wheel of 8 buckets of 100 millis covers 800 millis
+        MyTimeoutMap map = new MyTimeoutMap(100, 8);
+        map.addListener((type, key, value) -> {
+            if (type == TimeoutMap.Listener.Type.Evict) {
+                keys.add(key);
+            }
+        });
+
+        map.put("A", 1, 2500);
+        map.put("B", 2, 250);
+
+        // tick through the wheel several rounds
+        for (int i = 0; i < 30; i++) {
+            map.time += 100;
+            map.purge();
+            if (map.time - MyTimeoutMap.START <= 2500) {
+                assertTrue("Should not evict A at " + (map.time - MyTimeoutMap.START), !keys.contains("A"));
+            }
+            if (map.time - MyTimeoutMap.START > 350) {
+                assertTrue("Should evict B at " + (map.time - MyTimeoutMap.START), keys.contains("B"));
+            }
+        }
+
+        assertEquals(2, keys.size());
+        assertEquals("B", keys.get(0));
+        assertEquals("A", keys.get(1));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testGetRefreshesExpireTime() throws Exception {
+        MyTimeoutMap map = new MyTimeoutMap(100, 8);
+
+        map.put("A", 1, 300);
+
+        map.time += 200;
+        map.purge();
+        // refresh the entry so it expires 300 millis from now
+        assertEquals(1, (int) map.get("A"));
+
+        map.time += 200;
+        map.purge();
+        assertEquals(1, map.size());
+
+        map.time += 200;
+        map.purge();
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testCatchUpAfterDelay() throws Exception {
+        MyTimeoutMap map = new MyTimeoutMap(100, 8);
+
+        for (int i = 0; i < 100; i++) {
+            map.put("K" + i, i, i * 10);
+        }
+        assertEquals(100, map.size());
+
+        // the purge is delayed for longer than a full round of the wheel
+        map.time += 5000;
+        map.purge();
+        assertEquals(0, map.size());
+    }
+
+    private final class MyTimeoutMap extends TimingWheelTimeoutMap<String, Integer> {
+
+        static final long START = 1000000;
+        long time = START;
+
+        MyTimeoutMap(long purgePollTime, int wheelSize) {
+            super(executor, purgePollTime, wheelSize, NoLock.INSTANCE);
+        }
+
+        @Override
+        protected long currentTime() {
+            return time;
+        }
+    }
+
+}
@@ -1702,6 +1702,40 @@ public interface AMQPEndpointBuilderFactory {
             doSetProperty("requestTimeoutCheckerInterval", requestTimeoutCheckerInterval);
             return this;
         }
+        /**
+         * Whether to use a timing wheel to keep track of timed out Exchanges
+         * when doing request/reply over JMS. The timing wheel only checks the
+         * Exchanges which are due to timeout, instead of checking all the
+         * Exchanges waiting for a reply, which is faster when there are many
+         * outstanding replies. See also the requestTimeoutCheckerInterval
+         * option.
+         * 
+         * The option is a: <code>boolean</code> type.
+         * 
+         * Group: advanced
+         */
+        default AdvancedAMQPEndpointConsumerBuilder requestTimeoutTimingWheel(
+                boolean requestTimeoutTimingWheel) {
+            doSetProperty("requestTimeoutTimingWheel", requestTimeoutTimingWheel);
+            return this;
+        }
+        /**
+         * Whether to use a timing wheel to keep track of timed out Exchanges
+         * when doing request/reply over JMS. The timing wheel only checks the
+         * Exchanges which are due to timeout, instead of checking all the
+         * Exchanges waiting for a reply, which is faster when there are many
+         * outstanding replies. See also the requestTimeoutCheckerInterval
+         * option.
+         * 
+         * The option will be converted to a <code>boolean</code> type.
+         * 
+         * Group: advanced
+         */
+        default AdvancedAMQPEndpointConsumerBuilder requestTimeoutTimingWheel(
+                String requestTimeoutTimingWheel) {
+            doSetProperty("requestTimeoutTimingWheel", requestTimeoutTimingWheel);
+            return this;
+        }
         /**
          * Sets whether synchronous processing should be strictly used, or Camel
          * is allowed to use asynchronous processing (if supported).
@@ -3630,6 +3664,40 @@ public interface AMQPEndpointBuilderFactory {
             doSetProperty("requestTimeoutCheckerInterval", requestTimeoutCheckerInterval);
             return this;
         }
+        /**
+         * Whether to use a timing wheel to keep track of timed out Exchanges
+         * when doing request/reply over JMS. The timing wheel only checks the
+         * Exchanges which are due to timeout, instead of checking all the
+         * Exchanges waiting for a reply, which is faster when there are many
+         * outstanding replies. See also the requestTimeoutCheckerInterval
+         * option.
+         * 
+         * The option is a: <code>boolean</code> type.
+         * 
+         * Group: advanced
+         */
+        default AdvancedAMQPEndpointProducerBuilder requestTimeoutTimingWheel(
+                boolean requestTimeoutTimingWheel) {
+            doSetProperty("requestTimeoutTimingWheel", requestTimeoutTimingWheel);
+            return this;
+        }
+        /**
+         * Whether to use a timing wheel to keep track of timed out Exchanges
+         * when doing request/reply over JMS. The timing wheel only checks the
+         * Exchanges which are due to timeout, instead of checking all the
+         * Exchanges waiting for a reply, which is faster when there are many
+         * outstanding replies. See also the requestTimeoutCheckerInterval
+         * option.
+         * 
+         * The option will be converted to a <code>boolean</code> type.
+         * 
+         * Group: advanced
+         */
+        default AdvancedAMQPEndpointProducerBuilder requestTimeoutTimingWheel(
+                String requestTimeoutTimingWheel) {
+            doSetProperty("requestTimeoutTimingWheel", requestTimeoutTimingWheel);
+            return this;
+        }
         /**
          * Sets whether synchronous processing should be strictly used, or Camel
          * is allowed to use asynchronous processing (if supported).
@@ -4846,6 +4914,40 @@ public interface AMQPEndpointBuilderFactory {
             doSetProperty("requestTimeoutCheckerInterval", requestTimeoutCheckerInterval);
             return this;
         }
+        /**
+         * Whether to use a timing wheel to keep track of timed out Exchanges
+         * when doing request/reply over JMS. The timing wheel only checks the
+         * Exchanges which are due to timeout, instead of checking all the
+         * Exchanges waiting for a reply, which is faster when there are many
+         * outstanding replies. See also the requestTimeoutCheckerInterval
+         * option.
+         * 
+         * The option is a: <code>boolean</code> type.
+         * 
+         * Group: advanced
+         */
+        default AdvancedAMQPEndpointBuilder requestTimeoutTimingWheel(
+                boolean requestTimeoutTimingWheel) {
+            doSetProperty("requestTimeoutTimingWheel", requestTimeoutTimingWheel);
+            return this;
+        }
+        /**
+         * Whether to use a timing wheel to keep track of timed out Exchanges
+         * when doing request/reply over JMS. The timing wheel only checks the
+         * Exchanges which are due to timeout, instead of checking all the
+         * Exchanges waiting for a reply, which is faster when there are many
+         * outstanding replies. See also the requestTimeoutCheckerInterval
+         * option.
+         * 
+         * The option will be converted to a <code>boolean</code> type.
+         * 
+         * Group: advanced
+         */
+        default AdvancedAMQPEndpointBuilder requestTimeoutTimingWheel(
+                String requestTimeoutTimingWheel) {
+            doSetProperty("requestTimeoutTimingWheel", requestTimeoutTimingWheel);
+            return this;
+        }
         /**
          * Sets whether synchronous processing should be strictly used, or Camel
          * is allowed to use asynchronous processing (if supported).
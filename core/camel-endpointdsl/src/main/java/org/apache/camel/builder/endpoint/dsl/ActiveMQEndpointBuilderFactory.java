@@ -1708,6 +1708,40 @@ public interface ActiveMQEndpointBuilderFactory {
             doSetProperty("requestTimeoutCheckerInterval", requestTimeoutCheckerInterval);
             return this;
         }
+        /**
+         * Whether to use a timing wheel to keep track of timed out Exchanges
+         * when doing request/reply over JMS. The timing wheel only checks the
+         * Exchanges which are due to timeout, instead of checking all the
+         * Exchanges waiting for a reply, which is faster when there are many
+         * outstanding replies. See also the requestTimeoutCheckerInterval
+         * option.
+         * 
+         * The option is a: <code>boolean</code> type.
+         * 
+         * Group: advanced
+         */
+        default AdvancedActiveMQEndpointConsumerBuilder requestTimeoutTimingWheel(
+                boolean requestTimeoutTimingWheel) {
+            doSetProperty("requestTimeoutTimingWheel", requestTimeoutTimingWheel);
+            return this;
+        }
+        /**
+         * Whether to use a timing wheel to keep track of timed out Exchanges
+         * when doing request/reply over JMS. The timing wheel only checks the
+         * Exchanges which are due to timeout, instead of checking all the
+         * Exchanges waiting for a reply, which is faster when there are many
+         * outstanding replies. See also the requestTimeoutCheckerInterval
+         * option.
+         * 
+         * The option will be converted to a <code>boolean</code> type.
+         * 
+         * Group: advanced
+         */
+        default AdvancedActiveMQEndpointConsumerBuilder requestTimeoutTimingWheel(
+                String requestTimeoutTimingWheel) {
+            doSetProperty("requestTimeoutTimingWheel", requestTimeoutTimingWheel);
+            return this;
+        }
         /**
          * Sets whether synchronous processing should be strictly used, or Camel
          * is allowed to use asynchronous processing (if supported).
@@ -3643,6 +3677,40 @@ public interface ActiveMQEndpointBuilderFactory {
             doSetProperty("requestTimeoutCheckerInterval", requestTimeoutCheckerInterval);
             return this;
         }
+        /**
+         * Whether to use a timing wheel to keep track of timed out Exchanges
+         * when doing request/reply over JMS. The timing wheel only checks the
+         * Exchanges which are due to timeout, instead of checking all the
+         * Exchanges waiting for a reply, which is faster when there are many
+         * outstanding replies. See also the requestTimeoutCheckerInterval
+         * option.
+         * 
+         * The option is a: <code>boolean</code> type.
+         * 
+         * Group: advanced
+         */
+        default AdvancedActiveMQEndpointProducerBuilder requestTimeoutTimingWheel(
+                boolean requestTimeoutTimingWheel) {
+            doSetProperty("requestTimeoutTimingWheel", requestTimeoutTimingWheel);
+            return this;
+        }
+        /**
+         * Whether to use a timing wheel to keep track of timed out Exchanges
+         * when doing request/reply over JMS. The timing wheel only checks the
+         * Exchanges which are due to timeout, instead of checking all the
+         * Exchanges waiting for a reply, which is faster when there are many
+         * outstanding replies. See also the requestTimeoutCheckerInterval
+         * option.
+         * 
+         * The option will be converted to a <code>boolean</code> type.
+         * 
+         * Group: advanced
+         */
+        default AdvancedActiveMQEndpointProducerBuilder requestTimeoutTimingWheel(
+                String requestTimeoutTimingWheel) {
+            doSetProperty("requestTimeoutTimingWheel", requestTimeoutTimingWheel);
+            return this;
+        }
         /**
          * Sets whether synchronous processing should be strictly used, or Camel
          * is allowed to use asynchronous processing (if supported).
@@ -4868,6 +4936,40 @@ public interface ActiveMQEndpointBuilderFactory {
             doSetProperty("requestTimeoutCheckerInterval", requestTimeoutCheckerInterval);
             return this;
         }
+        /**
+         * Whether to use a timing wheel to keep track of timed out Exchanges
+         * when doing request/reply over JMS. The timing wheel only checks the
+         * Exchanges which are due to timeout, instead of checking all the
+         * Exchanges waiting for a reply, which is faster when there are many
+         * outstanding replies. See also the requestTimeoutCheckerInterval
+         * option.
+         * 
+         * The option is a: <code>boolean</code> type.
+         * 
+         * Group: advanced
+         */
+        default AdvancedActiveMQEndpointBuilder requestTimeoutTimingWheel(
+                boolean requestTimeoutTimingWheel) {
+            doSetProperty("requestTimeoutTimingWheel", requestTimeoutTimingWheel);
+            return this;
+        }
+        /**
+         * Whether to use a timing wheel to keep track of timed out Exchanges
+         * when doing request/reply over JMS. The timing wheel only checks the
+         * Exchanges which are due to timeout, instead of checking all the
+         * Exchanges waiting for a reply, which is faster when there are many
+         * outstanding replies. See also the requestTimeoutCheckerInterval
+         * option.
+         * 
+         * The option will be converted to a <code>boolean</code> type.
+         * 
+         * Group: advanced
+         */
+        default AdvancedActiveMQEndpointBuilder requestTimeoutTimingWheel(
+                String requestTimeoutTimingWheel) {
+            doSetProperty("requestTimeoutTimingWheel", requestTimeoutTimingWheel);
+            return this;
+        }
         /**
          * Sets whether synchronous processing should be strictly used, or Camel
          * is allowed to use asynchronous processing (if supported).
@@ -162,6 +162,36 @@ public interface BeanEndpointBuilderFactory {
             doSetProperty("synchronous", synchronous);
             return this;
         }
+        /**
+         * If enabled, Camel will invoke the bean method using a method handle
+         * with precomputed parameter bindings for the message body, headers and
+         * exchange, instead of using reflection. This gives faster invocations
+         * when the bean is invoked frequently.
+         * 
+         * The option is a: <code>boolean</code> type.
+         * 
+         * Group: advanced
+         */
+        default AdvancedBeanEndpointBuilder useMethodHandle(
+                boolean useMethodHandle) {
+            doSetProperty("useMethodHandle", useMethodHandle);
+            return this;
+        }
+        /**
+         * If enabled, Camel will invoke the bean method using a method handle
+         * with precomputed parameter bindings for the message body, headers and
+         * exchange, instead of using reflection. This gives faster invocations
+         * when the bean is invoked frequently.
+         * 
+         * The option will be converted to a <code>boolean</code> type.
+         * 
+         * Group: advanced
+         */
+        default AdvancedBeanEndpointBuilder useMethodHandle(
+                String useMethodHandle) {
+            doSetProperty("useMethodHandle", useMethodHandle);
+            return this;
+        }
     }
     /**
      * Bean (camel-bean)
@@ -1851,6 +1851,72 @@ public interface FileEndpointBuilderFactory {
             doSetProperty("extendedAttributes", extendedAttributes);
             return this;
         }
+        /**
+         * Whether to poll incrementally by keeping an in-memory index of the
+         * name, size and last modified timestamp of the files seen, so only new
+         * or changed files are picked up by the consumer. The index is kept up
+         * to date using the file system watch service (if supported) and by
+         * reconciling with the directory listing periodically. Notice that a
+         * file which is not picked up, for example due to a filter, is only
+         * considered again when it is changed.
+         * 
+         * The option is a: <code>boolean</code> type.
+         * 
+         * Group: consumer (advanced)
+         */
+        default AdvancedFileEndpointConsumerBuilder incremental(
+                boolean incremental) {
+            doSetProperty("incremental", incremental);
+            return this;
+        }
+        /**
+         * Whether to poll incrementally by keeping an in-memory index of the
+         * name, size and last modified timestamp of the files seen, so only new
+         * or changed files are picked up by the consumer. The index is kept up
+         * to date using the file system watch service (if supported) and by
+         * reconciling with the directory listing periodically. Notice that a
+         * file which is not picked up, for example due to a filter, is only
+         * considered again when it is changed.
+         * 
+         * The option will be converted to a <code>boolean</code> type.
+         * 
+         * Group: consumer (advanced)
+         */
+        default AdvancedFileEndpointConsumerBuilder incremental(
+                String incremental) {
+            doSetProperty("incremental", incremental);
+            return this;
+        }
+        /**
+         * Interval in millis to reconcile the incremental index with the
+         * directory listing. This is only in use if the file system watch
+         * service is supported, otherwise the index is reconciled on every
+         * poll.
+         * 
+         * The option is a: <code>long</code> type.
+         * 
+         * Group: consumer (advanced)
+         */
+        default AdvancedFileEndpointConsumerBuilder incrementalReconcileInterval(
+                long incrementalReconcileInterval) {
+            doSetProperty("incrementalReconcileInterval", incrementalReconcileInterval);
+            return this;
+        }
+        /**
+         * Interval in millis to reconcile the incremental index with the
+         * directory listing. This is only in use if the file system watch
+         * service is supported, otherwise the index is reconciled on every
+         * poll.
+         * 
+         * The option will be converted to a <code>long</code> type.
+         * 
+         * Group: consumer (advanced)
+         */
+        default AdvancedFileEndpointConsumerBuilder incrementalReconcileInterval(
+                String incrementalReconcileInterval) {
+            doSetProperty("incrementalReconcileInterval", incrementalReconcileInterval);
+            return this;
+        }
         /**
          * A pluggable in-progress repository
          * org.apache.camel.spi.IdempotentRepository. The in-progress repository
@@ -2028,6 +2094,42 @@ public interface FileEndpointBuilderFactory {
             doSetProperty("processStrategy", processStrategy);
             return this;
         }
+        /**
+         * To walk the sub directories concurrently using a fork-join pool with
+         * the given number of threads, when the recursive option is enabled.
+         * This can speedup polling large directory trees, especially on network
+         * file systems. The files are gathered in the same order as when
+         * walking the sub directories one by one, however if maxMessagesPerPoll
+         * is in use, then the files picked up when the limit is hit may vary.
+         * Notice that any custom filter must be thread-safe.
+         * 
+         * The option is a: <code>int</code> type.
+         * 
+         * Group: consumer (advanced)
+         */
+        default AdvancedFileEndpointConsumerBuilder recursiveParallelism(
+                int recursiveParallelism) {
+            doSetProperty("recursiveParallelism", recursiveParallelism);
+            return this;
+        }
+        /**
+         * To walk the sub directories concurrently using a fork-join pool with
+         * the given number of threads, when the recursive option is enabled.
+         * This can speedup polling large directory trees, especially on network
+         * file systems. The files are gathered in the same order as when
+         * walking the sub directories one by one, however if maxMessagesPerPoll
+         * is in use, then the files picked up when the limit is hit may vary.
+         * Notice that any custom filter must be thread-safe.
+         * 
+         * The option will be converted to a <code>int</code> type.
+         * 
+         * Group: consumer (advanced)
+         */
+        default AdvancedFileEndpointConsumerBuilder recursiveParallelism(
+                String recursiveParallelism) {
+            doSetProperty("recursiveParallelism", recursiveParallelism);
+            return this;
+        }
         /**
          * Whether the starting directory must exist. Mind that the autoCreate
          * option is default enabled, which means the starting directory is
@@ -2672,6 +2774,212 @@ public interface FileEndpointBuilderFactory {
             doSetProperty("allowNullBody", allowNullBody);
             return this;
         }
+        /**
+         * Time in millis before a file which has not been written to is closed
+         * when using appendKeepOpen.
+         * 
+         * The option is a: <code>long</code> type.
+         * 
+         * Group: producer (advanced)
+         */
+        default AdvancedFileEndpointProducerBuilder appendIdleTimeout(
+                long appendIdleTimeout) {
+            doSetProperty("appendIdleTimeout", appendIdleTimeout);
+            return this;
+        }
+        /**
+         * Time in millis before a file which has not been written to is closed
+         * when using appendKeepOpen.
+         * 
+         * The option will be converted to a <code>long</code> type.
+         * 
+         * Group: producer (advanced)
+         */
+        default AdvancedFileEndpointProducerBuilder appendIdleTimeout(
+                String appendIdleTimeout) {
+            doSetProperty("appendIdleTimeout", appendIdleTimeout);
+            return this;
+        }
+        /**
+         * Whether to keep the files open between writes when using
+         * fileExist=Append, instead of opening and closing the file for every
+         * message. The writes are buffered and the files are flushed and synced
+         * according to the appendSync option. This can yield better performance
+         * when appending many small messages to a few files, such as log files.
+         * 
+         * The option is a: <code>boolean</code> type.
+         * 
+         * Group: producer (advanced)
+         */
+        default AdvancedFileEndpointProducerBuilder appendKeepOpen(
+                boolean appendKeepOpen) {
+            doSetProperty("appendKeepOpen", appendKeepOpen);
+            return this;
+        }
+        /**
+         * Whether to keep the files open between writes when using
+         * fileExist=Append, instead of opening and closing the file for every
+         * message. The writes are buffered and the files are flushed and synced
+         * according to the appendSync option. This can yield better performance
+         * when appending many small messages to a few files, such as log files.
+         * 
+         * The option will be converted to a <code>boolean</code> type.
+         * 
+         * Group: producer (advanced)
+         */
+        default AdvancedFileEndpointProducerBuilder appendKeepOpen(
+                String appendKeepOpen) {
+            doSetProperty("appendKeepOpen", appendKeepOpen);
+            return this;
+        }
+        /**
+         * The maximum number of files to keep open when using appendKeepOpen.
+         * The least recently used file which is not being written to is closed
+         * when the limit is hit.
+         * 
+         * The option is a: <code>int</code> type.
+         * 
+         * Group: producer (advanced)
+         */
+        default AdvancedFileEndpointProducerBuilder appendMaxOpenFiles(
+                int appendMaxOpenFiles) {
+            doSetProperty("appendMaxOpenFiles", appendMaxOpenFiles);
+            return this;
+        }
+        /**
+         * The maximum number of files to keep open when using appendKeepOpen.
+         * The least recently used file which is not being written to is closed
+         * when the limit is hit.
+         * 
+         * The option will be converted to a <code>int</code> type.
+         * 
+         * Group: producer (advanced)
+         */
+        default AdvancedFileEndpointProducerBuilder appendMaxOpenFiles(
+                String appendMaxOpenFiles) {
+            doSetProperty("appendMaxOpenFiles", appendMaxOpenFiles);
+            return this;
+        }
+        /**
+         * To roll the file when it has been open for the given time in millis
+         * when using appendKeepOpen. The file is rolled by renaming it with a
+         * timestamp suffix before the next message is written.
+         * 
+         * The option is a: <code>long</code> type.
+         * 
+         * Group: producer (advanced)
+         */
+        default AdvancedFileEndpointProducerBuilder appendRollInterval(
+                long appendRollInterval) {
+            doSetProperty("appendRollInterval", appendRollInterval);
+            return this;
+        }
+        /**
+         * To roll the file when it has been open for the given time in millis
+         * when using appendKeepOpen. The file is rolled by renaming it with a
+         * timestamp suffix before the next message is written.
+         * 
+         * The option will be converted to a <code>long</code> type.
+         * 
+         * Group: producer (advanced)
+         */
+        default AdvancedFileEndpointProducerBuilder appendRollInterval(
+                String appendRollInterval) {
+            doSetProperty("appendRollInterval", appendRollInterval);
+            return this;
+        }
+        /**
+         * To roll the file when it has reached the given size in bytes when
+         * using appendKeepOpen. The file is rolled by renaming it with a
+         * timestamp suffix before the next message is written, so a message is
+         * never split between files.
+         * 
+         * The option is a: <code>long</code> type.
+         * 
+         * Group: producer (advanced)
+         */
+        default AdvancedFileEndpointProducerBuilder appendRollSize(
+                long appendRollSize) {
+            doSetProperty("appendRollSize", appendRollSize);
+            return this;
+        }
+        /**
+         * To roll the file when it has reached the given size in bytes when
+         * using appendKeepOpen. The file is rolled by renaming it with a
+         * timestamp suffix before the next message is written, so a message is
+         * never split between files.
+         * 
+         * The option will be converted to a <code>long</code> type.
+         * 
+         * Group: producer (advanced)
+         */
+        default AdvancedFileEndpointProducerBuilder appendRollSize(
+                String appendRollSize) {
+            doSetProperty("appendRollSize", appendRollSize);
+            return this;
+        }
+        /**
+         * When to sync the files to the disk when using appendKeepOpen. Never
+         * leaves it to the operating system, Interval syncs the files
+         * periodically (see appendSyncInterval), and Batch syncs the file after
+         * each message which completes a batch (or is not part of a batch). The
+         * files are always synced when they are closed, unless Never is in use.
+         * 
+         * The option is a:
+         * <code>org.apache.camel.component.file.FileAppendSync</code> type.
+         * 
+         * Group: producer (advanced)
+         */
+        default AdvancedFileEndpointProducerBuilder appendSync(
+                FileAppendSync appendSync) {
+            doSetProperty("appendSync", appendSync);
+            return this;
+        }
+        /**
+         * When to sync the files to the disk when using appendKeepOpen. Never
+         * leaves it to the operating system, Interval syncs the files
+         * periodically (see appendSyncInterval), and Batch syncs the file after
+         * each message which completes a batch (or is not part of a batch). The
+         * files are always synced when they are closed, unless Never is in use.
+         * 
+         * The option will be converted to a
+         * <code>org.apache.camel.component.file.FileAppendSync</code> type.
+         * 
+         * Group: producer (advanced)
+         */
+        default AdvancedFileEndpointProducerBuilder appendSync(
+                String appendSync) {
+            doSetProperty("appendSync", appendSync);
+            return this;
+        }
+        /**
+         * Interval in millis for flushing the buffered writes, syncing the
+         * files (if appendSync is Interval) and closing idle files when using
+         * appendKeepOpen. Must be a positive value.
+         * 
+         * The option is a: <code>long</code> type.
+         * 
+         * Group: producer (advanced)
+         */
+        default AdvancedFileEndpointProducerBuilder appendSyncInterval(
+                long appendSyncInterval) {
+            doSetProperty("appendSyncInterval", appendSyncInterval);
+            return this;
+        }
+        /**
+         * Interval in millis for flushing the buffered writes, syncing the
+         * files (if appendSync is Interval) and closing idle files when using
+         * appendKeepOpen. Must be a positive value.
+         * 
+         * The option will be converted to a <code>long</code> type.
+         * 
+         * Group: producer (advanced)
+         */
+        default AdvancedFileEndpointProducerBuilder appendSyncInterval(
+                String appendSyncInterval) {
+            doSetProperty("appendSyncInterval", appendSyncInterval);
+            return this;
+        }
         /**
          * Specify the file permissions which is sent by the producer, the chmod
          * value must be between 000 and 777; If there is a leading digit like
@@ -3291,6 +3599,16 @@ public interface FileEndpointBuilderFactory {
         }
     }
 
+    /**
+     * Proxy enum for
+     * <code>org.apache.camel.component.file.FileAppendSync</code> enum.
+     */
+    enum FileAppendSync {
+        Never,
+        Interval,
+        Batch;
+    }
+
     /**
      * Proxy enum for
      * <code>org.apache.camel.component.file.GenericFileExist</code> enum.
@@ -17,6 +17,7 @@
 package org.apache.camel.builder.endpoint.dsl;
 
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import javax.annotation.Generated;
 import org.apache.camel.builder.EndpointConsumerBuilder;
 import org.apache.camel.builder.EndpointProducerBuilder;
@@ -254,6 +255,44 @@ public interface HttpEndpointBuilderFactory {
         default HttpEndpointBuilder basic() {
             return (HttpEndpointBuilder) this;
         }
+        /**
+         * Whether the producer should use the non-blocking Apache
+         * HttpAsyncClient instead of the blocking HttpClient. The requests are
+         * then executed by a few NIO I/O reactor threads, so the calling thread
+         * is not blocked while waiting for the response. Each producer has its
+         * own connection pool sized by the maxTotalConnections and
+         * connectionsPerRoute options, and the response body is streamed into
+         * the stream cache as it is received. Notice that the
+         * httpClientConfigurer and clientBuilder options do not apply to the
+         * async client.
+         * 
+         * The option is a: <code>boolean</code> type.
+         * 
+         * Group: producer (advanced)
+         */
+        default AdvancedHttpEndpointBuilder asyncClient(boolean asyncClient) {
+            doSetProperty("asyncClient", asyncClient);
+            return this;
+        }
+        /**
+         * Whether the producer should use the non-blocking Apache
+         * HttpAsyncClient instead of the blocking HttpClient. The requests are
+         * then executed by a few NIO I/O reactor threads, so the calling thread
+         * is not blocked while waiting for the response. Each producer has its
+         * own connection pool sized by the maxTotalConnections and
+         * connectionsPerRoute options, and the response body is streamed into
+         * the stream cache as it is received. Notice that the
+         * httpClientConfigurer and clientBuilder options do not apply to the
+         * async client.
+         * 
+         * The option will be converted to a <code>boolean</code> type.
+         * 
+         * Group: producer (advanced)
+         */
+        default AdvancedHttpEndpointBuilder asyncClient(String asyncClient) {
+            doSetProperty("asyncClient", asyncClient);
+            return this;
+        }
         /**
          * To use a custom HttpBinding to control the mapping between Camel
          * message and HttpClient.
@@ -384,6 +423,42 @@ public interface HttpEndpointBuilderFactory {
             doSetProperty("connectionsPerRoute", connectionsPerRoute);
             return this;
         }
+        /**
+         * To use a custom thread pool to continue the exchanges when the async
+         * client has received the response. By default each producer creates a
+         * thread pool from the default thread pool profile, with an unbounded
+         * task queue. The thread pool should not run the tasks on the calling
+         * thread when it is saturated, such as the CallerRuns rejection policy,
+         * as the exchanges would then be continued by the I/O reactor threads.
+         * 
+         * The option is a: <code>java.util.concurrent.ExecutorService</code>
+         * type.
+         * 
+         * Group: producer (advanced)
+         */
+        default AdvancedHttpEndpointBuilder executorService(
+                ExecutorService executorService) {
+            doSetProperty("executorService", executorService);
+            return this;
+        }
+        /**
+         * To use a custom thread pool to continue the exchanges when the async
+         * client has received the response. By default each producer creates a
+         * thread pool from the default thread pool profile, with an unbounded
+         * task queue. The thread pool should not run the tasks on the calling
+         * thread when it is saturated, such as the CallerRuns rejection policy,
+         * as the exchanges would then be continued by the I/O reactor threads.
+         * 
+         * The option will be converted to a
+         * <code>java.util.concurrent.ExecutorService</code> type.
+         * 
+         * Group: producer (advanced)
+         */
+        default AdvancedHttpEndpointBuilder executorService(
+                String executorService) {
+            doSetProperty("executorService", executorService);
+            return this;
+        }
         /**
          * Sets a custom HttpClient to be used by the producer.
          * 
@@ -490,6 +565,31 @@ public interface HttpEndpointBuilderFactory {
             doSetProperty("httpContext", httpContext);
             return this;
         }
+        /**
+         * The number of I/O reactor threads used by the async client. Will by
+         * default use the number of available processors.
+         * 
+         * The option is a: <code>int</code> type.
+         * 
+         * Group: producer (advanced)
+         */
+        default AdvancedHttpEndpointBuilder ioThreadCount(int ioThreadCount) {
+            doSetProperty("ioThreadCount", ioThreadCount);
+            return this;
+        }
+        /**
+         * The number of I/O reactor threads used by the async client. Will by
+         * default use the number of available processors.
+         * 
+         * The option will be converted to a <code>int</code> type.
+         * 
+         * Group: producer (advanced)
+         */
+        default AdvancedHttpEndpointBuilder ioThreadCount(
+                String ioThreadCount) {
+            doSetProperty("ioThreadCount", ioThreadCount);
+            return this;
+        }
         /**
          * If this option is true then IN exchange Body of the exchange will be
          * mapped to HTTP body. Setting this to false will avoid the HTTP
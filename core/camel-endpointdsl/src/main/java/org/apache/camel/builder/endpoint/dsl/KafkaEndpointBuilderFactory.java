@@ -356,6 +356,23 @@ public interface KafkaEndpointBuilderFactory {
             doSetProperty("checkCrcs", checkCrcs);
             return this;
         }
+        /**
+         * A simple language expression to evaluate the key used for dispatching
+         * the records to the workers (see consumerWorkerThreads), for example
+         * ${header.kafka.KEY}. Records with the same key are processed in
+         * order, which allows records from the same partition to be processed
+         * in parallel. By default the records are dispatched by their
+         * partition.
+         * 
+         * The option is a: <code>java.lang.String</code> type.
+         * 
+         * Group: consumer
+         */
+        default KafkaEndpointConsumerBuilder consumerOrderingKey(
+                String consumerOrderingKey) {
+            doSetProperty("consumerOrderingKey", consumerOrderingKey);
+            return this;
+        }
         /**
          * The configuration controls the maximum amount of time the client will
          * wait for the response of a request. If the response is not received
@@ -433,6 +450,76 @@ public interface KafkaEndpointBuilderFactory {
             doSetProperty("consumerStreams", consumerStreams);
             return this;
         }
+        /**
+         * The maximum number of polled records (per consumer) which can be
+         * waiting to be processed by the workers (see consumerWorkerThreads).
+         * When this is exceeded then the consumer pauses fetching from its
+         * partitions, until the workers have caught up with half of the
+         * records.
+         * 
+         * The option is a: <code>int</code> type.
+         * 
+         * Group: consumer
+         */
+        default KafkaEndpointConsumerBuilder consumerWorkerQueueSize(
+                int consumerWorkerQueueSize) {
+            doSetProperty("consumerWorkerQueueSize", consumerWorkerQueueSize);
+            return this;
+        }
+        /**
+         * The maximum number of polled records (per consumer) which can be
+         * waiting to be processed by the workers (see consumerWorkerThreads).
+         * When this is exceeded then the consumer pauses fetching from its
+         * partitions, until the workers have caught up with half of the
+         * records.
+         * 
+         * The option will be converted to a <code>int</code> type.
+         * 
+         * Group: consumer
+         */
+        default KafkaEndpointConsumerBuilder consumerWorkerQueueSize(
+                String consumerWorkerQueueSize) {
+            doSetProperty("consumerWorkerQueueSize", consumerWorkerQueueSize);
+            return this;
+        }
+        /**
+         * Number of worker threads (per consumer) to process the polled records
+         * in parallel. The records are dispatched to the workers by their
+         * partition (or by the consumerOrderingKey), so records from the same
+         * partition (or with the same key) are processed in order. The offsets
+         * are only committed past the records which have been completed
+         * contiguously. This option cannot be used together with
+         * breakOnFirstError or allowManualCommit. The default value is 0, which
+         * processes the records one at a time by the consumer thread.
+         * 
+         * The option is a: <code>int</code> type.
+         * 
+         * Group: consumer
+         */
+        default KafkaEndpointConsumerBuilder consumerWorkerThreads(
+                int consumerWorkerThreads) {
+            doSetProperty("consumerWorkerThreads", consumerWorkerThreads);
+            return this;
+        }
+        /**
+         * Number of worker threads (per consumer) to process the polled records
+         * in parallel. The records are dispatched to the workers by their
+         * partition (or by the consumerOrderingKey), so records from the same
+         * partition (or with the same key) are processed in order. The offsets
+         * are only committed past the records which have been completed
+         * contiguously. This option cannot be used together with
+         * breakOnFirstError or allowManualCommit. The default value is 0, which
+         * processes the records one at a time by the consumer thread.
+         * 
+         * The option will be converted to a <code>int</code> type.
+         * 
+         * Group: consumer
+         */
+        default KafkaEndpointConsumerBuilder consumerWorkerThreads(
+                String consumerWorkerThreads) {
+            doSetProperty("consumerWorkerThreads", consumerWorkerThreads);
+            return this;
+        }
         /**
          * The maximum amount of data the server should return for a fetch
          * request This is not an absolute maximum, if the first message in the
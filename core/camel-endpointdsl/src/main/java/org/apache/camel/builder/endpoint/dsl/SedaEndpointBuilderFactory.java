@@ -198,6 +198,40 @@ public interface SedaEndpointBuilderFactory {
             doSetProperty("exchangePattern", exchangePattern);
             return this;
         }
+        /**
+         * Whether the messages drained in a poll (see maxMessagesPerPoll)
+         * should be grouped together and routed as a single exchange, which
+         * holds the exchanges as a java.util.List in the message body. When
+         * using request/reply the resulting message is the reply to each of the
+         * grouped exchanges, unless the message body is still the list of
+         * exchanges, in which case each exchange holds its own reply.
+         * 
+         * The option is a: <code>boolean</code> type.
+         * 
+         * Group: consumer (advanced)
+         */
+        default AdvancedSedaEndpointConsumerBuilder groupExchanges(
+                boolean groupExchanges) {
+            doSetProperty("groupExchanges", groupExchanges);
+            return this;
+        }
+        /**
+         * Whether the messages drained in a poll (see maxMessagesPerPoll)
+         * should be grouped together and routed as a single exchange, which
+         * holds the exchanges as a java.util.List in the message body. When
+         * using request/reply the resulting message is the reply to each of the
+         * grouped exchanges, unless the message body is still the list of
+         * exchanges, in which case each exchange holds its own reply.
+         * 
+         * The option will be converted to a <code>boolean</code> type.
+         * 
+         * Group: consumer (advanced)
+         */
+        default AdvancedSedaEndpointConsumerBuilder groupExchanges(
+                String groupExchanges) {
+            doSetProperty("groupExchanges", groupExchanges);
+            return this;
+        }
         /**
          * Whether to limit the number of concurrentConsumers to the maximum of
          * 500. By default, an exception will be thrown if an endpoint is
@@ -228,6 +262,40 @@ public interface SedaEndpointBuilderFactory {
             doSetProperty("limitConcurrentConsumers", limitConcurrentConsumers);
             return this;
         }
+        /**
+         * To drain up to this number of messages from the queue each time the
+         * consumer polls, instead of polling one message at a time. The drained
+         * messages are then processed back-to-back by the consumer thread,
+         * which reduces the locking and thread wake-ups on the queue when there
+         * is a high throughput of messages. Values of 1 or lower polls one
+         * message at a time.
+         * 
+         * The option is a: <code>int</code> type.
+         * 
+         * Group: consumer (advanced)
+         */
+        default AdvancedSedaEndpointConsumerBuilder maxMessagesPerPoll(
+                int maxMessagesPerPoll) {
+            doSetProperty("maxMessagesPerPoll", maxMessagesPerPoll);
+            return this;
+        }
+        /**
+         * To drain up to this number of messages from the queue each time the
+         * consumer polls, instead of polling one message at a time. The drained
+         * messages are then processed back-to-back by the consumer thread,
+         * which reduces the locking and thread wake-ups on the queue when there
+         * is a high throughput of messages. Values of 1 or lower polls one
+         * message at a time.
+         * 
+         * The option will be converted to a <code>int</code> type.
+         * 
+         * Group: consumer (advanced)
+         */
+        default AdvancedSedaEndpointConsumerBuilder maxMessagesPerPoll(
+                String maxMessagesPerPoll) {
+            doSetProperty("maxMessagesPerPoll", maxMessagesPerPoll);
+            return this;
+        }
         /**
          * Specifies whether multiple consumers are allowed. If enabled, you can
          * use SEDA for Publish-Subscribe messaging. That is, you can send a
@@ -341,6 +409,21 @@ public interface SedaEndpointBuilderFactory {
             doSetProperty("basicPropertyBinding", basicPropertyBinding);
             return this;
         }
+        /**
+         * How threads should wait when the lock-free queue (see queueType) is
+         * empty or full. spin is busy spinning which has the lowest latency but
+         * uses 100% cpu while waiting, yield yields the thread, and park backs
+         * off from spinning and yielding to parking the thread.
+         * 
+         * The option is a: <code>java.lang.String</code> type.
+         * 
+         * Group: advanced
+         */
+        default AdvancedSedaEndpointConsumerBuilder idleStrategy(
+                String idleStrategy) {
+            doSetProperty("idleStrategy", idleStrategy);
+            return this;
+        }
         /**
          * Define the queue instance which will be used by the endpoint. This
          * option is only for rare use-cases where you want to use a custom
@@ -369,6 +452,22 @@ public interface SedaEndpointBuilderFactory {
             doSetProperty("queue", queue);
             return this;
         }
+        /**
+         * To use a bounded lock-free queue instead of the queue from the queue
+         * factory, which has higher throughput when there are many concurrent
+         * producers. Use mpsc when the queue has a single consumer thread
+         * (concurrentConsumers = 1), or mpmc when the queue has multiple
+         * consumer threads.
+         * 
+         * The option is a: <code>java.lang.String</code> type.
+         * 
+         * Group: advanced
+         */
+        default AdvancedSedaEndpointConsumerBuilder queueType(
+                String queueType) {
+            doSetProperty("queueType", queueType);
+            return this;
+        }
         /**
          * Sets whether synchronous processing should be strictly used, or Camel
          * is allowed to use asynchronous processing (if supported).
@@ -687,6 +786,21 @@ public interface SedaEndpointBuilderFactory {
             doSetProperty("basicPropertyBinding", basicPropertyBinding);
             return this;
         }
+        /**
+         * How threads should wait when the lock-free queue (see queueType) is
+         * empty or full. spin is busy spinning which has the lowest latency but
+         * uses 100% cpu while waiting, yield yields the thread, and park backs
+         * off from spinning and yielding to parking the thread.
+         * 
+         * The option is a: <code>java.lang.String</code> type.
+         * 
+         * Group: advanced
+         */
+        default AdvancedSedaEndpointProducerBuilder idleStrategy(
+                String idleStrategy) {
+            doSetProperty("idleStrategy", idleStrategy);
+            return this;
+        }
         /**
          * Define the queue instance which will be used by the endpoint. This
          * option is only for rare use-cases where you want to use a custom
@@ -715,6 +829,22 @@ public interface SedaEndpointBuilderFactory {
             doSetProperty("queue", queue);
             return this;
         }
+        /**
+         * To use a bounded lock-free queue instead of the queue from the queue
+         * factory, which has higher throughput when there are many concurrent
+         * producers. Use mpsc when the queue has a single consumer thread
+         * (concurrentConsumers = 1), or mpmc when the queue has multiple
+         * consumer threads.
+         * 
+         * The option is a: <code>java.lang.String</code> type.
+         * 
+         * Group: advanced
+         */
+        default AdvancedSedaEndpointProducerBuilder queueType(
+                String queueType) {
+            doSetProperty("queueType", queueType);
+            return this;
+        }
         /**
          * Sets whether synchronous processing should be strictly used, or Camel
          * is allowed to use asynchronous processing (if supported).
@@ -815,6 +945,20 @@ public interface SedaEndpointBuilderFactory {
             doSetProperty("basicPropertyBinding", basicPropertyBinding);
             return this;
         }
+        /**
+         * How threads should wait when the lock-free queue (see queueType) is
+         * empty or full. spin is busy spinning which has the lowest latency but
+         * uses 100% cpu while waiting, yield yields the thread, and park backs
+         * off from spinning and yielding to parking the thread.
+         * 
+         * The option is a: <code>java.lang.String</code> type.
+         * 
+         * Group: advanced
+         */
+        default AdvancedSedaEndpointBuilder idleStrategy(String idleStrategy) {
+            doSetProperty("idleStrategy", idleStrategy);
+            return this;
+        }
         /**
          * Define the queue instance which will be used by the endpoint. This
          * option is only for rare use-cases where you want to use a custom
@@ -843,6 +987,21 @@ public interface SedaEndpointBuilderFactory {
             doSetProperty("queue", queue);
             return this;
         }
+        /**
+         * To use a bounded lock-free queue instead of the queue from the queue
+         * factory, which has higher throughput when there are many concurrent
+         * producers. Use mpsc when the queue has a single consumer thread
+         * (concurrentConsumers = 1), or mpmc when the queue has multiple
+         * consumer threads.
+         * 
+         * The option is a: <code>java.lang.String</code> type.
+         * 
+         * Group: advanced
+         */
+        default AdvancedSedaEndpointBuilder queueType(String queueType) {
+            doSetProperty("queueType", queueType);
+            return this;
+        }
         /**
          * Sets whether synchronous processing should be strictly used, or Camel
          * is allowed to use asynchronous processing (if supported).
@@ -115,6 +115,7 @@ public final class DefaultConfigurationConfigurer {
         camelContext.setStreamCaching(config.isStreamCachingEnabled());
         camelContext.getStreamCachingStrategy().setAnySpoolRules(config.isStreamCachingAnySpoolRules());
         camelContext.getStreamCachingStrategy().setBufferSize(config.getStreamCachingBufferSize());
+        camelContext.getStreamCachingStrategy().setSpoolOffHeapMemoryLimit(config.getStreamCachingSpoolOffHeapMemoryLimit());
         camelContext.getStreamCachingStrategy().setRemoveSpoolDirectoryWhenStopping(config.isStreamCachingRemoveSpoolDirectoryWhenStopping());
         camelContext.getStreamCachingStrategy().setSpoolCipher(config.getStreamCachingSpoolCipher());
         if (config.getStreamCachingSpoolDirectory() != null) {
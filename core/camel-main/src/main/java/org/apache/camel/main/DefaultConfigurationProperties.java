@@ -48,6 +48,7 @@ public abstract class DefaultConfigurationProperties<T> {
     private String streamCachingSpoolUsedHeapMemoryLimit;
     private boolean streamCachingAnySpoolRules;
     private int streamCachingBufferSize;
+    private long streamCachingSpoolOffHeapMemoryLimit;
     private boolean streamCachingRemoveSpoolDirectoryWhenStopping = true;
     private boolean streamCachingStatisticsEnabled;
     private boolean backlogTracing;
@@ -373,6 +374,20 @@ public abstract class DefaultConfigurationProperties<T> {
         this.streamCachingBufferSize = streamCachingBufferSize;
     }
 
+    public long getStreamCachingSpoolOffHeapMemoryLimit() {
+        return streamCachingSpoolOffHeapMemoryLimit;
+    }
+
+    /**
+     * Sets an upper bound in bytes of direct (off-heap) memory that stream caching may use when overflowing
+     * streams which are closed on exchange completion, before spooling to disk.
+     *
+     * The default value is 0 which means this is turned off and streams overflow directly to disk.
+     */
+    public void setStreamCachingSpoolOffHeapMemoryLimit(long streamCachingSpoolOffHeapMemoryLimit) {
+        this.streamCachingSpoolOffHeapMemoryLimit = streamCachingSpoolOffHeapMemoryLimit;
+    }
+
     public boolean isStreamCachingRemoveSpoolDirectoryWhenStopping() {
         return streamCachingRemoveSpoolDirectoryWhenStopping;
     }
@@ -1026,6 +1041,17 @@ public abstract class DefaultConfigurationProperties<T> {
         return (T) this;
     }
 
+    /**
+     * Sets an upper bound in bytes of direct (off-heap) memory that stream caching may use when overflowing
+     * streams which are closed on exchange completion, before spooling to disk.
+     *
+     * The default value is 0 which means this is turned off and streams overflow directly to disk.
+     */
+    public T withStreamCachingSpoolOffHeapMemoryLimit(long streamCachingSpoolOffHeapMemoryLimit) {
+        this.streamCachingSpoolOffHeapMemoryLimit = streamCachingSpoolOffHeapMemoryLimit;
+        return (T) this;
+    }
+
     /**
      * Whether to remove stream caching temporary directory when stopping.
      * This option is default true.
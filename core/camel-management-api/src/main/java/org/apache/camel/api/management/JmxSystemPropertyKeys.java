@@ -54,6 +54,12 @@ public final class JmxSystemPropertyKeys {
     // whether to enable gathering endpoint runtime statistics
     public static final String ENDPOINT_RUNTIME_STATISTICS_ENABLED = "org.apache.camel.jmx.endpointRuntimeStatisticsEnabled";
 
+    // whether to enable gathering processing time percentiles
+    public static final String PERCENTILES_ENABLED = "org.apache.camel.jmx.percentilesEnabled";
+
+    // the number of significant decimal digits of the processing time percentiles
+    public static final String PERCENTILES_PRECISION = "org.apache.camel.jmx.percentilesPrecision";
+
     // the level of statistics enabled
     public static final String STATISTICS_LEVEL = "org.apache.camel.jmx.statisticsLevel";
 
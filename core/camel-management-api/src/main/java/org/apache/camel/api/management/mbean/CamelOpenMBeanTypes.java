@@ -152,6 +152,37 @@ public final class CamelOpenMBeanTypes {
                 new OpenType[]{SimpleType.STRING, SimpleType.LONG});
     }
 
+    public static TabularType loadbalancerProcessorsTabularType() throws OpenDataException {
+        CompositeType ct = loadbalancerProcessorsCompositeType();
+        return new TabularType("processor", "Processor load statistics", ct, new String[]{"index"});
+    }
+
+    public static CompositeType loadbalancerProcessorsCompositeType() throws OpenDataException {
+        return new CompositeType("processors", "Processors",
+                new String[]{"index", "id", "inflight", "completed", "latency"},
+                new String[]{"Index", "Id", "Inflight", "Completed", "Latency"},
+                new OpenType[]{SimpleType.INTEGER, SimpleType.STRING, SimpleType.INTEGER, SimpleType.LONG, SimpleType.DOUBLE});
+    }
+
+    public static TabularType throttlerKeyStatisticsTabularType() throws OpenDataException {
+        CompositeType ct = throttlerKeyStatisticsCompositeType();
+        return new TabularType("keyStatistics", "Throttling statistics per correlation key", ct, new String[]{"key"});
+    }
+
+    public static CompositeType throttlerKeyStatisticsCompositeType() throws OpenDataException {
+        return new CompositeType("keys", "Keys",
+                new String[]{"key", "throttleRate", "availableTokens", "acquired", "throttled", "rejected", "idle"},
+                new String[]{"Key", "Throttle Rate", "Available Tokens", "Acquired", "Throttled", "Rejected", "Idle"},
+                new OpenType[]{SimpleType.STRING, SimpleType.INTEGER, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG});
+    }
+
+    public static CompositeType percentilesCompositeType() throws OpenDataException {
+        return new CompositeType("percentiles", "Processing time percentiles",
+                new String[]{"count", "p50", "p90", "p99", "p999", "max"},
+                new String[]{"Count", "P50", "P90", "P99", "P999", "Max"},
+                new OpenType[]{SimpleType.LONG, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG});
+    }
+
     public static TabularType endpointsUtilizationTabularType() throws OpenDataException {
         CompositeType ct = endpointsUtilizationCompositeType();
         return new TabularType("endpointsUtilization", "Endpoint utilization statistics", ct, new String[]{"url"});
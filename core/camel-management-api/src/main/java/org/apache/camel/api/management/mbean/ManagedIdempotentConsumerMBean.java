@@ -44,6 +44,15 @@ public interface ManagedIdempotentConsumerMBean extends ManagedProcessorMBean {
 
     @ManagedOperation(description = "Reset the current count of duplicate Messages")
     void resetDuplicateMessageCount();
+
+    @ManagedAttribute(description = "Number of lookups of keys which already existed in the repository (only available if the repository keeps statistics)")
+    Long getRepositoryHitCount();
+
+    @ManagedAttribute(description = "Number of lookups of keys which did not exist in the repository (only available if the repository keeps statistics)")
+    Long getRepositoryMissCount();
+
+    @ManagedAttribute(description = "Number of keys evicted from the repository (only available if the repository keeps statistics)")
+    Long getRepositoryEvictionCount();
     
     @ManagedOperation(description = "Clear the repository containing Messages")
     void clear();
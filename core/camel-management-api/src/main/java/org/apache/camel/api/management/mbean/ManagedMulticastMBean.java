@@ -38,4 +38,7 @@ public interface ManagedMulticastMBean extends ManagedProcessorMBean {
     @ManagedAttribute(description = "The total timeout specified in millis, when using parallel processing.")
     Long getTimeout();
 
+    @ManagedAttribute(description = "The maximum number of messages in flight which are not yet aggregated, when using parallel processing.")
+    Integer getMaxInflight();
+
 }
\ No newline at end of file
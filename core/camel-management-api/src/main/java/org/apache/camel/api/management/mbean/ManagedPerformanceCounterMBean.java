@@ -18,6 +18,8 @@ package org.apache.camel.api.management.mbean;
 
 import java.util.Date;
 
+import javax.management.openmbean.CompositeData;
+
 import org.apache.camel.api.management.ManagedAttribute;
 import org.apache.camel.api.management.ManagedOperation;
 
@@ -59,6 +61,18 @@ public interface ManagedPerformanceCounterMBean extends ManagedCounterMBean {
     @ManagedAttribute(description = "Delta Processing Time [milliseconds]")
     long getDeltaProcessingTime() throws Exception;
 
+    @ManagedAttribute(description = "50th Percentile Processing Time [milliseconds] (requires percentiles enabled)")
+    long getP50ProcessingTime() throws Exception;
+
+    @ManagedAttribute(description = "90th Percentile Processing Time [milliseconds] (requires percentiles enabled)")
+    long getP90ProcessingTime() throws Exception;
+
+    @ManagedAttribute(description = "99th Percentile Processing Time [milliseconds] (requires percentiles enabled)")
+    long getP99ProcessingTime() throws Exception;
+
+    @ManagedAttribute(description = "99.9th Percentile Processing Time [milliseconds] (requires percentiles enabled)")
+    long getP999ProcessingTime() throws Exception;
+
     @ManagedAttribute(description = "Last Exchange Completed Timestamp")
     Date getLastExchangeCompletedTimestamp();
 
@@ -89,6 +103,15 @@ public interface ManagedPerformanceCounterMBean extends ManagedCounterMBean {
     @ManagedAttribute(description = "Statistics enabled")
     void setStatisticsEnabled(boolean statisticsEnabled);
 
+    @ManagedAttribute(description = "Processing time percentiles enabled")
+    boolean isPercentilesEnabled();
+
+    @ManagedAttribute(description = "Processing time percentiles enabled")
+    void setPercentilesEnabled(boolean percentilesEnabled);
+
+    @ManagedOperation(description = "Processing time percentiles of the exchanges completed since the last interval snapshot, and starts a new interval")
+    CompositeData percentilesIntervalSnapshot() throws Exception;
+
     @ManagedOperation(description = "Dumps the statistics as XML")
     String dumpStatsAsXml(boolean fullStats);
 
@@ -53,6 +53,9 @@ public interface ManagedRecipientListMBean extends ManagedProcessorMBean, Manage
     @ManagedAttribute(description = "The total timeout specified in millis, when using parallel processing.")
     Long getTimeout();
 
+    @ManagedAttribute(description = "The maximum number of messages in flight which are not yet aggregated, when using parallel processing.")
+    Integer getMaxInflight();
+
     @Override
     @ManagedOperation(description = "Statistics of the endpoints which has been sent to")
     TabularData extendedInformation();
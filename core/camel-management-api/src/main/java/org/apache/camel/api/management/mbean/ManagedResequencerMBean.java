@@ -44,4 +44,7 @@ public interface ManagedResequencerMBean extends ManagedProcessorMBean {
     @ManagedAttribute(description = "If true, throws an exception when messages older than the last delivered message are processed")
     Boolean isRejectOld();
 
+    @ManagedAttribute(description = "Whether the stream resequencer uses a resequencer engine which allows messages to be inserted concurrently")
+    Boolean isConcurrentInsert();
+
 }
\ No newline at end of file
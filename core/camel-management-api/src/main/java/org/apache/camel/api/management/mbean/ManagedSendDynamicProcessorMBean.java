@@ -41,6 +41,15 @@ public interface ManagedSendDynamicProcessorMBean extends ManagedProcessorMBean,
     @ManagedAttribute(description = "Whether an optimised component (SendDynamicAware) is in use")
     Boolean isOptimised();
 
+    @ManagedAttribute(description = "Number of times the endpoint to send to was found in the endpoint cache")
+    Long getEndpointCacheHits();
+
+    @ManagedAttribute(description = "Number of times the endpoint to send to had to be resolved from the uri")
+    Long getEndpointCacheMisses();
+
+    @ManagedAttribute(description = "Current number of endpoints in the endpoint cache")
+    Integer getEndpointCacheSize();
+
     @Override
     @ManagedOperation(description = "Statistics of the endpoints which has been sent to")
     TabularData extendedInformation();
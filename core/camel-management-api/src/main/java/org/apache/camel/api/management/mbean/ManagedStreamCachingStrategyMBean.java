@@ -55,6 +55,15 @@ public interface ManagedStreamCachingStrategyMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Whether used heap memory limit is committed or maximum")
     SpoolUsedHeapMemoryLimit getSpoolUsedHeapMemoryLimit();
 
+    @ManagedAttribute(description = "Maximum number of bytes of off-heap memory to use for spooling before spooling to disk")
+    void setSpoolOffHeapMemoryLimit(long limit);
+
+    @ManagedAttribute(description = "Maximum number of bytes of off-heap memory to use for spooling before spooling to disk")
+    long getSpoolOffHeapMemoryLimit();
+
+    @ManagedAttribute(description = "Number of bytes of off-heap memory currently in use by stream caches")
+    long getSpoolOffHeapMemoryUsed();
+
     @ManagedAttribute(description = "Buffer size in bytes to use when coping between buffers")
     void setBufferSize(int bufferSize);
 
@@ -91,6 +100,15 @@ public interface ManagedStreamCachingStrategyMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Average number of bytes per cached stream for spooled (not in-memory) stream caches.")
     long getCacheSpoolAverageSize();
 
+    @ManagedAttribute(description = "Number of StreamCache created which are spooled to off-heap memory")
+    long getCacheOffHeapCounter();
+
+    @ManagedAttribute(description = "Total accumulated number of bytes which has been stream cached for off-heap StreamCache")
+    long getCacheOffHeapSize();
+
+    @ManagedAttribute(description = "Average number of bytes per cached stream for off-heap stream caches.")
+    long getCacheOffHeapAverageSize();
+
     @ManagedAttribute(description = "Whether utilization statistics is enabled")
     boolean isStatisticsEnabled();
 
@@ -16,7 +16,10 @@
  */
 package org.apache.camel.api.management.mbean;
 
+import javax.management.openmbean.TabularData;
+
 import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
 
 public interface ManagedThrottlerMBean extends ManagedProcessorMBean {
 
@@ -41,4 +44,13 @@ public interface ManagedThrottlerMBean extends ManagedProcessorMBean {
     @ManagedAttribute(description = "Whether or not throttler throws the ThrottlerRejectedExecutionException when the exchange exceeds the request limit")
     Boolean isRejectExecution();
 
+    @ManagedAttribute(description = "Whether token buckets are used instead of a rolling window of permits")
+    Boolean isTokenBucket();
+
+    @ManagedAttribute(description = "Number of correlation keys with a token bucket")
+    int getKeySize();
+
+    @ManagedOperation(description = "Throttling statistics of each correlation key when using token buckets")
+    TabularData keyStatistics();
+
 }
\ No newline at end of file
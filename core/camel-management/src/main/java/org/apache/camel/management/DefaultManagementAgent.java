@@ -89,6 +89,8 @@ public class DefaultManagementAgent extends ServiceSupport implements Management
     private Boolean onlyRegisterProcessorWithCustomId = false;
     private Boolean loadStatisticsEnabled = false;
     private Boolean endpointRuntimeStatisticsEnabled;
+    private Boolean percentilesEnabled = false;
+    private Integer percentilesPrecision = 2;
     private Boolean registerAlways = false;
     private Boolean registerNewRoutes = true;
     private Boolean mask = true;
@@ -168,6 +170,14 @@ public class DefaultManagementAgent extends ServiceSupport implements Management
             endpointRuntimeStatisticsEnabled = Boolean.getBoolean(JmxSystemPropertyKeys.ENDPOINT_RUNTIME_STATISTICS_ENABLED);
             values.put(JmxSystemPropertyKeys.ENDPOINT_RUNTIME_STATISTICS_ENABLED, endpointRuntimeStatisticsEnabled);
         }
+        if (System.getProperty(JmxSystemPropertyKeys.PERCENTILES_ENABLED) != null) {
+            percentilesEnabled = Boolean.getBoolean(JmxSystemPropertyKeys.PERCENTILES_ENABLED);
+            values.put(JmxSystemPropertyKeys.PERCENTILES_ENABLED, percentilesEnabled);
+        }
+        if (System.getProperty(JmxSystemPropertyKeys.PERCENTILES_PRECISION) != null) {
+            percentilesPrecision = Integer.getInteger(JmxSystemPropertyKeys.PERCENTILES_PRECISION);
+            values.put(JmxSystemPropertyKeys.PERCENTILES_PRECISION, percentilesPrecision);
+        }
         if (System.getProperty(JmxSystemPropertyKeys.STATISTICS_LEVEL) != null) {
             statisticsLevel = camelContext.getTypeConverter().mandatoryConvertTo(ManagementStatisticsLevel.class, System.getProperty(JmxSystemPropertyKeys.STATISTICS_LEVEL));
             values.put(JmxSystemPropertyKeys.STATISTICS_LEVEL, statisticsLevel);
@@ -356,6 +366,26 @@ public class DefaultManagementAgent extends ServiceSupport implements Management
         this.endpointRuntimeStatisticsEnabled = endpointRuntimeStatisticsEnabled;
     }
 
+    @Override
+    public Boolean getPercentilesEnabled() {
+        return percentilesEnabled;
+    }
+
+    @Override
+    public void setPercentilesEnabled(Boolean percentilesEnabled) {
+        this.percentilesEnabled = percentilesEnabled;
+    }
+
+    @Override
+    public Integer getPercentilesPrecision() {
+        return percentilesPrecision;
+    }
+
+    @Override
+    public void setPercentilesPrecision(Integer percentilesPrecision) {
+        this.percentilesPrecision = percentilesPrecision;
+    }
+
     @Override
     public ManagementStatisticsLevel getStatisticsLevel() {
         return statisticsLevel;
@@ -21,6 +21,8 @@ import org.apache.camel.api.management.ManagedResource;
 import org.apache.camel.api.management.mbean.ManagedIdempotentConsumerMBean;
 import org.apache.camel.model.IdempotentConsumerDefinition;
 import org.apache.camel.processor.idempotent.IdempotentConsumer;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.support.processor.idempotent.ShardedMemoryIdempotentRepository;
 
 @ManagedResource(description = "Managed Idempotent Consumer")
 public class ManagedIdempotentConsumer extends ManagedProcessor implements ManagedIdempotentConsumerMBean {
@@ -79,9 +81,35 @@ public class ManagedIdempotentConsumer extends ManagedProcessor implements Manag
         getProcessor().resetDuplicateMessageCount();
     }
 
+    @Override
+    public Long getRepositoryHitCount() {
+        ShardedMemoryIdempotentRepository repository = getStatisticsRepository();
+        return repository != null ? repository.getHitCount() : null;
+    }
+
+    @Override
+    public Long getRepositoryMissCount() {
+        ShardedMemoryIdempotentRepository repository = getStatisticsRepository();
+        return repository != null ? repository.getMissCount() : null;
+    }
+
+    @Override
+    public Long getRepositoryEvictionCount() {
+        ShardedMemoryIdempotentRepository repository = getStatisticsRepository();
+        return repository != null ? repository.getEvictionCount() : null;
+    }
+
     @Override
     public void clear() {
         getProcessor().clear();
     }
 
+    private ShardedMemoryIdempotentRepository getStatisticsRepository() {
+        IdempotentRepository repository = getProcessor().getIdempotentRepository();
+        if (repository instanceof ShardedMemoryIdempotentRepository) {
+            return (ShardedMemoryIdempotentRepository) repository;
+        }
+        return null;
+    }
+
 }
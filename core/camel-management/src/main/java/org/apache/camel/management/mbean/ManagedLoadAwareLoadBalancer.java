@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import java.util.List;
+
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.CompositeDataSupport;
+import javax.management.openmbean.CompositeType;
+import javax.management.openmbean.TabularData;
+import javax.management.openmbean.TabularDataSupport;
+
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.CamelContext;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.api.management.mbean.CamelOpenMBeanTypes;
+import org.apache.camel.model.LoadBalanceDefinition;
+import org.apache.camel.model.ProcessorDefinition;
+import org.apache.camel.processor.loadbalancer.LoadAwareLoadBalancer;
+
+/**
+ * Base class for managed load balancers which choose the processor based on its current load.
+ */
+public abstract class ManagedLoadAwareLoadBalancer extends ManagedProcessor {
+    private final LoadAwareLoadBalancer processor;
+
+    public ManagedLoadAwareLoadBalancer(CamelContext context, LoadAwareLoadBalancer processor, LoadBalanceDefinition definition) {
+        super(context, processor, definition);
+        this.processor = processor;
+    }
+
+    @Override
+    public LoadBalanceDefinition getDefinition() {
+        return (LoadBalanceDefinition) super.getDefinition();
+    }
+
+    public Integer getSize() {
+        return processor.getProcessors().size();
+    }
+
+    public String getLastChosenProcessorId() {
+        int idx = processor.getLastChosenProcessorIndex();
+        if (idx != -1) {
+            return getProcessorId(idx);
+        }
+        return null;
+    }
+
+    public TabularData processorStatistics() {
+        try {
+            TabularData answer = new TabularDataSupport(CamelOpenMBeanTypes.loadbalancerProcessorsTabularType());
+
+            List<AsyncProcessor> list = processor.getProcessors();
+            for (int i = 0; i < list.size(); i++) {
+                LoadAwareLoadBalancer.ProcessorLoad load = processor.getProcessorLoad(list.get(i));
+                String id = getProcessorId(i);
+                // latency is measured in nanos
+                double latency = load.getLatency() / 1000000d;
+
+                CompositeType ct = CamelOpenMBeanTypes.loadbalancerProcessorsCompositeType();
+                CompositeData data = new CompositeDataSupport(ct,
+                        new String[]{"index", "id", "inflight", "completed", "latency"},
+                        new Object[]{i, id, load.getInflight(), load.getCompleted(), latency});
+                answer.put(data);
+            }
+
+            return answer;
+        } catch (Exception e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+    }
+
+    private String getProcessorId(int index) {
+        List<ProcessorDefinition<?>> outputs = getDefinition().getOutputs();
+        if (index < outputs.size()) {
+            ProcessorDefinition<?> output = outputs.get(index);
+            if (output != null) {
+                return output.getId();
+            }
+        }
+        return null;
+    }
+}
@@ -19,10 +19,16 @@ package org.apache.camel.management.mbean;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.CompositeDataSupport;
+import javax.management.openmbean.CompositeType;
+
 import org.apache.camel.Exchange;
 import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.api.management.mbean.CamelOpenMBeanTypes;
 import org.apache.camel.api.management.mbean.ManagedPerformanceCounterMBean;
 import org.apache.camel.management.PerformanceCounter;
+import org.apache.camel.spi.ManagementAgent;
 import org.apache.camel.spi.ManagementStrategy;
 import org.apache.camel.support.ExchangeHelper;
 
@@ -52,10 +58,21 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
     private Statistic lastExchangeFailureTimestamp;
     private String lastExchangeFailureExchangeId;
     private boolean statisticsEnabled = true;
+    private volatile StatisticHistogram processingTimeHistogram;
+    private int percentilesPrecision = StatisticHistogram.DEFAULT_PRECISION;
 
     @Override
     public void init(ManagementStrategy strategy) {
         super.init(strategy);
+        ManagementAgent agent = strategy != null ? strategy.getManagementAgent() : null;
+        if (agent != null) {
+            if (agent.getPercentilesPrecision() != null) {
+                this.percentilesPrecision = agent.getPercentilesPrecision();
+            }
+            if (agent.getPercentilesEnabled() != null && agent.getPercentilesEnabled()) {
+                this.processingTimeHistogram = new StatisticHistogram(percentilesPrecision);
+            }
+        }
         this.exchangesCompleted = new StatisticCounter();
         this.exchangesFailed = new StatisticCounter();
         this.exchangesInflight = new StatisticCounter();
@@ -100,6 +117,10 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         lastExchangeCompletedExchangeId = null;
         lastExchangeFailureTimestamp.reset();
         lastExchangeFailureExchangeId = null;
+        StatisticHistogram histogram = processingTimeHistogram;
+        if (histogram != null) {
+            histogram.reset();
+        }
     }
 
     @Override
@@ -162,6 +183,31 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         return deltaProcessingTime.getValue();
     }
 
+    @Override
+    public long getP50ProcessingTime() throws Exception {
+        return getProcessingTimePercentile(50);
+    }
+
+    @Override
+    public long getP90ProcessingTime() throws Exception {
+        return getProcessingTimePercentile(90);
+    }
+
+    @Override
+    public long getP99ProcessingTime() throws Exception {
+        return getProcessingTimePercentile(99);
+    }
+
+    @Override
+    public long getP999ProcessingTime() throws Exception {
+        return getProcessingTimePercentile(99.9);
+    }
+
+    private long getProcessingTimePercentile(double percentile) {
+        StatisticHistogram histogram = processingTimeHistogram;
+        return histogram != null ? histogram.getSnapshot().getValueAtPercentile(percentile) : 0;
+    }
+
     @Override
     public Date getLastExchangeCompletedTimestamp() {
         long value = lastExchangeCompletedTimestamp.getValue();
@@ -216,6 +262,41 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         this.statisticsEnabled = statisticsEnabled;
     }
 
+    @Override
+    public boolean isPercentilesEnabled() {
+        return processingTimeHistogram != null;
+    }
+
+    @Override
+    public synchronized void setPercentilesEnabled(boolean percentilesEnabled) {
+        if (percentilesEnabled && processingTimeHistogram == null) {
+            processingTimeHistogram = new StatisticHistogram(percentilesPrecision);
+        } else if (!percentilesEnabled) {
+            processingTimeHistogram = null;
+        }
+    }
+
+    @Override
+    public CompositeData percentilesIntervalSnapshot() throws Exception {
+        StatisticHistogram histogram = processingTimeHistogram;
+        StatisticHistogram.Snapshot snapshot = histogram != null ? histogram.getIntervalSnapshot() : null;
+
+        long[] values = new long[6];
+        if (snapshot != null) {
+            values[0] = snapshot.getCount();
+            values[1] = snapshot.getValueAtPercentile(50);
+            values[2] = snapshot.getValueAtPercentile(90);
+            values[3] = snapshot.getValueAtPercentile(99);
+            values[4] = snapshot.getValueAtPercentile(99.9);
+            values[5] = snapshot.getValueAtPercentile(100);
+        }
+
+        CompositeType ct = CamelOpenMBeanTypes.percentilesCompositeType();
+        return new CompositeDataSupport(ct,
+                new String[]{"count", "p50", "p90", "p99", "p999", "max"},
+                new Object[]{values[0], values[1], values[2], values[3], values[4], values[5]});
+    }
+
     @Override
     public void processExchange(Exchange exchange) {
         exchangesInflight.increment();
@@ -241,6 +322,11 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         lastProcessingTime.updateValue(time);
         deltaProcessingTime.updateValue(time);
 
+        StatisticHistogram histogram = processingTimeHistogram;
+        if (histogram != null) {
+            histogram.recordValue(time);
+        }
+
         long now = System.currentTimeMillis();
         if (!firstExchangeCompletedTimestamp.isUpdated()) {
             firstExchangeCompletedTimestamp.updateValue(now);
@@ -303,6 +389,15 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         sb.append(String.format(" deltaProcessingTime=\"%s\"", deltaProcessingTime.getValue()));
         sb.append(String.format(" meanProcessingTime=\"%s\"", meanProcessingTime.getValue()));
 
+        StatisticHistogram histogram = processingTimeHistogram;
+        if (histogram != null) {
+            StatisticHistogram.Snapshot snapshot = histogram.getSnapshot();
+            sb.append(String.format(" p50ProcessingTime=\"%s\"", snapshot.getValueAtPercentile(50)));
+            sb.append(String.format(" p90ProcessingTime=\"%s\"", snapshot.getValueAtPercentile(90)));
+            sb.append(String.format(" p99ProcessingTime=\"%s\"", snapshot.getValueAtPercentile(99)));
+            sb.append(String.format(" p999ProcessingTime=\"%s\"", snapshot.getValueAtPercentile(99.9)));
+        }
+
         if (fullStats) {
             sb.append(String.format(" startTimestamp=\"%s\"", dateAsString(startTimestamp.getTime())));
             sb.append(String.format(" resetTimestamp=\"%s\"", dateAsString(resetTimestamp.getTime())));
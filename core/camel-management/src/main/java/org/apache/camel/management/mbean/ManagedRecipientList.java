@@ -124,6 +124,11 @@ public class ManagedRecipientList extends ManagedProcessor implements ManagedRec
         return processor.getTimeout();
     }
 
+    @Override
+    public Integer getMaxInflight() {
+        return processor.getMaxInflight();
+    }
+
     @Override
     public TabularData extendedInformation() {
         try {
@@ -110,4 +110,13 @@ public class ManagedResequencer extends ManagedProcessor implements ManagedReseq
             return streamProcessor.isRejectOld();
         }
     }
+
+    @Override
+    public Boolean isConcurrentInsert() {
+        if (processor != null) {
+            return null;
+        } else {
+            return streamProcessor.isConcurrentInsert();
+        }
+    }
 }
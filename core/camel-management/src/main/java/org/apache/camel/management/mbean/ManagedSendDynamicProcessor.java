@@ -63,6 +63,7 @@ public class ManagedSendDynamicProcessor extends ManagedProcessor implements Man
         if (processor.getEndpointUtilizationStatistics() != null) {
             processor.getEndpointUtilizationStatistics().clear();
         }
+        processor.resetEndpointCacheStatistics();
     }
 
     @Override
@@ -109,6 +110,21 @@ public class ManagedSendDynamicProcessor extends ManagedProcessor implements Man
         return processor.getDynamicAware() != null;
     }
 
+    @Override
+    public Long getEndpointCacheHits() {
+        return processor.getEndpointCacheHits();
+    }
+
+    @Override
+    public Long getEndpointCacheMisses() {
+        return processor.getEndpointCacheMisses();
+    }
+
+    @Override
+    public Integer getEndpointCacheSize() {
+        return processor.getEndpointCacheSize();
+    }
+
     @Override
     public TabularData extendedInformation() {
         try {
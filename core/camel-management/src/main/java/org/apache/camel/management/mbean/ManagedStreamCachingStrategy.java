@@ -113,6 +113,21 @@ public class ManagedStreamCachingStrategy extends ManagedService implements Mana
         }
     }
 
+    @Override
+    public void setSpoolOffHeapMemoryLimit(long limit) {
+        streamCachingStrategy.setSpoolOffHeapMemoryLimit(limit);
+    }
+
+    @Override
+    public long getSpoolOffHeapMemoryLimit() {
+        return streamCachingStrategy.getSpoolOffHeapMemoryLimit();
+    }
+
+    @Override
+    public long getSpoolOffHeapMemoryUsed() {
+        return streamCachingStrategy.getSpoolOffHeapMemoryUsed();
+    }
+
     @Override
     public void setBufferSize(int bufferSize) {
         streamCachingStrategy.setBufferSize(bufferSize);
@@ -173,6 +188,21 @@ public class ManagedStreamCachingStrategy extends ManagedService implements Mana
         return streamCachingStrategy.getStatistics().getCacheSpoolAverageSize();
     }
 
+    @Override
+    public long getCacheOffHeapCounter() {
+        return streamCachingStrategy.getStatistics().getCacheOffHeapCounter();
+    }
+
+    @Override
+    public long getCacheOffHeapSize() {
+        return streamCachingStrategy.getStatistics().getCacheOffHeapSize();
+    }
+
+    @Override
+    public long getCacheOffHeapAverageSize() {
+        return streamCachingStrategy.getStatistics().getCacheOffHeapAverageSize();
+    }
+
     @Override
     public boolean isStatisticsEnabled() {
         return streamCachingStrategy.getStatistics().isStatisticsEnabled();
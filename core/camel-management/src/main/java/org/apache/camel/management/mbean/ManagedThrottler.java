@@ -16,8 +16,16 @@
  */
 package org.apache.camel.management.mbean;
 
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.CompositeDataSupport;
+import javax.management.openmbean.CompositeType;
+import javax.management.openmbean.TabularData;
+import javax.management.openmbean.TabularDataSupport;
+
 import org.apache.camel.CamelContext;
+import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.api.management.mbean.CamelOpenMBeanTypes;
 import org.apache.camel.api.management.mbean.ManagedThrottlerMBean;
 import org.apache.camel.model.ProcessorDefinition;
 import org.apache.camel.processor.Throttler;
@@ -70,4 +78,34 @@ public class ManagedThrottler extends ManagedProcessor implements ManagedThrottl
     public Boolean isRejectExecution() {
         return throttler.isRejectExecution();
     }
+
+    @Override
+    public Boolean isTokenBucket() {
+        return throttler.isTokenBucket();
+    }
+
+    @Override
+    public int getKeySize() {
+        return throttler.getKeyStatistics().size();
+    }
+
+    @Override
+    public TabularData keyStatistics() {
+        try {
+            TabularData answer = new TabularDataSupport(CamelOpenMBeanTypes.throttlerKeyStatisticsTabularType());
+
+            for (Throttler.KeyStatistics stat : throttler.getKeyStatistics()) {
+                CompositeType ct = CamelOpenMBeanTypes.throttlerKeyStatisticsCompositeType();
+                CompositeData data = new CompositeDataSupport(ct,
+                        new String[]{"key", "throttleRate", "availableTokens", "acquired", "throttled", "rejected", "idle"},
+                        new Object[]{stat.getKey(), stat.getThrottleRate(), stat.getAvailableTokens(), stat.getAcquiredCount(),
+                            stat.getThrottledCount(), stat.getRejectedCount(), stat.getIdleMillis()});
+                answer.put(data);
+            }
+
+            return answer;
+        } catch (Exception e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+    }
 }
@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed memory histogram of recorded values, used for computing percentiles of the processing time.
+ * <p/>
+ * The values are counted in buckets which grow exponentially in size, where each power of two range is
+ * split into linear sub buckets (similar to HdrHistogram). The number of sub buckets is derived from the
+ * number of significant decimal digits to keep, so the reported percentiles have a relative error less than
+ * <tt>10^-precision</tt>. Values higher than the highest trackable value are recorded as the highest trackable value.
+ * <p/>
+ * Recording a value is a single atomic increment and is thread-safe. The snapshots are not atomic with
+ * concurrent updates, which is on purpose to keep the overhead of recording low.
+ */
+public class StatisticHistogram {
+
+    public static final int DEFAULT_PRECISION = 2;
+    public static final long DEFAULT_HIGHEST_TRACKABLE_VALUE = TimeUnit.HOURS.toMillis(1);
+
+    private final int subBucketBits;
+    private final int subBucketCount;
+    private final int subBucketHalfCount;
+    private final long highestTrackableValue;
+    private final AtomicLongArray counts;
+    private long[] intervalCounts;
+
+    public StatisticHistogram(int precision) {
+        this(precision, DEFAULT_HIGHEST_TRACKABLE_VALUE);
+    }
+
+    public StatisticHistogram(int precision, long highestTrackableValue) {
+        if (precision < 1 || precision > 3) {
+            throw new IllegalArgumentException("Precision must be between 1 and 3, was: " + precision);
+        }
+        if (highestTrackableValue < 1) {
+            throw new IllegalArgumentException("HighestTrackableValue must be a positive number, was: " + highestTrackableValue);
+        }
+        long largestValueWithSingleUnitResolution = 2 * (long) Math.pow(10, precision);
+        this.subBucketBits = 64 - Long.numberOfLeadingZeros(largestValueWithSingleUnitResolution - 1);
+        this.subBucketCount = 1 << subBucketBits;
+        this.subBucketHalfCount = subBucketCount >> 1;
+        this.highestTrackableValue = highestTrackableValue;
+        this.counts = new AtomicLongArray(indexOf(highestTrackableValue) + 1);
+    }
+
+    public void recordValue(long value) {
+        counts.incrementAndGet(indexOf(value));
+    }
+
+    /**
+     * Gets a snapshot of all the values recorded since creation or last reset.
+     */
+    public Snapshot getSnapshot() {
+        return new Snapshot(copyCounts());
+    }
+
+    /**
+     * Gets a snapshot of the values recorded since the last interval snapshot (or creation or last reset),
+     * and starts a new interval.
+     */
+    public synchronized Snapshot getIntervalSnapshot() {
+        long[] current = copyCounts();
+        long[] answer = current.clone();
+        if (intervalCounts != null) {
+            for (int i = 0; i < answer.length; i++) {
+                answer[i] = Math.max(0, answer[i] - intervalCounts[i]);
+            }
+        }
+        intervalCounts = current;
+        return new Snapshot(answer);
+    }
+
+    public synchronized void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+        intervalCounts = null;
+    }
+
+    private long[] copyCounts() {
+        long[] answer = new long[counts.length()];
+        for (int i = 0; i < answer.length; i++) {
+            answer[i] = counts.get(i);
+        }
+        return answer;
+    }
+
+    private int indexOf(long value) {
+        if (value < 0) {
+            value = 0;
+        } else if (value > highestTrackableValue) {
+            value = highestTrackableValue;
+        }
+        if (value < subBucketCount) {
+            return (int) value;
+        }
+        // each power of two range above the sub buckets uses the upper half of the sub buckets
+        int exponent = 64 - Long.numberOfLeadingZeros(value) - subBucketBits;
+        int subBucket = (int) (value >>> exponent);
+        return exponent * subBucketHalfCount + subBucket;
+    }
+
+    private long highestValueAt(int index) {
+        if (index < subBucketCount) {
+            return index;
+        }
+        int exponent = index / subBucketHalfCount - 1;
+        int subBucket = index - exponent * subBucketHalfCount;
+        return Math.min(highestTrackableValue, ((subBucket + 1L) << exponent) - 1);
+    }
+
+    /**
+     * A point in time copy of the counts of a histogram.
+     */
+    public final class Snapshot {
+        private final long[] snapshot;
+        private final long count;
+
+        private Snapshot(long[] snapshot) {
+            this.snapshot = snapshot;
+            long sum = 0;
+            for (long c : snapshot) {
+                sum += c;
+            }
+            this.count = sum;
+        }
+
+        /**
+         * Number of values in the snapshot
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Gets the value at the given percentile (such as 99.9), or <tt>0</tt> if no values has been recorded.
+         * The returned value is the highest value which is equivalent to the recorded values within the precision.
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            double p = Math.min(Math.max(percentile, 0), 100);
+            long target = Math.max(1, (long) Math.ceil(p / 100 * count));
+            long total = 0;
+            for (int i = 0; i < snapshot.length; i++) {
+                total += snapshot[i];
+                if (total >= target) {
+                    return highestValueAt(i);
+                }
+            }
+            return highestTrackableValue;
+        }
+    }
+
+}
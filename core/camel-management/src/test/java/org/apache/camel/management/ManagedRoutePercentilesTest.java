@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import org.apache.camel.builder.RouteBuilder;
+import org.junit.Test;
+
+public class ManagedRoutePercentilesTest extends ManagementTestSupport {
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    @Test
+    public void testPercentilesAreDisabledByDefault() throws Exception {
+        // JMX tests dont work well on AIX CI servers (hangs them)
+        if (isPlatform("aix")) {
+            return;
+        }
+
+        context.addRoutes(createRouteBuilder());
+        context.start();
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName on = ObjectName.getInstance("org.apache.camel:context=camel-1,type=routes,name=\"route1\"");
+
+        template.sendBody("direct:start", 10);
+
+        Boolean enabled = (Boolean) mbeanServer.getAttribute(on, "PercentilesEnabled");
+        assertFalse(enabled);
+        Long p99 = (Long) mbeanServer.getAttribute(on, "P99ProcessingTime");
+        assertEquals(0, p99.longValue());
+
+        String xml = (String) mbeanServer.invoke(on, "dumpStatsAsXml", new Object[]{false}, new String[]{"boolean"});
+        assertFalse(xml.contains("p99ProcessingTime"));
+    }
+
+    @Test
+    public void testEnablePercentiles() throws Exception {
+        // JMX tests dont work well on AIX CI servers (hangs them)
+        if (isPlatform("aix")) {
+            return;
+        }
+
+        context.getManagementStrategy().getManagementAgent().setPercentilesEnabled(true);
+        context.addRoutes(createRouteBuilder());
+        context.start();
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName on = ObjectName.getInstance("org.apache.camel:context=camel-1,type=routes,name=\"route1\"");
+
+        getMockEndpoint("mock:result").expectedMessageCount(10);
+        for (int i = 1; i <= 10; i++) {
+            template.sendBody("direct:start", i * 20);
+        }
+        assertMockEndpointsSatisfied();
+
+        Boolean enabled = (Boolean) mbeanServer.getAttribute(on, "PercentilesEnabled");
+        assertTrue(enabled);
+
+        Long p50 = (Long) mbeanServer.getAttribute(on, "P50ProcessingTime");
+        Long p90 = (Long) mbeanServer.getAttribute(on, "P90ProcessingTime");
+        Long p99 = (Long) mbeanServer.getAttribute(on, "P99ProcessingTime");
+        Long p999 = (Long) mbeanServer.getAttribute(on, "P999ProcessingTime");
+        assertTrue("Should be around 100 millis: was " + p50, p50 >= 95 && p50 < 180);
+        assertTrue("Should be around 180 millis: was " + p90, p90 >= 175);
+        assertTrue("Should be around 200 millis: was " + p99, p99 >= 195);
+        assertTrue(p999 >= p99);
+
+        String xml = (String) mbeanServer.invoke(on, "dumpStatsAsXml", new Object[]{false}, new String[]{"boolean"});
+        assertTrue(xml, xml.contains("p99ProcessingTime=\"" + p99 + "\""));
+
+        CompositeData data = (CompositeData) mbeanServer.invoke(on, "percentilesIntervalSnapshot", null, null);
+        assertEquals(10L, data.get("count"));
+        assertTrue((Long) data.get("max") >= 195);
+
+        // a new interval has started
+        data = (CompositeData) mbeanServer.invoke(on, "percentilesIntervalSnapshot", null, null);
+        assertEquals(0L, data.get("count"));
+        assertEquals(0L, data.get("p99"));
+
+        template.sendBody("direct:start", 20);
+        data = (CompositeData) mbeanServer.invoke(on, "percentilesIntervalSnapshot", null, null);
+        assertEquals(1L, data.get("count"));
+
+        // reset clears the percentiles
+        mbeanServer.invoke(on, "reset", null, null);
+        p99 = (Long) mbeanServer.getAttribute(on, "P99ProcessingTime");
+        assertEquals(0, p99.longValue());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").delay(body()).to("mock:result");
+            }
+        };
+    }
+
+}
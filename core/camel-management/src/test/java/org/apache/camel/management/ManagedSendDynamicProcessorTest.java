@@ -81,6 +81,13 @@ public class ManagedSendDynamicProcessorTest extends ManagementTestSupport {
         String pattern = (String) mbeanServer.getAttribute(on, "MessageExchangePattern");
         assertNull(pattern);
 
+        Long hits = (Long) mbeanServer.getAttribute(on, "EndpointCacheHits");
+        assertEquals(1, hits.longValue());
+        Long misses = (Long) mbeanServer.getAttribute(on, "EndpointCacheMisses");
+        assertEquals(2, misses.longValue());
+        Integer size = (Integer) mbeanServer.getAttribute(on, "EndpointCacheSize");
+        assertEquals(2, size.intValue());
+
         TabularData data = (TabularData) mbeanServer.invoke(on, "extendedInformation", null, null);
         assertNotNull(data);
         assertEquals(2, data.size());
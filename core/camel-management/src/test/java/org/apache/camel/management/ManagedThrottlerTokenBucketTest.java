@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+import org.apache.camel.builder.RouteBuilder;
+import org.junit.Test;
+
+public class ManagedThrottlerTokenBucketTest extends ManagementTestSupport {
+
+    @Test
+    public void testKeyStatistics() throws Exception {
+        // JMX tests dont work well on AIX CI servers (hangs them)
+        if (isPlatform("aix")) {
+            return;
+        }
+
+        getMockEndpoint("mock:result").expectedMessageCount(4);
+
+        template.sendBodyAndHeader("direct:start", "Hello", "tenant", "a");
+        template.sendBodyAndHeader("direct:start", "Hello", "tenant", "a");
+        template.sendBodyAndHeader("direct:start", "Hello", "tenant", "a");
+        template.sendBodyAndHeader("direct:start", "Hello", "tenant", "b");
+
+        assertMockEndpointsSatisfied();
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName on = ObjectName.getInstance("org.apache.camel:context=camel-1,type=processors,name=\"mythrottler\"");
+
+        assertEquals(Boolean.TRUE, mbeanServer.getAttribute(on, "TokenBucket"));
+        assertEquals(2, mbeanServer.getAttribute(on, "KeySize"));
+        assertEquals(2L, mbeanServer.getAttribute(on, "MaximumRequestsPerPeriod"));
+
+        TabularData data = (TabularData) mbeanServer.invoke(on, "keyStatistics", null, null);
+        assertEquals(2, data.size());
+
+        CompositeData a = data.get(new Object[]{"a"});
+        assertEquals(2, a.get("throttleRate"));
+        assertEquals(3L, a.get("acquired"));
+        assertEquals(1L, a.get("throttled"));
+        assertEquals(0L, a.get("rejected"));
+
+        CompositeData b = data.get(new Object[]{"b"});
+        assertEquals(1L, b.get("acquired"));
+        assertEquals(0L, b.get("throttled"));
+        assertEquals(1L, b.get("availableTokens"));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .throttle(constant(2), header("tenant")).timePeriodMillis(200).tokenBucket().id("mythrottler")
+                    .to("mock:result");
+            }
+        };
+    }
+}
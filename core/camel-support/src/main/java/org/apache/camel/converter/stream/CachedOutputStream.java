@@ -20,6 +20,9 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.StreamCache;
@@ -37,6 +40,12 @@ import org.apache.camel.spi.StreamCachingStrategy;
  * You can get a cached input stream of this stream. The temp file which is created with this 
  * output stream will be deleted when you close this output stream or the cached 
  * fileInputStream(s) is/are closed after all the exchanges using the temp file are completed.
+ * <p/>
+ * If the stream caching strategy has an off-heap memory limit, then the content is spooled to
+ * off-heap memory instead of a file, as long as the limit is not reached. When the limit is reached
+ * then the content spooled so far is moved to a temp file, and the rest of the content is written to the file.
+ * The off-heap memory is only used when the stream is closed on completion of the exchanges,
+ * as this is when the off-heap memory is released.
  */
 public class CachedOutputStream extends OutputStream {
 
@@ -71,6 +80,7 @@ public class CachedOutputStream extends OutputStream {
         if (!closedOnCompletion) {
             tempFileManager.closeFileInputStreams();
             tempFileManager.cleanUpTempFile();
+            tempFileManager.releaseOffHeapBuffers();
         }
     }
 
@@ -141,6 +151,8 @@ public class CachedOutputStream extends OutputStream {
             } else {
                 throw new IllegalStateException("CurrentStream should be an instance of CachedByteArrayOutputStream but is: " + currentStream.getClass().getName());
             }
+        } else if (currentStream instanceof OffHeapOutputStream) {
+            return tempFileManager.newOffHeapStreamCache();
         } else {
             return tempFileManager.newStreamCache();
         }
@@ -151,8 +163,13 @@ public class CachedOutputStream extends OutputStream {
         flush();
         ByteArrayOutputStream bout = (ByteArrayOutputStream)currentStream;
         try {
-            // creates an tmp file and a file output stream
-            currentStream = tempFileManager.createOutputStream(strategy);
+            if (closedOnCompletion && strategy.getSpoolOffHeapMemoryLimit() > 0) {
+                // spool to off-heap memory which is moved to a file if the limit is reached
+                currentStream = new OffHeapOutputStream();
+            } else {
+                // creates an tmp file and a file output stream
+                currentStream = tempFileManager.createOutputStream(strategy);
+            }
             bout.writeTo(currentStream);
         } finally {
             // ensure flag is flipped to file based
@@ -160,10 +177,79 @@ public class CachedOutputStream extends OutputStream {
         }
     }
 
+    private void pageOffHeapToFileStream(OffHeapOutputStream offHeap) throws IOException {
+        // creates an tmp file and a file output stream with the content spooled to off-heap memory so far
+        currentStream = tempFileManager.createOutputStream(strategy);
+        offHeap.writeTo(currentStream);
+        tempFileManager.releaseOffHeapBuffers();
+    }
+
     public int getStrategyBufferSize() {
         return strategy.getBufferSize();
     }
 
+    // Writes to off-heap buffers from the stream caching strategy until the off-heap memory limit is reached
+    private final class OffHeapOutputStream extends OutputStream {
+        private final List<ByteBuffer> buffers = new ArrayList<>();
+        private ByteBuffer buffer;
+        private boolean spooledToFile;
+
+        OffHeapOutputStream() {
+            tempFileManager.setOffHeapBuffers(strategy, buffers);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (spooledToFile || !ensureBuffer()) {
+                currentStream.write(b);
+            } else {
+                buffer.put((byte) b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (spooledToFile || !ensureBuffer()) {
+                    currentStream.write(b, off, len);
+                    return;
+                }
+                int n = Math.min(len, buffer.remaining());
+                buffer.put(b, off, n);
+                off += n;
+                len -= n;
+            }
+        }
+
+        private boolean ensureBuffer() throws IOException {
+            if (buffer != null && buffer.hasRemaining()) {
+                return true;
+            }
+            buffer = strategy.acquireOffHeapBuffer();
+            if (buffer != null) {
+                buffers.add(buffer);
+                return true;
+            }
+            // the off-heap memory limit is reached so continue with a file
+            spooledToFile = true;
+            pageOffHeapToFileStream(this);
+            return false;
+        }
+
+        void writeTo(OutputStream os) throws IOException {
+            byte[] chunk = new byte[getStrategyBufferSize()];
+            for (ByteBuffer b : buffers) {
+                ByteBuffer data = b.duplicate();
+                data.flip();
+                while (data.hasRemaining()) {
+                    int n = Math.min(chunk.length, data.remaining());
+                    data.get(chunk, 0, n);
+                    os.write(chunk, 0, n);
+                }
+            }
+        }
+    }
+
     // This class will close the CachedOutputStream when it is closed
     private static class WrappedInputStream extends InputStream {
         private CachedOutputStream cachedOutputStream;
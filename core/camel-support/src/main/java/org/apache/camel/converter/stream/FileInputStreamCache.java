@@ -20,9 +20,12 @@ import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.StandardOpenOption;
 import java.security.GeneralSecurityException;
@@ -91,7 +94,16 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
 
     @Override
     public void writeTo(OutputStream os) throws IOException {
-        if (stream == null && ciphers == null) {
+        if (stream == null && ciphers == null && os instanceof FileOutputStream) {
+            // let the file system transfer the data directly between the files
+            FileChannel target = ((FileOutputStream) os).getChannel();
+            try (FileChannel source = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                long position = 0;
+                while (position < length) {
+                    position += source.transferTo(position, length - position, target);
+                }
+            }
+        } else if (stream == null && ciphers == null) {
             Files.copy(file.toPath(), os);
         } else {
             IOHelper.copy(getInputStream(), os);
@@ -155,6 +167,9 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
      * Counts the number of exchanges which have a FileInputStreamCache  instance of the temporary file.
      * Deletes the temporary file, if all exchanges are done.
      * 
+     * When the stream is spooled to off-heap memory instead, then the off-heap buffers are
+     * released back to the pool when all exchanges are done.
+     * 
      * @see CachedOutputStream
      */
     static class TempFileManager {
@@ -169,6 +184,10 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
         
         // there can be several input streams, for example in the multi-cast, or wiretap parallel processing
         private List<FileInputStreamCache> fileInputStreamCaches;
+        // the off-heap buffers when the stream is spooled to off-heap memory, and the stream caches using them
+        private List<ByteBuffer> offHeapBuffers;
+        private List<OffHeapInputStreamCache> offHeapInputStreamCaches;
+        private StreamCachingStrategy offHeapStrategy;
 
         /** Only for testing.*/
         private TempFileManager(File file, boolean closedOnCompletion) {
@@ -214,6 +233,7 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
                             } catch (Exception e) {
                                 LOG.warn("Error deleting temporary cache file: " + tempFile + ". This exception will be ignored.", e);
                             }
+                            releaseOffHeapBuffers();
                         }
                     }
 
@@ -275,6 +295,49 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
             }
         }
         
+        /**
+         * Uses the given off-heap buffers for the stream caches, which are released to the strategy when done.
+         */
+        void setOffHeapBuffers(StreamCachingStrategy strategy, List<ByteBuffer> buffers) {
+            this.offHeapStrategy = strategy;
+            this.offHeapBuffers = buffers;
+        }
+
+        /**
+         * Creates a stream cache of the off-heap buffers.
+         * <p>
+         * Must be synchronized, because can be accessed by several threads.
+         */
+        synchronized OffHeapInputStreamCache newOffHeapStreamCache() throws IOException {
+            if (offHeapBuffers == null) {
+                throw new IOException("Cannot create stream cache as its off-heap memory has been released");
+            }
+            OffHeapInputStreamCache answer = new OffHeapInputStreamCache(this, offHeapBuffers);
+            if (offHeapInputStreamCaches == null) {
+                offHeapInputStreamCaches = new ArrayList<>(3);
+            }
+            offHeapInputStreamCaches.add(answer);
+            return answer;
+        }
+
+        synchronized void releaseOffHeapBuffers() {
+            List<ByteBuffer> buffers = offHeapBuffers;
+            if (buffers != null) {
+                offHeapBuffers = null;
+                // the stream caches may still be referenced, so they must fail instead of reading
+                // the buffers after they have been reused by other stream caches
+                if (offHeapInputStreamCaches != null) {
+                    for (OffHeapInputStreamCache cache : offHeapInputStreamCaches) {
+                        cache.release();
+                    }
+                    offHeapInputStreamCaches = null;
+                }
+                for (ByteBuffer buffer : buffers) {
+                    offHeapStrategy.releaseOffHeapBuffer(buffer);
+                }
+            }
+        }
+
         void closeFileInputStreams() {
             if (fileInputStreamCaches != null) {
                 for (FileInputStreamCache fileInputStreamCache : fileInputStreamCaches) {
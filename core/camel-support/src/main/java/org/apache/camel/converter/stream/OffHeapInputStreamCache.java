@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.StreamCache;
+import org.apache.camel.converter.stream.FileInputStreamCache.TempFileManager;
+import org.apache.camel.util.IOHelper;
+
+/**
+ * A {@link StreamCache} for streams which has been spooled to off-heap memory.
+ * <p/>
+ * The data is kept in direct buffers from the off-heap memory pool of the
+ * {@link org.apache.camel.spi.StreamCachingStrategy}, which are released back to the pool
+ * when all the exchanges using the stream cache are completed. Any further use of the stream cache,
+ * for example reading a message body after its exchange is completed, then fails.
+ */
+public final class OffHeapInputStreamCache extends InputStream implements StreamCache {
+
+    private final TempFileManager tempFileManager;
+    private final ByteBuffer[] buffers;
+    private final long length;
+    private int index;
+    private volatile boolean released;
+
+    OffHeapInputStreamCache(TempFileManager tempFileManager, List<ByteBuffer> data) {
+        this.tempFileManager = tempFileManager;
+        this.buffers = new ByteBuffer[data.size()];
+        long total = 0;
+        for (int i = 0; i < buffers.length; i++) {
+            // use a read-only view of the written data so each stream cache has its own position
+            ByteBuffer buffer = data.get(i).duplicate();
+            buffer.flip();
+            buffers[i] = buffer.asReadOnlyBuffer();
+            total += buffers[i].remaining();
+        }
+        this.length = total;
+    }
+
+    @Override
+    public int read() throws IOException {
+        checkReleased();
+        while (index < buffers.length) {
+            ByteBuffer buffer = buffers[index];
+            if (buffer.hasRemaining()) {
+                return buffer.get() & 0xff;
+            }
+            index++;
+        }
+        return -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        checkReleased();
+        if (len == 0) {
+            return 0;
+        }
+        int count = 0;
+        while (count < len && index < buffers.length) {
+            ByteBuffer buffer = buffers[index];
+            int n = Math.min(len - count, buffer.remaining());
+            if (n > 0) {
+                buffer.get(b, off + count, n);
+                count += n;
+            } else {
+                index++;
+            }
+        }
+        return count > 0 ? count : -1;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        checkReleased();
+        long skipped = 0;
+        while (skipped < n && index < buffers.length) {
+            ByteBuffer buffer = buffers[index];
+            int step = (int) Math.min(n - skipped, buffer.remaining());
+            if (step > 0) {
+                buffer.position(buffer.position() + step);
+                skipped += step;
+            } else {
+                index++;
+            }
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        checkReleased();
+        long remaining = 0;
+        for (int i = index; i < buffers.length; i++) {
+            remaining += buffers[i].remaining();
+        }
+        return (int) Math.min(remaining, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void reset() {
+        if (released) {
+            throw new RuntimeCamelException("Cannot reset stream cache as its off-heap memory has been released");
+        }
+        for (ByteBuffer buffer : buffers) {
+            buffer.rewind();
+        }
+        index = 0;
+    }
+
+    @Override
+    public void close() {
+        // the buffers are released when the exchanges are done
+    }
+
+    @Override
+    public void writeTo(OutputStream os) throws IOException {
+        checkReleased();
+        if (os instanceof FileOutputStream) {
+            // write the direct buffers to the file channel without copying them to the heap
+            FileChannel channel = ((FileOutputStream) os).getChannel();
+            for (; index < buffers.length; index++) {
+                ByteBuffer buffer = buffers[index];
+                while (buffer.hasRemaining()) {
+                    checkReleased();
+                    channel.write(buffer);
+                }
+            }
+        } else {
+            byte[] chunk = new byte[IOHelper.DEFAULT_BUFFER_SIZE];
+            int n;
+            while ((n = read(chunk, 0, chunk.length)) != -1) {
+                os.write(chunk, 0, n);
+            }
+        }
+    }
+
+    @Override
+    public StreamCache copy(Exchange exchange) throws IOException {
+        checkReleased();
+        tempFileManager.addExchange(exchange);
+        return tempFileManager.newOffHeapStreamCache();
+    }
+
+    @Override
+    public boolean inMemory() {
+        return true;
+    }
+
+    @Override
+    public long length() {
+        return length;
+    }
+
+    /**
+     * The off-heap buffers are released back to the pool, so the stream cache must no longer be used.
+     */
+    void release() {
+        released = true;
+    }
+
+    private void checkReleased() throws IOException {
+        if (released) {
+            throw new IOException("Cannot read stream cache as its off-heap memory has been released");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapInputStreamCache[size: " + length + "]";
+    }
+}
@@ -18,12 +18,15 @@ package org.apache.camel.support;
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.CamelExecutionException;
@@ -38,11 +41,58 @@ import org.apache.camel.util.ObjectHelper;
 
 /**
  * A default implementation of {@link Exchange}
+ * <p/>
+ * The exchange properties which are used internally by Camel are stored in a slot array, and the properties
+ * map is only created with all the properties when {@link #getProperties()} is called.
+ * <p/>
+ * The exchange properties can be accessed by several threads, for example in the multicast with parallel
+ * aggregation, and therefore the slots are updated atomically and moved to the properties map one by one,
+ * so any property set by another thread before, during or after the properties map is created is kept.
  */
 public final class DefaultExchange implements Exchange {
 
+    // the exchange properties used internally by Camel which are stored in a slot array instead of a map
+    private static final String[] INTERNAL_PROPERTIES = {
+        Exchange.AGGREGATED_SIZE, Exchange.AGGREGATED_COMPLETED_BY, Exchange.AGGREGATED_CORRELATION_KEY,
+        Exchange.AGGREGATED_COLLECTION_GUARD, Exchange.AGGREGATION_STRATEGY, Exchange.BATCH_INDEX,
+        Exchange.BATCH_SIZE, Exchange.BATCH_COMPLETE, Exchange.CHARSET_NAME, Exchange.CORRELATION_ID,
+        Exchange.CREATED_TIMESTAMP, Exchange.ERRORHANDLER_CIRCUIT_DETECTED, Exchange.ERRORHANDLER_HANDLED,
+        Exchange.EVALUATE_EXPRESSION_RESULT, Exchange.EXCEPTION_CAUGHT, Exchange.EXCEPTION_HANDLED,
+        Exchange.EXTERNAL_REDELIVERED, Exchange.FAILURE_ENDPOINT, Exchange.FAILURE_HANDLED,
+        Exchange.FAILURE_ROUTE_ID, Exchange.FATAL_FALLBACK_ERROR_HANDLER, Exchange.FILTER_MATCHED,
+        Exchange.GROUPED_EXCHANGE, Exchange.INTERCEPT_SEND_TO_ENDPOINT_WHEN_MATCHED, Exchange.INTERRUPTED,
+        Exchange.LOOP_INDEX, Exchange.LOOP_SIZE, Exchange.MESSAGE_HISTORY, Exchange.MULTICAST_COMPLETE,
+        Exchange.MULTICAST_INDEX, Exchange.ON_COMPLETION, Exchange.PARENT_UNIT_OF_WORK,
+        Exchange.RECIPIENT_LIST_ENDPOINT, Exchange.REDELIVERY_EXHAUSTED, Exchange.ROLLBACK_ONLY,
+        Exchange.ROLLBACK_ONLY_LAST, Exchange.ROUTE_STOP, Exchange.SLIP_ENDPOINT, Exchange.SLIP_PRODUCER,
+        Exchange.SPLIT_COMPLETE, Exchange.SPLIT_INDEX, Exchange.SPLIT_SIZE, Exchange.STEP_ID,
+        Exchange.STREAM_CACHE_UNIT_OF_WORK, Exchange.TO_ENDPOINT, Exchange.TRY_ROUTE_BLOCK,
+        Exchange.UNIT_OF_WORK_EXHAUSTED
+    };
+    private static final Map<String, Integer> INTERNAL_PROPERTIES_INDEX = new HashMap<>();
+    // marks a slot which has been moved to the properties map
+    private static final Object MATERIALIZED = new Object();
+    // the slots of an exchange where the properties map is materialized before any internal property is set
+    private static final AtomicReferenceArray<Object> MATERIALIZED_PROPERTIES = new AtomicReferenceArray<>(INTERNAL_PROPERTIES.length);
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<DefaultExchange, AtomicReferenceArray> INTERNAL_PROPERTIES_UPDATER
+        = AtomicReferenceFieldUpdater.newUpdater(DefaultExchange.class, AtomicReferenceArray.class, "internalProperties");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<DefaultExchange, Map> PROPERTIES_UPDATER
+        = AtomicReferenceFieldUpdater.newUpdater(DefaultExchange.class, Map.class, "properties");
+
+    static {
+        for (int i = 0; i < INTERNAL_PROPERTIES.length; i++) {
+            INTERNAL_PROPERTIES_INDEX.put(INTERNAL_PROPERTIES[i], i);
+            MATERIALIZED_PROPERTIES.set(i, MATERIALIZED);
+        }
+    }
+
     protected final CamelContext context;
-    private Map<String, Object> properties;
+    // the internal properties are kept in the slot array until the properties map is materialized by getProperties()
+    private volatile AtomicReferenceArray<Object> internalProperties;
+    private volatile Map<String, Object> properties;
+    private volatile boolean propertiesMaterialized;
     private Message in;
     private Message out;
     private Exception exception;
@@ -114,7 +164,7 @@ public final class DefaultExchange implements Exchange {
 
         // copy properties after body as body may trigger lazy init
         if (hasProperties()) {
-            exchange.setProperties(safeCopyProperties(getProperties()));
+            safeCopyProperties(exchange);
         }
 
         return exchange;
@@ -129,20 +179,57 @@ public final class DefaultExchange implements Exchange {
     }
 
     @SuppressWarnings("unchecked")
-    private Map<String, Object> safeCopyProperties(Map<String, Object> properties) {
-        if (properties == null) {
-            return null;
-        }
-
-        Map<String, Object> answer = createProperties(properties);
+    private void safeCopyProperties(DefaultExchange answer) {
+        answer.putAllProperties(this);
 
         // safe copy message history using a defensive copy
-        List<MessageHistory> history = (List<MessageHistory>) answer.remove(Exchange.MESSAGE_HISTORY);
+        List<MessageHistory> history = (List<MessageHistory>) answer.getProperty(Exchange.MESSAGE_HISTORY);
         if (history != null) {
-            answer.put(Exchange.MESSAGE_HISTORY, new LinkedList<>(history));
+            answer.setProperty(Exchange.MESSAGE_HISTORY, new LinkedList<>(history));
         }
+    }
 
-        return answer;
+    /**
+     * Puts all the properties from the source exchange on this exchange, without materializing the
+     * properties map of either exchange.
+     */
+    void putAllProperties(DefaultExchange source) {
+        if (!source.propertiesMaterialized) {
+            AtomicReferenceArray<Object> sourceInternal = source.internalProperties;
+            if (sourceInternal != null) {
+                if (!propertiesMaterialized && internalProperties == null) {
+                    // fast path when this exchange has no internal properties yet, such as a new copy
+                    AtomicReferenceArray<Object> internal = new AtomicReferenceArray<>(INTERNAL_PROPERTIES.length);
+                    for (int i = 0; i < INTERNAL_PROPERTIES.length; i++) {
+                        Object value = sourceInternal.get(i);
+                        if (value != MATERIALIZED) {
+                            internal.lazySet(i, value);
+                        }
+                    }
+                    if (INTERNAL_PROPERTIES_UPDATER.compareAndSet(this, null, internal)) {
+                        sourceInternal = null;
+                    }
+                }
+                if (sourceInternal != null) {
+                    for (int i = 0; i < INTERNAL_PROPERTIES.length; i++) {
+                        Object value = sourceInternal.get(i);
+                        if (value != null && value != MATERIALIZED) {
+                            setProperty(INTERNAL_PROPERTIES[i], value);
+                        }
+                    }
+                }
+            }
+        }
+        // the slots which are moved to the properties map while being copied are in the map
+        Map<String, Object> sourceProperties = source.properties;
+        if (sourceProperties != null) {
+            sourceProperties.forEach(this::setProperty);
+        }
+    }
+
+    private static int internalPropertyIndex(String name) {
+        Integer index = name != null ? INTERNAL_PROPERTIES_INDEX.get(name) : null;
+        return index != null ? index : -1;
     }
 
     @Override
@@ -152,8 +239,19 @@ public final class DefaultExchange implements Exchange {
 
     @Override
     public Object getProperty(String name) {
-        if (properties != null) {
-            return properties.get(name);
+        if (!propertiesMaterialized) {
+            int index = internalPropertyIndex(name);
+            if (index >= 0) {
+                AtomicReferenceArray<Object> internal = internalProperties;
+                Object answer = internal != null ? internal.get(index) : null;
+                if (answer != MATERIALIZED) {
+                    return answer;
+                }
+            }
+        }
+        Map<String, Object> map = properties;
+        if (map != null) {
+            return map.get(name);
         }
         return null;
     }
@@ -208,23 +306,54 @@ public final class DefaultExchange implements Exchange {
 
     @Override
     public void setProperty(String name, Object value) {
+        if (!propertiesMaterialized) {
+            int index = internalPropertyIndex(name);
+            if (index >= 0) {
+                AtomicReferenceArray<Object> internal = internalProperties;
+                if (internal == null) {
+                    if (value == null) {
+                        return;
+                    }
+                    internal = internalProperties();
+                }
+                // if the value is null, we just clear the slot
+                if (replaceInternalProperty(internal, index, value) != MATERIALIZED) {
+                    return;
+                }
+            }
+        }
         if (value != null) {
             // avoid the NullPointException
-            getProperties().put(name, value);
+            properties().put(name, value);
         } else {
             // if the value is null, we just remove the key from the map
-            if (name != null) {
-                getProperties().remove(name);
+            Map<String, Object> map = properties;
+            if (name != null && map != null) {
+                map.remove(name);
             }
         }
     }
 
     @Override
     public Object removeProperty(String name) {
-        if (!hasProperties()) {
+        if (!propertiesMaterialized) {
+            int index = internalPropertyIndex(name);
+            if (index >= 0) {
+                AtomicReferenceArray<Object> internal = internalProperties;
+                if (internal == null) {
+                    return null;
+                }
+                Object answer = replaceInternalProperty(internal, index, null);
+                if (answer != MATERIALIZED) {
+                    return answer;
+                }
+            }
+        }
+        Map<String, Object> map = properties;
+        if (map == null || map.isEmpty()) {
             return null;
         }
-        return getProperties().remove(name);
+        return map.remove(name);
     }
 
     @Override
@@ -238,9 +367,29 @@ public final class DefaultExchange implements Exchange {
             return false;
         }
 
+        boolean matches = false;
+        AtomicReferenceArray<Object> internal = internalProperties;
+        if (internal != null) {
+            for (int i = 0; i < INTERNAL_PROPERTIES.length; i++) {
+                Object value = internal.get(i);
+                if (value != null && value != MATERIALIZED && PatternHelper.matchPattern(INTERNAL_PROPERTIES[i], pattern)) {
+                    if (excludePatterns != null && PatternHelper.isExcludePatternMatch(INTERNAL_PROPERTIES[i], excludePatterns)) {
+                        continue;
+                    }
+                    // the slot may be moved to the properties map meanwhile, which is handled below
+                    if (replaceInternalProperty(internal, i, null) != MATERIALIZED) {
+                        matches = true;
+                    }
+                }
+            }
+        }
+        Map<String, Object> properties = this.properties;
+        if (properties == null || properties.isEmpty()) {
+            return matches;
+        }
+
         // store keys to be removed as we cannot loop and remove at the same time in implementations such as HashMap
         Set<String> toBeRemoved = new HashSet<>();
-        boolean matches = false;
         for (String key : properties.keySet()) {
             if (PatternHelper.matchPattern(key, pattern)) {
                 if (excludePatterns != null && PatternHelper.isExcludePatternMatch(key, excludePatterns)) {
@@ -265,19 +414,97 @@ public final class DefaultExchange implements Exchange {
 
     @Override
     public Map<String, Object> getProperties() {
-        if (properties == null) {
-            properties = createProperties();
+        if (!propertiesMaterialized) {
+            materializeProperties();
         }
-        return properties;
+        return properties();
     }
 
     @Override
     public boolean hasProperties() {
-        return properties != null && !properties.isEmpty();
+        Map<String, Object> map = properties;
+        if (map != null && !map.isEmpty()) {
+            return true;
+        }
+        AtomicReferenceArray<Object> internal = internalProperties;
+        if (internal != null) {
+            for (int i = 0; i < INTERNAL_PROPERTIES.length; i++) {
+                Object value = internal.get(i);
+                if (value != null && value != MATERIALIZED) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
     public void setProperties(Map<String, Object> properties) {
         this.properties = properties;
+        this.internalProperties = properties != null ? MATERIALIZED_PROPERTIES : null;
+        this.propertiesMaterialized = properties != null;
+    }
+
+    /**
+     * Moves the internal properties to the properties map, as from now on all properties are stored in the map,
+     * because the map is a live view of the properties.
+     */
+    private synchronized void materializeProperties() {
+        if (propertiesMaterialized) {
+            return;
+        }
+        Map<String, Object> map = properties();
+        if (!INTERNAL_PROPERTIES_UPDATER.compareAndSet(this, null, MATERIALIZED_PROPERTIES)) {
+            AtomicReferenceArray<Object> internal = internalProperties;
+            for (int i = 0; i < INTERNAL_PROPERTIES.length; i++) {
+                // the value is put in the map before the slot is marked as moved, so if the slot is
+                // updated meanwhile we try again, and any later update of the property goes to the map
+                Object value = internal.get(i);
+                while (value != MATERIALIZED) {
+                    if (value != null) {
+                        map.put(INTERNAL_PROPERTIES[i], value);
+                    } else {
+                        map.remove(INTERNAL_PROPERTIES[i]);
+                    }
+                    if (internal.compareAndSet(i, value, MATERIALIZED)) {
+                        break;
+                    }
+                    value = internal.get(i);
+                }
+            }
+        }
+        propertiesMaterialized = true;
+    }
+
+    /**
+     * Replaces the value of the slot, unless the slot is moved to the properties map.
+     *
+     * @return the old value, or <tt>MATERIALIZED</tt> if the property must be updated in the properties map instead
+     */
+    private static Object replaceInternalProperty(AtomicReferenceArray<Object> internal, int index, Object value) {
+        while (true) {
+            Object answer = internal.get(index);
+            if (answer == MATERIALIZED || internal.compareAndSet(index, answer, value)) {
+                return answer;
+            }
+        }
+    }
+
+    private AtomicReferenceArray<Object> internalProperties() {
+        AtomicReferenceArray<Object> answer = internalProperties;
+        if (answer == null) {
+            INTERNAL_PROPERTIES_UPDATER.compareAndSet(this, null, new AtomicReferenceArray<>(INTERNAL_PROPERTIES.length));
+            answer = internalProperties;
+        }
+        return answer;
+    }
+
+    private Map<String, Object> properties() {
+        Map<String, Object> answer = properties;
+        if (answer == null) {
+            PROPERTIES_UPDATER.compareAndSet(this, null, createProperties());
+            answer = properties;
+        }
+        return answer;
     }
 
     @Override
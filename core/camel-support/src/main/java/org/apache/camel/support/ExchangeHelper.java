@@ -350,7 +350,12 @@ public final class ExchangeHelper {
         }
 
         if (source.hasProperties()) {
-            result.getProperties().putAll(source.getProperties());
+            if (result instanceof DefaultExchange && source instanceof DefaultExchange) {
+                // optimized to avoid materializing the properties maps
+                ((DefaultExchange) result).putAllProperties((DefaultExchange) source);
+            } else {
+                result.getProperties().putAll(source.getProperties());
+            }
         }
 
         result.setException(source.getException());
@@ -0,0 +1,419 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.util.Comparator.comparing;
+
+import org.apache.camel.TimeoutMap;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.apache.camel.TimeoutMap.Listener.Type.Evict;
+import static org.apache.camel.TimeoutMap.Listener.Type.Put;
+import static org.apache.camel.TimeoutMap.Listener.Type.Remove;
+
+/**
+ * A hashed timing wheel implementation of the {@link TimeoutMap}.
+ * <p/>
+ * The {@link DefaultTimeoutMap} checks every entry in the map on each purge, which becomes costly when there are
+ * many entries in the map, such as many outstanding request/reply messages. This implementation instead places each
+ * entry in a bucket of a wheel according to when it expires, where each bucket covers one purge poll interval.
+ * Adding, removing and refreshing an entry is constant time, and a purge only needs to check the buckets whose time
+ * has passed since the last purge.
+ * <p/>
+ * Entries are evicted at the latest one purge poll interval after they have expired, and the listeners are notified
+ * in the order the entries expired, the same as with {@link DefaultTimeoutMap}.
+ * <p/>
+ * This implementation supports thread safe and non thread safe, in the manner you can enable locking or not.
+ * By default locking is enabled and thus we are thread safe.
+ * <p/>
+ * You must provide a {@link java.util.concurrent.ScheduledExecutorService} in the constructor which is used
+ * to schedule a background task which check for old entries to purge.
+ * You must also invoke {@link #start()} to startup the timeout map, before its ready to be used.
+ * And you must invoke {@link #stop()} to stop the map when no longer in use.
+ */
+public class TimingWheelTimeoutMap<K, V> extends ServiceSupport implements TimeoutMap<K, V> {
+
+    /**
+     * The default number of buckets in the wheel
+     */
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    protected final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final ConcurrentMap<K, WheelEntry<K, V>> map = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor;
+    private volatile ScheduledFuture<?> future;
+    private final long purgePollTime;
+    private final long tickDuration;
+    private final Lock lock;
+    private final WheelEntry<K, V>[] wheel;
+    private final int mask;
+    // the last tick which has been purged, or -1 if not purged yet
+    private long currentTick = -1;
+
+    private final List<Listener<K, V>> listeners = new ArrayList<>(2);
+
+    public TimingWheelTimeoutMap(ScheduledExecutorService executor) {
+        this(executor, 1000);
+    }
+
+    public TimingWheelTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis) {
+        this(executor, requestMapPollTimeMillis, true);
+    }
+
+    public TimingWheelTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis, boolean useLock) {
+        this(executor, requestMapPollTimeMillis, useLock ? new ReentrantLock() : NoLock.INSTANCE);
+    }
+
+    public TimingWheelTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis, Lock lock) {
+        this(executor, requestMapPollTimeMillis, DEFAULT_WHEEL_SIZE, lock);
+    }
+
+    @SuppressWarnings("unchecked")
+    public TimingWheelTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis, int wheelSize, Lock lock) {
+        ObjectHelper.notNull(executor, "ScheduledExecutorService");
+        if (wheelSize <= 0) {
+            throw new IllegalArgumentException("WheelSize must be positive, was: " + wheelSize);
+        }
+        this.executor = executor;
+        this.purgePollTime = requestMapPollTimeMillis;
+        this.tickDuration = Math.max(1, requestMapPollTimeMillis);
+        this.lock = lock;
+        // round up to power of two so we can use a mask to find the bucket
+        int size = Integer.highestOneBit(wheelSize);
+        if (size < wheelSize) {
+            size = size << 1;
+        }
+        this.wheel = new WheelEntry[size];
+        this.mask = size - 1;
+    }
+
+    @Override
+    public V get(K key) {
+        WheelEntry<K, V> entry;
+        lock.lock();
+        try {
+            entry = map.get(key);
+            if (entry == null) {
+                return null;
+            }
+            unlink(entry);
+            updateExpireTime(entry);
+            link(entry);
+        } finally {
+            lock.unlock();
+        }
+        return entry.getValue();
+    }
+
+    @Override
+    public V put(K key, V value, long timeoutMillis) {
+        WheelEntry<K, V> entry = new WheelEntry<>(key, value, timeoutMillis);
+        lock.lock();
+        try {
+            updateExpireTime(entry);
+            WheelEntry<K, V> result = map.put(key, entry);
+            if (result != null) {
+                unlink(result);
+            }
+            link(entry);
+            return unwrap(result);
+        } finally {
+            lock.unlock();
+            emitEvent(Put, key, value);
+        }
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value, long timeoutMillis) {
+        WheelEntry<K, V> entry = new WheelEntry<>(key, value, timeoutMillis);
+        WheelEntry<K, V> result = null;
+        lock.lock();
+        try {
+            updateExpireTime(entry);
+            //Just make sure we don't override the old entry
+            result = map.putIfAbsent(key, entry);
+            if (result == null) {
+                link(entry);
+            }
+            return unwrap(result);
+        } finally {
+            lock.unlock();
+            if (result == null) {
+                emitEvent(Put, key, value); // conditional on map being changed
+            }
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        V value = null;
+        lock.lock();
+        try {
+            WheelEntry<K, V> entry = map.remove(key);
+            if (entry != null) {
+                unlink(entry);
+                value = entry.getValue();
+            }
+            return value;
+        } finally {
+            lock.unlock();
+            if (value != null) {
+                emitEvent(Remove, key, value); // conditional on map being changed
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * The timer task which purges old requests and schedules another poll
+     */
+    private void purgeTask() {
+        // only purge if allowed
+        if (!isRunAllowed()) {
+            log.trace("Purge task not allowed to run");
+            return;
+        }
+
+        log.trace("Running purge task to see if any entries have been timed out");
+        try {
+            purge();
+        } catch (Throwable t) {
+            // must catch and log exception otherwise the executor will now schedule next purgeTask
+            log.warn("Exception occurred during purge task. This exception will be ignored.", t);
+        }
+    }
+
+    protected void purge() {
+        log.trace("There are {} in the timeout map", map.size());
+
+        long now = currentTime();
+        long nowTick = now / tickDuration;
+
+        List<TimeoutMapEntry<K, V>> expired = new ArrayList<>();
+        lock.lock();
+        try {
+            if (map.isEmpty()) {
+                currentTick = nowTick;
+                return;
+            }
+
+            // the bucket for the next tick can have entries which has expired already, so include it as well
+            long to = nowTick + 1;
+            long from = currentTick < 0 ? to - mask : currentTick + 1;
+            if (to - from > mask) {
+                // we are more than a full round behind so check each bucket once
+                from = to - mask;
+            }
+
+            List<WheelEntry<K, V>> retry = null;
+            for (long tick = from; tick <= to; tick++) {
+                WheelEntry<K, V> entry = wheel[(int) (tick & mask)];
+                while (entry != null) {
+                    WheelEntry<K, V> next = entry.next;
+                    if (entry.getExpireTime() < now) {
+                        unlink(entry);
+                        if (isValidForEviction(entry)) {
+                            log.debug("Evicting inactive entry ID: {}", entry);
+                            map.remove(entry.getKey(), entry);
+                            expired.add(entry);
+                        } else {
+                            // check again on the next purge
+                            if (retry == null) {
+                                retry = new ArrayList<>();
+                            }
+                            retry.add(entry);
+                        }
+                    }
+                    entry = next;
+                }
+            }
+            currentTick = nowTick;
+
+            if (retry != null) {
+                for (WheelEntry<K, V> entry : retry) {
+                    link(entry);
+                }
+            }
+
+            // sort according to the expired time so we got the first expired first
+            if (expired.size() > 1) {
+                expired.sort(comparing(TimeoutMapEntry::getExpireTime));
+            }
+        } finally {
+            lock.unlock();
+            for (TimeoutMapEntry<K, V> entry : expired) {
+                emitEvent(Evict, entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    // Properties
+    // -------------------------------------------------------------------------
+
+    public long getPurgePollTime() {
+        return purgePollTime;
+    }
+
+    public ScheduledExecutorService getExecutor() {
+        return executor;
+    }
+
+    public int getWheelSize() {
+        return wheel.length;
+    }
+
+    // Implementation methods
+    // -------------------------------------------------------------------------
+
+    private static <K, V> V unwrap(TimeoutMapEntry<K, V> entry) {
+        return entry == null ? null : entry.getValue();
+    }
+
+    /**
+     * Adds the entry to the bucket of the first tick after it expires
+     */
+    private void link(WheelEntry<K, V> entry) {
+        long tick = entry.getExpireTime() / tickDuration + 1;
+        if (tick <= currentTick) {
+            // already expired so check on the next purge
+            tick = currentTick + 1;
+        }
+        int index = (int) (tick & mask);
+        WheelEntry<K, V> head = wheel[index];
+        entry.bucket = index;
+        entry.prev = null;
+        entry.next = head;
+        if (head != null) {
+            head.prev = entry;
+        }
+        wheel[index] = entry;
+    }
+
+    private void unlink(WheelEntry<K, V> entry) {
+        if (entry.bucket < 0) {
+            return;
+        }
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            wheel[entry.bucket] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+        entry.bucket = -1;
+    }
+
+    @Override
+    public void addListener(Listener<K, V> listener) {
+        this.listeners.add(listener);
+    }
+
+    private void emitEvent(Listener.Type type, K key, V value) {
+        for (Listener<K, V> listener : listeners) {
+            try {
+                listener.timeoutMapEvent(type, key, value);
+            } catch (Throwable t) {
+                // Ignore
+            }
+        }
+    }
+
+    /**
+     * lets schedule each time to allow folks to change the time at runtime
+     */
+    protected void schedulePoll() {
+        future = executor.scheduleWithFixedDelay(this::purgeTask, 0, purgePollTime, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * A hook to allow derivations to avoid evicting the current entry
+     */
+    protected boolean isValidForEviction(TimeoutMapEntry<K, V> entry) {
+        return true;
+    }
+
+    protected void updateExpireTime(TimeoutMapEntry<K, V> entry) {
+        long now = currentTime();
+        entry.setExpireTime(entry.getTimeout() + now);
+    }
+
+    protected long currentTime() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (executor.isShutdown()) {
+            throw new IllegalStateException("The ScheduledExecutorService is shutdown");
+        }
+        schedulePoll();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (future != null) {
+            future.cancel(false);
+            future = null;
+        }
+        // clear map if we stop
+        lock.lock();
+        try {
+            map.clear();
+            for (int i = 0; i < wheel.length; i++) {
+                wheel[i] = null;
+            }
+            currentTick = -1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * An entry which is linked in a bucket of the wheel
+     */
+    private static final class WheelEntry<K, V> extends TimeoutMapEntry<K, V> {
+        private WheelEntry<K, V> prev;
+        private WheelEntry<K, V> next;
+        private int bucket = -1;
+
+        private WheelEntry(K id, V handler, long timeout) {
+            super(id, handler, timeout);
+        }
+    }
+
+}
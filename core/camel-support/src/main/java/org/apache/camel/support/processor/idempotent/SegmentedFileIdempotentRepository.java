@@ -0,0 +1,802 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * A file based implementation of {@link org.apache.camel.spi.IdempotentRepository} which is suitable
+ * for storing millions of keys.
+ * <p/>
+ * The keys are appended to segment files in the given directory, which are memory mapped. All the keys are
+ * indexed by an in-memory open addressing hash table of primitive arrays which stores the hash code and the
+ * location of each key in the segment files, so checking whether a key exists does not scan the files,
+ * and adding or removing a key only appends a small record to the current segment. Loading the repository
+ * on startup reads the memory mapped segments instead of parsing the files line by line.
+ * <p/>
+ * Removing keys leaves garbage in the segments, which is periodically compacted in the background when the ratio
+ * of garbage in a segment exceeds the {@link #getCompactionThreshold()}.
+ * <p/>
+ * Notice that the index uses 12 bytes per slot of the hash table, which is kept at most 75% full, and that the
+ * segment files are memory mapped, so the operating system must allow mapping the size of the segments.
+ * <p/>
+ * The background compaction uses a thread from the {@link org.apache.camel.spi.ExecutorServiceManager}, and
+ * therefore requires the {@link CamelContext} to be set, unless the compaction interval is turned off.
+ */
+@ManagedResource(description = "Segmented file based idempotent repository")
+public class SegmentedFileIdempotentRepository extends ServiceSupport implements IdempotentRepository, CamelContextAware {
+
+    private static final Pattern SEGMENT_PATTERN = Pattern.compile("segment-(\\d+)\\.dat");
+    private static final String COMPACT_SUFFIX = ".compact";
+    private static final byte OP_END = 0;
+    private static final byte OP_ADD = 1;
+    private static final byte OP_REMOVE = 2;
+    // op (1 byte) + key length (2 bytes)
+    private static final int RECORD_HEADER = 3;
+    private static final long EMPTY = 0;
+    private static final long DELETED = -1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object compactionLock = new Object();
+    private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+    private CamelContext camelContext;
+    private File directory;
+    private int segmentSize = 4 * 1024 * 1024;
+    private long compactionInterval = 60000;
+    private double compactionThreshold = 0.5;
+    private int initialCapacity = 1024;
+    private ScheduledExecutorService compactionExecutor;
+    private Segment active;
+    private volatile long compactions;
+
+    // the index of the keys where the location is the segment id (upper 32 bits) and offset (lower 32 bits)
+    private int[] hashes;
+    private long[] locations;
+    private int size;
+    private int deleted;
+
+    public SegmentedFileIdempotentRepository() {
+    }
+
+    public SegmentedFileIdempotentRepository(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Creates a new segmented file based repository.
+     *
+     * @param directory  the directory for the segment files
+     */
+    public static IdempotentRepository segmentedFileIdempotentRepository(File directory) {
+        return new SegmentedFileIdempotentRepository(directory);
+    }
+
+    @Override
+    @ManagedOperation(description = "Adds the key to the store")
+    public boolean add(String key) {
+        byte[] bytes = toBytes(key);
+        int hash = hash(bytes);
+        lock.writeLock().lock();
+        try {
+            if (find(bytes, hash) >= 0) {
+                return false;
+            }
+            long location = append(OP_ADD, bytes);
+            active.adds++;
+            active.live++;
+            insert(hash, location);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    @ManagedOperation(description = "Does the store contain the given key")
+    public boolean contains(String key) {
+        byte[] bytes = toBytes(key);
+        int hash = hash(bytes);
+        lock.readLock().lock();
+        try {
+            return find(bytes, hash) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    @ManagedOperation(description = "Remove the key from the store")
+    public boolean remove(String key) {
+        byte[] bytes = toBytes(key);
+        int hash = hash(bytes);
+        lock.writeLock().lock();
+        try {
+            int slot = find(bytes, hash);
+            if (slot < 0) {
+                return false;
+            }
+            append(OP_REMOVE, bytes);
+            active.removes++;
+            delete(slot);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean confirm(String key) {
+        // noop
+        return true;
+    }
+
+    @Override
+    @ManagedOperation(description = "Clear the store (danger this removes all entries)")
+    public void clear() {
+        synchronized (compactionLock) {
+            lock.writeLock().lock();
+            try {
+                for (Segment segment : segments.values()) {
+                    segment.close();
+                    FileUtil.deleteFile(segment.file);
+                }
+                segments.clear();
+                active = null;
+                hashes = new int[initialCapacity];
+                locations = new long[initialCapacity];
+                size = 0;
+                deleted = 0;
+                active = createSegment(1);
+            } catch (IOException e) {
+                throw RuntimeCamelException.wrapRuntimeCamelException(e);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Compacts the segments where the ratio of removed keys exceeds the compaction threshold.
+     */
+    @ManagedOperation(description = "Compacts the segments which exceeds the compaction threshold")
+    public void compact() {
+        synchronized (compactionLock) {
+            List<Segment> sealed;
+            lock.readLock().lock();
+            try {
+                sealed = new ArrayList<>(segments.values());
+                sealed.remove(active);
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            // remove records are only needed as long as an older segment may contain the removed key
+            boolean olderGarbage = false;
+            for (Segment segment : sealed) {
+                if (garbageRatio(segment) >= compactionThreshold) {
+                    try {
+                        compact(segment, !olderGarbage);
+                    } catch (IOException e) {
+                        throw RuntimeCamelException.wrapRuntimeCamelException(e);
+                    }
+                }
+                lock.readLock().lock();
+                try {
+                    Segment current = segments.get(segment.id);
+                    olderGarbage |= current != null && current.adds > current.live;
+                } finally {
+                    lock.readLock().unlock();
+                }
+            }
+        }
+    }
+
+    private double garbageRatio(Segment segment) {
+        lock.readLock().lock();
+        try {
+            int records = segment.adds + segment.removes;
+            return records == 0 ? 0 : (double) (records - segment.live) / records;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(File directory) {
+        this.directory = directory;
+    }
+
+    @ManagedAttribute(description = "The directory for the segment files")
+    public String getDirectoryPath() {
+        return directory.getPath();
+    }
+
+    @ManagedAttribute(description = "The size of a segment file in bytes")
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * Sets the size of each segment file in bytes. The default is 4mb. Smaller segments are compacted in shorter steps.
+     */
+    public void setSegmentSize(int segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    @ManagedAttribute(description = "The interval in millis between checking if segments should be compacted")
+    public long getCompactionInterval() {
+        return compactionInterval;
+    }
+
+    /**
+     * Sets the interval in millis between checking if segments should be compacted.
+     * You can set the value to 0 or negative to turn off background compaction.
+     * <p/>
+     * The default is 60000 millis.
+     */
+    public void setCompactionInterval(long compactionInterval) {
+        this.compactionInterval = compactionInterval;
+    }
+
+    @ManagedAttribute(description = "The ratio of removed keys in a segment which triggers compaction")
+    public double getCompactionThreshold() {
+        return compactionThreshold;
+    }
+
+    /**
+     * Sets the ratio (0.0 to 1.0) of removed keys in a segment which triggers compaction of the segment.
+     * <p/>
+     * The default is 0.5.
+     */
+    public void setCompactionThreshold(double compactionThreshold) {
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    public int getInitialCapacity() {
+        return initialCapacity;
+    }
+
+    /**
+     * Sets the initial capacity of the index, which should be a power of two. The index grows as needed.
+     * <p/>
+     * The default is 1024.
+     */
+    public void setInitialCapacity(int initialCapacity) {
+        this.initialCapacity = initialCapacity;
+    }
+
+    @ManagedAttribute(description = "The number of keys in the store")
+    public int getSize() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @ManagedAttribute(description = "The number of segment files")
+    public int getSegments() {
+        lock.readLock().lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @ManagedAttribute(description = "The number of compacted segments")
+    public long getCompactions() {
+        return compactions;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(directory, "directory", this);
+        if (compactionInterval > 0) {
+            ObjectHelper.notNull(camelContext, "camelContext", this);
+        }
+        if (Integer.bitCount(initialCapacity) != 1) {
+            throw new IllegalArgumentException("InitialCapacity must be a power of two, was: " + initialCapacity);
+        }
+        if (segmentSize < RECORD_HEADER + 0xFFFF) {
+            throw new IllegalArgumentException("SegmentSize must be at least " + (RECORD_HEADER + 0xFFFF) + " bytes, was: " + segmentSize);
+        }
+
+        lock.writeLock().lock();
+        try {
+            loadSegments();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (compactionInterval > 0) {
+            compactionExecutor = camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(this, "SegmentedFileIdempotentRepositoryCompaction");
+            compactionExecutor.scheduleWithFixedDelay(() -> {
+                try {
+                    compact();
+                } catch (Exception e) {
+                    log.warn("Error compacting idempotent filestore: " + directory + ". This exception is ignored.", e);
+                }
+            }, compactionInterval, compactionInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (compactionExecutor != null) {
+            camelContext.getExecutorServiceManager().shutdownNow(compactionExecutor);
+            compactionExecutor = null;
+        }
+
+        synchronized (compactionLock) {
+            lock.writeLock().lock();
+            try {
+                for (Segment segment : segments.values()) {
+                    segment.close();
+                }
+                segments.clear();
+                active = null;
+                hashes = null;
+                locations = null;
+                size = 0;
+                deleted = 0;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void loadSegments() throws IOException {
+        if (!directory.exists()) {
+            log.debug("Creating filestore directory: {}", directory);
+            if (!directory.mkdirs()) {
+                throw new IOException("Cannot create filestore directory: " + directory);
+            }
+        }
+
+        TreeMap<Integer, File> files = new TreeMap<>();
+        File[] children = directory.listFiles();
+        if (children != null) {
+            for (File file : children) {
+                Matcher matcher = SEGMENT_PATTERN.matcher(file.getName());
+                if (matcher.matches()) {
+                    files.put(Integer.valueOf(matcher.group(1)), file);
+                } else if (file.getName().endsWith(COMPACT_SUFFIX)) {
+                    // an unfinished compaction
+                    FileUtil.deleteFile(file);
+                }
+            }
+        }
+
+        hashes = new int[initialCapacity];
+        locations = new long[initialCapacity];
+        size = 0;
+        deleted = 0;
+
+        int lastId = 0;
+        for (Map.Entry<Integer, File> entry : files.entrySet()) {
+            lastId = entry.getKey();
+            boolean last = lastId == files.lastKey();
+            Segment segment = new Segment(lastId, entry.getValue(), last ? Math.max(segmentSize, (int) entry.getValue().length()) : -1);
+            segments.put(lastId, segment);
+            loadSegment(segment);
+            if (last) {
+                active = segment;
+            }
+        }
+        if (active == null) {
+            active = createSegment(lastId + 1);
+        }
+
+        log.debug("Loaded {} keys from {} segments in idempotent filestore: {}", size, segments.size(), directory);
+    }
+
+    private void loadSegment(Segment segment) {
+        ByteBuffer buffer = segment.buffer;
+        int offset = 0;
+        int limit = buffer.limit();
+        byte[] bytes = new byte[256];
+        while (offset + RECORD_HEADER <= limit) {
+            byte op = buffer.get(offset);
+            if (op == OP_END) {
+                break;
+            }
+            int length = buffer.getShort(offset + 1) & 0xFFFF;
+            if (offset + RECORD_HEADER + length > limit) {
+                break;
+            }
+            if (bytes.length < length) {
+                bytes = new byte[length];
+            }
+            for (int i = 0; i < length; i++) {
+                bytes[i] = buffer.get(offset + RECORD_HEADER + i);
+            }
+            byte[] key = length == bytes.length ? bytes : Arrays.copyOf(bytes, length);
+            int hash = hash(key);
+            int slot = find(key, hash);
+            if (op == OP_ADD) {
+                segment.adds++;
+                segment.live++;
+                if (slot >= 0) {
+                    // the key was copied by a compaction and added again later
+                    delete(slot);
+                }
+                insert(hash, location(segment.id, offset));
+            } else {
+                segment.removes++;
+                if (slot >= 0) {
+                    delete(slot);
+                }
+            }
+            offset += RECORD_HEADER + length;
+        }
+        segment.position = offset;
+    }
+
+    private void compact(Segment segment, boolean dropRemoves) throws IOException {
+        // find the records to keep, where the lock is only held while checking a chunk of keys in the index
+        List<int[]> records = new ArrayList<>();
+        int[] chunk = new int[3 * 1024];
+        int offset = 0;
+        while (offset < segment.position) {
+            int count = 0;
+            while (offset < segment.position && count < chunk.length) {
+                int length = segment.buffer.getShort(offset + 1) & 0xFFFF;
+                chunk[count++] = offset;
+                chunk[count++] = RECORD_HEADER + length;
+                chunk[count++] = hash(segment.buffer, offset + RECORD_HEADER, length);
+                offset += RECORD_HEADER + length;
+            }
+            lock.readLock().lock();
+            try {
+                if (segments.get(segment.id) != segment) {
+                    return;
+                }
+                for (int i = 0; i < count; i += 3) {
+                    boolean add = segment.buffer.get(chunk[i]) == OP_ADD;
+                    if (add ? findLocation(segment.id, chunk[i], chunk[i + 2]) >= 0 : !dropRemoves) {
+                        records.add(new int[]{chunk[i], chunk[i + 1], chunk[i + 2]});
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        // write the records to a new file without holding the lock as the sealed segment is not changed
+        File tmp = new File(directory, segment.file.getName() + COMPACT_SUFFIX);
+        int[] newOffsets = new int[records.size()];
+        int position = 0;
+        try (FileChannel channel = new RandomAccessFile(tmp, "rw").getChannel()) {
+            ByteBuffer source = segment.buffer.duplicate();
+            ByteBuffer target = ByteBuffer.allocate(RECORD_HEADER + 0xFFFF);
+            for (int i = 0; i < records.size(); i++) {
+                int[] record = records.get(i);
+                if (target.remaining() < record[1]) {
+                    write(channel, target);
+                }
+                source.limit(record[0] + record[1]).position(record[0]);
+                target.put(source);
+                newOffsets[i] = position;
+                position += record[1];
+            }
+            write(channel, target);
+            channel.force(false);
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (segments.get(segment.id) != segment) {
+                FileUtil.deleteFile(tmp);
+                return;
+            }
+            Segment compacted = null;
+            if (position > 0) {
+                Files.move(tmp.toPath(), segment.file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                compacted = new Segment(segment.id, segment.file, -1);
+                compacted.position = position;
+            } else {
+                FileUtil.deleteFile(tmp);
+            }
+
+            // relocate the keys which have not been removed meanwhile
+            for (int i = 0; i < records.size(); i++) {
+                int[] record = records.get(i);
+                if (segment.buffer.get(record[0]) == OP_ADD) {
+                    compacted.adds++;
+                    int slot = findLocation(segment.id, record[0], record[2]);
+                    if (slot >= 0) {
+                        locations[slot] = location(segment.id, newOffsets[i]);
+                        compacted.live++;
+                    }
+                } else {
+                    compacted.removes++;
+                }
+            }
+
+            segment.close();
+            if (compacted != null) {
+                segments.put(segment.id, compacted);
+            } else {
+                segments.remove(segment.id);
+                FileUtil.deleteFile(segment.file);
+            }
+            compactions++;
+            log.debug("Compacted segment: {} from {} to {} bytes in idempotent filestore: {}", segment.id, segment.position, position, directory);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private Segment createSegment(int id) throws IOException {
+        File file = new File(directory, "segment-" + id + ".dat");
+        Segment segment = new Segment(id, file, segmentSize);
+        segments.put(id, segment);
+        log.debug("Created segment: {} in idempotent filestore: {}", id, directory);
+        return segment;
+    }
+
+    private long append(byte op, byte[] key) {
+        int length = RECORD_HEADER + key.length;
+        if (active.position + length > active.buffer.capacity()) {
+            try {
+                active = createSegment(active.id + 1);
+            } catch (IOException e) {
+                throw RuntimeCamelException.wrapRuntimeCamelException(e);
+            }
+        }
+        int offset = active.position;
+        ByteBuffer writer = active.writer;
+        writer.position(offset + 1);
+        writer.putShort((short) key.length);
+        writer.put(key);
+        // write the op last so a partially written record is not loaded
+        writer.put(offset, op);
+        active.position += length;
+        return location(active.id, offset);
+    }
+
+    /**
+     * Finds the slot of the given key in the index
+     *
+     * @return the slot or <tt>-1</tt> if not found
+     */
+    private int find(byte[] key, int hash) {
+        int mask = hashes.length - 1;
+        for (int slot = hash & mask;; slot = (slot + 1) & mask) {
+            long location = locations[slot];
+            if (location == EMPTY) {
+                return -1;
+            }
+            if (location != DELETED && hashes[slot] == hash && matches(location, key)) {
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * Finds the slot which points to the record at the given location
+     *
+     * @return the slot or <tt>-1</tt> if not found
+     */
+    private int findLocation(int segmentId, int offset, int hash) {
+        long target = location(segmentId, offset);
+        int mask = hashes.length - 1;
+        for (int slot = hash & mask;; slot = (slot + 1) & mask) {
+            long location = locations[slot];
+            if (location == EMPTY) {
+                return -1;
+            }
+            if (location == target && hashes[slot] == hash) {
+                return slot;
+            }
+        }
+    }
+
+    private boolean matches(long location, byte[] key) {
+        Segment segment = segments.get((int) (location >>> 32));
+        int offset = (int) location + 1;
+        ByteBuffer buffer = segment.buffer;
+        if ((buffer.getShort(offset) & 0xFFFF) != key.length) {
+            return false;
+        }
+        offset += 2;
+        for (int i = 0; i < key.length; i++) {
+            if (buffer.get(offset + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void insert(int hash, long location) {
+        if ((size + deleted + 1) * 4L > hashes.length * 3L) {
+            // grow unless most of the used slots are deleted keys
+            rehash(size * 2 > hashes.length / 2 ? hashes.length * 2 : hashes.length);
+        }
+        int mask = hashes.length - 1;
+        int slot = hash & mask;
+        while (locations[slot] != EMPTY && locations[slot] != DELETED) {
+            slot = (slot + 1) & mask;
+        }
+        if (locations[slot] == DELETED) {
+            deleted--;
+        }
+        hashes[slot] = hash;
+        locations[slot] = location;
+        size++;
+    }
+
+    private void delete(int slot) {
+        Segment segment = segments.get((int) (locations[slot] >>> 32));
+        segment.live--;
+        locations[slot] = DELETED;
+        size--;
+        deleted++;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldHashes = hashes;
+        long[] oldLocations = locations;
+        hashes = new int[capacity];
+        locations = new long[capacity];
+        deleted = 0;
+        int mask = capacity - 1;
+        for (int i = 0; i < oldLocations.length; i++) {
+            long location = oldLocations[i];
+            if (location != EMPTY && location != DELETED) {
+                int slot = oldHashes[i] & mask;
+                while (locations[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                hashes[slot] = oldHashes[i];
+                locations[slot] = location;
+            }
+        }
+    }
+
+    private static long location(int segmentId, int offset) {
+        return ((long) segmentId << 32) | (offset & 0xFFFFFFFFL);
+    }
+
+    private static byte[] toBytes(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Key is too long, the maximum length is 65535 bytes: " + key);
+        }
+        return bytes;
+    }
+
+    private static int hash(byte[] key) {
+        // FNV-1a with a final avalanche as the index uses the lower bits
+        int h = 0x811c9dc5;
+        for (byte b : key) {
+            h ^= b & 0xFF;
+            h *= 0x01000193;
+        }
+        return avalanche(h);
+    }
+
+    private static int hash(ByteBuffer buffer, int offset, int length) {
+        int h = 0x811c9dc5;
+        for (int i = 0; i < length; i++) {
+            h ^= buffer.get(offset + i) & 0xFF;
+            h *= 0x01000193;
+        }
+        return avalanche(h);
+    }
+
+    private static int avalanche(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * A memory mapped segment file
+     */
+    private static final class Segment {
+        private final int id;
+        private final File file;
+        private final RandomAccessFile raf;
+        private final MappedByteBuffer buffer;
+        private final ByteBuffer writer;
+        private int position;
+        private int adds;
+        private int removes;
+        private int live;
+
+        /**
+         * @param capacity the capacity for writing to the segment, or <tt>-1</tt> for a read-only segment
+         */
+        Segment(int id, File file, int capacity) throws IOException {
+            this.id = id;
+            this.file = file;
+            if (capacity > 0) {
+                this.raf = new RandomAccessFile(file, "rw");
+                this.buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+                this.writer = buffer.duplicate();
+            } else {
+                this.raf = new RandomAccessFile(file, "r");
+                this.buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length());
+                this.writer = null;
+            }
+        }
+
+        void close() {
+            // the mapped buffer remains valid until it is garbage collected
+            IOHelper.close(raf);
+        }
+    }
+
+}
@@ -0,0 +1,508 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.support.service.ServiceSupport;
+
+/**
+ * A memory based implementation of {@link org.apache.camel.spi.IdempotentRepository} which is bounded in size,
+ * supports expiring the keys after a time to live, and scales with many concurrent threads.
+ * <p/>
+ * The keys are spread over a number of shards which are locked independently, so concurrent idempotent consumers
+ * rarely contend on the same lock. Each shard stores a 64-bit hash of the keys in primitive arrays, in the order
+ * the keys were added, which are indexed by an open addressing hash table. When a shard is full the oldest key
+ * is evicted, and keys which have been in the repository longer than the time to live are evicted as well.
+ * <p/>
+ * By default only the 64-bit hash of the keys is stored, which together with the index uses between 16 and 24 bytes
+ * per key (plus 8 bytes when using a time to live), and where the probability of two different keys having the same
+ * hash is negligible for any realistic number of keys.
+ * Enable {@link #setExactCheck(boolean)} to also store the keys and compare them exactly.
+ */
+@ManagedResource(description = "Sharded memory based idempotent repository")
+public class ShardedMemoryIdempotentRepository extends ServiceSupport implements IdempotentRepository {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private volatile Shard[] shards;
+    private int shardCount = 16;
+    private int maximumSize = 1000;
+    private long timeToLive;
+    private boolean exactCheck;
+
+    public ShardedMemoryIdempotentRepository() {
+    }
+
+    public ShardedMemoryIdempotentRepository(int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public ShardedMemoryIdempotentRepository(int maximumSize, long timeToLive) {
+        this.maximumSize = maximumSize;
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Creates a new sharded memory based repository.
+     *
+     * @param maximumSize  the maximum number of keys
+     */
+    public static IdempotentRepository shardedMemoryIdempotentRepository(int maximumSize) {
+        return new ShardedMemoryIdempotentRepository(maximumSize);
+    }
+
+    /**
+     * Creates a new sharded memory based repository.
+     *
+     * @param maximumSize  the maximum number of keys
+     * @param timeToLive   the time to live in millis of the keys, or 0 to keep the keys until evicted due to the size
+     */
+    public static IdempotentRepository shardedMemoryIdempotentRepository(int maximumSize, long timeToLive) {
+        return new ShardedMemoryIdempotentRepository(maximumSize, timeToLive);
+    }
+
+    @Override
+    @ManagedOperation(description = "Adds the key to the store")
+    public boolean add(String key) {
+        long hash = hash(key);
+        boolean added = shard(hash).add(hash, key);
+        if (added) {
+            missCount.increment();
+        } else {
+            hitCount.increment();
+        }
+        return added;
+    }
+
+    @Override
+    @ManagedOperation(description = "Does the store contain the given key")
+    public boolean contains(String key) {
+        long hash = hash(key);
+        boolean found = shard(hash).contains(hash, key);
+        if (found) {
+            hitCount.increment();
+        } else {
+            missCount.increment();
+        }
+        return found;
+    }
+
+    @Override
+    @ManagedOperation(description = "Remove the key from the store")
+    public boolean remove(String key) {
+        long hash = hash(key);
+        return shard(hash).remove(hash, key);
+    }
+
+    @Override
+    public boolean confirm(String key) {
+        // noop
+        return true;
+    }
+
+    @Override
+    @ManagedOperation(description = "Clear the store")
+    public void clear() {
+        Shard[] current = shards;
+        if (current != null) {
+            for (Shard shard : current) {
+                shard.clear();
+            }
+        }
+    }
+
+    @ManagedAttribute(description = "The current cache size")
+    public int getCacheSize() {
+        int answer = 0;
+        Shard[] current = shards;
+        if (current != null) {
+            for (Shard shard : current) {
+                answer += shard.size();
+            }
+        }
+        return answer;
+    }
+
+    @ManagedAttribute(description = "Number of lookups of keys which already existed in the store")
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    @ManagedAttribute(description = "Number of lookups of keys which did not exist in the store")
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    @ManagedAttribute(description = "Number of keys evicted due to the maximum size or the time to live")
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    @ManagedOperation(description = "Reset the statistics")
+    public void resetStatistics() {
+        hitCount.reset();
+        missCount.reset();
+        evictionCount.reset();
+    }
+
+    @ManagedAttribute(description = "The number of shards")
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Sets the number of shards which are locked independently, which is rounded up to a power of two.
+     * <p/>
+     * The default is 16.
+     */
+    public void setShardCount(int shardCount) {
+        this.shardCount = shardCount;
+    }
+
+    @ManagedAttribute(description = "The maximum number of keys")
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Sets the maximum number of keys, after which the oldest keys are evicted.
+     * The keys are spread evenly over the shards, and each shard holds at most its share of the keys.
+     * <p/>
+     * The default is 1000.
+     */
+    public void setMaximumSize(int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    @ManagedAttribute(description = "The time to live in millis of the keys")
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * Sets the time to live in millis of the keys, after which they are evicted.
+     * <p/>
+     * The default is 0, which keeps the keys until evicted due to the maximum size.
+     */
+    public void setTimeToLive(long timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    @ManagedAttribute(description = "Whether to store the keys to compare them exactly")
+    public boolean isExactCheck() {
+        return exactCheck;
+    }
+
+    /**
+     * Whether to store the keys to compare them exactly, instead of only storing the 64-bit hash of the keys.
+     * <p/>
+     * The default is false.
+     */
+    public void setExactCheck(boolean exactCheck) {
+        this.exactCheck = exactCheck;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        // create the shards using the current configuration
+        shards = null;
+        getShards();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        clear();
+    }
+
+    private Shard shard(long hash) {
+        Shard[] current = getShards();
+        return current[(int) (hash >>> 40) & (current.length - 1)];
+    }
+
+    private Shard[] getShards() {
+        Shard[] answer = shards;
+        if (answer == null) {
+            synchronized (this) {
+                answer = shards;
+                if (answer == null) {
+                    if (maximumSize <= 0) {
+                        throw new IllegalArgumentException("MaximumSize must be positive, was: " + maximumSize);
+                    }
+                    int count = 1;
+                    while (count < shardCount) {
+                        count <<= 1;
+                    }
+                    int capacity = Math.max(1, (maximumSize + count - 1) / count);
+                    long ttl = TimeUnit.MILLISECONDS.toNanos(timeToLive);
+                    answer = new Shard[count];
+                    for (int i = 0; i < count; i++) {
+                        answer[i] = new Shard(capacity, ttl, exactCheck);
+                    }
+                    shards = answer;
+                }
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Computes a 64-bit hash of the key, which is never 0 as that denotes a removed key.
+     */
+    static long hash(String key) {
+        // FNV-1a followed by the murmur3 finalizer to spread the bits
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h != 0 ? h : 1;
+    }
+
+    /**
+     * A shard holding the keys in a ring buffer in the order they were added, so the oldest key is always
+     * at the head of the ring, which is indexed by an open addressing hash table using linear probing.
+     */
+    private final class Shard {
+        private final int capacity;
+        private final long timeToLive;
+        private final boolean exactCheck;
+        // the ring of keys where a hash of 0 denotes a removed key
+        private long[] hashes;
+        private long[] times;
+        private String[] keys;
+        // the index of the positions in the ring (plus one as 0 denotes an empty slot)
+        private int[] index;
+        private int head;
+        private int count;
+        private int size;
+
+        Shard(int capacity, long timeToLive, boolean exactCheck) {
+            this.capacity = capacity;
+            this.timeToLive = timeToLive;
+            this.exactCheck = exactCheck;
+            allocate(Math.min(capacity, INITIAL_CAPACITY));
+        }
+
+        synchronized boolean add(long hash, String key) {
+            long now = timeToLive > 0 ? System.nanoTime() : 0;
+            expire(now);
+            if (find(hash, key) >= 0) {
+                return false;
+            }
+            ensureCapacity();
+            int pos = (head + count) % hashes.length;
+            hashes[pos] = hash;
+            if (times != null) {
+                times[pos] = now;
+            }
+            if (keys != null) {
+                keys[pos] = key;
+            }
+            count++;
+            size++;
+            insertIndex(hash, pos);
+            return true;
+        }
+
+        synchronized boolean contains(long hash, String key) {
+            if (timeToLive > 0) {
+                expire(System.nanoTime());
+            }
+            return find(hash, key) >= 0;
+        }
+
+        synchronized boolean remove(long hash, String key) {
+            int slot = find(hash, key);
+            if (slot < 0) {
+                return false;
+            }
+            int pos = index[slot] - 1;
+            deleteIndex(slot);
+            // leave a removed marker in the ring which is discarded when it reaches the head
+            hashes[pos] = 0;
+            if (keys != null) {
+                keys[pos] = null;
+            }
+            size--;
+            return true;
+        }
+
+        synchronized void clear() {
+            allocate(Math.min(capacity, INITIAL_CAPACITY));
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        private void allocate(int length) {
+            hashes = new long[length];
+            times = timeToLive > 0 ? new long[length] : null;
+            keys = exactCheck ? new String[length] : null;
+            index = new int[Integer.highestOneBit(length) << 2];
+            head = 0;
+            count = 0;
+            size = 0;
+        }
+
+        private int find(long hash, String key) {
+            int mask = index.length - 1;
+            for (int i = (int) hash & mask;; i = (i + 1) & mask) {
+                int pos = index[i] - 1;
+                if (pos < 0) {
+                    return -1;
+                }
+                if (hashes[pos] == hash && (keys == null || key.equals(keys[pos]))) {
+                    return i;
+                }
+            }
+        }
+
+        private void insertIndex(long hash, int pos) {
+            int mask = index.length - 1;
+            int i = (int) hash & mask;
+            while (index[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            index[i] = pos + 1;
+        }
+
+        private int indexOf(int pos) {
+            int mask = index.length - 1;
+            int i = (int) hashes[pos] & mask;
+            while (index[i] != pos + 1) {
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+
+        private void deleteIndex(int slot) {
+            // backward shift deletion so no tombstones are needed in the index
+            int mask = index.length - 1;
+            int i = slot;
+            int j = slot;
+            while (true) {
+                index[i] = 0;
+                while (true) {
+                    j = (j + 1) & mask;
+                    int pos = index[j] - 1;
+                    if (pos < 0) {
+                        return;
+                    }
+                    int k = (int) hashes[pos] & mask;
+                    // keep the entry if its home slot is cyclically within (i, j]
+                    boolean keep = i <= j ? i < k && k <= j : i < k || k <= j;
+                    if (!keep) {
+                        index[i] = index[j];
+                        i = j;
+                        break;
+                    }
+                }
+            }
+        }
+
+        private void expire(long now) {
+            while (count > 0) {
+                int pos = head;
+                if (hashes[pos] == 0) {
+                    pop();
+                } else if (timeToLive > 0 && now - times[pos] >= timeToLive) {
+                    evict(pos);
+                } else {
+                    return;
+                }
+            }
+        }
+
+        private void ensureCapacity() {
+            int length = hashes.length;
+            if (count < length) {
+                return;
+            }
+            if (length < capacity) {
+                resize(Math.min(capacity, length << 1));
+            } else if (size < length - (length >> 2)) {
+                // many keys have been removed so compact the ring instead of evicting
+                resize(length);
+            } else {
+                while (count == length) {
+                    if (hashes[head] == 0) {
+                        pop();
+                    } else {
+                        evict(head);
+                    }
+                }
+            }
+        }
+
+        private void evict(int pos) {
+            deleteIndex(indexOf(pos));
+            size--;
+            evictionCount.increment();
+            pop();
+        }
+
+        private void pop() {
+            hashes[head] = 0;
+            if (keys != null) {
+                keys[head] = null;
+            }
+            head = (head + 1) % hashes.length;
+            count--;
+        }
+
+        private void resize(int length) {
+            long[] oldHashes = hashes;
+            long[] oldTimes = times;
+            String[] oldKeys = keys;
+            int oldHead = head;
+            int oldCount = count;
+            allocate(length);
+            for (int n = 0; n < oldCount; n++) {
+                int old = (oldHead + n) % oldHashes.length;
+                long hash = oldHashes[old];
+                if (hash != 0) {
+                    hashes[count] = hash;
+                    if (times != null) {
+                        times[count] = oldTimes[old];
+                    }
+                    if (keys != null) {
+                        keys[count] = oldKeys[old];
+                    }
+                    insertIndex(hash, count);
+                    count++;
+                    size++;
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.util.function.Predicate;
+
+import org.apache.camel.util.function.TriConsumer;
+
+/**
+ * A concurrent map using a pair of keys, compared by identity, such as the <tt>(to, from)</tt> types
+ * of the type converters.
+ * <p/>
+ * The entries are stored in an open addressing table probed by the identity hash code of the keys.
+ * Reads are lock-free and do not allocate, while updates are synchronized. Removing entries or
+ * growing the table publishes a new table so concurrent readers always see a consistent table.
+ * This map is intended for lookup tables which are read much more often than they are updated.
+ */
+@SuppressWarnings("unchecked")
+public class ConcurrentDoubleMap<K1, K2, V> {
+
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+    private static final int C1 = 0xcc9e2d51;
+    private static final int C2 = 0x1b873593;
+
+    /**
+     * An immutable entry so readers see either no entry or a fully constructed entry.
+     */
+    static final class Entry {
+        final Object k1;
+        final Object k2;
+        final Object v;
+
+        Entry(Object k1, Object k2, Object v) {
+            this.k1 = k1;
+            this.k2 = k2;
+            this.v = v;
+        }
+    }
+
+    private volatile Entry[] table;
+    private volatile int size;
+
+    public ConcurrentDoubleMap(int size) {
+        table = new Entry[tableSizeFor(size)];
+    }
+
+    public V get(K1 k1, K2 k2) {
+        Entry[] table = this.table;
+        int mask = table.length - 1;
+        int index = hash(k1, k2) & mask;
+        for (Entry entry = table[index]; entry != null; entry = table[index]) {
+            if (k1 == entry.k1 && k2 == entry.k2) {
+                return (V) entry.v;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    public boolean containsKey(K1 k1, K2 k2) {
+        return get(k1, k2) != null;
+    }
+
+    public synchronized void put(K1 k1, K2 k2, V v) {
+        ObjectHelper.notNull(v, "value");
+        Entry[] table = this.table;
+        int index = indexOf(table, k1, k2);
+        if (index >= 0) {
+            table[index] = new Entry(k1, k2, v);
+            // write to the volatile table so the entry is visible to readers
+            this.table = table;
+            return;
+        }
+        if ((size + 1) * 2 > table.length && table.length < MAXIMUM_CAPACITY) {
+            table = rehash(table, table.length << 1, e -> false);
+        }
+        insert(table, new Entry(k1, k2, v));
+        size++;
+        this.table = table;
+    }
+
+    public synchronized boolean remove(K1 k1, K2 k2) {
+        Entry[] table = this.table;
+        int index = indexOf(table, k1, k2);
+        if (index < 0) {
+            return false;
+        }
+        // removing in place would break the probe sequence of concurrent readers so publish a new table
+        Entry removed = table[index];
+        this.table = rehash(table, table.length, e -> e == removed);
+        size--;
+        return true;
+    }
+
+    /**
+     * Removes all the entries matching the given predicate on their values.
+     *
+     * @return the number of removed entries
+     */
+    public synchronized int removeIf(Predicate<V> predicate) {
+        Entry[] table = this.table;
+        int removed = 0;
+        for (Entry entry : table) {
+            if (entry != null && predicate.test((V) entry.v)) {
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            this.table = rehash(table, table.length, e -> predicate.test((V) e.v));
+            size -= removed;
+        }
+        return removed;
+    }
+
+    public void forEach(TriConsumer<K1, K2, V> consumer) {
+        for (Entry entry : table) {
+            if (entry != null) {
+                consumer.accept((K1) entry.k1, (K2) entry.k2, (V) entry.v);
+            }
+        }
+    }
+
+    public V getFirst(Predicate<K1> p1, Predicate<K2> p2) {
+        for (Entry entry : table) {
+            if (entry != null && p1.test((K1) entry.k1) && p2.test((K2) entry.k2)) {
+                return (V) entry.v;
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public synchronized void clear() {
+        this.table = new Entry[table.length];
+        size = 0;
+    }
+
+    private static int indexOf(Entry[] table, Object k1, Object k2) {
+        int mask = table.length - 1;
+        int index = hash(k1, k2) & mask;
+        for (Entry entry = table[index]; entry != null; entry = table[index]) {
+            if (k1 == entry.k1 && k2 == entry.k2) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static void insert(Entry[] table, Entry entry) {
+        int mask = table.length - 1;
+        int index = hash(entry.k1, entry.k2) & mask;
+        while (table[index] != null) {
+            index = (index + 1) & mask;
+        }
+        table[index] = entry;
+    }
+
+    private static Entry[] rehash(Entry[] table, int length, Predicate<Entry> skip) {
+        Entry[] answer = new Entry[length];
+        for (Entry entry : table) {
+            if (entry != null && !skip.test(entry)) {
+                insert(answer, entry);
+            }
+        }
+        return answer;
+    }
+
+    static int hash(Object k1, Object k2) {
+        int h = System.identityHashCode(k1) * 31 + System.identityHashCode(k2);
+        h = C2 * Integer.rotateLeft(h * C1, 15);
+        // spread the high bits as the table index uses the low bits
+        return h ^ (h >>> 16);
+    }
+
+    static int tableSizeFor(int expectedEntries) {
+        // keep the load factor at most 0.5 so the probe sequences stay short
+        int n = Math.max(expectedEntries, 2) * 2;
+        if (n >= MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        return Integer.highestOneBit(n - 1) << 1;
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ConcurrentDoubleMapTest extends Assert {
+
+    private static final Class<?>[] TYPES = {
+        String.class, Integer.class, Long.class, Double.class, Float.class, Short.class, Byte.class,
+        Boolean.class, Character.class, Object.class, List.class, ArrayList.class, StringBuilder.class,
+        CharSequence.class, Number.class, byte[].class, char[].class, int.class, long.class, boolean.class
+    };
+
+    @Test
+    public void testPutGetRemove() {
+        ConcurrentDoubleMap<Class<?>, Class<?>, String> map = new ConcurrentDoubleMap<>(2);
+        for (Class<?> to : TYPES) {
+            for (Class<?> from : TYPES) {
+                map.put(to, from, from.getName() + "->" + to.getName());
+            }
+        }
+        assertEquals(TYPES.length * TYPES.length, map.size());
+
+        for (Class<?> to : TYPES) {
+            for (Class<?> from : TYPES) {
+                assertEquals(from.getName() + "->" + to.getName(), map.get(to, from));
+            }
+        }
+
+        map.put(String.class, Integer.class, "replaced");
+        assertEquals("replaced", map.get(String.class, Integer.class));
+        assertEquals(TYPES.length * TYPES.length, map.size());
+
+        assertTrue(map.remove(String.class, Integer.class));
+        assertFalse(map.remove(String.class, Integer.class));
+        assertNull(map.get(String.class, Integer.class));
+        assertFalse(map.containsKey(String.class, Integer.class));
+        assertEquals(TYPES.length * TYPES.length - 1, map.size());
+
+        // the other entries should still be found after the removal
+        for (Class<?> to : TYPES) {
+            for (Class<?> from : TYPES) {
+                if (to != String.class || from != Integer.class) {
+                    assertNotNull(map.get(to, from));
+                }
+            }
+        }
+
+        map.clear();
+        assertEquals(0, map.size());
+        assertNull(map.get(String.class, String.class));
+    }
+
+    @Test
+    public void testRemoveIf() {
+        ConcurrentDoubleMap<Class<?>, Class<?>, String> map = new ConcurrentDoubleMap<>(16);
+        for (Class<?> from : TYPES) {
+            map.put(String.class, from, from == Object.class ? "miss" : "hit");
+            map.put(Object.class, from, "miss");
+        }
+
+        assertEquals(TYPES.length + 1, map.removeIf("miss"::equals));
+        assertEquals(TYPES.length - 1, map.size());
+        assertEquals("hit", map.get(String.class, Integer.class));
+        assertNull(map.get(String.class, Object.class));
+        assertNull(map.getFirst(to -> to == Object.class, from -> true));
+
+        List<String> values = new ArrayList<>();
+        map.forEach((to, from, value) -> values.add(value));
+        assertEquals(TYPES.length - 1, values.size());
+    }
+
+    @Test
+    public void testConcurrentReads() throws Exception {
+        ConcurrentDoubleMap<Class<?>, Class<?>, Class<?>> map = new ConcurrentDoubleMap<>(2);
+        map.put(Object.class, Object.class, Object.class);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch done = new CountDownLatch(1);
+        List<Future<Boolean>> readers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            readers.add(executor.submit(() -> {
+                // an existing entry must always be found while the map grows and shrinks
+                while (done.getCount() > 0) {
+                    if (map.get(Object.class, Object.class) != Object.class) {
+                        return false;
+                    }
+                }
+                return true;
+            }));
+        }
+
+        for (int i = 0; i < 200; i++) {
+            for (Class<?> to : TYPES) {
+                for (Class<?> from : TYPES) {
+                    if (to != Object.class || from != Object.class) {
+                        map.put(to, from, String.class);
+                    }
+                }
+            }
+            map.removeIf(value -> value == String.class);
+        }
+        done.countDown();
+
+        for (Future<Boolean> reader : readers) {
+            assertTrue(reader.get(10, TimeUnit.SECONDS));
+        }
+        executor.shutdownNow();
+        assertEquals(1, map.size());
+    }
+
+}
@@ -396,6 +396,14 @@ public class AMQPComponentConfiguration
      * option requestTimeout.
      */
     private Long requestTimeoutCheckerInterval = 1000L;
+    /**
+     * Whether to use a timing wheel to keep track of timed out Exchanges when
+     * doing request/reply over JMS. The timing wheel only checks the Exchanges
+     * which are due to timeout, instead of checking all the Exchanges waiting
+     * for a reply, which is faster when there are many outstanding replies. See
+     * also the requestTimeoutCheckerInterval option.
+     */
+    private Boolean requestTimeoutTimingWheel = false;
     /**
      * You can transfer the exchange over the wire instead of just the body and
      * headers. The following fields are transferred: In body, Out body, Fault
@@ -1065,6 +1073,15 @@ public class AMQPComponentConfiguration
         this.requestTimeoutCheckerInterval = requestTimeoutCheckerInterval;
     }
 
+    public Boolean getRequestTimeoutTimingWheel() {
+        return requestTimeoutTimingWheel;
+    }
+
+    public void setRequestTimeoutTimingWheel(
+            Boolean requestTimeoutTimingWheel) {
+        this.requestTimeoutTimingWheel = requestTimeoutTimingWheel;
+    }
+
     public Boolean getTransferExchange() {
         return transferExchange;
     }
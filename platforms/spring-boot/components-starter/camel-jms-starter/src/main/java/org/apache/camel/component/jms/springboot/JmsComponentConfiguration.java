@@ -409,6 +409,14 @@ public class JmsComponentConfiguration
      * option requestTimeout.
      */
     private Long requestTimeoutCheckerInterval = 1000L;
+    /**
+     * Whether to use a timing wheel to keep track of timed out Exchanges when
+     * doing request/reply over JMS. The timing wheel only checks the Exchanges
+     * which are due to timeout, instead of checking all the Exchanges waiting
+     * for a reply, which is faster when there are many outstanding replies. See
+     * also the requestTimeoutCheckerInterval option.
+     */
+    private Boolean requestTimeoutTimingWheel = false;
     /**
      * You can transfer the exchange over the wire instead of just the body and
      * headers. The following fields are transferred: In body, Out body, Fault
@@ -1079,6 +1087,15 @@ public class JmsComponentConfiguration
         this.requestTimeoutCheckerInterval = requestTimeoutCheckerInterval;
     }
 
+    public Boolean getRequestTimeoutTimingWheel() {
+        return requestTimeoutTimingWheel;
+    }
+
+    public void setRequestTimeoutTimingWheel(
+            Boolean requestTimeoutTimingWheel) {
+        this.requestTimeoutTimingWheel = requestTimeoutTimingWheel;
+    }
+
     public Boolean getTransferExchange() {
         return transferExchange;
     }
@@ -1671,6 +1688,15 @@ public class JmsComponentConfiguration
          * determined by the option requestTimeout.
          */
         private Long requestTimeoutCheckerInterval = 1000L;
+        /**
+         * Whether to use a timing wheel to keep track of timed out Exchanges
+         * when doing request/reply over JMS. The timing wheel only checks the
+         * Exchanges which are due to timeout, instead of checking all the
+         * Exchanges waiting for a reply, which is faster when there are many
+         * outstanding replies. See also the requestTimeoutCheckerInterval
+         * option.
+         */
+        private Boolean requestTimeoutTimingWheel = false;
         /**
          * Provides an explicit ReplyTo destination, which overrides any
          * incoming value of Message.getJMSReplyTo().
@@ -2451,6 +2477,15 @@ public class JmsComponentConfiguration
             this.requestTimeoutCheckerInterval = requestTimeoutCheckerInterval;
         }
 
+        public Boolean getRequestTimeoutTimingWheel() {
+            return requestTimeoutTimingWheel;
+        }
+
+        public void setRequestTimeoutTimingWheel(
+                Boolean requestTimeoutTimingWheel) {
+            this.requestTimeoutTimingWheel = requestTimeoutTimingWheel;
+        }
+
         public String getReplyTo() {
             return replyTo;
         }
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Tests setting and copying the exchange properties which Camel uses internally, such as when splitting messages.
+ */
+public class ExchangePropertiesTest {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+                // Specify which benchmarks to run.
+                // You can be more specific if you'd like to run only one benchmark per test.
+                .include(this.getClass().getName() + ".*")
+                // Set the following options as needed
+                .mode(Mode.SampleTime)
+                .timeUnit(TimeUnit.MILLISECONDS)
+                .warmupTime(TimeValue.seconds(1))
+                .warmupIterations(2)
+                .measurementTime(TimeValue.seconds(5))
+                .measurementIterations(3)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .measurementBatchSize(100000)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    // The JMH samples are the best documentation for how to use it
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
+    @State(Scope.Benchmark)
+    public static class BenchmarkCamelContextState {
+        CamelContext camel;
+        Exchange exchange;
+
+        @Setup(Level.Trial)
+        public void initialize() {
+            camel = new DefaultCamelContext();
+            try {
+                camel.start();
+            } catch (Exception e) {
+                // ignore
+            }
+            exchange = new DefaultExchange(camel);
+            exchange.getIn().setBody("Hello World");
+            exchange.setProperty(Exchange.TO_ENDPOINT, "mock://foo");
+            exchange.setProperty(Exchange.CORRELATION_ID, "123");
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            try {
+                camel.stop();
+            } catch (Exception e) {
+                // ignore
+            }
+        }
+    }
+
+    @Benchmark
+    public void setInternalProperties(BenchmarkCamelContextState state, Blackhole bh) {
+        Exchange exchange = new DefaultExchange(state.camel);
+        exchange.setProperty(Exchange.SPLIT_INDEX, 1);
+        exchange.setProperty(Exchange.SPLIT_SIZE, 10);
+        exchange.setProperty(Exchange.SPLIT_COMPLETE, Boolean.FALSE);
+        bh.consume(exchange.getProperty(Exchange.SPLIT_INDEX));
+    }
+
+    @Benchmark
+    public void copyExchange(BenchmarkCamelContextState state, Blackhole bh) {
+        bh.consume(state.exchange.copy());
+    }
+
+}
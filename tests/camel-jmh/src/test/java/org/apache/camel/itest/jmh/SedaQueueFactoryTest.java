@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.component.seda.ArrayBlockingQueueFactory;
+import org.apache.camel.component.seda.BlockingQueueFactory;
+import org.apache.camel.component.seda.LinkedBlockingQueueFactory;
+import org.apache.camel.component.seda.MpmcBlockingQueueFactory;
+import org.apache.camel.component.seda.MpscBlockingQueueFactory;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Tests the SEDA queue factories with multiple producers offering to the queue, and a single consumer polling
+ * from the queue, to compare the lock-based queues with the lock-free queues.
+ */
+public class SedaQueueFactoryTest {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+            // Specify which benchmarks to run.
+            // You can be more specific if you'd like to run only one benchmark per test.
+            .include(this.getClass().getName() + ".*")
+            // Set the following options as needed
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .warmupTime(TimeValue.seconds(1))
+            .warmupIterations(2)
+            .measurementTime(TimeValue.seconds(5))
+            .measurementIterations(2)
+            .forks(1)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    // The JMH samples are the best documentation for how to use it
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
+    @State(Scope.Group)
+    public static class BenchmarkState {
+        BlockingQueue<Object> queue;
+
+        @Param({"linked", "array", "mpsc", "mpmc"})
+        String factory;
+
+        @Setup(Level.Iteration)
+        public void initialize() {
+            BlockingQueueFactory<Object> queueFactory;
+            if ("linked".equals(factory)) {
+                queueFactory = new LinkedBlockingQueueFactory<>();
+            } else if ("array".equals(factory)) {
+                queueFactory = new ArrayBlockingQueueFactory<>();
+            } else if ("mpsc".equals(factory)) {
+                queueFactory = new MpscBlockingQueueFactory<>();
+            } else {
+                queueFactory = new MpmcBlockingQueueFactory<>();
+            }
+            queue = queueFactory.create(1024);
+        }
+    }
+
+    @Benchmark
+    @Group("queue")
+    @GroupThreads(3)
+    public boolean offer(BenchmarkState state) {
+        // do not block when the queue is full, so the producers does not wait for each other
+        return state.queue.offer("Hello World");
+    }
+
+    @Benchmark
+    @Group("queue")
+    @GroupThreads(1)
+    public void poll(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.queue.poll());
+    }
+
+}
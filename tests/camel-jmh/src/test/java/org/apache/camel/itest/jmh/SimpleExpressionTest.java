@@ -20,6 +20,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
 import org.apache.camel.impl.DefaultCamelContext;
 import org.apache.camel.spi.Language;
 import org.apache.camel.support.DefaultExchange;
@@ -71,8 +72,11 @@ public class SimpleExpressionTest {
     public static class BenchmarkState {
         CamelContext camel;
         String expression = "Hello ${body}";
+        String ognlExpression = "Hello ${body.name} and ${body.friend?.name} from ${header.city.trim}";
         Exchange exchange;
+        Exchange ognlExchange;
         Language simple;
+        Expression ognl;
 
         @Setup(Level.Trial)
         public void initialize() {
@@ -83,6 +87,11 @@ public class SimpleExpressionTest {
                 exchange.getIn().setBody("World");
                 simple = camel.resolveLanguage("simple");
 
+                ognlExchange = new DefaultExchange(camel);
+                ognlExchange.getIn().setBody(new Animal("Camel", new Animal("Tiger", null)));
+                ognlExchange.getIn().setHeader("city", "Cairo");
+                ognl = simple.createExpression(ognlExpression);
+
             } catch (Exception e) {
                 // ignore
             }
@@ -109,4 +118,32 @@ public class SimpleExpressionTest {
         bh.consume(out);
     }
 
+    @Benchmark
+    @Measurement(batchSize = 1000)
+    public void simpleOgnlExpression(BenchmarkState state, Blackhole bh) {
+        String out = state.ognl.evaluate(state.ognlExchange, String.class);
+        if (!out.equals("Hello Camel and Tiger from Cairo")) {
+            throw new IllegalArgumentException("Evaluation failed");
+        }
+        bh.consume(out);
+    }
+
+    public static class Animal {
+        private final String name;
+        private final Animal friend;
+
+        public Animal(String name, Animal friend) {
+            this.name = name;
+            this.friend = friend;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Animal getFriend() {
+            return friend;
+        }
+    }
+
 }
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Tests the lookup of the {@link org.apache.camel.TypeConverter} in the type converter registry,
+ * for direct hits, converters found via a super type and conversions which are not possible.
+ */
+public class TypeConverterLookupTest {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+                // Specify which benchmarks to run.
+                // You can be more specific if you'd like to run only one benchmark per test.
+                .include(this.getClass().getName() + ".*")
+                // Set the following options as needed
+                .mode(Mode.SampleTime)
+                .timeUnit(TimeUnit.MILLISECONDS)
+                .warmupTime(TimeValue.seconds(1))
+                .warmupIterations(2)
+                .measurementTime(TimeValue.seconds(5))
+                .measurementIterations(3)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .measurementBatchSize(100000)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    // The JMH samples are the best documentation for how to use it
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
+    @State(Scope.Benchmark)
+    public static class BenchmarkCamelContextState {
+        Integer someInteger = 12345;
+        String someString = "Hello World";
+        List<String> someList = new ArrayList<>();
+        StringBuilder someBuilder = new StringBuilder("Hello World");
+
+        CamelContext camel;
+
+        @Setup(Level.Trial)
+        public void initialize() throws IOException {
+            camel = new DefaultCamelContext();
+            try {
+                // dont scan for additional type converters
+                camel.setLoadTypeConverters(false);
+                camel.start();
+            } catch (Exception e) {
+                // ignore
+            }
+            someList.add(someString);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            try {
+                camel.stop();
+            } catch (Exception e) {
+                // ignore
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void lookupHit(BenchmarkCamelContextState state, Blackhole bh) {
+        bh.consume(state.camel.getTypeConverter().convertTo(String.class, state.someInteger));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void lookupSuperTypeHit(BenchmarkCamelContextState state, Blackhole bh) {
+        bh.consume(state.camel.getTypeConverter().convertTo(String.class, state.someBuilder));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void lookupMiss(BenchmarkCamelContextState state, Blackhole bh) {
+        bh.consume(state.camel.getTypeConverter().tryConvertTo(Thread.class, state.someList));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void lookupHitConcurrent(BenchmarkCamelContextState state, Blackhole bh) {
+        bh.consume(state.camel.getTypeConverter().convertTo(String.class, state.someInteger));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void lookupMissConcurrent(BenchmarkCamelContextState state, Blackhole bh) {
+        bh.consume(state.camel.getTypeConverter().tryConvertTo(Thread.class, state.someList));
+    }
+
+}